@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import net.dv8tion.jda.core.EmbedBuilder;
+import net.dv8tion.jda.core.entities.MessageEmbed;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceholderMessageBenchmark {
+
+    @Benchmark
+    public String renderDescription() {
+        return new PlaceholderMessage(new EmbedBuilder(), ":user has been muted in :channel for :time by :moderator, case ID :id")
+            .set("user", "Senither#0001")
+            .set("channel", "#general")
+            .set("time", "2 hours and 15 minutes")
+            .set("moderator", "av#8466")
+            .set("id", 42)
+            .toString();
+    }
+
+    @Benchmark
+    public MessageEmbed renderEmbed() {
+        return new PlaceholderMessage(new EmbedBuilder(), "You're now level **:level**, you need :experience more experience for the next level!")
+            .setTitle(":user just leveled up!")
+            .setFooter("Requested by :user")
+            .addField("Level", ":level", true)
+            .addField("Experience", ":experience", true)
+            .set("user", "Senither")
+            .set("level", 42)
+            .set("experience", 1337)
+            .buildEmbed();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.commands;
+
+import com.avbot.fakes.FakeCommand;
+import com.avbot.fakes.FakeMessage;
+import net.dv8tion.jda.core.entities.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandHandlerBenchmark {
+
+    /**
+     * Roughly the amount of commands the bot has registered in production.
+     */
+    private static final int COMMANDS = 150;
+
+    private Message[] messages;
+    private String[] triggers;
+
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Category category = new Category(null, "benchmark", "!");
+
+        for (int i = 0; i < COMMANDS; i++) {
+            CommandHandler.register(new FakeCommand(category, "command" + i));
+        }
+
+        messages = new Message[]{
+            FakeMessage.create("!command0"),
+            FakeMessage.create("!command74 with some arguments"),
+            FakeMessage.create("!command149 with even more arguments for the command"),
+            FakeMessage.create("!missing"),
+            FakeMessage.create("Just a normal message that isn't a command at all")
+        };
+
+        triggers = new String[]{"command0", "command74", "command149", "missing", "Just"};
+    }
+
+    @Benchmark
+    public CommandContainer getCommandFromMessage() {
+        return CommandHandler.getCommand(messages[next()]);
+    }
+
+    @Benchmark
+    public CommandContainer getLazyCommand() {
+        return CommandHandler.getLazyCommand(triggers[next()]);
+    }
+
+    private int next() {
+        if (++index >= messages.length) {
+            index = 0;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database;
+
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionBenchmark {
+
+    private static final int ROWS = 100;
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+
+    private FakeSQLiteDatabaseManager dbm;
+    private Collection collection;
+
+    @Setup
+    public void setup() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager(":memory:");
+
+        try (Statement statement = dbm.getConnection().getConnection().createStatement()) {
+            statement.execute("CREATE TABLE `experiences` (`user_id` VARCHAR(32), `guild_id` VARCHAR(32), `username` VARCHAR(32), `experience` INTEGER, `active` BOOLEAN);");
+
+            for (int i = 0; i < ROWS; i++) {
+                statement.execute(String.format(
+                    "INSERT INTO `experiences` VALUES ('%s', '284083636368834561', 'Player #%s', %s, %s);",
+                    88739639380172800L + i, i, i * 137, i % 2
+                ));
+            }
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("user_id", String.valueOf(88739639380172800L + i));
+            row.put("guild_id", "284083636368834561");
+            row.put("username", "Player #" + i);
+            row.put("experience", String.valueOf(i * 137));
+            row.put("active", String.valueOf(i % 2));
+            rows.add(row);
+        }
+
+        collection = new Collection(rows);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        dbm.destroy();
+    }
+
+    @Benchmark
+    public Collection selectIntoCollection() throws SQLException {
+        return dbm.newQueryBuilder("experiences")
+            .where("guild_id", "284083636368834561")
+            .get();
+    }
+
+    @Benchmark
+    public Collection collectionFromRows() {
+        return new Collection(rows);
+    }
+
+    @Benchmark
+    public long readDataRows() {
+        long total = 0;
+        for (DataRow row : collection.all()) {
+            total += row.getLong("experience");
+            total += row.getString("username").length();
+            total += row.getBoolean("active") ? 1 : 0;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database;
+
+import com.avbot.database.fakes.FakeDatabaseManager;
+import com.avbot.database.query.QueryBuilder;
+import com.avbot.database.query.QueryType;
+import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.DatabaseEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBuilderBenchmark {
+
+    private final Map<String, Boolean> createOptions = new HashMap<>();
+
+    private FakeDatabaseManager dbm;
+
+    @Setup
+    public void setup() {
+        dbm = new FakeDatabaseManager();
+        createOptions.put("ignoreExistingTable", true);
+    }
+
+    @Benchmark
+    public String selectWithWhereClauses() {
+        return dbm.newQueryBuilder("experiences")
+            .select("user_id", "experience")
+            .where("guild_id", "284083636368834561")
+            .where("experience", ">", 100)
+            .where(builder -> builder.where("active", true).orWhere("user_id", "88739639380172800"))
+            .orderBy("experience", "desc")
+            .take(100)
+            .toSQL();
+    }
+
+    @Benchmark
+    public String insertRow() {
+        QueryBuilder query = dbm.newQueryBuilder("experiences");
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("user_id", "88739639380172800");
+        row.put("guild_id", "284083636368834561");
+        row.put("username", "Senither's \"favorite\" name");
+        row.put("experience", 4213);
+        row.put("active", true);
+        query.getItems().add(row);
+
+        return query.toSQL(QueryType.INSERT);
+    }
+
+    @Benchmark
+    public String updateRow() {
+        QueryBuilder query = dbm.newQueryBuilder("experiences")
+            .where("user_id", "88739639380172800")
+            .andWhere("guild_id", "284083636368834561");
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("experience", 4214);
+        row.put("username", "Senither");
+        query.getItems().add(row);
+
+        return query.toSQL(QueryType.UPDATE);
+    }
+
+    @Benchmark
+    public String createTableGrammar() throws SQLException {
+        Blueprint blueprint = new Blueprint("experiences");
+        blueprint.setEngine(DatabaseEngine.InnoDB);
+        blueprint.Increments("id");
+        blueprint.Long("user_id");
+        blueprint.Long("guild_id");
+        blueprint.String("username", 32);
+        blueprint.Integer("experience").defaultValue(100);
+        blueprint.Boolean("active").defaultValue(true);
+        blueprint.Timestamps();
+
+        return dbm.getConnection().create(dbm, blueprint, createOptions);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.transformers;
+
+import com.avbot.av;
+import com.avbot.audio.searcher.SearchProvider;
+import com.avbot.database.collection.DataRow;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultTransformerBenchmark {
+
+    /**
+     * YouTube searches returns up to 20 tracks, each encoded
+     * track is usually somewhere around 150 bytes.
+     */
+    private static final int TRACKS = 20;
+    private static final int TRACK_SIZE = 150;
+
+    private SearchResultTransformer.SerializableAudioPlaylist playlist;
+    private Map<String, Object> row;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        JsonArray tracks = new JsonArray();
+        for (int i = 0; i < TRACKS; i++) {
+            tracks.add(createTrack(random));
+        }
+
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "Search results for: lofi hip hop radio");
+        json.addProperty("isSearchResult", true);
+        json.add("selectedTrack", null);
+        json.add("tracks", tracks);
+
+        playlist = av.gson.fromJson(json, SearchResultTransformer.SerializableAudioPlaylist.class);
+
+        row = new HashMap<>();
+        row.put("provider", String.valueOf(SearchProvider.YOUTUBE.getId()));
+        row.put("query", "lofi hip hop radio");
+        row.put("result", playlist.toString());
+    }
+
+    @Benchmark
+    public String serializePlaylist() {
+        return playlist.toString();
+    }
+
+    @Benchmark
+    public SearchResultTransformer deserializeTransformer() {
+        return new SearchResultTransformer(new DataRow(row));
+    }
+
+    private JsonArray createTrack(Random random) {
+        byte[] bytes = new byte[TRACK_SIZE];
+        random.nextBytes(bytes);
+
+        JsonArray track = new JsonArray();
+        for (byte value : bytes) {
+            track.add(value);
+        }
+        return track;
+    }
+}
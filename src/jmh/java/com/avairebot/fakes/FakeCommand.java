@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.fakes;
+
+import com.avbot.av;
+import com.avbot.commands.Category;
+import com.avbot.commands.CommandMessage;
+import com.avbot.contracts.commands.Command;
+import com.avbot.contracts.commands.CommandContext;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+public class FakeCommand extends Command {
+
+    private final Category category;
+    private final String trigger;
+    private final List<String> middleware;
+
+    public FakeCommand(Category category, String trigger, List<String> middleware) {
+        super((av) null);
+
+        this.category = category;
+        this.trigger = trigger;
+        this.middleware = middleware;
+    }
+
+    public FakeCommand(Category category, String trigger) {
+        this(category, trigger, Collections.emptyList());
+    }
+
+    @Override
+    public String getName() {
+        return "Fake " + trigger + " Command";
+    }
+
+    @Override
+    public String getDescription(@Nullable CommandContext context) {
+        return "A fake command used for benchmarks.";
+    }
+
+    @Override
+    public List<String> getTriggers() {
+        return Collections.singletonList(trigger);
+    }
+
+    @Override
+    public List<String> getMiddleware() {
+        return middleware;
+    }
+
+    @Override
+    public Category getCategory() {
+        return category;
+    }
+
+    @Override
+    public boolean onCommand(CommandMessage context, String[] args) {
+        return true;
+    }
+}
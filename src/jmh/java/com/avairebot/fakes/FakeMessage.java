@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.fakes;
+
+import net.dv8tion.jda.core.entities.Message;
+
+import java.lang.reflect.Proxy;
+
+public class FakeMessage {
+
+    /**
+     * Creates a fake direct message with the given raw content, every other method
+     * on the message returns {@code NULL}, or the default value for primitives,
+     * which makes commands and categories use their default prefixes.
+     *
+     * @param content The raw content of the message.
+     * @return The fake message instance.
+     */
+    public static Message create(String content) {
+        return (Message) Proxy.newProxyInstance(Message.class.getClassLoader(), new Class[]{Message.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getContentRaw":
+                case "getContentDisplay":
+                case "getContentStripped":
+                    return content;
+
+                case "toString":
+                    return "FakeMessage(" + content + ")";
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "equals":
+                    return proxy == args[0];
+            }
+
+            Class<?> type = method.getReturnType();
+            if (type == boolean.class) {
+                return false;
+            }
+
+            if (type == long.class) {
+                return 0L;
+            }
+
+            if (type == int.class) {
+                return 0;
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.handlers;
+
+import com.avbot.Settings;
+import com.avbot.av;
+import com.avbot.cache.GuildNameIndexCache;
+import com.avbot.database.controllers.GuildController;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import com.avbot.fakes.FakeAv;
+import com.avbot.fakes.FakeEntity;
+import com.avbot.servlet.cache.GuildSnapshotCache;
+import com.avbot.shard.ShardEntityCounter;
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.Region;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberLeaveEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a burst of synthetic member join and leave events through the main event
+ * handler, measuring the time spent on the event thread, with the guild event
+ * work either handled inline, or dispatched to the guild event lanes.
+ * <p>
+ * The guild cache is emptied before every replay, so the member event adapter has
+ * to load the guilds from the database, like it would after a cache eviction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+@Fork(1)
+public class GuildEventReplayBenchmark {
+
+    private static final int EVENTS = 200;
+    private static final int GUILDS = 20;
+
+    @Param({"inline", "dispatched"})
+    public String mode;
+
+    private FakeSQLiteDatabaseManager dbm;
+    private av av;
+    private MainEventHandler handler;
+    private GuildEventDispatcher dispatcher;
+
+    private final List<GenericGuildMemberEvent> events = new ArrayList<>();
+
+    @Setup
+    public void setup() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager("guild-event-replay-" + System.nanoTime());
+        dbm.queryUpdate("CREATE TABLE `guild_types` (`id` INTEGER PRIMARY KEY, `name` VARCHAR(32), `limits` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `guilds` (`id` VARCHAR(32) PRIMARY KEY, `type` INTEGER NULL, `partner` BOOLEAN DEFAULT 0, "
+            + "`name` VARCHAR(100), `icon` VARCHAR(64) NULL, `local` VARCHAR(8) NULL, `channels` TEXT NULL, `modules` TEXT NULL, "
+            + "`level_roles` TEXT NULL, `level_modifier` DOUBLE NULL, `claimable_roles` TEXT NULL, `music_channel_text` VARCHAR(32) NULL, "
+            + "`music_channel_voice` VARCHAR(32) NULL, `music_messages` BOOLEAN DEFAULT 1, `prefixes` TEXT NULL, `aliases` TEXT NULL, "
+            + "`level_exempt_channels` TEXT NULL, `level_exempt_roles` TEXT NULL, `modlog_case` INTEGER DEFAULT 0, `modlog` VARCHAR(32) NULL, "
+            + "`mute_role` VARCHAR(32) NULL, `autorole` VARCHAR(32) NULL, `level_channel` VARCHAR(32) NULL, `level_alerts` BOOLEAN DEFAULT 0, "
+            + "`levels` BOOLEAN DEFAULT 0, `hierarchy` BOOLEAN DEFAULT 1, `default_volume` INTEGER DEFAULT 100, "
+            + "`dj_level` INTEGER NULL, `dj_role` VARCHAR(32) NULL);");
+
+        for (int i = 1; i <= GUILDS; i++) {
+            dbm.queryUpdate(String.format("INSERT INTO `guilds` (`id`, `name`) VALUES ('%s', 'Guild %s');", i, i));
+        }
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("settings", FakeAv.allocate(Settings.class));
+        fields.put("database", dbm);
+        fields.put("guildSnapshotCache", new GuildSnapshotCache());
+        fields.put("guildNameIndexCache", new GuildNameIndexCache());
+
+        av = FakeAv.create(fields);
+        FakeAv.set(av, "shardEntityCounter", new ShardEntityCounter(av));
+
+        handler = new MainEventHandler(av);
+
+        JDA shard = FakeEntity.create(JDA.class, Collections.singletonMap("getShardInfo", new JDA.ShardInfo(0, 1)));
+
+        List<Guild> guilds = new ArrayList<>();
+        for (long id = 1; id <= GUILDS; id++) {
+            Map<String, Object> values = new HashMap<>();
+            values.put("getIdLong", id);
+            values.put("getId", String.valueOf(id));
+            values.put("getName", "Guild " + id);
+            values.put("getRegion", Region.UNKNOWN);
+            values.put("getJDA", shard);
+
+            guilds.add(FakeEntity.create(Guild.class, values));
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < EVENTS; i++) {
+            long userId = 1000L + i;
+
+            Map<String, Object> userValues = new HashMap<>();
+            userValues.put("getIdLong", userId);
+            userValues.put("getId", String.valueOf(userId));
+            userValues.put("getName", "User " + userId);
+
+            Map<String, Object> memberValues = new HashMap<>();
+            memberValues.put("getGuild", guilds.get(random.nextInt(GUILDS)));
+            memberValues.put("getUser", FakeEntity.create(User.class, userValues));
+            memberValues.put("getJDA", shard);
+
+            Member member = FakeEntity.create(Member.class, memberValues);
+
+            events.add(random.nextBoolean()
+                ? new GuildMemberJoinEvent(shard, i, member)
+                : new GuildMemberLeaveEvent(shard, i, member)
+            );
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareReplay() {
+        for (long id = 1; id <= GUILDS; id++) {
+            GuildController.forgetCache(id);
+        }
+
+        dispatcher = new GuildEventDispatcher(8, 1000, 250);
+        if (mode.equals("inline")) {
+            // Work dispatched after the dispatcher has been shutdown is handled on the calling thread.
+            dispatcher.shutdown(1, TimeUnit.SECONDS);
+        }
+        FakeAv.set(av, "guildEventDispatcher", dispatcher);
+    }
+
+    @Benchmark
+    public void replay() {
+        for (GenericGuildMemberEvent event : events) {
+            if (event instanceof GuildMemberJoinEvent) {
+                handler.onGuildMemberJoin((GuildMemberJoinEvent) event);
+            } else {
+                handler.onGuildMemberLeave((GuildMemberLeaveEvent) event);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishReplay() {
+        // Waits for the dispatched work outside of the measured replay.
+        dispatcher.shutdown(10, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void teardown() throws SQLException {
+        dbm.destroy();
+    }
+}
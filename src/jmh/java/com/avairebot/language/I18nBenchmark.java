@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.language;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks formatting every string in the bundled language files through the
+ * compiled message templates, compared to parsing the message with the
+ * {@link MessageFormat} on every call, as well as resolving locales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class I18nBenchmark {
+
+    private final Object[] arguments = new Object[]{"Senither", "#general", "42", "https://avairebot.com/"};
+
+    private String[] messages;
+    private String[] codes;
+
+    private int messageIndex = 0;
+    private int codeIndex = 0;
+
+    @Setup
+    public void setup() {
+        I18n.start(null);
+
+        List<String> strings = new ArrayList<>();
+        for (LanguageContainer locale : I18n.languages) {
+            for (String key : locale.getConfig().getKeys(true)) {
+                String message = locale.getConfig().getString(key);
+                if (message != null) {
+                    strings.add(message);
+                }
+            }
+        }
+        messages = strings.toArray(new String[0]);
+
+        codes = new String[Language.values().length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = Language.values()[i].getCode();
+        }
+    }
+
+    @Benchmark
+    public String formatCompiledTemplate() {
+        return I18n.format(nextMessage(), arguments);
+    }
+
+    @Benchmark
+    public String formatMessageFormat() {
+        String message = nextMessage();
+        try {
+            return MessageFormat.format(message.replace("'", "''"), arguments);
+        } catch (IllegalArgumentException ex) {
+            return message;
+        }
+    }
+
+    @Benchmark
+    public LanguageContainer resolveLocaleByCode() {
+        return I18n.getLocale(nextCode());
+    }
+
+    @Benchmark
+    public LanguageContainer resolveLocaleByIteration() {
+        String code = nextCode();
+        for (LanguageContainer locale : I18n.languages) {
+            if (locale.getLanguage().getCode().equalsIgnoreCase(code)) {
+                return locale;
+            }
+        }
+        return I18n.getDefaultLanguage();
+    }
+
+    private String nextMessage() {
+        if (++messageIndex >= messages.length) {
+            messageIndex = 0;
+        }
+        return messages[messageIndex];
+    }
+
+    private String nextCode() {
+        if (++codeIndex >= codes.length) {
+            codeIndex = 0;
+        }
+        return codes[codeIndex];
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.level;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LevelManagerBenchmark {
+
+    private final long[] experiences = new long[]{100, 4213, 85_000, 1_250_000, 98_000_000};
+    private final double[] modifiers = new double[]{LevelManager.getDefaultModifier(), 0.0, 0.5, 2.5};
+
+    private LevelManager levelManager;
+
+    private int experienceIndex = 0;
+    private int modifierIndex = 0;
+
+    @Setup
+    public void setup() {
+        levelManager = new LevelManager();
+    }
+
+    @Benchmark
+    public long getLevelFromExperience() {
+        return levelManager.getLevelFromExperience(nextExperience(), nextModifier());
+    }
+
+    @Benchmark
+    public long getExperienceFromLevel() {
+        return levelManager.getExperienceFromLevel(nextExperience() / 1000, nextModifier());
+    }
+
+    @Benchmark
+    public long getExperienceToNextLevel() {
+        long experience = nextExperience();
+        double modifier = nextModifier();
+
+        long level = levelManager.getLevelFromExperience(experience, modifier);
+        return levelManager.getExperienceFromLevel(level + 1, modifier) - experience;
+    }
+
+    private long nextExperience() {
+        if (++experienceIndex >= experiences.length) {
+            experienceIndex = 0;
+        }
+        return experiences[experienceIndex];
+    }
+
+    private double nextModifier() {
+        if (++modifierIndex >= modifiers.length) {
+            modifierIndex = 0;
+        }
+        return modifiers[modifierIndex];
+    }
+}
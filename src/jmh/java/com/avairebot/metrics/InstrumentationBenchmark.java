@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private final String query = "UPDATE `guilds` SET `name` = ? WHERE `id` = ?;";
+
+    @Benchmark
+    public void labelledEvent() {
+        Metrics.jdaEvents.labels(InstrumentationBenchmark.class.getSimpleName()).inc();
+    }
+
+    @Benchmark
+    public void preBoundEvent() {
+        EventMetrics.of(InstrumentationBenchmark.class).inc();
+    }
+
+    @Benchmark
+    public void labelledCommand() {
+        String name = InstrumentationBenchmark.class.getSimpleName();
+
+        Metrics.commandAttempts.labels(name).inc();
+        Metrics.commandsReceived.labels(name).inc();
+        Metrics.commandsExecuted.labels(name).inc();
+        Metrics.executionTime.labels(name).observe(0.01D);
+    }
+
+    @Benchmark
+    public void preBoundCommand() {
+        CommandMetrics metrics = CommandMetrics.of(InstrumentationBenchmark.class);
+
+        metrics.getAttempts().inc();
+        metrics.getReceived().inc();
+        metrics.getExecuted().inc();
+        metrics.getExecutionTime().observe(0.01D);
+    }
+
+    @Benchmark
+    public void labelledQuery() {
+        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+    }
+
+    @Benchmark
+    public void preBoundQuery() {
+        QueryMetrics.forQuery(query).inc();
+    }
+}
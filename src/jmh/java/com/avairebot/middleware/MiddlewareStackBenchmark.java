@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.middleware;
+
+import com.avbot.av;
+import com.avbot.commands.Category;
+import com.avbot.commands.CommandContainer;
+import com.avbot.contracts.middleware.Middleware;
+import com.avbot.fakes.FakeCommand;
+import com.avbot.fakes.FakeMessage;
+import com.avbot.middleware.global.IncrementMetricsForCommand;
+import com.avbot.middleware.global.IsCategoryEnabled;
+import com.avbot.middleware.global.ProcessCommand;
+import net.dv8tion.jda.core.entities.Message;
+import org.openjdk.jmh.annotations.*;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MiddlewareStackBenchmark {
+
+    private Message message;
+    private CommandContainer container;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        // The global middlewares talks to Discord and the database, so they're replaced with
+        // middlewares that just passes the message along, leaving the cost of building
+        // the stack, parsing the middleware arguments and walking the stack.
+        setGlobalMiddleware("processCommand", new ProcessCommand(null) {
+            @Override
+            public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
+                return true;
+            }
+        });
+        setGlobalMiddleware("isCategoryEnabled", new IsCategoryEnabled(null) {
+            @Override
+            public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
+                return stack.next();
+            }
+        });
+        setGlobalMiddleware("incrementMetricsForCommand", new IncrementMetricsForCommand(null) {
+            @Override
+            public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
+                return stack.next();
+            }
+        });
+
+        MiddlewareHandler.register("benchmarkPass", new PassMiddleware());
+        MiddlewareHandler.register("benchmarkArguments", new ArgumentsMiddleware());
+
+        Category category = new Category(null, "benchmark", "!");
+
+        message = FakeMessage.create("!benchmark with some arguments");
+        container = new CommandContainer(new FakeCommand(category, "benchmark", Arrays.asList(
+            "benchmarkPass",
+            "benchmarkArguments:user,2,5",
+            "benchmarkArguments:general,administrator",
+            "benchmarkPass"
+        )), category, null);
+    }
+
+    @Benchmark
+    public boolean buildAndRunStack() {
+        return new MiddlewareStack(message, container, null).next();
+    }
+
+    private void setGlobalMiddleware(String name, Middleware middleware) throws ReflectiveOperationException {
+        Field field = MiddlewareStack.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, middleware);
+    }
+
+    private static class PassMiddleware extends Middleware {
+
+        PassMiddleware() {
+            super((av) null);
+        }
+
+        @Override
+        public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
+            return stack.next();
+        }
+    }
+
+    private static class ArgumentsMiddleware extends Middleware {
+
+        ArgumentsMiddleware() {
+            super((av) null);
+        }
+
+        @Override
+        public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
+            return args.length > 0 && stack.next();
+        }
+    }
+}
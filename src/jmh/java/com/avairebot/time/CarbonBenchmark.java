@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.time;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the typical database row cycle of parsing a timestamp, comparing
+ * it to the current time, and formatting it again, using Carbon compared to
+ * a fresh {@link SimpleDateFormat} and {@link Calendar} for every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarbonBenchmark {
+
+    private final String[] timestamps = new String[]{
+        "2019-01-13 19:37:59",
+        "2018-12-31 23:59:59",
+        "2020-02-29 04:05:06",
+        "2017-07-04 12:00:00"
+    };
+
+    private int index = 0;
+
+    @Benchmark
+    public String parseCompareFormatCarbon() {
+        Carbon time = new Carbon(nextTimestamp());
+        if (time.isPast()) {
+            return time.addHours(1).toDateTimeString();
+        }
+        return time.toDateTimeString();
+    }
+
+    @Benchmark
+    public String parseCompareFormatLegacy() throws ParseException {
+        Date date = new SimpleDateFormat(Formats.DATE_TIME.getFormat(), Locale.ENGLISH).parse(nextTimestamp());
+
+        Calendar calendar = Calendar.getInstance(Locale.ENGLISH);
+        calendar.setTime(date);
+        if (calendar.getTimeInMillis() < System.currentTimeMillis()) {
+            calendar.add(Calendar.HOUR_OF_DAY, 1);
+        }
+
+        return new SimpleDateFormat(Formats.DATE_TIME.getFormat(), Locale.ENGLISH).format(calendar.getTime());
+    }
+
+    @Benchmark
+    public String formatCarbon() {
+        return Carbon.now().format(Formats.RFC_822);
+    }
+
+    @Benchmark
+    public String formatLegacy() {
+        return new SimpleDateFormat(Formats.RFC_822.getFormat(), Locale.ENGLISH).format(new Date());
+    }
+
+    private String nextTimestamp() {
+        if (++index >= timestamps.length) {
+            index = 0;
+        }
+        return timestamps[index];
+    }
+}
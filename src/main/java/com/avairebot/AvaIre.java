@@ -30,10 +30,9 @@ import com.avbot.ai.dialogflow.DialogFlowService;
 import com.avbot.audio.AudioHandler;
 import com.avbot.audio.GuildMusicManager;
 import com.avbot.audio.LavalinkManager;
-import com.avbot.audio.cache.AudioState;
 import com.avbot.blacklist.Blacklist;
 import com.avbot.cache.CacheManager;
-import com.avbot.cache.CacheType;
+import com.avbot.cache.GuildNameIndexCache;
 import com.avbot.chat.ConsoleColor;
 import com.avbot.commands.CategoryDataContext;
 import com.avbot.commands.CategoryHandler;
@@ -54,6 +53,7 @@ import com.avbot.exceptions.InvalidApplicationEnvironmentException;
 import com.avbot.exceptions.InvalidPluginException;
 import com.avbot.exceptions.InvalidPluginsPathException;
 import com.avbot.handlers.EventEmitter;
+import com.avbot.handlers.GuildEventDispatcher;
 import com.avbot.handlers.MainEventHandler;
 import com.avbot.handlers.PluginEventHandler;
 import com.avbot.handlers.events.ApplicationShutdownEvent;
@@ -62,11 +62,14 @@ import com.avbot.language.I18n;
 import com.avbot.level.LevelManager;
 import com.avbot.metrics.Metrics;
 import com.avbot.middleware.*;
+import com.avbot.modlog.ModlogCaseSequence;
 import com.avbot.mute.MuteManager;
 import com.avbot.plugin.PluginLoader;
 import com.avbot.plugin.PluginManager;
+import com.avbot.reminder.ReminderManager;
 import com.avbot.scheduler.ScheduleHandler;
 import com.avbot.servlet.WebServlet;
+import com.avbot.servlet.cache.GuildSnapshotCache;
 import com.avbot.servlet.routes.*;
 import com.avbot.shard.ShardEntityCounter;
 import com.avbot.shared.DiscordConstants;
@@ -75,6 +78,7 @@ import com.avbot.shared.SentryConstants;
 import com.avbot.time.Carbon;
 import com.avbot.utilities.AutoloaderUtil;
 import com.avbot.vote.VoteManager;
+import com.avbot.weather.WeatherManager;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.sedmelluq.discord.lavaplayer.jdaudp.NativeAudioSendFactory;
@@ -105,6 +109,7 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class av {
 
@@ -133,7 +138,13 @@ public class av {
     private final PluginManager pluginManager;
     private final VoteManager voteManager;
     private final MuteManager muteManger;
+    private final ReminderManager reminderManager;
+    private final ModlogCaseSequence modlogCaseSequence;
     private final ShardEntityCounter shardEntityCounter;
+    private final GuildSnapshotCache guildSnapshotCache;
+    private final GuildNameIndexCache guildNameIndexCache;
+    private final GuildEventDispatcher guildEventDispatcher;
+    private final WeatherManager weatherManager;
     private final EventEmitter eventEmitter;
     private final BotAdmin botAdmins;
     private final WebServlet servlet;
@@ -151,6 +162,7 @@ public class av {
         log.debug("Starting the application with debug logging enabled!");
         log.debug("====================================================\n");
 
+        long bootstrapStart = System.currentTimeMillis();
         log.info("Bootstrapping av v" + AppInfo.getAppInfo().version);
         Reflections.log = null;
 
@@ -205,6 +217,7 @@ public class av {
 
         log.info("Registering database, query builder, schema builder, and services");
         database = new DatabaseManager(this);
+        modlogCaseSequence = new ModlogCaseSequence(database);
 
         log.info("Registering database table migrations");
         AutoloaderUtil.load(Constants.PACKAGE_MIGRATION_PATH, migration -> {
@@ -343,6 +356,7 @@ public class av {
         blacklist.syncBlacklistWithDatabase();
 
         log.info("Preparing and setting up web servlet");
+        guildSnapshotCache = new GuildSnapshotCache();
         servlet = new WebServlet(config.getInt("web-servlet.port",
             config.getInt("metrics.port", WebServlet.defaultPort)
         ));
@@ -402,6 +416,9 @@ public class av {
         log.info("Preparing mute manager");
         muteManger = new MuteManager(this);
 
+        log.info("Preparing reminder manager");
+        reminderManager = new ReminderManager(this);
+
         log.info("Preparing Lavalink");
         AudioHandler.setav(this);
         LavalinkManager.LavalinkManagerHolder.lavalink.start(this);
@@ -417,9 +434,24 @@ public class av {
             config.set("audio-quality.resampling", "medium");
         }
 
+        log.info("Finished bootstrapping in {} ms", System.currentTimeMillis() - bootstrapStart);
         log.info("Creating bot instance and connecting to Discord network");
 
         shardEntityCounter = new ShardEntityCounter(this);
+        guildNameIndexCache = new GuildNameIndexCache();
+        guildEventDispatcher = new GuildEventDispatcher(
+            Math.max(1, getConfig().getInt("guild-events.lanes", 8)),
+            Math.max(1, getConfig().getInt("guild-events.capacity", 2500)),
+            Math.max(0, getConfig().getLong("guild-events.block-timeout", 250))
+        );
+        weatherManager = new WeatherManager(
+            "http://api.openweathermap.org/data/2.5/weather",
+            getConfig().getString("apiKeys.openWeatherMap", ""),
+            Math.max(1, getConfig().getInt("weather.requests-per-minute", 60)),
+            Math.max(1, getConfig().getInt("weather.burst", 10)),
+            Math.max(0, getConfig().getLong("weather.cache-ttl", 600)) * 1000L,
+            Math.max(0, getConfig().getLong("weather.max-wait", 30)) * 1000L
+        );
 
         try {
             shardManager = buildShardManager();
@@ -485,6 +517,14 @@ public class av {
         return shardEntityCounter;
     }
 
+    public GuildSnapshotCache getGuildSnapshotCache() {
+        return guildSnapshotCache;
+    }
+
+    public GuildNameIndexCache getGuildNameIndexCache() {
+        return guildNameIndexCache;
+    }
+
     @Nullable
     public SelfUser getSelfUser() {
         for (JDA shard : getShardManager().getShards()) {
@@ -535,6 +575,14 @@ public class av {
         return muteManger;
     }
 
+    public ReminderManager getReminderManager() {
+        return reminderManager;
+    }
+
+    public ModlogCaseSequence getModlogCaseSequence() {
+        return modlogCaseSequence;
+    }
+
     public WebServlet getServlet() {
         return servlet;
     }
@@ -543,6 +591,14 @@ public class av {
         return intelligenceManager;
     }
 
+    public GuildEventDispatcher getGuildEventDispatcher() {
+        return guildEventDispatcher;
+    }
+
+    public WeatherManager getWeatherManager() {
+        return weatherManager;
+    }
+
     public EventEmitter getEventEmitter() {
         return eventEmitter;
     }
@@ -572,7 +628,10 @@ public class av {
 
         getLogger().info("Shutting down bot instance gracefully with exit code " + exitCode);
 
-        List<AudioState> audioStates = new ArrayList<>();
+        // Saves the audio state of every guild that is playing music so we can
+        // resume the music from where it left off once the bot boots back up.
+        AudioHandler.getDefaultAudioHandler().saveAudioStates();
+
         for (GuildMusicManager manager : AudioHandler.getDefaultAudioHandler().musicManagers.values()) {
             if (manager.getLastActiveMessage() != null) {
                 manager.getLastActiveMessage().makeInfo(
@@ -581,17 +640,6 @@ public class av {
                 shutdownDelay += 100L;
             }
 
-            try {
-                //noinspection SynchronizationOnLocalVariableOrMethodParameter
-                synchronized (manager) {
-                    if (manager.getGuild() != null) {
-                        audioStates.add(new AudioState(manager, manager.getGuild()));
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Failed to create the audio state cache for the guild with an ID of: {}", manager.getGuildId(), e);
-            }
-
             manager.getScheduler().getQueue().clear();
 
             if (manager.getLastActiveMessage() != null) {
@@ -615,10 +663,6 @@ public class av {
             LavalinkManager.LavalinkManagerHolder.lavalink.getLavalink().shutdown();
         }
 
-        // Caches the audio state for the next three hours so we
-        // can resume the music once the bot boots back up.
-        cache.getAdapter(CacheType.FILE).put("audio.state", gson.toJson(audioStates), 60 * 60 * 3);
-
         try {
             if (shutdownDelay > 5000L) {
                 // If the shutdown delay is anymore than 5 seconds, we just set it to a
@@ -644,6 +688,20 @@ public class av {
             job.cancel(true);
         }
 
+        if (!guildEventDispatcher.shutdown(5, TimeUnit.SECONDS)) {
+            getLogger().warn("Failed to handle all the pending guild events before shutting down");
+        }
+
+        weatherManager.shutdown();
+
+        if (!modlogCaseSequence.shutdown(5, TimeUnit.SECONDS)) {
+            getLogger().warn("Failed to write all the pending modlog entries before shutting down");
+        }
+
+        if (!getDatabase().getWriter().shutdown(5, TimeUnit.SECONDS)) {
+            getLogger().warn("Failed to write all the pending write-behind queries before shutting down");
+        }
+
         try {
             getDatabase().getConnection().close();
         } catch (SQLException ex) {
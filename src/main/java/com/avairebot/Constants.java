@@ -46,6 +46,8 @@ public class Constants {
     public static final String MUSIC_SEARCH_PROVIDERS_TABLE_NAME = "music_search_providers";
     public static final String MUSIC_SEARCH_CACHE_TABLE_NAME = "music_search_cache";
     public static final String INSTALLED_PLUGINS_TABLE_NAME = "installed_plugins";
+    public static final String REMINDERS_TABLE_NAME = "reminders";
+    public static final String LEGACY_ENCODING_PROGRESS_TABLE_NAME = "legacy_encoding_progress";
 
     // Package Specific Information
     public static final String PACKAGE_MIGRATION_PATH = "com.avbot.database.migrate";
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.ai;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A small local intent classifier that scores messages against a set of training
+ * phrases for each intent action, the messages and phrases are broken down into
+ * words and pairs of words, which are weighted by how rare they are across all
+ * the training phrases, the action with the most similar training phrase wins.
+ * <p>
+ * The classifier is only meant to handle the simple and obvious cases locally,
+ * messages that doesn't match a single action with high confidence should
+ * still be sent to the remote AI service to be resolved properly.
+ */
+public class IntentClassifier {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final double minConfidence;
+    private final double minMargin;
+
+    private final Map<String, List<String>> trainingPhrases = new LinkedHashMap<>();
+    private volatile Model model = new Model(Collections.emptyMap(), Collections.emptyMap(), 0);
+
+    /**
+     * Creates a new intent classifier using the default confidence requirements.
+     */
+    public IntentClassifier() {
+        this(0.75D, 0.15D);
+    }
+
+    /**
+     * Creates a new intent classifier.
+     *
+     * @param minConfidence The minimum similarity score between 0 and 1 a message must have to an
+     *                      action before the message will be classified as the action.
+     * @param minMargin     The minimum difference in similarity score between the best and
+     *                      second best matching actions for a message to be classified.
+     */
+    public IntentClassifier(double minConfidence, double minMargin) {
+        this.minConfidence = minConfidence;
+        this.minMargin = minMargin;
+    }
+
+    /**
+     * Normalizes the given text by lower-casing it, replacing everything that isn't a
+     * letter or a number with spaces, and collapsing repeated spaces, making messages
+     * like "Show me a cat!" and "show me a cat" normalize to the same value.
+     *
+     * @param text The text that should be normalized.
+     * @return The normalized version of the given text.
+     */
+    @Nonnull
+    public static String normalize(@Nonnull String text) {
+        return NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Trains the classifier to recognize the given phrases as the given action.
+     *
+     * @param action  The action the phrases belongs to.
+     * @param phrases The phrases that should be classified as the given action.
+     */
+    public synchronized void train(@Nonnull String action, @Nonnull Collection<String> phrases) {
+        if (phrases.isEmpty()) {
+            return;
+        }
+
+        trainingPhrases.computeIfAbsent(action, key -> new ArrayList<>()).addAll(phrases);
+
+        model = buildModel();
+    }
+
+    /**
+     * Checks if the classifier has been trained with any phrases.
+     *
+     * @return <code>True</code> if the classifier has no training phrases, <code>False</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return model.actions.isEmpty();
+    }
+
+    /**
+     * Classifies the given query, returning the action the query matches if
+     * the classifier is confident enough that the query matches the action.
+     *
+     * @param query The query that should be classified.
+     * @return The classification of the query, or {@code NULL} if the query couldn't be classified.
+     */
+    @Nullable
+    public Classification classify(@Nonnull String query) {
+        Model model = this.model;
+        if (model.actions.isEmpty()) {
+            return null;
+        }
+
+        Set<String> features = extractFeatures(normalize(query));
+        if (features.isEmpty()) {
+            return null;
+        }
+
+        double queryNorm = model.getNorm(features);
+
+        String bestAction = null;
+        double bestScore = 0D;
+        double secondScore = 0D;
+
+        for (Map.Entry<String, List<Set<String>>> entry : model.actions.entrySet()) {
+            double score = 0D;
+            for (Set<String> phrase : entry.getValue()) {
+                score = Math.max(score, model.getSimilarity(features, queryNorm, phrase));
+            }
+
+            if (score > bestScore) {
+                secondScore = bestScore;
+                bestScore = score;
+                bestAction = entry.getKey();
+            } else if (score > secondScore) {
+                secondScore = score;
+            }
+        }
+
+        if (bestAction == null || bestScore < minConfidence || bestScore - secondScore < minMargin) {
+            return null;
+        }
+        return new Classification(bestAction, bestScore);
+    }
+
+    private Model buildModel() {
+        Map<String, List<Set<String>>> actions = new LinkedHashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        int documents = 0;
+
+        for (Map.Entry<String, List<String>> entry : trainingPhrases.entrySet()) {
+            List<Set<String>> phrases = new ArrayList<>();
+            for (String phrase : entry.getValue()) {
+                Set<String> features = extractFeatures(normalize(phrase));
+                if (features.isEmpty()) {
+                    continue;
+                }
+
+                for (String feature : features) {
+                    documentFrequency.merge(feature, 1, Integer::sum);
+                }
+
+                phrases.add(features);
+                documents++;
+            }
+
+            if (!phrases.isEmpty()) {
+                actions.put(entry.getKey(), phrases);
+            }
+        }
+
+        Map<String, Double> weights = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : documentFrequency.entrySet()) {
+            weights.put(entry.getKey(), Math.log(1D + ((double) documents / entry.getValue())));
+        }
+
+        return new Model(actions, weights, documents);
+    }
+
+    private static Set<String> extractFeatures(String normalized) {
+        if (normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        String[] words = normalized.split(" ");
+
+        Set<String> features = new HashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            features.add(words[i]);
+
+            if (i > 0) {
+                features.add(words[i - 1] + " " + words[i]);
+            }
+        }
+        return features;
+    }
+
+    private static class Model {
+
+        private final Map<String, List<Set<String>>> actions;
+        private final Map<String, Double> weights;
+        private final double unknownWeight;
+
+        Model(Map<String, List<Set<String>>> actions, Map<String, Double> weights, int documents) {
+            this.actions = actions;
+            this.weights = weights;
+
+            // Features that never appears in the training phrases are weighted as if
+            // they were as rare as possible, that way queries with lots of words the
+            // classifier has never seen before are less likely to be classified.
+            this.unknownWeight = Math.log(1D + documents);
+        }
+
+        double getWeight(String feature) {
+            return weights.getOrDefault(feature, unknownWeight);
+        }
+
+        double getNorm(Set<String> features) {
+            double sum = 0D;
+            for (String feature : features) {
+                double weight = getWeight(feature);
+                sum += weight * weight;
+            }
+            return Math.sqrt(sum);
+        }
+
+        double getSimilarity(Set<String> query, double queryNorm, Set<String> phrase) {
+            double dot = 0D;
+            for (String feature : query) {
+                if (phrase.contains(feature)) {
+                    double weight = getWeight(feature);
+                    dot += weight * weight;
+                }
+            }
+
+            if (dot == 0D) {
+                return 0D;
+            }
+            return dot / (queryNorm * getNorm(phrase));
+        }
+    }
+
+    /**
+     * The result of a successful classification, holding the
+     * action the query was classified as, and how
+     * confident the classifier was in the match.
+     */
+    public static class Classification {
+
+        private final String action;
+        private final double confidence;
+
+        Classification(String action, double confidence) {
+            this.action = action;
+            this.confidence = confidence;
+        }
+
+        /**
+         * Gets the action the query was classified as.
+         *
+         * @return The action the query was classified as.
+         */
+        public String getAction() {
+            return action;
+        }
+
+        /**
+         * Gets the similarity score between 0 and 1 for the query and the
+         * most similar training phrase for the classified action.
+         *
+         * @return The confidence of the classification.
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+}
@@ -23,11 +23,11 @@ package com.avbot.ai.dialogflow;
 
 import ai.api.AIConfiguration;
 import ai.api.AIDataService;
-import ai.api.AIServiceException;
 import ai.api.model.AIRequest;
 import ai.api.model.AIResponse;
 import com.avbot.av;
 import com.avbot.Constants;
+import com.avbot.ai.IntentClassifier;
 import com.avbot.chat.ConsoleColor;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.ai.IntelligenceService;
@@ -41,11 +41,13 @@ import net.dv8tion.jda.core.entities.Message;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class DialogFlowService implements IntelligenceService {
 
@@ -66,24 +68,52 @@ public class DialogFlowService implements IntelligenceService {
 
     private final static Map<IntentAction, Intent> intents = new HashMap<>();
 
+    private final DialogFlowBackend fallbackBackend;
+
     private ExecutorService executor;
-    private AIDataService service;
+    private DialogFlowBackend backend;
+    private IntentResolver resolver;
+
+    /**
+     * Creates a new DialogFlow service that sends requests
+     * to DialogFlow using the configured API key.
+     */
+    public DialogFlowService() {
+        this(null);
+    }
+
+    /**
+     * Creates a new DialogFlow service that sends requests to the given backend,
+     * if no backend is given, the configured DialogFlow API key will be
+     * used to send the requests to DialogFlow instead.
+     *
+     * @param backend The backend that requests should be sent to, or {@code NULL}.
+     */
+    public DialogFlowService(@Nullable DialogFlowBackend backend) {
+        this.fallbackBackend = backend;
+    }
 
     @Override
     public boolean isEnabled() {
-        return service != null && !executor.isShutdown();
+        return resolver != null && !executor.isShutdown();
     }
 
     @Override
     public void registerService(av av) {
-        String dialogFlowClientToken = av.getConfig().getString("apiKeys.dialogflow", "invalid");
-        if (dialogFlowClientToken.length() != 32) {
-            executor = null;
-            return;
+        if (fallbackBackend != null) {
+            backend = fallbackBackend;
+        } else {
+            String dialogFlowClientToken = av.getConfig().getString("apiKeys.dialogflow", "invalid");
+            if (dialogFlowClientToken.length() != 32) {
+                executor = null;
+                return;
+            }
+
+            AIDataService service = new AIDataService(new AIConfiguration(dialogFlowClientToken));
+            backend = query -> service.request(new AIRequest(query));
         }
 
         executor = Executors.newFixedThreadPool(2);
-        service = new AIDataService(new AIConfiguration(dialogFlowClientToken));
 
         log.info("Registering DialogFlow intents...");
         AutoloaderUtil.load(Constants.PACKAGE_INTENTS_PATH, intent -> {
@@ -92,6 +122,13 @@ public class DialogFlowService implements IntelligenceService {
             intents.put(new IntentAction(((Intent) intent).getAction()), (Intent) intent);
         });
         log.info(String.format("\tRegistered %s DialogFlow intelligence intents successfully!", intents.size()));
+
+        IntentClassifier classifier = new IntentClassifier();
+        for (Intent intent : intents.values()) {
+            classifier.train(intent.getAction(), intent.getTrainingPhrases());
+        }
+
+        resolver = new IntentResolver(classifier, backend, executor, 10, TimeUnit.MINUTES);
     }
 
     @Override
@@ -99,7 +136,17 @@ public class DialogFlowService implements IntelligenceService {
         if (executor != null) {
             executor.shutdownNow();
         }
-        service = null;
+        backend = null;
+        resolver = null;
+    }
+
+    /**
+     * Gets the intent resolver used to resolve messages into DialogFlow responses.
+     *
+     * @return Possibly-null, or the intent resolver if the service has been registered.
+     */
+    public IntentResolver getResolver() {
+        return resolver;
     }
 
     @Override
@@ -109,43 +156,44 @@ public class DialogFlowService implements IntelligenceService {
         }
 
         String[] split = message.getContentStripped().split(" ");
-        executor.submit(() -> processRequest(message, databaseEventHolder, String.join(" ",
-            Arrays.copyOfRange(split, 1, split.length)
-        ).trim()));
-    }
+        String request = String.join(" ", Arrays.copyOfRange(split, 1, split.length)).trim();
 
-    private void processRequest(Message message, DatabaseEventHolder databaseEventHolder, String request) {
-        try {
-            AIResponse response = service.request(new AIRequest(request));
-
-            String action = response.getResult().getAction();
-            log.info(actionOutput
-                .replace("%action%", action)
-                .replace("%author%", generateUsername(message))
-                .replace("%server%", generateServer(message))
-                .replace("%channel%", generateChannel(message))
-                .replace("%message%", message.getContentRaw())
-                .replace("%response%", response.getResult().getFulfillment().getSpeech())
-            );
-
-            if (response.getStatus().getCode() != 200) {
-                MessageFactory.makeError(message, response.getStatus().getErrorDetails()).queue();
+        resolver.resolve(request).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                log.error("Failed to resolve the DialogFlow request \"{}\": {}", request, throwable.getMessage(), throwable);
                 return;
             }
 
-            for (Map.Entry<IntentAction, Intent> entry : intents.entrySet()) {
-                if (entry.getKey().isWildcard() && action.startsWith(entry.getKey().getAction())) {
-                    invokeIntent(message, databaseEventHolder, response, entry.getValue());
-                    return;
-                }
+            processResponse(message, databaseEventHolder, response);
+        });
+    }
+
+    private void processResponse(Message message, DatabaseEventHolder databaseEventHolder, AIResponse response) {
+        String action = response.getResult().getAction();
+        log.info(actionOutput
+            .replace("%action%", action)
+            .replace("%author%", generateUsername(message))
+            .replace("%server%", generateServer(message))
+            .replace("%channel%", generateChannel(message))
+            .replace("%message%", message.getContentRaw())
+            .replace("%response%", response.getResult().getFulfillment().getSpeech())
+        );
+
+        if (response.getStatus().getCode() != 200) {
+            MessageFactory.makeError(message, response.getStatus().getErrorDetails()).queue();
+            return;
+        }
+
+        for (Map.Entry<IntentAction, Intent> entry : intents.entrySet()) {
+            if (entry.getKey().isWildcard() && action.startsWith(entry.getKey().getAction())) {
+                invokeIntent(message, databaseEventHolder, response, entry.getValue());
+                return;
+            }
 
-                if (entry.getKey().getAction().equals(action)) {
-                    invokeIntent(message, databaseEventHolder, response, entry.getValue());
-                    return;
-                }
+            if (entry.getKey().getAction().equals(action)) {
+                invokeIntent(message, databaseEventHolder, response, entry.getValue());
+                return;
             }
-        } catch (AIServiceException e) {
-            e.printStackTrace();
         }
     }
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.ai.dialogflow;
+
+import ai.api.AIServiceException;
+import ai.api.model.AIResponse;
+import ai.api.model.Fulfillment;
+import ai.api.model.Result;
+import ai.api.model.Status;
+import com.avbot.ai.IntentClassifier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Resolves queries into DialogFlow responses, queries are first checked against
+ * the local intent classifier, and only sent to DialogFlow if the classifier
+ * can't classify the query with high confidence.
+ * <p>
+ * Responses from DialogFlow are cached by their normalized query, and identical
+ * queries that are received while a request is already in-flight will share
+ * the in-flight request instead of sending their own request to DialogFlow.
+ */
+public class IntentResolver {
+
+    private final IntentClassifier classifier;
+    private final DialogFlowBackend backend;
+    private final Executor executor;
+    private final Cache<String, CompletableFuture<AIResponse>> responses;
+
+    /**
+     * Creates a new intent resolver.
+     *
+     * @param classifier The local intent classifier.
+     * @param backend    The backend used to send queries to DialogFlow.
+     * @param executor   The executor that requests to DialogFlow should be sent from.
+     * @param ttl        How long successful DialogFlow responses should be cached for.
+     * @param unit       The time unit for the cache TTL.
+     */
+    public IntentResolver(
+        @Nonnull IntentClassifier classifier,
+        @Nonnull DialogFlowBackend backend,
+        @Nonnull Executor executor,
+        long ttl,
+        @Nonnull TimeUnit unit
+    ) {
+        this.classifier = classifier;
+        this.backend = backend;
+        this.executor = executor;
+        this.responses = CacheBuilder.newBuilder()
+            .recordStats()
+            .maximumSize(5000)
+            .expireAfterWrite(ttl, unit)
+            .build();
+    }
+
+    /**
+     * Resolves the given query into a DialogFlow response.
+     *
+     * @param query The query that should be resolved.
+     * @return A future that is completed with the response for the query, or completed
+     *         exceptionally if the query had to be sent to DialogFlow, and the request failed.
+     */
+    @Nonnull
+    public CompletableFuture<AIResponse> resolve(@Nonnull String query) {
+        IntentClassifier.Classification classification = classifier.classify(query);
+        if (classification != null) {
+            return CompletableFuture.completedFuture(createLocalResponse(query, classification));
+        }
+
+        String key = IntentClassifier.normalize(query);
+
+        CompletableFuture<AIResponse> future;
+        try {
+            future = responses.get(key, () -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return backend.request(query);
+                } catch (AIServiceException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        } catch (ExecutionException e) {
+            CompletableFuture<AIResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e.getCause());
+            return failed;
+        }
+
+        CompletableFuture<AIResponse> request = future;
+        request.whenComplete((response, throwable) -> {
+            // Failed requests and error responses are removed from the cache so
+            // the next time the query is received it will be sent again.
+            if (throwable != null || !isSuccessful(response)) {
+                responses.asMap().remove(key, request);
+            }
+        });
+
+        return request;
+    }
+
+    /**
+     * Gets the cache that the DialogFlow responses are stored in.
+     *
+     * @return The DialogFlow response cache.
+     */
+    public Cache<String, CompletableFuture<AIResponse>> getResponses() {
+        return responses;
+    }
+
+    private boolean isSuccessful(AIResponse response) {
+        return response != null
+            && response.getStatus() != null
+            && Integer.valueOf(200).equals(response.getStatus().getCode());
+    }
+
+    private AIResponse createLocalResponse(String query, IntentClassifier.Classification classification) {
+        Fulfillment fulfillment = new Fulfillment();
+        fulfillment.setSpeech("");
+
+        Result result = new Result();
+        result.setAction(classification.getAction());
+        result.setResolvedQuery(query);
+        result.setScore((float) classification.getConfidence());
+        result.setSource("local");
+        result.setFulfillment(fulfillment);
+
+        Status status = new Status();
+        status.setCode(200);
+
+        AIResponse response = new AIResponse();
+        response.setId(UUID.randomUUID().toString());
+        response.setTimestamp(new Date());
+        response.setResult(result);
+        response.setStatus(status);
+
+        return response;
+    }
+}
@@ -29,6 +29,9 @@ import com.avbot.commands.CommandMessage;
 import com.avbot.commands.fun.RandomCatCommand;
 import com.avbot.contracts.ai.Intent;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class RequestCat extends Intent {
 
@@ -41,6 +44,19 @@ public class RequestCat extends Intent {
         return "request.cat";
     }
 
+    @Override
+    public List<String> getTrainingPhrases() {
+        return Arrays.asList(
+            "show me a cat",
+            "send a cat picture",
+            "cat picture",
+            "random cat",
+            "i want to see a cat",
+            "can i have a cat picture",
+            "show me a kitten"
+        );
+    }
+
     @Override
     @SuppressWarnings("ConstantConditions")
     public void onIntent(CommandMessage context, AIResponse response) {
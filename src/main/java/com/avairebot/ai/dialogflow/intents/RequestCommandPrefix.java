@@ -29,6 +29,7 @@ import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.ai.Intent;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings("unused")
@@ -43,6 +44,17 @@ public class RequestCommandPrefix extends Intent {
         return "command.prefix";
     }
 
+    @Override
+    public List<String> getTrainingPhrases() {
+        return Arrays.asList(
+            "what is your prefix",
+            "what are your prefixes",
+            "what prefix do you use",
+            "show me your prefixes",
+            "command prefix"
+        );
+    }
+
     @Override
     public void onIntent(CommandMessage context, AIResponse response) {
         List<String> prefixes = new ArrayList<>();
@@ -28,6 +28,9 @@ import com.avbot.commands.CommandMessage;
 import com.avbot.commands.fun.RandomDogCommand;
 import com.avbot.contracts.ai.Intent;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class RequestDog extends Intent {
 
@@ -40,6 +43,19 @@ public class RequestDog extends Intent {
         return "request.dog";
     }
 
+    @Override
+    public List<String> getTrainingPhrases() {
+        return Arrays.asList(
+            "show me a dog",
+            "send a dog picture",
+            "dog picture",
+            "random dog",
+            "i want to see a dog",
+            "can i have a dog picture",
+            "show me a puppy"
+        );
+    }
+
     @Override
     @SuppressWarnings({"SingleStatementInBlock", "ConstantConditions"})
     public void onIntent(CommandMessage context, AIResponse response) {
@@ -31,6 +31,9 @@ import com.avbot.contracts.ai.Intent;
 import com.avbot.database.transformers.GuildTransformer;
 import com.avbot.factories.MessageFactory;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class RequestLevel extends Intent {
 
@@ -43,6 +46,19 @@ public class RequestLevel extends Intent {
         return "request.level";
     }
 
+    @Override
+    public List<String> getTrainingPhrases() {
+        return Arrays.asList(
+            "what level am i",
+            "what is my level",
+            "show me my level",
+            "my rank",
+            "what is my rank",
+            "how much xp do i have",
+            "show my experience"
+        );
+    }
+
     @Override
     @SuppressWarnings("ConstantConditions")
     public void onIntent(CommandMessage context, AIResponse response) {
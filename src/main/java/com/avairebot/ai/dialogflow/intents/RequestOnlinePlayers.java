@@ -28,6 +28,9 @@ import com.avbot.contracts.ai.Intent;
 import net.dv8tion.jda.core.OnlineStatus;
 import net.dv8tion.jda.core.entities.Member;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class RequestOnlinePlayers extends Intent {
 
@@ -40,6 +43,17 @@ public class RequestOnlinePlayers extends Intent {
         return "request.online-players";
     }
 
+    @Override
+    public List<String> getTrainingPhrases() {
+        return Arrays.asList(
+            "how many people are online",
+            "how many users are online",
+            "who is online",
+            "how many members are online",
+            "online users"
+        );
+    }
+
     @Override
     public void onIntent(CommandMessage context, AIResponse response) {
         if (!context.getMessage().getChannelType().isGuild()) {
@@ -22,6 +22,9 @@
 package com.avbot.audio;
 
 import com.avbot.av;
+import com.avbot.Constants;
+import com.avbot.audio.cache.AudioState;
+import com.avbot.audio.cache.AudioStateStore;
 import com.avbot.audio.searcher.SearchProvider;
 import com.avbot.commands.CommandMessage;
 import com.avbot.database.controllers.GuildController;
@@ -38,15 +41,16 @@ import lavalink.client.io.Link;
 import net.dv8tion.jda.core.Permission;
 import net.dv8tion.jda.core.entities.*;
 import net.dv8tion.jda.core.managers.AudioManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 public class AudioHandler {
@@ -55,10 +59,14 @@ public class AudioHandler {
         new HashMap<>(),
         new HashMap<>()
     );
+    private static final Logger log = LoggerFactory.getLogger(AudioHandler.class);
     private static av av;
 
     public final Map<Long, GuildMusicManager> musicManagers;
     public final Map<String, AudioSession> audioSessions;
+    private final AudioStateStore audioStateStore = new AudioStateStore(
+        new File(Constants.STORAGE_PATH, "audio-state"), TimeUnit.HOURS.toMillis(3)
+    );
     private AudioPlayerManager playerManager;
 
     public AudioHandler(Map<Long, GuildMusicManager> musicManagers, Map<String, AudioSession> audioSessions) {
@@ -102,6 +110,53 @@ public class AudioHandler {
         return playerManager;
     }
 
+    /**
+     * Gets the audio state store, the store is used to save the music state of
+     * every guild with music playing, so the music can be resumed from
+     * where it left off when the bot boots back up again.
+     *
+     * @return The audio state store.
+     */
+    public AudioStateStore getAudioStateStore() {
+        return audioStateStore;
+    }
+
+    /**
+     * Saves the audio state of every guild that is currently playing music, or has
+     * songs in their queue, to the audio state store, guilds that are no longer
+     * playing music are removed from the store, and only the shards where
+     * something has changed since the last save will be written to disk.
+     *
+     * @return The number of shard snapshots that was written to disk.
+     */
+    public int saveAudioStates() {
+        Set<Long> guildIds = new HashSet<>();
+        for (GuildMusicManager manager : new ArrayList<>(musicManagers.values())) {
+            Guild guild = manager.getGuild();
+            if (guild == null) {
+                continue;
+            }
+
+            try {
+                //noinspection SynchronizationOnLocalVariableOrMethodParameter
+                synchronized (manager) {
+                    if (manager.getPlayer().getPlayingTrack() == null && manager.getScheduler().getQueue().isEmpty()) {
+                        continue;
+                    }
+
+                    audioStateStore.put(guild.getJDA().getShardInfo().getShardId(), new AudioState(manager, guild));
+                }
+                guildIds.add(guild.getIdLong());
+            } catch (Exception e) {
+                log.warn("Failed to create the audio state cache for the guild with an ID of: {}", manager.getGuildId(), e);
+            }
+        }
+
+        audioStateStore.retainAll(guildIds);
+
+        return audioStateStore.flush();
+    }
+
     @CheckReturnValue
     public TrackRequest loadAndPlay(CommandMessage context, @Nonnull TrackRequestContext trackContext) {
         return new TrackRequest(getGuildAudioPlayer(context.getGuild()), context, trackContext);
@@ -126,11 +126,15 @@ public class GuildMusicManager extends Evalable {
     }
 
     public void registerDefaultVolume() {
+        registerVolume(defaultVolume);
+    }
+
+    public void registerVolume(int volume) {
         if (!hasSetVolume) {
             hasSetVolume = true;
 
             ScheduleHandler.getScheduler().schedule(() -> {
-                getPlayer().setVolume(defaultVolume);
+                getPlayer().setVolume(volume);
             }, 1000, TimeUnit.MILLISECONDS);
         }
     }
@@ -22,10 +22,15 @@
 package com.avbot.audio;
 
 import com.avbot.av;
+import com.avbot.audio.lavalink.LavalinkNode;
+import com.avbot.audio.lavalink.LavalinkNodeSelector;
+import com.avbot.audio.lavalink.LavalinkNodeStats;
+import com.avbot.audio.lavalink.LoadBasedNodeSelectionStrategy;
 import com.avbot.scheduler.ScheduleHandler;
 import com.avbot.shared.DiscordConstants;
 import lavalink.client.io.LavalinkSocket;
 import lavalink.client.io.Link;
+import lavalink.client.io.RemoteStats;
 import lavalink.client.io.jda.JdaLavalink;
 import lavalink.client.io.jda.JdaLink;
 import lavalink.client.io.metrics.LavalinkCollector;
@@ -36,6 +41,9 @@ import net.dv8tion.jda.core.entities.VoiceChannel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -44,6 +52,21 @@ import java.util.concurrent.TimeUnit;
 
 public class LavalinkManager {
 
+    /**
+     * The max amount of players that will be moved off unhealthy
+     * nodes every time the nodes are rebalanced, this prevents
+     * a single failing node from moving every player at once.
+     */
+    private static final int MAX_MOVES_PER_REBALANCE = 25;
+
+    /**
+     * The amount of time in milliseconds that is spent trying
+     * to reach a node when measuring the latency to the node.
+     */
+    private static final int LATENCY_TIMEOUT = 2000;
+
+    private final LavalinkNodeSelector nodeSelector = new LavalinkNodeSelector(new LoadBasedNodeSelectionStrategy());
+
     private JdaLavalink lavalink = null;
     private boolean enabled;
 
@@ -156,6 +179,7 @@ public class LavalinkManager {
                 return;
             }
 
+            selectNode(link);
             link.connect(channel);
         }
     }
@@ -239,6 +263,119 @@ public class LavalinkManager {
         return false;
     }
 
+    /**
+     * Updates the node selector with the latest stats, availability, and latency
+     * of every Lavalink node, the stats are reported by the nodes themselves
+     * once every minute, while the latency is measured by opening a new
+     * connection to the node, so this should only be called periodically.
+     */
+    public void updateNodes() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        for (LavalinkSocket socket : lavalink.getNodes()) {
+            RemoteStats stats = socket.getStats();
+
+            nodeSelector.update(new LavalinkNode(
+                socket.getName(),
+                socket.isAvailable(),
+                stats == null ? null : new LavalinkNodeStats(
+                    stats.getPlayers(),
+                    stats.getPlayingPlayers(),
+                    stats.getCpuCores(),
+                    stats.getSystemLoad(),
+                    stats.getLavalinkLoad(),
+                    stats.getAvgFramesSentPerMinute(),
+                    stats.getAvgFramesNulledPerMinute(),
+                    stats.getAvgFramesDeficitPerMinute()
+                ),
+                socket.isAvailable() ? measureLatency(socket.getRemoteUri()) : -1
+            ));
+        }
+    }
+
+    /**
+     * Moves connected players off unhealthy nodes and onto the healthiest available node,
+     * players are only moved if there is a healthy node they can be moved to, and at
+     * most {@link #MAX_MOVES_PER_REBALANCE} players are moved at a time.
+     */
+    public void rebalanceNodes() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        int moved = 0;
+        for (JdaLink link : lavalink.getLinks()) {
+            if (moved >= MAX_MOVES_PER_REBALANCE) {
+                return;
+            }
+
+            if (!isLinkInState(link, Link.State.CONNECTED)) {
+                continue;
+            }
+
+            LavalinkSocket node = link.getNode(false);
+            if (node == null || !nodeSelector.shouldMove(node.getName())) {
+                continue;
+            }
+
+            if (selectNode(link)) {
+                moved++;
+            }
+        }
+    }
+
+    /**
+     * Gets the node selector that is used to select which
+     * Lavalink node each guild should be using.
+     *
+     * @return The Lavalink node selector.
+     */
+    public LavalinkNodeSelector getNodeSelector() {
+        return nodeSelector;
+    }
+
+    /**
+     * Selects the node the given link should be using through the node selector, if the
+     * selected node is different from the node the link is currently using, the
+     * link will be moved over to the selected node, bringing its player along.
+     *
+     * @param link The link that the node should be selected for.
+     * @return <code>True</code> if the link was moved to a different node, <code>False</code> otherwise.
+     */
+    private boolean selectNode(JdaLink link) {
+        LavalinkSocket current = link.getNode(false);
+
+        String selected = nodeSelector.select(current == null ? null : current.getName());
+        if (selected == null || (current != null && current.getName().equals(selected))) {
+            return false;
+        }
+
+        for (LavalinkSocket socket : lavalink.getNodes()) {
+            if (socket.getName().equals(selected)) {
+                link.changeNode(socket);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long measureLatency(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "wss".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+
+        long start = System.nanoTime();
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(uri.getHost(), port), LATENCY_TIMEOUT);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } catch (IOException e) {
+            return LATENCY_TIMEOUT;
+        }
+    }
+
     /**
      * Gets the JDA Lavalink instance.
      *
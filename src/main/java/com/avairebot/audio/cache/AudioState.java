@@ -78,6 +78,26 @@ public class AudioState extends Evalable implements Serializable {
             .forEach(queue::add);
     }
 
+    /**
+     * Creates the audio state using the given values, this is used to re-create
+     * audio states that have been read from an audio state snapshot.
+     *
+     * @param guildId          The ID of the guild the audio state was created for.
+     * @param voiceChannelId   The ID of the voice channel the music was playing in.
+     * @param messageChannelId The ID of the message channel the music was last used in.
+     * @param volume           The volume the music was playing at.
+     * @param playingTrack     The track that was playing, or {@code NULL}.
+     * @param queue            The tracks that was waiting in the queue.
+     */
+    AudioState(long guildId, long voiceChannelId, long messageChannelId, int volume, @Nullable AudioCache playingTrack, List<AudioCache> queue) {
+        this.guildId = guildId;
+        this.voiceChannelId = voiceChannelId;
+        this.messageChannelId = messageChannelId;
+        this.volume = volume;
+        this.playingTrack = playingTrack;
+        this.queue.addAll(queue);
+    }
+
     /**
      * The music queue of audio cache tracks, each track will hold the
      * audio track URL used to request the song originally, the ID of
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Stores audio state snapshots in a compact binary format, the snapshots are
+ * split up into one file per shard so each shard can load its own guilds
+ * when it connects, without having to read the state of every other
+ * guild the bot was playing music in.
+ * <p>
+ * Audio states are encoded when they're added to the store, and shard files
+ * are only re-written when at least one of the guilds on the shard has
+ * changed since the last time the store was flushed.
+ */
+public class AudioStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AudioStateStore.class);
+
+    private static final int MAGIC = 0x41565341;
+    private static final int VERSION = 1;
+
+    private final File directory;
+    private final long maxAge;
+
+    private final Map<Integer, Map<Long, byte[]>> shards = new HashMap<>();
+    private final Map<Long, Integer> guildShards = new HashMap<>();
+    private final Set<Integer> dirtyShards = new HashSet<>();
+    private final Set<Integer> loadedShards = new HashSet<>();
+
+    /**
+     * Creates a new audio state store.
+     *
+     * @param directory The directory the shard snapshot files should be stored in.
+     * @param maxAge    The max age of a snapshot in milliseconds before it is considered expired.
+     */
+    public AudioStateStore(@Nonnull File directory, long maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Adds the given audio state to the snapshot for the given shard, if the audio
+     * state is identical to the state already stored for the guild, the shard
+     * will not be marked as changed.
+     *
+     * @param shardId The ID of the shard the guild belongs to.
+     * @param state   The audio state that should be stored.
+     * @return <code>True</code> if the state was changed, <code>False</code> otherwise.
+     */
+    public synchronized boolean put(int shardId, @Nonnull AudioState state) {
+        byte[] encoded = encode(state);
+
+        Integer previousShard = guildShards.put(state.getGuildId(), shardId);
+        if (previousShard != null && previousShard != shardId) {
+            removeFromShard(previousShard, state.getGuildId());
+        }
+
+        byte[] previous = shards.computeIfAbsent(shardId, id -> new HashMap<>()).put(state.getGuildId(), encoded);
+        if (previous != null && Arrays.equals(previous, encoded)) {
+            return false;
+        }
+
+        dirtyShards.add(shardId);
+        return true;
+    }
+
+    /**
+     * Removes the audio state for the given guild from the store.
+     *
+     * @param guildId The ID of the guild that should be removed.
+     */
+    public synchronized void remove(long guildId) {
+        Integer shardId = guildShards.remove(guildId);
+        if (shardId != null) {
+            removeFromShard(shardId, guildId);
+        }
+    }
+
+    /**
+     * Removes the audio state of every guild from the store that
+     * isn't in the given set of guild IDs.
+     *
+     * @param guildIds The IDs of the guilds that should be kept.
+     */
+    public synchronized void retainAll(@Nonnull Set<Long> guildIds) {
+        for (Long guildId : new ArrayList<>(guildShards.keySet())) {
+            if (!guildIds.contains(guildId)) {
+                remove(guildId);
+            }
+        }
+    }
+
+    /**
+     * Writes the snapshot file of every shard that has changed since the
+     * last time the store was flushed, shards without any audio
+     * states will have their snapshot file deleted instead.
+     *
+     * @return The number of shard snapshot files that was written or deleted.
+     */
+    public synchronized int flush() {
+        if (dirtyShards.isEmpty()) {
+            return 0;
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            log.error("Failed to create the audio state directory at {}", directory);
+            return 0;
+        }
+
+        int flushed = 0;
+        for (Iterator<Integer> iterator = dirtyShards.iterator(); iterator.hasNext(); ) {
+            int shardId = iterator.next();
+
+            try {
+                writeShard(shardId, shards.getOrDefault(shardId, Collections.emptyMap()));
+                iterator.remove();
+                flushed++;
+            } catch (IOException e) {
+                log.error("Failed to write the audio state snapshot for shard {}: {}", shardId, e.getMessage(), e);
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Loads the audio states stored for the given shard, the snapshot for the shard is
+     * consumed in the process, and each shard can only be loaded once, so shards that
+     * reconnects won't resume the music again from snapshots that was written
+     * by the currently running instance of the bot.
+     *
+     * @param shardId The ID of the shard that the audio states should be loaded for.
+     * @return The list of audio states that was stored for the given shard.
+     */
+    @Nonnull
+    public synchronized List<AudioState> load(int shardId) {
+        File file = getShardFile(shardId);
+        if (!loadedShards.add(shardId) || !file.exists()) {
+            return Collections.emptyList();
+        }
+
+        List<AudioState> states = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                log.warn("Ignoring audio state snapshot for shard {}, the file is not a valid snapshot", shardId);
+            } else if (input.readLong() + maxAge < System.currentTimeMillis()) {
+                log.debug("Ignoring audio state snapshot for shard {}, the snapshot has expired", shardId);
+            } else {
+                int count = input.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] record = new byte[input.readInt()];
+                    input.readFully(record);
+
+                    states.add(decode(record));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read the audio state snapshot for shard {}: {}", shardId, e.getMessage(), e);
+        }
+
+        Map<Long, byte[]> shard = shards.remove(shardId);
+        if (shard != null) {
+            guildShards.keySet().removeAll(shard.keySet());
+        }
+        dirtyShards.remove(shardId);
+
+        if (!file.delete()) {
+            log.warn("Failed to delete the audio state snapshot for shard {}", shardId);
+        }
+
+        return states;
+    }
+
+    private void removeFromShard(int shardId, long guildId) {
+        Map<Long, byte[]> shard = shards.get(shardId);
+        if (shard != null && shard.remove(guildId) != null) {
+            dirtyShards.add(shardId);
+        }
+    }
+
+    private void writeShard(int shardId, Map<Long, byte[]> records) throws IOException {
+        File file = getShardFile(shardId);
+        if (records.isEmpty()) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(System.currentTimeMillis());
+            output.writeInt(records.size());
+
+            for (byte[] record : records.values()) {
+                output.writeInt(record.length);
+                output.write(record);
+            }
+        }
+
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getShardFile(int shardId) {
+        return new File(directory, "shard-" + shardId + ".state");
+    }
+
+    static byte[] encode(AudioState state) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream output = new DataOutputStream(bytes)) {
+
+            output.writeLong(state.getGuildId());
+            output.writeLong(state.getVoiceChannelId());
+            output.writeLong(state.getMessageChannelId());
+            output.writeInt(state.getVolume());
+
+            AudioCache playingTrack = state.getPlayingTrack();
+            boolean hasPlayingTrack = playingTrack != null && playingTrack.getTrack() != null;
+
+            output.writeBoolean(hasPlayingTrack);
+            if (hasPlayingTrack) {
+                writeAudioCache(output, playingTrack);
+            }
+
+            List<AudioCache> queue = new ArrayList<>();
+            for (AudioCache audioCache : state.getQueue()) {
+                if (audioCache != null && audioCache.getTrack() != null) {
+                    queue.add(audioCache);
+                }
+            }
+
+            output.writeInt(queue.size());
+            for (AudioCache audioCache : queue) {
+                writeAudioCache(output, audioCache);
+            }
+
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Writing to a byte array output stream never throws I/O exceptions.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static AudioState decode(byte[] record) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+
+        long guildId = input.readLong();
+        long voiceChannelId = input.readLong();
+        long messageChannelId = input.readLong();
+        int volume = input.readInt();
+
+        AudioCache playingTrack = input.readBoolean() ? readAudioCache(input) : null;
+
+        int size = input.readInt();
+        List<AudioCache> queue = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            queue.add(readAudioCache(input));
+        }
+
+        return new AudioState(guildId, voiceChannelId, messageChannelId, volume, playingTrack, queue);
+    }
+
+    private static void writeAudioCache(DataOutputStream output, AudioCache audioCache) throws IOException {
+        output.writeLong(audioCache.getRequestedBy());
+        output.writeLong(audioCache.getPosition());
+        output.writeInt(audioCache.getTrack().length);
+        output.write(audioCache.getTrack());
+    }
+
+    private static AudioCache readAudioCache(DataInputStream input) throws IOException {
+        long requestedBy = input.readLong();
+        long position = input.readLong();
+
+        byte[] track = new byte[input.readInt()];
+        input.readFully(track);
+
+        return new AudioCache(track, requestedBy, position);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of the state of a Lavalink node, used by the
+ * {@link NodeSelectionStrategy node selection strategies} to
+ * determine how healthy and busy the node is.
+ */
+public class LavalinkNode {
+
+    private final String name;
+    private final boolean available;
+    private final LavalinkNodeStats stats;
+    private final long latency;
+
+    /**
+     * Creates a new Lavalink node snapshot.
+     *
+     * @param name      The name of the node.
+     * @param available Whether or not the node is connected and ready to be used.
+     * @param stats     The latest stats reported by the node, or {@code NULL} if the node hasn't reported any stats yet.
+     * @param latency   The latency to the node in milliseconds, or -1 if the latency is unknown.
+     */
+    public LavalinkNode(@Nonnull String name, boolean available, @Nullable LavalinkNodeStats stats, long latency) {
+        this.name = name;
+        this.available = available;
+        this.stats = stats;
+        this.latency = latency;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Nullable
+    public LavalinkNodeStats getStats() {
+        return stats;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the latest known state of every Lavalink node, and uses the
+ * {@link NodeSelectionStrategy node selection strategy} to select which node
+ * a guild should be using, guilds are kept on their current node for as
+ * long as the node stays healthy, so players aren't moved around
+ * between nodes every time the load on the nodes changes.
+ */
+public class LavalinkNodeSelector {
+
+    private final Map<String, LavalinkNode> nodes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> assignments = new ConcurrentHashMap<>();
+
+    private volatile NodeSelectionStrategy strategy;
+
+    /**
+     * Creates a new Lavalink node selector using the given strategy.
+     *
+     * @param strategy The strategy that should be used to score the nodes.
+     */
+    public LavalinkNodeSelector(@Nonnull NodeSelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Gets the node selection strategy that is used to score the nodes.
+     *
+     * @return The node selection strategy.
+     */
+    public NodeSelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the node selection strategy that should be used to score the nodes.
+     *
+     * @param strategy The node selection strategy that should be used.
+     */
+    public void setStrategy(@Nonnull NodeSelectionStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Updates the state of the given node, this also resets the amount of
+     * guilds that has been assigned to the node since the last update,
+     * since the new stats will include the players for the guilds.
+     *
+     * @param node The new state of the node.
+     */
+    public void update(@Nonnull LavalinkNode node) {
+        nodes.put(node.getName(), node);
+        assignments.remove(node.getName());
+    }
+
+    /**
+     * Removes the node with the given name.
+     *
+     * @param name The name of the node that should be removed.
+     */
+    public void remove(@Nonnull String name) {
+        nodes.remove(name);
+        assignments.remove(name);
+    }
+
+    /**
+     * Gets the latest known state of the node with the given name.
+     *
+     * @param name The name of the node.
+     * @return The latest known state of the node, or {@code NULL} if the node is unknown.
+     */
+    @Nullable
+    public LavalinkNode getNode(@Nonnull String name) {
+        return nodes.get(name);
+    }
+
+    /**
+     * Gets the latest known state of all the nodes.
+     *
+     * @return A collection of the latest known state of all the nodes.
+     */
+    public Collection<LavalinkNode> getNodes() {
+        return Collections.unmodifiableCollection(nodes.values());
+    }
+
+    /**
+     * Checks if the node with the given name is healthy.
+     *
+     * @param name The name of the node that should be checked.
+     * @return <code>True</code> if the node is known and healthy, <code>False</code> otherwise.
+     */
+    public boolean isHealthy(@Nullable String name) {
+        LavalinkNode node = name == null ? null : nodes.get(name);
+        return node != null && strategy.isHealthy(node);
+    }
+
+    /**
+     * Selects the node a guild that is currently using the given node should be using,
+     * if the current node is healthy the current node will be returned, otherwise the
+     * healthy node with the lowest penalty is selected, if none of the nodes are
+     * healthy the available node with the lowest penalty is selected instead.
+     * <p>
+     * Selecting a different node than the current node counts as assigning the
+     * guild to the selected node, the assignment is included in the penalty
+     * of the node until the node reports its stats again, this prevents
+     * every guild from being assigned to the same node at once.
+     *
+     * @param currentNode The name of the node the guild is currently using, or {@code NULL}.
+     * @return The name of the node the guild should be using, or {@code NULL} if no nodes are available.
+     */
+    @Nullable
+    public String select(@Nullable String currentNode) {
+        NodeSelectionStrategy strategy = this.strategy;
+        if (isHealthy(currentNode)) {
+            return currentNode;
+        }
+
+        LavalinkNode selected = null;
+        boolean selectedHealthy = false;
+        long selectedPenalty = Long.MAX_VALUE;
+
+        for (LavalinkNode node : sortedNodes()) {
+            if (!node.isAvailable()) {
+                continue;
+            }
+
+            boolean healthy = strategy.isHealthy(node);
+            long penalty = getPenalty(strategy, node);
+
+            if (selected == null
+                || (healthy && !selectedHealthy)
+                || (healthy == selectedHealthy && penalty < selectedPenalty)) {
+                selected = node;
+                selectedHealthy = healthy;
+                selectedPenalty = penalty;
+            }
+        }
+
+        if (selected == null) {
+            return null;
+        }
+
+        if (!selected.getName().equals(currentNode)) {
+            assignments.computeIfAbsent(selected.getName(), name -> new AtomicInteger()).incrementAndGet();
+        }
+
+        return selected.getName();
+    }
+
+    /**
+     * Checks if a guild that is currently using the given node should be moved to a
+     * different node, guilds are only moved if their current node is unhealthy
+     * and there is a healthy node they can be moved to instead.
+     *
+     * @param currentNode The name of the node the guild is currently using.
+     * @return <code>True</code> if the guild should be moved to another node, <code>False</code> otherwise.
+     */
+    public boolean shouldMove(@Nullable String currentNode) {
+        if (currentNode == null || isHealthy(currentNode)) {
+            return false;
+        }
+
+        NodeSelectionStrategy strategy = this.strategy;
+        for (LavalinkNode node : nodes.values()) {
+            if (!node.getName().equals(currentNode) && strategy.isHealthy(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getPenalty(NodeSelectionStrategy strategy, LavalinkNode node) {
+        AtomicInteger assigned = assignments.get(node.getName());
+        return (long) strategy.getPenalty(node) + (assigned == null ? 0 : assigned.get());
+    }
+
+    private List<LavalinkNode> sortedNodes() {
+        List<LavalinkNode> sorted = new ArrayList<>(nodes.values());
+        sorted.sort(Comparator.comparing(LavalinkNode::getName));
+        return sorted;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import org.json.JSONObject;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An immutable snapshot of the stats a Lavalink node reports about itself,
+ * Lavalink nodes sends their stats to every connected client once every
+ * minute, as well as right after the client has connected to the node.
+ */
+public class LavalinkNodeStats {
+
+    private final int players;
+    private final int playingPlayers;
+    private final int cpuCores;
+    private final double systemLoad;
+    private final double lavalinkLoad;
+    private final int framesSent;
+    private final int framesNulled;
+    private final int framesDeficit;
+
+    /**
+     * Creates a new Lavalink node stats snapshot.
+     *
+     * @param players        The amount of players on the node.
+     * @param playingPlayers The amount of players that are currently playing something on the node.
+     * @param cpuCores       The amount of CPU cores the node has.
+     * @param systemLoad     The CPU load of the whole system the node is running on, between 0 and 1.
+     * @param lavalinkLoad   The CPU load of the Lavalink process, between 0 and 1.
+     * @param framesSent     The average amount of frames sent per minute by the node.
+     * @param framesNulled   The average amount of frames that was nulled per minute, or -1 if unknown.
+     * @param framesDeficit  The average amount of frames that was missing per minute, or -1 if unknown.
+     */
+    public LavalinkNodeStats(
+        int players,
+        int playingPlayers,
+        int cpuCores,
+        double systemLoad,
+        double lavalinkLoad,
+        int framesSent,
+        int framesNulled,
+        int framesDeficit
+    ) {
+        this.players = players;
+        this.playingPlayers = playingPlayers;
+        this.cpuCores = cpuCores;
+        this.systemLoad = systemLoad;
+        this.lavalinkLoad = lavalinkLoad;
+        this.framesSent = framesSent;
+        this.framesNulled = framesNulled;
+        this.framesDeficit = framesDeficit;
+    }
+
+    /**
+     * Creates a Lavalink node stats snapshot from the given stats
+     * payload, as it is sent by the Lavalink node.
+     *
+     * @param json The stats payload sent by the Lavalink node.
+     * @return The Lavalink node stats snapshot.
+     */
+    public static LavalinkNodeStats fromJson(@Nonnull JSONObject json) {
+        JSONObject cpu = json.optJSONObject("cpu");
+        JSONObject frames = json.optJSONObject("frameStats");
+
+        return new LavalinkNodeStats(
+            json.optInt("players", 0),
+            json.optInt("playingPlayers", 0),
+            cpu == null ? 0 : cpu.optInt("cores", 0),
+            cpu == null ? 0D : cpu.optDouble("systemLoad", 0D),
+            cpu == null ? 0D : cpu.optDouble("lavalinkLoad", 0D),
+            frames == null ? -1 : frames.optInt("sent", -1),
+            frames == null ? -1 : frames.optInt("nulled", -1),
+            frames == null ? -1 : frames.optInt("deficit", -1)
+        );
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public int getPlayingPlayers() {
+        return playingPlayers;
+    }
+
+    public int getCpuCores() {
+        return cpuCores;
+    }
+
+    public double getSystemLoad() {
+        return systemLoad;
+    }
+
+    public double getLavalinkLoad() {
+        return lavalinkLoad;
+    }
+
+    public int getFramesSent() {
+        return framesSent;
+    }
+
+    public int getFramesNulled() {
+        return framesNulled;
+    }
+
+    public int getFramesDeficit() {
+        return framesDeficit;
+    }
+
+    /**
+     * Checks if the node has reported any frame stats, nodes only reports frame
+     * stats once they have been playing music for at least a minute.
+     *
+     * @return <code>True</code> if the node has reported frame stats, <code>False</code> otherwise.
+     */
+    public boolean hasFrameStats() {
+        return framesSent >= 0 && framesNulled >= 0 && framesDeficit >= 0;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The default node selection strategy, scoring nodes using the same penalties as
+ * the load balancer built into the Lavalink client, using the amount of players,
+ * the CPU load, and the amount of nulled and missing frames on the node, as
+ * well as adding a penalty for the latency to the node.
+ */
+public class LoadBasedNodeSelectionStrategy implements NodeSelectionStrategy {
+
+    /**
+     * The amount of frames a single player sends every minute, the frame stats
+     * reported by Lavalink are averages per player, so they're compared
+     * directly to the amount of frames a single player should send.
+     */
+    private static final float FRAMES_PER_MINUTE = 3000F;
+
+    private final double maxSystemLoad;
+    private final double maxFrameDeficit;
+    private final long maxLatency;
+
+    /**
+     * Creates a new load based node selection strategy using the default health thresholds,
+     * nodes are considered unhealthy if the system load goes above 90%, if more than 10%
+     * of the frames are missing, or if the latency to the node is above one second.
+     */
+    public LoadBasedNodeSelectionStrategy() {
+        this(0.9D, 0.1D, 1000L);
+    }
+
+    /**
+     * Creates a new load based node selection strategy using the given health thresholds.
+     *
+     * @param maxSystemLoad   The max system load a healthy node can have, between 0 and 1.
+     * @param maxFrameDeficit The max ratio of nulled and missing frames a healthy node can have, between 0 and 1.
+     * @param maxLatency      The max latency a healthy node can have, in milliseconds.
+     */
+    public LoadBasedNodeSelectionStrategy(double maxSystemLoad, double maxFrameDeficit, long maxLatency) {
+        this.maxSystemLoad = maxSystemLoad;
+        this.maxFrameDeficit = maxFrameDeficit;
+        this.maxLatency = maxLatency;
+    }
+
+    @Override
+    public int getPenalty(@Nonnull LavalinkNode node) {
+        if (!node.isAvailable()) {
+            return Integer.MAX_VALUE;
+        }
+
+        long penalty = node.getLatency() < 0 ? 0 : node.getLatency() / 10;
+
+        LavalinkNodeStats stats = node.getStats();
+        if (stats != null) {
+            penalty += stats.getPlayingPlayers();
+            penalty += (long) (Math.pow(1.05D, 100 * stats.getSystemLoad()) * 10 - 10);
+
+            if (stats.hasFrameStats()) {
+                penalty += (long) (Math.pow(1.03D, 500F * (stats.getFramesDeficit() / FRAMES_PER_MINUTE)) * 600 - 600);
+                penalty += (long) (Math.pow(1.03D, 500F * (stats.getFramesNulled() / FRAMES_PER_MINUTE)) * 300 - 300) * 2;
+            }
+        }
+
+        return (int) Math.min(penalty, Integer.MAX_VALUE - 1);
+    }
+
+    @Override
+    public boolean isHealthy(@Nonnull LavalinkNode node) {
+        if (!node.isAvailable()) {
+            return false;
+        }
+
+        if (node.getLatency() > maxLatency) {
+            return false;
+        }
+
+        LavalinkNodeStats stats = node.getStats();
+        if (stats == null) {
+            return true;
+        }
+
+        if (stats.getSystemLoad() > maxSystemLoad) {
+            return false;
+        }
+
+        if (!stats.hasFrameStats()) {
+            return true;
+        }
+
+        return (stats.getFramesDeficit() + stats.getFramesNulled()) / FRAMES_PER_MINUTE <= maxFrameDeficit;
+    }
+}
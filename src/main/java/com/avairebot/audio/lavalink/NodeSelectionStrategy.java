@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A node selection strategy is used to score Lavalink nodes, the score is used to
+ * pick which node new players should be created on, and to determine if the
+ * players on a node should be moved off the node to a healthier node.
+ */
+public interface NodeSelectionStrategy {
+
+    /**
+     * Gets the penalty for the given node, nodes with a lower penalty
+     * are preferred over nodes with a higher penalty.
+     *
+     * @param node The node that should be scored.
+     * @return The penalty for the given node.
+     */
+    int getPenalty(@Nonnull LavalinkNode node);
+
+    /**
+     * Checks if the given node is healthy, players on unhealthy nodes
+     * will be moved to a healthy node if one is available.
+     *
+     * @param node The node that should be checked.
+     * @return <code>True</code> if the node is healthy, <code>False</code> otherwise.
+     */
+    boolean isHealthy(@Nonnull LavalinkNode node);
+}
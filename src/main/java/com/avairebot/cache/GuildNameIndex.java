@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.cache;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A lowercase name index for a single guild, mapping usernames, effective names (the
+ * nickname if the member has one, otherwise the username) and role names to the
+ * IDs of the entities using the name, allowing members and roles to be looked
+ * up by their exact name, or by a name prefix, without scanning through
+ * every member or role in the guild.
+ * <p>
+ * Members with the same name are returned ordered by their ID, while roles
+ * are returned in the same order they were given, which for roles loaded
+ * from a guild means the highest positioned role comes first.
+ */
+public class GuildNameIndex {
+
+    private final NavigableMap<String, Set<Long>> usernames = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<Long>> effectiveNames = new ConcurrentSkipListMap<>();
+    private final Map<Long, MemberNames> members = new ConcurrentHashMap<>();
+
+    private volatile NavigableMap<String, List<Long>> roles = new TreeMap<>();
+
+    /**
+     * Creates a new name index for the given guild, indexing all of
+     * the members and roles currently cached for the guild.
+     *
+     * @param guild The guild that the index should be built for.
+     * @return The name index for the given guild.
+     */
+    public static GuildNameIndex of(@Nonnull Guild guild) {
+        GuildNameIndex index = new GuildNameIndex();
+
+        for (Member member : guild.getMemberCache()) {
+            index.putMember(member.getUser().getIdLong(), member.getUser().getName(), member.getNickname());
+        }
+        index.setRoles(guild.getRoles());
+
+        return index;
+    }
+
+    /**
+     * Adds the member with the given ID to the index, if the member is already
+     * indexed the old names for the member is replaced with the new names.
+     *
+     * @param id       The ID of the member.
+     * @param username The username of the member.
+     * @param nickname The nickname of the member, or {@code NULL} if the member doesn't have a nickname.
+     */
+    public synchronized void putMember(long id, @Nonnull String username, @Nullable String nickname) {
+        removeMember(id);
+
+        MemberNames names = new MemberNames(
+            username.toLowerCase(), nickname == null ? null : nickname.toLowerCase()
+        );
+
+        members.put(id, names);
+        add(usernames, names.username, id);
+        add(effectiveNames, names.effectiveName, id);
+    }
+
+    /**
+     * Updates the username of the member with the given ID, if the
+     * member is not in the index, nothing will happen.
+     *
+     * @param id       The ID of the member.
+     * @param username The new username of the member.
+     */
+    public synchronized void updateUsername(long id, @Nonnull String username) {
+        MemberNames names = members.get(id);
+        if (names == null) {
+            return;
+        }
+
+        putMember(id, username, names.nickname);
+    }
+
+    /**
+     * Removes the member with the given ID from the index.
+     *
+     * @param id The ID of the member that should be removed.
+     */
+    public synchronized void removeMember(long id) {
+        MemberNames names = members.remove(id);
+        if (names == null) {
+            return;
+        }
+
+        remove(usernames, names.username, id);
+        remove(effectiveNames, names.effectiveName, id);
+    }
+
+    /**
+     * Checks if the member with the given ID is in the index.
+     *
+     * @param id The ID of the member that should be checked.
+     * @return {@code True} if the member is in the index, {@code False} otherwise.
+     */
+    public boolean hasMember(long id) {
+        return members.containsKey(id);
+    }
+
+    /**
+     * Replaces the indexed roles with the given list of roles, the roles
+     * are kept in the same order they're given in for lookups.
+     *
+     * @param roles The roles that should be indexed.
+     */
+    public void setRoles(@Nonnull List<Role> roles) {
+        NavigableMap<String, List<Long>> index = new TreeMap<>();
+        for (Role role : roles) {
+            index.computeIfAbsent(role.getName().toLowerCase(), name -> new ArrayList<>())
+                .add(role.getIdLong());
+        }
+        this.roles = index;
+    }
+
+    /**
+     * Gets the IDs of the members with the given username, ignoring casing.
+     *
+     * @param name The username to look for.
+     * @return The IDs of the members with the given username.
+     */
+    public List<Long> getMembersByName(@Nonnull String name) {
+        Set<Long> ids = usernames.get(name.toLowerCase());
+        return ids == null ? Collections.emptyList() : new ArrayList<>(ids);
+    }
+
+    /**
+     * Gets the IDs of the members with the given effective name, ignoring casing.
+     *
+     * @param name The effective name to look for.
+     * @return The IDs of the members with the given effective name.
+     */
+    public List<Long> getMembersByEffectiveName(@Nonnull String name) {
+        Set<Long> ids = effectiveNames.get(name.toLowerCase());
+        return ids == null ? Collections.emptyList() : new ArrayList<>(ids);
+    }
+
+    /**
+     * Gets the IDs of the members with an effective name starting with the given
+     * prefix, ignoring casing, the members are sorted by their effective name.
+     *
+     * @param prefix The prefix the effective names should start with.
+     * @param limit  The maximum amount of IDs that should be returned.
+     * @return The IDs of the members with an effective name starting with the prefix.
+     */
+    public List<Long> getMembersByEffectiveNamePrefix(@Nonnull String prefix, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Set<Long> matches : prefixMap(effectiveNames, prefix.toLowerCase()).values()) {
+            for (Long id : matches) {
+                if (ids.size() >= limit) {
+                    return ids;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the IDs of the roles with the given name, ignoring casing.
+     *
+     * @param name The role name to look for.
+     * @return The IDs of the roles with the given name.
+     */
+    public List<Long> getRolesByName(@Nonnull String name) {
+        List<Long> ids = roles.get(name.toLowerCase());
+        return ids == null ? Collections.emptyList() : Collections.unmodifiableList(ids);
+    }
+
+    /**
+     * Gets the IDs of the roles with a name starting with the given prefix,
+     * ignoring casing, the roles are sorted by their name.
+     *
+     * @param prefix The prefix the role names should start with.
+     * @param limit  The maximum amount of IDs that should be returned.
+     * @return The IDs of the roles with a name starting with the prefix.
+     */
+    public List<Long> getRolesByNamePrefix(@Nonnull String prefix, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (List<Long> matches : prefixMap(roles, prefix.toLowerCase()).values()) {
+            for (Long id : matches) {
+                if (ids.size() >= limit) {
+                    return ids;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the amount of members in the index.
+     *
+     * @return The amount of indexed members.
+     */
+    public int size() {
+        return members.size();
+    }
+
+    private <T> SortedMap<String, T> prefixMap(NavigableMap<String, T> map, String prefix) {
+        if (prefix.isEmpty()) {
+            return map;
+        }
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void add(NavigableMap<String, Set<Long>> map, String name, long id) {
+        map.computeIfAbsent(name, key -> new ConcurrentSkipListSet<>()).add(id);
+    }
+
+    private void remove(NavigableMap<String, Set<Long>> map, String name, long id) {
+        Set<Long> ids = map.get(name);
+        if (ids == null) {
+            return;
+        }
+
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            map.remove(name, ids);
+        }
+    }
+
+    private static class MemberNames {
+
+        private final String username;
+        private final String nickname;
+        private final String effectiveName;
+
+        MemberNames(String username, String nickname) {
+            this.username = username;
+            this.nickname = nickname;
+            this.effectiveName = nickname == null ? username : nickname;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.cache;
+
+import com.avbot.utilities.CacheUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link GuildNameIndex name indexes} used to resolve members and roles by
+ * name. Indexes are built lazily the first time a guild is looked up, and are then
+ * kept up to date through the event methods below, indexes for guilds that
+ * haven't been used in a while are dropped to free up memory, and all
+ * indexes are rebuilt every hour so any drift from missed events
+ * is reconciled against JDA's own cache.
+ */
+public class GuildNameIndexCache {
+
+    private final Cache<Long, GuildNameIndex> indexes = CacheBuilder.newBuilder()
+        .expireAfterAccess(15, TimeUnit.MINUTES)
+        .expireAfterWrite(1, TimeUnit.HOURS)
+        .build();
+
+    /**
+     * Gets the name index for the given guild, building it if it doesn't exist yet.
+     *
+     * @param guild The guild that the name index should be returned for.
+     * @return The name index for the given guild.
+     */
+    public GuildNameIndex getIndex(@Nonnull Guild guild) {
+        return (GuildNameIndex) CacheUtil.getUncheckedUnwrapped(indexes, guild.getIdLong(), () -> GuildNameIndex.of(guild));
+    }
+
+    /**
+     * Gets the name index for the guild with the given ID if one exists.
+     *
+     * @param guildId The ID of the guild.
+     * @return The name index for the guild, or {@code NULL} if the guild hasn't been indexed.
+     */
+    @Nullable
+    public GuildNameIndex getIfPresent(long guildId) {
+        return indexes.getIfPresent(guildId);
+    }
+
+    /**
+     * Adds or updates the given member in the index for the members
+     * guild, if the guild has been indexed already.
+     *
+     * @param member The member that joined the guild, or had their nickname changed.
+     */
+    public void onMemberUpdate(@Nonnull Member member) {
+        GuildNameIndex index = indexes.getIfPresent(member.getGuild().getIdLong());
+        if (index != null) {
+            index.putMember(member.getUser().getIdLong(), member.getUser().getName(), member.getNickname());
+        }
+    }
+
+    /**
+     * Removes the user from the index for the guild with the given ID, if it has been indexed.
+     *
+     * @param guildId The ID of the guild the user left.
+     * @param user    The user that left the guild.
+     */
+    public void onMemberLeave(long guildId, @Nonnull User user) {
+        GuildNameIndex index = indexes.getIfPresent(guildId);
+        if (index != null) {
+            index.removeMember(user.getIdLong());
+        }
+    }
+
+    /**
+     * Updates the username of the given user in every indexed guild the user is a member of.
+     *
+     * @param user The user that changed their username.
+     */
+    public void onUserUpdateName(@Nonnull User user) {
+        for (GuildNameIndex index : indexes.asMap().values()) {
+            index.updateUsername(user.getIdLong(), user.getName());
+        }
+    }
+
+    /**
+     * Re-indexes the roles for the given guild, if it has been indexed, this should be
+     * called when a role is created, deleted, renamed or moved in the guild.
+     *
+     * @param guild The guild that had its roles changed.
+     */
+    public void onRolesChange(@Nonnull Guild guild) {
+        GuildNameIndex index = indexes.getIfPresent(guild.getIdLong());
+        if (index != null) {
+            index.setRoles(guild.getRoles());
+        }
+    }
+
+    /**
+     * Invalidates the name index for the guild with the given ID, the
+     * index is then rebuilt the next time the guild is looked up.
+     *
+     * @param guildId The ID of the guild that should be invalidated.
+     */
+    public void invalidate(long guildId) {
+        indexes.invalidate(guildId);
+    }
+
+    /**
+     * Invalidates all the name indexes, this should be called when JDA
+     * rebuilds its cache, like after the shard has reconnected.
+     */
+    public void invalidateAll() {
+        indexes.invalidateAll();
+    }
+}
@@ -21,92 +21,102 @@
 
 package com.avbot.chat;
 
-import com.avbot.utilities.StringReplacementUtil;
 import net.dv8tion.jda.core.entities.*;
 
+import javax.annotation.Nullable;
+
 class DefaultPlaceholders {
 
     static String parse(PlaceholderType type, Object object, String message) {
+        if (message == null) {
+            return null;
+        }
+        return PlaceholderTemplate.compile(message, ':').render(createResolver(type, object));
+    }
+
+    @Nullable
+    static PlaceholderResolver createResolver(PlaceholderType type, Object object) {
         switch (type) {
             case ALL:
                 if (object instanceof Message && ((Message) object).getChannelType().isGuild()) {
                     Message jdaMessage = (Message) object;
 
-                    return parseGuild(jdaMessage.getGuild(), parseChannel(jdaMessage.getTextChannel(), parseUser(jdaMessage.getAuthor(), message)));
+                    PlaceholderResolver resolver = new PlaceholderResolver();
+                    addUser(resolver, jdaMessage.getAuthor());
+                    addChannel(resolver, jdaMessage.getTextChannel());
+                    addGuild(resolver, jdaMessage.getGuild());
+
+                    return resolver;
                 }
 
             case GUILD:
                 if (object instanceof Guild) {
-                    return parseGuild((Guild) object, message);
+                    return addGuild(new PlaceholderResolver(), (Guild) object);
                 }
 
                 if (object instanceof Message && ((Message) object).getChannelType().isGuild()) {
-                    return parseGuild(((Message) object).getGuild(), message);
+                    return addGuild(new PlaceholderResolver(), ((Message) object).getGuild());
                 }
                 break;
 
             case CHANNEL:
                 if (object instanceof TextChannel) {
-                    return parseChannel((TextChannel) object, message);
+                    return addChannel(new PlaceholderResolver(), (TextChannel) object);
                 }
 
                 if (object instanceof Message && ((Message) object).getChannelType().equals(ChannelType.TEXT)) {
-                    return parseChannel(((Message) object).getTextChannel(), message);
+                    return addChannel(new PlaceholderResolver(), ((Message) object).getTextChannel());
                 }
                 break;
 
             case USER:
                 if (object instanceof User) {
-                    return parseUser((User) object, message);
+                    return addUser(new PlaceholderResolver(), (User) object);
                 }
 
                 if (object instanceof Message && ((Message) object).getAuthor() != null) {
-                    return parseUser(((Message) object).getAuthor(), message);
+                    return addUser(new PlaceholderResolver(), ((Message) object).getAuthor());
                 }
                 break;
-
-            default:
-                for (PlaceholderType placeholderType : PlaceholderType.values()) {
-                    message = parse(placeholderType, object, message);
-                }
-                return message;
         }
 
-        return message;
+        return null;
     }
 
     static String toGuild(Message message, String string) {
         if (!message.getChannelType().isGuild() || string == null) return string;
-        return parseGuild(message.getGuild(), string);
+        return render(string, addGuild(new PlaceholderResolver(), message.getGuild()));
     }
 
-    private static String parseGuild(Guild guild, String message) {
-        return StringReplacementUtil.replaceAll(message, ":guildid", guild.getId());
+    private static PlaceholderResolver addGuild(PlaceholderResolver resolver, Guild guild) {
+        return resolver.set("guildid", guild::getId);
     }
 
     static String toChannel(Message message, String string) {
         if (message.getTextChannel() == null || string == null) return string;
-        return parseChannel(message.getTextChannel(), string);
+        return render(string, addChannel(new PlaceholderResolver(), message.getTextChannel()));
     }
 
-    private static String parseChannel(TextChannel channel, String message) {
-        message = StringReplacementUtil.replaceAll(message, ":channelname", channel.getName());
-        message = StringReplacementUtil.replaceAll(message, ":channelid", channel.getId());
-        message = StringReplacementUtil.replaceAll(message, ":channel", channel.getAsMention());
-
-        return message;
+    private static PlaceholderResolver addChannel(PlaceholderResolver resolver, TextChannel channel) {
+        return resolver
+            .set("channelname", channel::getName)
+            .set("channelid", channel::getId)
+            .set("channel", channel::getAsMention);
     }
 
     static String toUser(Message message, String string) {
         if (message.getAuthor() == null || string == null) return string;
-        return parseUser(message.getAuthor(), string);
+        return render(string, addUser(new PlaceholderResolver(), message.getAuthor()));
     }
 
-    private static String parseUser(User author, String message) {
-        message = StringReplacementUtil.replaceAll(message, ":username", author.getName());
-        message = StringReplacementUtil.replaceAll(message, ":userid", author.getId());
-        message = StringReplacementUtil.replaceAll(message, ":user", author.getAsMention());
+    private static PlaceholderResolver addUser(PlaceholderResolver resolver, User author) {
+        return resolver
+            .set("username", author::getName)
+            .set("userid", author::getId)
+            .set("user", author::getAsMention);
+    }
 
-        return message;
+    private static String render(String message, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(message, ':').render(resolver);
     }
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import com.avbot.contracts.chat.PurgeableChannel;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The message purger walks through the history of a channel one page at a time until it has
+ * found the requested amount of matching messages, or it has searched through the maximum
+ * amount of messages it is allowed to, matching messages that are less than 14 days old
+ * are deleted in bulk, up to 100 messages at a time, while older messages are deleted
+ * one at a time, the next delete request is only sent once the previous one is done.
+ */
+public class MessagePurger {
+
+    /**
+     * The maximum amount of messages Discord allows to be retrieved,
+     * or bulk deleted, within a single request.
+     */
+    public static final int MAX_PER_REQUEST = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(MessagePurger.class);
+
+    private final PurgeableChannel channel;
+    private final int toDelete;
+    private final int maxSearched;
+    private final Predicate<Message> filter;
+    private final long maxBulkDeleteAge;
+
+    private final Deque<Message> bulkQueue = new ArrayDeque<>();
+    private final Deque<Message> singleQueue = new ArrayDeque<>();
+
+    private Consumer<MessagePurger> progressConsumer = purger -> {
+    };
+    private Consumer<MessagePurger> completeConsumer = purger -> {
+    };
+
+    private volatile boolean cancelled = false;
+    private volatile boolean done = false;
+    private volatile int searched = 0;
+    private volatile int matched = 0;
+    private volatile int deleted = 0;
+    private volatile int failed = 0;
+    private boolean exhausted = false;
+
+    /**
+     * Creates a new message purger for the given channel.
+     *
+     * @param channel     The channel that messages should be purged from.
+     * @param toDelete    The amount of matching messages that should be deleted.
+     * @param maxSearched The maximum amount of messages that should be searched through.
+     * @param filter      The filter messages must match to be deleted, pinned messages are always skipped.
+     */
+    public MessagePurger(@Nonnull PurgeableChannel channel, int toDelete, int maxSearched, @Nonnull Predicate<Message> filter) {
+        this.channel = channel;
+        this.toDelete = Math.max(1, toDelete);
+        this.maxSearched = Math.max(this.toDelete, maxSearched);
+        this.filter = filter;
+        this.maxBulkDeleteAge = (System.currentTimeMillis() - TimeUnit.DAYS.toMillis(14) - MiscUtil.DISCORD_EPOCH) << MiscUtil.TIMESTAMP_OFFSET;
+    }
+
+    /**
+     * Sets the consumer that is called every time a batch of messages has been deleted.
+     *
+     * @param progressConsumer The consumer that should be called with the purger.
+     * @return The message purger instance.
+     */
+    public MessagePurger onProgress(@Nonnull Consumer<MessagePurger> progressConsumer) {
+        this.progressConsumer = progressConsumer;
+
+        return this;
+    }
+
+    /**
+     * Sets the consumer that is called once the purge has finished, or has been cancelled.
+     *
+     * @param completeConsumer The consumer that should be called with the purger.
+     * @return The message purger instance.
+     */
+    public MessagePurger onComplete(@Nonnull Consumer<MessagePurger> completeConsumer) {
+        this.completeConsumer = completeConsumer;
+
+        return this;
+    }
+
+    /**
+     * Starts purging messages from the channel.
+     */
+    public void start() {
+        retrieveNextPage();
+    }
+
+    /**
+     * Cancels the purge, any delete request that is already in flight will
+     * still complete, but no further messages will be retrieved or deleted.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if the purge has been cancelled.
+     *
+     * @return {@code True} if the purge has been cancelled, {@code False} otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks if the purge has finished, either by completing or by being cancelled.
+     *
+     * @return {@code True} if the purge has finished, {@code False} otherwise.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Gets the amount of matching messages that should be deleted.
+     *
+     * @return The amount of messages that should be deleted.
+     */
+    public int getToDelete() {
+        return toDelete;
+    }
+
+    /**
+     * Gets the amount of messages that has been searched through so far.
+     *
+     * @return The amount of messages searched through.
+     */
+    public int getSearched() {
+        return searched;
+    }
+
+    /**
+     * Gets the amount of messages that matched the filter so far.
+     *
+     * @return The amount of matching messages.
+     */
+    public int getMatched() {
+        return matched;
+    }
+
+    /**
+     * Gets the amount of messages that has been deleted so far.
+     *
+     * @return The amount of messages deleted.
+     */
+    public int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Gets the amount of matching messages that failed to be deleted.
+     *
+     * @return The amount of messages that failed to be deleted.
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    private void retrieveNextPage() {
+        if (cancelled || exhausted || matched >= toDelete || searched >= maxSearched) {
+            drain(true, this::complete);
+            return;
+        }
+
+        final int amount = Math.min(MAX_PER_REQUEST, maxSearched - searched);
+
+        channel.retrievePast(amount, page -> {
+            if (page.size() < amount) {
+                exhausted = true;
+            }
+
+            for (Message message : page) {
+                if (matched >= toDelete) {
+                    break;
+                }
+
+                searched++;
+                if (message.isPinned() || !filter.test(message)) {
+                    continue;
+                }
+
+                matched++;
+                if (message.getIdLong() < maxBulkDeleteAge) {
+                    singleQueue.add(message);
+                } else {
+                    bulkQueue.add(message);
+                }
+            }
+
+            drain(false, this::retrieveNextPage);
+        }, error -> {
+            log.debug("Failed to retrieve the message history while purging messages: {}", error.getMessage());
+
+            exhausted = true;
+            drain(true, this::complete);
+        });
+    }
+
+    /**
+     * Deletes the queued messages, full bulk delete batches are always sent, while
+     * partial batches are only sent once the purge is finishing up, so messages
+     * from multiple pages can share a single bulk delete request.
+     *
+     * @param flush Determines if partial bulk delete batches should be sent.
+     * @param next  The runnable that should be called once the queues are drained.
+     */
+    private void drain(boolean flush, Runnable next) {
+        if (cancelled) {
+            complete();
+            return;
+        }
+
+        if (bulkQueue.size() >= MAX_PER_REQUEST || (flush && bulkQueue.size() > 1)) {
+            List<Message> batch = new ArrayList<>();
+            while (batch.size() < MAX_PER_REQUEST && !bulkQueue.isEmpty()) {
+                batch.add(bulkQueue.poll());
+            }
+
+            channel.deleteMessages(batch, () -> {
+                deleted += batch.size();
+                progressConsumer.accept(this);
+
+                drain(flush, next);
+            }, error -> {
+                // The batch might contain messages that has become too old to be bulk deleted
+                // since they were retrieved, so we'll fallback to deleting them one by one.
+                singleQueue.addAll(batch);
+
+                drain(flush, next);
+            });
+            return;
+        }
+
+        if (flush && !bulkQueue.isEmpty()) {
+            singleQueue.addAll(bulkQueue);
+            bulkQueue.clear();
+        }
+
+        if (!singleQueue.isEmpty()) {
+            channel.deleteMessage(singleQueue.poll(), () -> {
+                deleted++;
+                progressConsumer.accept(this);
+
+                drain(flush, next);
+            }, error -> {
+                failed++;
+
+                drain(flush, next);
+            });
+            return;
+        }
+
+        next.run();
+    }
+
+    private void complete() {
+        if (done) {
+            return;
+        }
+
+        done = true;
+        completeConsumer.accept(this);
+    }
+}
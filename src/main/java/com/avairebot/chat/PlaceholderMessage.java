@@ -23,7 +23,6 @@ package com.avbot.chat;
 
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.chat.Restable;
-import com.avbot.utilities.StringReplacementUtil;
 import net.dv8tion.jda.core.EmbedBuilder;
 import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.MessageChannel;
@@ -33,14 +32,10 @@ import net.dv8tion.jda.core.entities.User;
 import javax.annotation.Nonnull;
 import java.awt.*;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 public class PlaceholderMessage extends Restable {
 
-    private final Map<String, String> placeholders = new HashMap<>();
+    private final PlaceholderResolver placeholders = new PlaceholderResolver();
 
     private EmbedBuilder builder;
     private String message;
@@ -63,7 +58,7 @@ public class PlaceholderMessage extends Restable {
     }
 
     public PlaceholderMessage set(String placeholder, String value) {
-        placeholders.put(placeholder, value);
+        placeholders.set(placeholder, value);
         return this;
     }
 
@@ -196,34 +191,19 @@ public class PlaceholderMessage extends Restable {
     }
 
     private String formatMessage() {
-        if (placeholders.isEmpty()) {
-            return trimString(
-                formatGlobalMessage(message),
-                MessageEmbed.TEXT_MAX_LENGTH
-            );
+        if (message == null) {
+            return null;
         }
 
-        List<String> keys = new ArrayList<>(placeholders.keySet());
-        keys.sort((o1, o2) -> o2.length() - o1.length());
-        keys.forEach(key -> {
-            message = StringReplacementUtil.replaceAll(
-                message, ":" + key, placeholders.get(key)
-            );
-        });
+        PlaceholderResolver globalPlaceholders = globalPlaceholder == null ? null
+            : DefaultPlaceholders.createResolver(globalPlaceholder, globalObject);
 
         return trimString(
-            formatGlobalMessage(message),
+            PlaceholderTemplate.compile(message, ':').render(placeholders, globalPlaceholders),
             MessageEmbed.TEXT_MAX_LENGTH
         );
     }
 
-    private String formatGlobalMessage(String message) {
-        if (globalPlaceholder == null) {
-            return message;
-        }
-        return globalPlaceholder.parse(globalObject, message);
-    }
-
     private String trimString(String string, int length) {
         if (string == null) {
             return null;
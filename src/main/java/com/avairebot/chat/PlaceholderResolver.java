@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A set of placeholders that can be rendered into a {@link PlaceholderTemplate},
+ * placeholder values can either be set directly, or be given as a supplier,
+ * suppliers are only invoked if the placeholder is actually used by the
+ * template, and at most once for each resolver.
+ */
+public class PlaceholderResolver {
+
+    private final List<Placeholder> placeholders = new ArrayList<>();
+
+    /**
+     * Sets the placeholder with the given key to the given value, if the placeholder
+     * already exists it will be replaced, placeholders with a <code>NULL</code>
+     * value are ignored when the template is rendered.
+     *
+     * @param key   The key of the placeholder, without the placeholder prefix.
+     * @param value The value the placeholder should be replaced with.
+     * @return The placeholder resolver instance.
+     */
+    public PlaceholderResolver set(@Nonnull String key, @Nullable String value) {
+        return set(key, new Placeholder(key, value));
+    }
+
+    /**
+     * Sets the placeholder with the given key to the value provided by the given supplier,
+     * the supplier will only be called once the placeholder is used in a template.
+     *
+     * @param key      The key of the placeholder, without the placeholder prefix.
+     * @param supplier The supplier that provides the value the placeholder should be replaced with.
+     * @return The placeholder resolver instance.
+     */
+    public PlaceholderResolver set(@Nonnull String key, @Nonnull Supplier<String> supplier) {
+        return set(key, new Placeholder(key, supplier));
+    }
+
+    /**
+     * Checks if the resolver has any placeholders set.
+     *
+     * @return <code>True</code> if no placeholders has been set, <code>False</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return placeholders.isEmpty();
+    }
+
+    /**
+     * Finds the longest placeholder that matches the given template at the given
+     * offset, placeholders where the value resolves to <code>NULL</code>
+     * are skipped, so shorter placeholders can still be matched.
+     *
+     * @param template The template that should be matched against.
+     * @param offset   The offset in the template the placeholder key should start at.
+     * @return The matching placeholder, or <code>NULL</code> if no placeholder matches.
+     */
+    @Nullable
+    Placeholder find(String template, int offset) {
+        for (Placeholder placeholder : placeholders) {
+            if (template.startsWith(placeholder.key, offset) && placeholder.getValue() != null) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    private PlaceholderResolver set(String key, Placeholder placeholder) {
+        placeholders.removeIf(existing -> existing.key.equals(key));
+
+        // Placeholders are kept sorted by the length of their key, longest first, so
+        // placeholders that starts with the key of another placeholder, like
+        // "username" and "user", always has the longest match used first.
+        int index = 0;
+        while (index < placeholders.size() && placeholders.get(index).key.length() >= key.length()) {
+            index++;
+        }
+        placeholders.add(index, placeholder);
+
+        return this;
+    }
+
+    static final class Placeholder {
+
+        private final String key;
+        private Supplier<String> supplier;
+        private String value;
+
+        Placeholder(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        Placeholder(String key, Supplier<String> supplier) {
+            this.key = key;
+            this.supplier = supplier;
+        }
+
+        int length() {
+            return key.length();
+        }
+
+        String getValue() {
+            if (supplier != null) {
+                value = supplier.get();
+                supplier = null;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A message template that has been tokenized into the positions of its placeholder
+ * prefixes, allowing the template to be rendered in a single pass over the
+ * template, instead of scanning and copying the whole message once for
+ * every placeholder that should be replaced.
+ * <p>
+ * At every prefix the longest matching placeholder is used, resolvers given
+ * earlier takes priority over resolvers given later, which matches how
+ * the placeholders was previously replaced one after another.
+ */
+public final class PlaceholderTemplate {
+
+    private static final Cache<Key, PlaceholderTemplate> templates = CacheBuilder.newBuilder()
+        .maximumSize(4096)
+        .build();
+
+    private final String template;
+    private final int[] positions;
+
+    private PlaceholderTemplate(String template, int[] positions) {
+        this.template = template;
+        this.positions = positions;
+    }
+
+    /**
+     * Compiles the given template using the given placeholder prefix, or returns
+     * the cached template if the template has already been compiled.
+     *
+     * @param template The template string that should be compiled.
+     * @param prefix   The prefix that each placeholder in the template starts with.
+     * @return The compiled placeholder template.
+     */
+    public static PlaceholderTemplate compile(@Nonnull String template, char prefix) {
+        Key key = new Key(template, prefix);
+
+        PlaceholderTemplate compiled = templates.getIfPresent(key);
+        if (compiled == null) {
+            compiled = tokenize(template, prefix);
+            templates.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    private static PlaceholderTemplate tokenize(String template, char prefix) {
+        int[] positions = new int[8];
+        int count = 0;
+
+        for (int i = template.indexOf(prefix); i != -1; i = template.indexOf(prefix, i + 1)) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = i;
+        }
+
+        return new PlaceholderTemplate(template, Arrays.copyOf(positions, count));
+    }
+
+    /**
+     * Renders the template using the given placeholder resolvers, if a placeholder
+     * exists in multiple resolvers, the first resolver that has the placeholder
+     * will be used, <code>NULL</code> resolvers are ignored.
+     *
+     * @param resolvers The resolvers that should be used to replace the placeholders.
+     * @return The rendered template.
+     */
+    public String render(@Nullable PlaceholderResolver... resolvers) {
+        if (positions.length == 0) {
+            return template;
+        }
+
+        StringBuilder builder = null;
+        int last = 0;
+
+        for (int position : positions) {
+            if (position < last) {
+                continue;
+            }
+
+            PlaceholderResolver.Placeholder placeholder = find(position + 1, resolvers);
+            if (placeholder == null) {
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(template.length() + 16);
+            }
+
+            builder.append(template, last, position).append(placeholder.getValue());
+            last = position + 1 + placeholder.length();
+        }
+
+        if (builder == null) {
+            return template;
+        }
+        return builder.append(template, last, template.length()).toString();
+    }
+
+    @Nullable
+    private PlaceholderResolver.Placeholder find(int offset, PlaceholderResolver[] resolvers) {
+        for (PlaceholderResolver resolver : resolvers) {
+            if (resolver == null) {
+                continue;
+            }
+
+            PlaceholderResolver.Placeholder placeholder = resolver.find(template, offset);
+            if (placeholder != null) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    private static final class Key {
+
+        private final String template;
+        private final char prefix;
+
+        Key(String template, char prefix) {
+            this.template = template;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return prefix == other.prefix && template.equals(other.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return template.hashCode() * 31 + prefix;
+        }
+    }
+}
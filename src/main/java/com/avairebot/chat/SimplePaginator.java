@@ -66,6 +66,21 @@ public class SimplePaginator<T> extends Paginator<T> {
     }
 
     public String generateFooter(Guild guild, String command) {
+        return generateFooter(guild, command, getCurrentPage(), getPages());
+    }
+
+    /**
+     * Generates the pagination footer for the given page and page count, this can
+     * be used for paginating results that are loaded one page at a time, where
+     * the items for the other pages are never loaded into a paginator.
+     *
+     * @param guild       The guild the footer is generated for, used for the guild locale.
+     * @param command     The command that should be used in the footer.
+     * @param currentPage The page that is being displayed.
+     * @param pages       The total amount of pages.
+     * @return The generated footer.
+     */
+    public static String generateFooter(Guild guild, String command, int currentPage, int pages) {
         String message = I18n.getLocale(guild).getConfig().getString(
             "pagination.simpleFooter", defaultFooterNote
         );
@@ -74,8 +89,8 @@ public class SimplePaginator<T> extends Paginator<T> {
             message
                 .replace("\\n", "\n")
                 .replace("\\t", "\t"),
-            getCurrentPage(),
-            getPages(),
+            currentPage,
+            pages,
             command
         );
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import com.avbot.contracts.chat.PurgeableChannel;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.MessageHistory;
+import net.dv8tion.jda.core.entities.TextChannel;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TextChannelPurgeable implements PurgeableChannel {
+
+    private final TextChannel channel;
+    private final MessageHistory history;
+
+    /**
+     * Creates a purgeable channel for the given text channel, the
+     * history is read starting from the latest message sent.
+     *
+     * @param channel The text channel that should be purged.
+     */
+    public TextChannelPurgeable(TextChannel channel) {
+        this.channel = channel;
+        this.history = channel.getHistory();
+    }
+
+    @Override
+    public void retrievePast(int amount, Consumer<List<Message>> success, Consumer<Throwable> failure) {
+        history.retrievePast(amount).queue(success, failure);
+    }
+
+    @Override
+    public void deleteMessages(List<Message> messages, Runnable success, Consumer<Throwable> failure) {
+        channel.deleteMessages(messages).queue(aVoid -> success.run(), failure);
+    }
+
+    @Override
+    public void deleteMessage(Message message, Runnable success, Consumer<Throwable> failure) {
+        message.delete().queue(aVoid -> success.run(), failure);
+    }
+}
@@ -23,6 +23,7 @@ package com.avbot.commands;
 
 import com.avbot.contracts.commands.Command;
 import com.avbot.contracts.middleware.Middleware;
+import com.avbot.metrics.CommandMetrics;
 import com.avbot.middleware.MiddlewareHandler;
 import com.avbot.middleware.ThrottleMiddleware;
 
@@ -43,6 +44,7 @@ public class CommandContainer {
     private final String sourceUri;
     private final Set<String> triggers;
     private final List<String> middlewares;
+    private final CommandMetrics metrics;
 
     /**
      * Creates a new {@link Command command} container instance.
@@ -58,6 +60,7 @@ public class CommandContainer {
 
         this.triggers = new HashSet<>(command.getTriggers());
         this.middlewares = new ArrayList<>(command.getMiddleware());
+        this.metrics = CommandMetrics.of(command.getClass());
 
         this.registerThrottleMiddlewares();
     }
@@ -130,6 +133,16 @@ public class CommandContainer {
         return sourceUri;
     }
 
+    /**
+     * Gets the pre-bound metrics for the command, the metrics are shared
+     * between all the containers created for the same command class.
+     *
+     * @return The pre-bound metrics for the command.
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Registers the default throttle middlewares unless
      * the command already has registered one of them.
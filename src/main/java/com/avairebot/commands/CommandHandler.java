@@ -30,7 +30,6 @@ import com.avbot.database.controllers.GuildController;
 import com.avbot.database.transformers.GuildTransformer;
 import com.avbot.exceptions.InvalidCommandPrefixException;
 import com.avbot.exceptions.MissingCommandDescriptionException;
-import com.avbot.metrics.Metrics;
 import com.avbot.middleware.MiddlewareHandler;
 import net.dv8tion.jda.core.entities.Message;
 import net.dv8tion.jda.core.utils.Checks;
@@ -356,9 +355,10 @@ public class CommandHandler {
             commandUri = String.format(Constants.SOURCE_URI, split[split.length - 2], split[split.length - 1]);
         }
 
-        Metrics.commandsExecuted.labels(command.getClass().getSimpleName()).inc(0D);
+        CommandContainer container = new CommandContainer(command, category, commandUri);
+        container.getMetrics().getExecuted().inc(0D);
 
-        COMMANDS.add(new CommandContainer(command, category, commandUri));
+        COMMANDS.add(container);
     }
 
     /**
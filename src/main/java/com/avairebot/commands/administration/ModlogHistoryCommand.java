@@ -22,15 +22,14 @@
 package com.avbot.commands.administration;
 
 import com.avbot.av;
-import com.avbot.Constants;
 import com.avbot.chat.SimplePaginator;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.commands.Command;
 import com.avbot.contracts.commands.CommandGroup;
 import com.avbot.contracts.commands.CommandGroups;
-import com.avbot.database.collection.Collection;
 import com.avbot.database.collection.DataRow;
 import com.avbot.language.I18n;
+import com.avbot.modlog.ModlogHistory;
 import com.avbot.modlog.ModlogType;
 import com.avbot.time.Carbon;
 import com.avbot.utilities.MentionableUtil;
@@ -46,6 +45,8 @@ import java.util.List;
 
 public class ModlogHistoryCommand extends Command {
 
+    private static final int PER_PAGE = 5;
+
     public ModlogHistoryCommand(av av) {
         super(av, false);
     }
@@ -109,13 +110,9 @@ public class ModlogHistoryCommand extends Command {
         }
 
         try {
-            Collection items = av.getDatabase().newQueryBuilder(Constants.LOG_TABLE_NAME)
-                .where("guild_id", context.getGuild().getId())
-                .where("target_id", user.getId())
-                .where("pardon", 0)
-                .get();
+            int total = ModlogHistory.count(av.getDatabase(), context.getGuild().getId(), user.getId());
 
-            if (items.isEmpty()) {
+            if (total == 0) {
                 context.makeWarning(context.i18n("noHistory"))
                     .setTitle(context.i18n("title",
                         user.getName(), user.getDiscriminator(), 0
@@ -125,8 +122,13 @@ public class ModlogHistoryCommand extends Command {
                 return true;
             }
 
-            List<String> records = new ArrayList<>();
-            items.forEach(row -> {
+            int pages = (int) Math.ceil((double) total / PER_PAGE);
+            int currentPage = args.length > 1
+                ? Math.max(1, Math.min(pages, NumberUtil.parseInt(args[1], 1)))
+                : 1;
+
+            List<String> messages = new ArrayList<>();
+            ModlogHistory.loadPage(av.getDatabase(), context.getGuild().getId(), user.getId(), currentPage, PER_PAGE).forEach(row -> {
                 ModlogType type = ModlogType.fromId(row.getInt("type", 0));
                 String reason = row.getString("reason", context.i18n("noReasonGiven"));
 
@@ -141,7 +143,7 @@ public class ModlogHistoryCommand extends Command {
                     row.getString("message_id")
                 );
 
-                records.add(context.i18n("entry",
+                messages.add(context.i18n("entry",
                     modlogCaseId,
                     type == null ? "Unknown" : type.getEmote() + " " + type.getName(context.getGuild()),
                     formatUser(av.getShardManager().getUserById(row.getLong("user_id")), row),
@@ -150,18 +152,13 @@ public class ModlogHistoryCommand extends Command {
                 ));
             });
 
-            List<String> messages = new ArrayList<>();
-            SimplePaginator<String> paginator = new SimplePaginator<>(records, 5);
-            if (args.length > 1) {
-                paginator.setCurrentPage(NumberUtil.parseInt(args[1], 1));
-            }
-
-            paginator.forEach((_index, _key, val) -> messages.add(val));
-            messages.add("\n" + paginator.generateFooter(context.getGuild(), generateCommandTrigger(context.getMessage())));
+            messages.add("\n" + SimplePaginator.generateFooter(
+                context.getGuild(), generateCommandTrigger(context.getMessage()), currentPage, pages
+            ));
 
             context.makeInfo(String.join("\n", messages))
                 .setTitle(context.i18n("title",
-                    user.getName(), user.getDiscriminator(), paginator.getTotal()
+                    user.getName(), user.getDiscriminator(), total
                 ))
                 .queue();
         } catch (SQLException e) {
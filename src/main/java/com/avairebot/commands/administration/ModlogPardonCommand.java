@@ -41,6 +41,7 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class ModlogPardonCommand extends Command {
 
@@ -128,10 +129,19 @@ public class ModlogPardonCommand extends Command {
             ? "No reason was given."
             : String.join(" ", Arrays.copyOfRange(args, 1, args.length));
 
+        // Modlog entries are written to the database in batches, so the case might
+        // still be waiting to be written if it was created just a moment ago.
+        try {
+            av.getModlogCaseSequence().flush(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
         try {
             Collection collection = av.getDatabase().newQueryBuilder(Constants.LOG_TABLE_NAME)
                 .where("guild_id", context.getGuild().getId())
                 .where("modlogCase", caseId)
+                .take(1)
                 .get();
 
             if (collection.isEmpty()) {
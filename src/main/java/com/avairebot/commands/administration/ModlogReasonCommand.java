@@ -138,6 +138,14 @@ public class ModlogReasonCommand extends Command {
 
         final String reason = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
 
+        // Modlog entries are written to the database in batches, so the case might
+        // still be waiting to be written if it was created just a moment ago.
+        try {
+            av.getModlogCaseSequence().flush(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
         try {
             QueryBuilder query = av.getDatabase().newQueryBuilder(Constants.LOG_TABLE_NAME)
                 .where("guild_id", context.getGuild().getId())
@@ -147,7 +155,7 @@ public class ModlogReasonCommand extends Command {
                 query.where("user_id", context.getAuthor().getId());
             }
 
-            Collection collection = query.get();
+            Collection collection = query.take(1).get();
 
             if (collection.isEmpty()) {
                 return sendErrorMessage(context, context.i18n("couldntFindCaseWithId", caseId));
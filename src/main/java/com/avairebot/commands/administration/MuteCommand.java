@@ -214,23 +214,23 @@ public class MuteCommand extends MuteableCommand {
 
             switch (type.toLowerCase()) {
                 case "w":
-                    time.addWeeks(timeToAdd);
+                    time = time.addWeeks(timeToAdd);
                     break;
 
                 case "d":
-                    time.addDays(timeToAdd);
+                    time = time.addDays(timeToAdd);
                     break;
 
                 case "h":
-                    time.addHours(timeToAdd);
+                    time = time.addHours(timeToAdd);
                     break;
 
                 case "m":
-                    time.addMinutes(timeToAdd);
+                    time = time.addMinutes(timeToAdd);
                     break;
 
                 case "s":
-                    time.addSeconds(timeToAdd);
+                    time = time.addSeconds(timeToAdd);
                     break;
             }
         } while (matcher.find());
@@ -22,7 +22,9 @@
 package com.avbot.commands.administration;
 
 import com.avbot.av;
+import com.avbot.chat.MessagePurger;
 import com.avbot.chat.PlaceholderMessage;
+import com.avbot.chat.TextChannelPurgeable;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.commands.Command;
 import com.avbot.contracts.commands.CommandGroup;
@@ -34,18 +36,23 @@ import com.avbot.utilities.MentionableUtil;
 import com.avbot.utilities.NumberUtil;
 import com.avbot.utilities.RestActionUtil;
 import net.dv8tion.jda.core.entities.Message;
-import net.dv8tion.jda.core.entities.MessageHistory;
 import net.dv8tion.jda.core.entities.User;
-import net.dv8tion.jda.core.requests.RestAction;
-import net.dv8tion.jda.core.utils.MiscUtil;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class PurgeCommand extends Command {
 
+    /**
+     * The purges that are currently running, mapped by the ID of the channel they're
+     * running in, only a single purge is allowed to run per channel at a time.
+     */
+    private static final Map<Long, MessagePurger> runningPurges = new ConcurrentHashMap<>();
+
     public PurgeCommand(av av) {
         super(av, false);
     }
@@ -57,7 +64,7 @@ public class PurgeCommand extends Command {
 
     @Override
     public String getDescription() {
-        return "Deletes up to 100 chat messages in any channel, you can mention a user if you only want to delete messages by the mentioned user.";
+        return "Deletes chat messages in any channel, you can mention a user if you only want to delete messages by the mentioned user.";
     }
 
     @Override
@@ -65,7 +72,8 @@ public class PurgeCommand extends Command {
         return Arrays.asList(
             "`:command` - Deletes the last 5 messages.",
             "`:command [number]` - Deletes the given number of messages.",
-            "`:command [number] [user]` - Deletes the given number of messages for the mentioned users."
+            "`:command [number] [user]` - Deletes the given number of messages for the mentioned users.",
+            "`:command cancel` - Cancels the purge currently running in the channel."
         );
     }
 
@@ -73,7 +81,8 @@ public class PurgeCommand extends Command {
     public List<String> getExampleUsage() {
         return Arrays.asList(
             "`:command 56`",
-            "`:command 30 @Senither`"
+            "`:command 30 @Senither`",
+            "`:command cancel`"
         );
     }
 
@@ -99,9 +108,27 @@ public class PurgeCommand extends Command {
 
     @Override
     public boolean onCommand(CommandMessage context, String[] args) {
+        if (args.length > 0 && (args[0].equalsIgnoreCase("cancel") || args[0].equalsIgnoreCase("stop"))) {
+            MessagePurger purger = runningPurges.get(context.getChannel().getIdLong());
+            if (purger == null) {
+                return sendErrorMessage(context, context.i18n("noPurgeRunning"));
+            }
+
+            purger.cancel();
+
+            context.makeSuccess(context.i18n("cancelled"))
+                .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
+
+            return true;
+        }
+
+        if (runningPurges.containsKey(context.getChannel().getIdLong())) {
+            return sendErrorMessage(context, context.i18n("alreadyRunning"));
+        }
+
         int toDelete = 5;
         if (args.length > 0) {
-            toDelete = NumberUtil.getBetween(NumberUtil.parseInt(args[0]), 1, 100);
+            toDelete = NumberUtil.getBetween(NumberUtil.parseInt(args[0]), 1, getMaxMessages());
         }
 
         int finalToDelete = toDelete;
@@ -128,91 +155,118 @@ public class PurgeCommand extends Command {
             }
         }
 
-        if (userIds.isEmpty()) {
-            context.getChannel().getHistoryBefore(context.getMessage(), 2).queue(history -> {
-                loadMessages(context.getChannel().getHistory(), toDelete, null, messages -> {
-                    if (messages.isEmpty()) {
-                        sendNoMessagesMessage(context, null, toDelete);
-                        return;
-                    }
-
-                    deleteMessages(context, messages).queue(aVoid -> {
-                        Modlog.log(av, context, new ModlogAction(
-                                ModlogType.PURGE,
-                                context.getAuthor(), null,
-                                context.i18n("messagesDeletedIn", messages.size(), context.getChannel().getAsMention())
-                            )
-                        );
-
-                        context.makeSuccess(context.i18n("success"))
-                            .set("number", messages.size())
-                            .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
-                    }, RestActionUtil.ignore);
-                });
-            });
+        final long channelId = context.getChannel().getIdLong();
+        final AtomicReference<Message> progressMessage = new AtomicReference<>();
+        final AtomicLong lastProgressUpdate = new AtomicLong(System.currentTimeMillis());
+
+        MessagePurger purger = new MessagePurger(
+            new TextChannelPurgeable(context.getChannel()), toDelete, getMaxSearched(), message -> {
+            Message progress = progressMessage.get();
+            if (progress != null && progress.getIdLong() == message.getIdLong()) {
+                return false;
+            }
+            return userIds.isEmpty() || userIds.contains(message.getAuthor().getIdLong());
+        });
+
+        if (runningPurges.putIfAbsent(channelId, purger) != null) {
+            sendErrorMessage(context, context.i18n("alreadyRunning"));
             return;
         }
 
-        loadMessages(context.getChannel().getHistory(), toDelete, userIds, messages -> {
-            if (messages.isEmpty()) {
-                sendNoMessagesMessage(context, userIds, toDelete);
+        purger.onProgress(result -> {
+            Message progress = progressMessage.get();
+            long now = System.currentTimeMillis();
+            if (progress == null || now - lastProgressUpdate.get() < 2500) {
                 return;
             }
 
-            deleteMessages(context, messages).queue(aVoid -> {
-                List<String> users = new ArrayList<>();
-                for (Long userId : userIds) {
-                    users.add(String.format("<@%s>", userId));
-                }
-
-                Modlog.log(av, context, new ModlogAction(
-                        ModlogType.PURGE,
-                        context.getAuthor(), null,
-                        context.i18n("messagesDeletedBy",
-                            messages.size(),
-                            String.join(", ", users),
-                            context.getChannel().getAsMention()
-                        )
-                    )
-                );
-
-                context.makeSuccess(context.i18n("successBy"))
-                    .set("number", messages.size())
-                    .set("users", String.join(", ", users))
-                    .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
-            }, RestActionUtil.ignore);
+            lastProgressUpdate.set(now);
+            progress.editMessage(makeProgressMessage(context, result).buildEmbed())
+                .queue(null, RestActionUtil.ignore);
         });
-    }
 
-    private void loadMessages(MessageHistory history, int toDelete, Set<Long> userIds, Consumer<List<Message>> consumer) {
-        long maxMessageAge = (System.currentTimeMillis() - TimeUnit.DAYS.toMillis(14) - MiscUtil.DISCORD_EPOCH) << MiscUtil.TIMESTAMP_OFFSET;
-        List<Message> messages = new ArrayList<>();
+        purger.onComplete(result -> {
+            runningPurges.remove(channelId, result);
+
+            Message progress = progressMessage.getAndSet(null);
+            if (progress != null) {
+                progress.delete().queue(null, RestActionUtil.ignore);
+            }
 
-        history.retrievePast(toDelete).queue(historyMessages -> {
-            if (historyMessages.isEmpty()) {
-                consumer.accept(messages);
+            if (result.getDeleted() == 0) {
+                sendNoMessagesMessage(context, userIds.isEmpty() ? null : userIds, result.getSearched());
                 return;
             }
 
-            for (Message historyMessage : historyMessages) {
-                if (historyMessage.isPinned() || historyMessage.getIdLong() < maxMessageAge) {
-                    continue;
-                }
+            if (userIds.isEmpty()) {
+                sendSuccessMessage(context, result.getDeleted());
+            } else {
+                sendSuccessMessage(context, result.getDeleted(), userIds);
+            }
+        });
 
-                if (userIds != null && !userIds.contains(historyMessage.getAuthor().getIdLong())) {
-                    continue;
-                }
+        // Purges that can be handled by a single bulk delete finishes right away, so we
+        // only bother showing the progress for purges that needs multiple requests.
+        if (toDelete <= MessagePurger.MAX_PER_REQUEST) {
+            purger.start();
+            return;
+        }
 
-                if (messages.size() >= toDelete) {
-                    consumer.accept(messages);
-                    return;
-                }
+        makeProgressMessage(context, purger).queue(message -> {
+            progressMessage.set(message);
+            purger.start();
+        }, throwable -> purger.start());
+    }
 
-                messages.add(historyMessage);
-            }
+    private void sendSuccessMessage(CommandMessage context, int deleted) {
+        Modlog.log(av, context, new ModlogAction(
+                ModlogType.PURGE,
+                context.getAuthor(), null,
+                context.i18n("messagesDeletedIn", deleted, context.getChannel().getAsMention())
+            )
+        );
 
-            consumer.accept(messages);
-        });
+        context.makeSuccess(context.i18n("success"))
+            .set("number", deleted)
+            .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
+    }
+
+    private void sendSuccessMessage(CommandMessage context, int deleted, Set<Long> userIds) {
+        List<String> users = new ArrayList<>();
+        for (Long userId : userIds) {
+            users.add(String.format("<@%s>", userId));
+        }
+
+        Modlog.log(av, context, new ModlogAction(
+                ModlogType.PURGE,
+                context.getAuthor(), null,
+                context.i18n("messagesDeletedBy",
+                    deleted,
+                    String.join(", ", users),
+                    context.getChannel().getAsMention()
+                )
+            )
+        );
+
+        context.makeSuccess(context.i18n("successBy"))
+            .set("number", deleted)
+            .set("users", String.join(", ", users))
+            .queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
+    }
+
+    private PlaceholderMessage makeProgressMessage(CommandMessage context, MessagePurger purger) {
+        return context.makeInfo(context.i18n("progress"))
+            .set("deleted", purger.getDeleted())
+            .set("number", purger.getToDelete())
+            .set("searched", purger.getSearched());
+    }
+
+    private int getMaxMessages() {
+        return Math.max(1, av.getConfig().getInt("purge.max-messages", 1000));
+    }
+
+    private int getMaxSearched() {
+        return Math.max(getMaxMessages(), av.getConfig().getInt("purge.max-searched", 5000));
     }
 
     private void sendNoMessagesMessage(CommandMessage context, Set<Long> userIds, int toDelete) {
@@ -234,11 +288,4 @@ public class PurgeCommand extends Command {
 
         message.queue(successMessage -> successMessage.delete().queueAfter(8, TimeUnit.SECONDS, null, RestActionUtil.ignore));
     }
-
-    private RestAction<Void> deleteMessages(CommandMessage context, List<Message> messages) {
-        if (messages.size() == 1) {
-            return messages.get(0).delete();
-        }
-        return context.getChannel().deleteMessages(messages);
-    }
 }
@@ -151,6 +151,7 @@ public class RemoveLevelRoleCommand extends Command {
 
         try {
             transformer.getLevelRoles().remove(level);
+            transformer.refreshLevelRoleTable();
             av.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .where("id", context.getGuild().getId())
                 .update(statement -> {
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.commands.administration;
+
+import com.avbot.av;
+import com.avbot.commands.CommandHandler;
+import com.avbot.commands.CommandMessage;
+import com.avbot.contracts.commands.Command;
+import com.avbot.contracts.commands.CommandGroup;
+import com.avbot.contracts.commands.CommandGroups;
+import com.avbot.database.transformers.GuildTransformer;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SyncLevelRolesCommand extends Command {
+
+    public SyncLevelRolesCommand(av av) {
+        super(av, false);
+    }
+
+    @Override
+    public String getName() {
+        return "Sync Level Roles Command";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Syncs the level roles for everyone on the server, giving users any level role they're missing for their level, and removing the lower level roles if level hierarchy is enabled, this is useful after changing the level up table or the level hierarchy.";
+    }
+
+    @Override
+    public List<String> getUsageInstructions() {
+        return Collections.singletonList(
+            "`:command` - Syncs the level roles for everyone on the server."
+        );
+    }
+
+    @Override
+    public List<Class<? extends Command>> getRelations() {
+        return Arrays.asList(
+            AddLevelRoleCommand.class,
+            RemoveLevelRoleCommand.class,
+            ListLevelRolesCommand.class,
+            LevelHierarchyCommand.class
+        );
+    }
+
+    @Override
+    public List<String> getTriggers() {
+        return Collections.singletonList("slr");
+    }
+
+    @Override
+    public List<String> getMiddleware() {
+        return Arrays.asList(
+            "requireOne:user,general.manage_roles,general.manage_server",
+            "require:bot,general.manage_roles",
+            "throttle:guild,1,300"
+        );
+    }
+
+    @Nonnull
+    @Override
+    public List<CommandGroup> getGroups() {
+        return Arrays.asList(
+            CommandGroups.LEVEL_AND_EXPERIENCE,
+            CommandGroups.ROLE_ASSIGNMENTS
+        );
+    }
+
+    @Override
+    @SuppressWarnings("ConstantConditions")
+    public boolean onCommand(CommandMessage context, String[] args) {
+        GuildTransformer transformer = context.getGuildTransformer();
+        if (transformer == null || !transformer.isLevels()) {
+            return sendErrorMessage(
+                context,
+                "errors.requireLevelFeatureToBeEnabled",
+                CommandHandler.getCommand(LevelCommand.class)
+                    .getCommand().generateCommandTrigger(context.getMessage())
+            );
+        }
+
+        if (transformer.getLevelRoleTable().isEmpty()) {
+            return sendErrorMessage(context, context.i18n("noLevelRoles"));
+        }
+
+        try {
+            int changed = av.getLevelManager().resyncLevelRoles(av, context.getGuild(), transformer);
+
+            context.makeSuccess(context.i18n("message"))
+                .set("amount", changed)
+                .queue();
+
+            return true;
+        } catch (SQLException e) {
+            av.getLogger().error("Error while syncing the level roles: " + e.getMessage(), e);
+
+            return sendErrorMessage(context, "errors.errorOccurredWhileLoading", "player experience");
+        }
+    }
+}
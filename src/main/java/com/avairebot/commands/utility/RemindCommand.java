@@ -26,15 +26,11 @@ import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.commands.Command;
 import com.avbot.time.Carbon;
 import com.avbot.utilities.NumberUtil;
-import com.avbot.utilities.RestActionUtil;
-import net.dv8tion.jda.core.EmbedBuilder;
-import net.dv8tion.jda.core.MessageBuilder;
-import net.dv8tion.jda.core.entities.Message;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 public class RemindCommand extends Command {
 
@@ -108,19 +104,19 @@ public class RemindCommand extends Command {
             return sendErrorMessage(context, "errors.missingArgument", "message");
         }
 
-        handleReminderMessage(
-            context,
-            new MessageBuilder()
-                .setContent(String.format("%s, %s you asked to be reminded about:",
-                    context.getAuthor().getAsMention(),
-                    Carbon.now().subSeconds(time).diffForHumans()
-                ))
-                .setEmbed(new EmbedBuilder()
-                    .setDescription(String.join(" ", Arrays.copyOfRange(args, 2, args.length)))
-                    .build()
-                ).build(),
-            time,
-            respondInDM);
+        try {
+            av.getReminderManager().createReminder(
+                context.getAuthor().getIdLong(),
+                context.getMessageChannel().getIdLong(),
+                respondInDM,
+                String.join(" ", Arrays.copyOfRange(args, 2, args.length)),
+                time
+            );
+        } catch (SQLException e) {
+            av.getLogger().error("Failed to store reminder for user {}", context.getAuthor().getId(), e);
+
+            return sendErrorMessage(context, "errors.errorOccurredWhileLoading", "reminder");
+        }
 
         context.makeInfo("Alright :user, in :time I'll remind you about :message")
             .set("time", Carbon.now().subSeconds(time).diffForHumans(true))
@@ -130,22 +126,6 @@ public class RemindCommand extends Command {
         return true;
     }
 
-    private void handleReminderMessage(CommandMessage context, Message message, int time, boolean respondInDM) {
-        if (respondInDM) {
-            context.getAuthor().openPrivateChannel().queue(privateChannel -> {
-                privateChannel.sendMessage(message).queueAfter(time, TimeUnit.SECONDS, null, RestActionUtil.ignore);
-            }, throwable -> {
-                context.getMessageChannel().sendMessage(message).queueAfter(time, TimeUnit.SECONDS, null, RestActionUtil.ignore);
-            });
-        } else {
-            context.getMessageChannel().sendMessage(message).queueAfter(time, TimeUnit.SECONDS, null, throwable -> {
-                context.getAuthor().openPrivateChannel().queue(privateChannel -> {
-                    privateChannel.sendMessage(message).queueAfter(time, TimeUnit.SECONDS, null, RestActionUtil.ignore);
-                });
-            });
-        }
-    }
-
     public int parse(String input) {
         int result = 0;
         String number = "";
@@ -22,12 +22,16 @@
 package com.avbot.commands.utility;
 
 import com.avbot.av;
+import com.avbot.chat.PlaceholderMessage;
 import com.avbot.commands.CommandMessage;
 import com.avbot.commands.CommandPriority;
 import com.avbot.contracts.commands.Command;
 import com.avbot.contracts.commands.CommandGroup;
 import com.avbot.contracts.commands.CommandGroups;
-import com.avbot.scheduler.tasks.DrainWeatherQueueTask;
+import com.avbot.exceptions.WeatherQuotaExceededException;
+import com.avbot.language.I18n;
+import com.avbot.requests.service.WeatherService;
+import com.avbot.utilities.NumberUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +43,7 @@ import java.util.List;
 public class WeatherCommand extends Command {
 
     private static final Logger log = LoggerFactory.getLogger(WeatherCommand.class);
+    private static final String directions[] = {"North", "North East", "East", "South East", "South", "South West", "West", "North West", "North"};
 
     public WeatherCommand(av av) {
         super(av);
@@ -102,17 +107,74 @@ public class WeatherCommand extends Command {
             return sendErrorMessage(context, "errors.missingArgument", "city");
         }
 
-        DrainWeatherQueueTask.queueWeather(new DrainWeatherQueueTask.WeatherEntity(
-            context.getAuthor().getIdLong(),
-            context.getMessageChannel().getIdLong(),
-            String.join(" ", args)
-        ));
+        String query = String.join(" ", args);
 
         context.getMessageChannel().sendTyping().queue();
 
+        av.getWeatherManager().lookup(query).whenComplete((service, error) -> {
+            if (error != null) {
+                if (error instanceof WeatherQuotaExceededException) {
+                    context.makeWarning(context.i18n("tooManyRequests")).queue();
+                    return;
+                }
+
+                log.error("Failed to load the weather data with the query: {}", query, error);
+                sendErrorMessage(context, "errors.errorOccurredWhileLoading", "weather data");
+                return;
+            }
+
+            if (service == null) {
+                context.makeWarning(context.i18n("noCityFound"))
+                    .set("name", query)
+                    .queue();
+                return;
+            }
+
+            sendWeatherMessage(context, service);
+        });
+
         return true;
     }
 
+    private void sendWeatherMessage(CommandMessage context, WeatherService service) {
+        PlaceholderMessage message = context.makeEmbeddedMessage()
+            .requestedBy(context)
+            .setTitle(context.i18n("fields.weatherFor",
+                service.getName(), service.getLocation().getCountry()
+            ))
+            .addField(
+                context.i18n("fields.country"),
+                I18n.format(":flag_{0}:",
+                    service.getLocation().getCountry().toLowerCase()
+                ), true
+            )
+            .addField(
+                context.i18n("fields.temperature"),
+                I18n.format("{0}°C | {1}°F",
+                    NumberUtil.formatNicelyWithDecimals(service.getTemperature().getTemp()),
+                    NumberUtil.formatNicelyWithDecimals((service.getTemperature().getTemp() * (9D / 5D)) + 32)
+                ), true
+            )
+            .addField(
+                context.i18n("fields.windDirection"),
+                directions[(int) Math.round(((service.getWind().getDeg() % 360) / 45))],
+                true
+            )
+            .addField(
+                context.i18n("fields.windSpeed"),
+                I18n.format("{0} kph | {1} mph",
+                    NumberUtil.formatNicelyWithDecimals(service.getWind().getSpeed()),
+                    NumberUtil.formatNicelyWithDecimals(service.getWind().getSpeed() / 1.609D)
+                ), true
+            );
+
+        if (!service.getWeather().isEmpty()) {
+            message.setThumbnail(service.getWeather().get(0).getIconUrl());
+        }
+
+        message.queue();
+    }
+
     private boolean hasApiKey() {
         return av.getConfig().getString("apiKeys.openWeatherMap", "").length() == 32;
     }
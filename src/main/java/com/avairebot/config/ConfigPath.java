@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A configuration path that has been split into its segments, compiled
+ * paths are cached so the same path string is only split once, no
+ * matter how many times it's used to look up a value.
+ */
+final class ConfigPath {
+
+    /**
+     * The maximum amount of paths that will be cached, paths compiled
+     * after the cache is full will still work, they're just not
+     * cached so they'll be compiled again on their next use.
+     */
+    private static final int MAX_CACHED_PATHS = 16384;
+
+    private static final ConcurrentMap<String, ConfigPath> cache = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final char separator;
+    private final String[] segments;
+    private final boolean simple;
+
+    private ConfigPath(String path, char separator, String[] segments, boolean simple) {
+        this.path = path;
+        this.separator = separator;
+        this.segments = segments;
+        this.simple = simple;
+    }
+
+    /**
+     * Compiles the given path using the given separator, or returns the
+     * cached compiled path if the path has already been compiled.
+     *
+     * @param path      The path that should be compiled.
+     * @param separator The separator used to split the path into segments.
+     * @return The compiled path.
+     */
+    static ConfigPath compile(String path, char separator) {
+        ConfigPath compiled = cache.get(path);
+        if (compiled != null && compiled.separator == separator) {
+            return compiled;
+        }
+
+        compiled = split(path, separator);
+        if (cache.size() < MAX_CACHED_PATHS) {
+            cache.put(path, compiled);
+        }
+        return compiled;
+    }
+
+    private static ConfigPath split(String path, char separator) {
+        List<String> segments = new ArrayList<>();
+        boolean simple = true;
+
+        int start = 0, index;
+        while ((index = path.indexOf(separator, start)) != -1) {
+            segments.add(path.substring(start, index));
+            simple &= index > start;
+            start = index + 1;
+        }
+        segments.add(path.substring(start));
+        simple &= start < path.length();
+
+        return new ConfigPath(path, separator, segments.toArray(new String[0]), simple);
+    }
+
+    /**
+     * Gets the original path string that was compiled.
+     *
+     * @return The original path string.
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the segments of the path, the last segment is the key
+     * of the value, while all the segments before it are the
+     * names of the sections leading up to the value.
+     *
+     * @return The segments of the path.
+     */
+    String[] getSegments() {
+        return segments;
+    }
+
+    /**
+     * Checks if the path is simple, meaning none of the path segments are empty,
+     * simple paths always match the flattened path of the value they point to.
+     *
+     * @return True if none of the path segments are empty, false otherwise.
+     */
+    boolean isSimple() {
+        return simple;
+    }
+}
@@ -45,7 +45,7 @@ public class Configuration implements ConfigurationSection {
     private final String fileName;
     private File folder;
     private File configFile;
-    private FileConfiguration fileConfiguration;
+    private volatile FileConfiguration fileConfiguration;
 
     public Configuration(JavaPlugin plugin, File folder, String fileName) throws IOException {
         this.fileName = fileName;
@@ -39,6 +39,19 @@ public class MemorySection implements ConfigurationSection {
     private final String path;
     private final String fullPath;
 
+    /**
+     * The modification count of the section tree, only used by the root section,
+     * incremented every time a value or section is changed anywhere in the tree.
+     */
+    private volatile int modifications = 0;
+
+    /**
+     * The flattened snapshot of every value in the section tree, only used
+     * by the root section, the snapshot is discarded and lazily rebuilt
+     * the next time it's used if the tree has been modified since.
+     */
+    private volatile Snapshot snapshot;
+
     /**
      * Creates an empty MemorySection for use as a root {@link ConfigurationBase}
      * section.
@@ -235,35 +248,25 @@ public class MemorySection implements ConfigurationSection {
             throw new IllegalStateException("Cannot use section without a root");
         }
 
-        final char separator = root.options().pathSeparator();
-        // i1 is the leading (higher) index
-        // i2 is the trailing (lower) index
-        int i1 = -1, i2;
-        ConfigurationSection section = this;
-        while ((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
-            String node = path.substring(i2, i1);
-            ConfigurationSection subSection = section.getConfigurationSection(node);
-            if (subSection == null) {
-                section = section.createSection(node);
-            } else {
-                section = subSection;
-            }
-        }
+        String[] segments = ConfigPath.compile(path, root.options().pathSeparator()).getSegments();
+        ConfigurationSection section = getOrCreateParentSection(segments);
 
-        String key = path.substring(i2);
+        String key = segments[segments.length - 1];
         if (section == this) {
             if (value == null) {
                 map.remove(key);
             } else {
                 map.put(key, value);
             }
+            modified();
         } else {
             section.set(key, value);
         }
     }
 
     public Object get(String path) {
-        return get(path, getDefault(path));
+        Object val = get(path, null);
+        return (val != null) ? val : getDefault(path);
     }
 
     public Object get(String path, Object def) {
@@ -278,23 +281,45 @@ public class MemorySection implements ConfigurationSection {
             throw new IllegalStateException("Cannot access section without a root");
         }
 
-        final char separator = root.options().pathSeparator();
-        // i1 is the leading (higher) index
-        // i2 is the trailing (lower) index
-        int i1 = -1, i2;
+        ConfigPath compiled = ConfigPath.compile(path, root.options().pathSeparator());
+        if (root == this && compiled.isSimple()) {
+            Object result = getSnapshot().values.get(path);
+            return (result == null) ? def : result;
+        }
+
+        String[] segments = compiled.getSegments();
         ConfigurationSection section = this;
-        while ((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
-            section = section.getConfigurationSection(path.substring(i2, i1));
-            if (section == null) {
-                return def;
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i].length() == 0) {
+                continue;
+            }
+
+            if (section instanceof MemorySection) {
+                Object child = ((MemorySection) section).map.get(segments[i]);
+                if (!(child instanceof ConfigurationSection)) {
+                    return def;
+                }
+                section = (ConfigurationSection) child;
+            } else {
+                section = section.getConfigurationSection(segments[i]);
+                if (section == null) {
+                    return def;
+                }
             }
         }
 
-        String key = path.substring(i2);
+        String key = segments[segments.length - 1];
         if (section == this) {
             Object result = map.get(key);
             return (result == null) ? def : result;
         }
+        if (key.length() == 0) {
+            return section;
+        }
+        if (section instanceof MemorySection) {
+            Object result = ((MemorySection) section).map.get(key);
+            return (result == null) ? def : result;
+        }
         return section.get(key, def);
     }
 
@@ -305,25 +330,14 @@ public class MemorySection implements ConfigurationSection {
             throw new IllegalStateException("Cannot create section without a root");
         }
 
-        final char separator = root.options().pathSeparator();
-        // i1 is the leading (higher) index
-        // i2 is the trailing (lower) index
-        int i1 = -1, i2;
-        ConfigurationSection section = this;
-        while ((i1 = path.indexOf(separator, i2 = i1 + 1)) != -1) {
-            String node = path.substring(i2, i1);
-            ConfigurationSection subSection = section.getConfigurationSection(node);
-            if (subSection == null) {
-                section = section.createSection(node);
-            } else {
-                section = subSection;
-            }
-        }
+        String[] segments = ConfigPath.compile(path, root.options().pathSeparator()).getSegments();
+        ConfigurationSection section = getOrCreateParentSection(segments);
 
-        String key = path.substring(i2);
+        String key = segments[segments.length - 1];
         if (section == this) {
             ConfigurationSection result = new MemorySection(this, key);
             map.put(key, result);
+            modified();
             return result;
         }
         return section.createSection(key);
@@ -345,8 +359,13 @@ public class MemorySection implements ConfigurationSection {
 
     // Primitives
     public String getString(String path) {
+        Object val = get(path, null);
+        if (val != null) {
+            return val.toString();
+        }
+
         Object def = getDefault(path);
-        return getString(path, def != null ? def.toString() : null);
+        return def != null ? def.toString() : null;
     }
 
     public String getString(String path, String def) {
@@ -374,8 +393,13 @@ public class MemorySection implements ConfigurationSection {
     }
 
     public boolean getBoolean(String path) {
+        Object val = get(path, null);
+        if (val instanceof Boolean) {
+            return (Boolean) val;
+        }
+
         Object def = getDefault(path);
-        return getBoolean(path, (def instanceof Boolean) ? (Boolean) def : false);
+        return (def instanceof Boolean) ? (Boolean) def : false;
     }
 
     public boolean getBoolean(String path, boolean def) {
@@ -708,7 +732,91 @@ public class MemorySection implements ConfigurationSection {
 
         ConfigurationBase root = getRoot();
         ConfigurationBase defaults = root == null ? null : root.getDefaults();
-        return (defaults == null) ? null : defaults.get(createPath(this, path));
+        if (defaults == null) {
+            return null;
+        }
+        return defaults.get(root == this ? path : createPath(this, path));
+    }
+
+    /**
+     * Publishes a new flattened snapshot of all the values in the section tree,
+     * allowing values to be looked up by their full path without walking
+     * through the sections, this should be called by the root section
+     * once it has been loaded, the snapshot is otherwise built on
+     * the first lookup after the section tree was modified.
+     */
+    protected void publishSnapshot() {
+        if (getRoot() != this) {
+            throw new IllegalStateException("Only the root section can publish a snapshot");
+        }
+        snapshot = createSnapshot();
+    }
+
+    /**
+     * Gets the current snapshot of the section tree, if the section tree has
+     * been modified since the last snapshot was created, a new snapshot
+     * will be created and published before it's returned.
+     *
+     * @return The current snapshot of the section tree.
+     */
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.modifications == modifications) {
+            return current;
+        }
+
+        current = createSnapshot();
+        snapshot = current;
+
+        return current;
+    }
+
+    private Snapshot createSnapshot() {
+        int modifications = this.modifications;
+
+        Map<String, Object> values = new HashMap<>();
+        flattenValues(values, this, "", getRoot().options().pathSeparator());
+
+        return new Snapshot(modifications, Collections.unmodifiableMap(values));
+    }
+
+    private void flattenValues(Map<String, Object> output, MemorySection section, String prefix, char separator) {
+        for (Map.Entry<String, Object> entry : section.map.entrySet()) {
+            String key = prefix + entry.getKey();
+            output.put(key, entry.getValue());
+
+            if (entry.getValue() instanceof MemorySection) {
+                flattenValues(output, (MemorySection) entry.getValue(), key + separator, separator);
+            } else if (entry.getValue() instanceof ConfigurationSection) {
+                for (Map.Entry<String, Object> child : ((ConfigurationSection) entry.getValue()).getValues(true).entrySet()) {
+                    output.put(key + separator + child.getKey(), child.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the section tree as modified, causing the snapshot
+     * of the root section to be rebuilt on its next use.
+     */
+    private void modified() {
+        ConfigurationBase root = getRoot();
+        if (root instanceof MemorySection) {
+            ((MemorySection) root).modifications++;
+        }
+    }
+
+    private ConfigurationSection getOrCreateParentSection(String[] segments) {
+        ConfigurationSection section = this;
+        for (int i = 0; i < segments.length - 1; i++) {
+            ConfigurationSection subSection = section.getConfigurationSection(segments[i]);
+            if (subSection == null) {
+                section = section.createSection(segments[i]);
+            } else {
+                section = subSection;
+            }
+        }
+        return section;
     }
 
     protected void mapChildrenKeys(Set<String> output, ConfigurationSection section, boolean deep) {
@@ -803,4 +911,15 @@ public class MemorySection implements ConfigurationSection {
             return 0;
         }
     }
+
+    private static final class Snapshot {
+
+        private final int modifications;
+        private final Map<String, Object> values;
+
+        Snapshot(int modifications, Map<String, Object> values) {
+            this.modifications = modifications;
+            this.values = values;
+        }
+    }
 }
@@ -147,6 +147,8 @@ public class YamlConfiguration extends FileConfiguration {
         if (input != null) {
             convertMapsToSections(input, this);
         }
+
+        publishSnapshot();
     }
 
     private void convertMapsToSections(Map<?, ?> input, ConfigurationSection section) {
@@ -144,6 +144,8 @@ public class YamlConfiguration extends FileConfiguration {
         if (input != null) {
             convertMapsToSections(input, this);
         }
+
+        publishSnapshot();
     }
 
     protected void convertMapsToSections(Map<?, ?> input, ConfigurationSection section) {
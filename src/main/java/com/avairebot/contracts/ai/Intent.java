@@ -26,6 +26,9 @@ import com.avbot.av;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.reflection.Reflectionable;
 
+import java.util.Collections;
+import java.util.List;
+
 public abstract class Intent extends Reflectionable {
 
     /**
@@ -51,6 +54,20 @@ public abstract class Intent extends Reflectionable {
      */
     public abstract String getAction();
 
+    /**
+     * Gets the training phrases for the intent, the phrases are used to train the local
+     * intent classifier, allowing simple messages that clearly matches the intent to
+     * be handled without having to send the message to the remote AI service.
+     * <p>
+     * Intents that depends on parameters or responses generated
+     * by the AI should not define any training phrases.
+     *
+     * @return The list of training phrases for the intent.
+     */
+    public List<String> getTrainingPhrases() {
+        return Collections.emptyList();
+    }
+
     /**
      * Handles the AI intent with the command message and AI responses returned from the AI.
      *
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.contracts.chat;
+
+import net.dv8tion.jda.core.entities.Message;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface PurgeableChannel {
+
+    /**
+     * Retrieves the next page of messages from the channel history, each call
+     * continues where the last call stopped, going from the newest
+     * message towards the oldest message in the channel.
+     *
+     * @param amount  The amount of messages that should be retrieved, between 1 and 100.
+     * @param success The consumer that should be called with the retrieved messages,
+     *                an empty list means there are no more messages to retrieve.
+     * @param failure The consumer that should be called if the messages couldn't be retrieved.
+     */
+    void retrievePast(int amount, Consumer<List<Message>> success, Consumer<Throwable> failure);
+
+    /**
+     * Bulk deletes the given messages, all of the messages must be
+     * less than 14 days old, and there can be at most 100 of them.
+     *
+     * @param messages The messages that should be deleted, between 2 and 100.
+     * @param success  The runnable that should be called once the messages are deleted.
+     * @param failure  The consumer that should be called if the messages couldn't be deleted.
+     */
+    void deleteMessages(List<Message> messages, Runnable success, Consumer<Throwable> failure);
+
+    /**
+     * Deletes a single message, this is used for messages that are too old
+     * to be bulk deleted, and for batches that only has a single message.
+     *
+     * @param message The message that should be deleted.
+     * @param success The runnable that should be called once the message is deleted.
+     * @param failure The consumer that should be called if the message couldn't be deleted.
+     */
+    void deleteMessage(Message message, Runnable success, Consumer<Throwable> failure);
+}
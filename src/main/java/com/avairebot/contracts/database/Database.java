@@ -23,11 +23,13 @@ package com.avbot.contracts.database;
 
 import com.avbot.contracts.database.grammar.AlterGrammar;
 import com.avbot.contracts.database.grammar.Grammarable;
+import com.avbot.contracts.database.grammar.IndexGrammar;
 import com.avbot.contracts.database.grammar.TableGrammar;
 import com.avbot.database.DatabaseManager;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Blueprint;
-import com.avbot.metrics.Metrics;
+import com.avbot.database.schema.Index;
+import com.avbot.metrics.QueryMetrics;
 import com.mysql.jdbc.exceptions.jdbc4.MySQLNonTransientConnectionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +67,13 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      */
     protected Connection connection;
 
+    /**
+     * Represents the connection used for running transactions, transactions are
+     * kept off the shared connection so statements sent by other threads
+     * can't end up being committed, or rolled back, with them.
+     */
+    private Connection transactionConnection;
+
     /**
      * Represents the last connection state the
      * last time the connection was checked.
@@ -123,6 +132,15 @@ public abstract class Database implements DatabaseConnection, Grammarable {
      */
     public abstract String prepareDataValueString(String str);
 
+    /**
+     * Creates a new connection to the database, the connection is
+     * independent of the shared connection used for queries.
+     *
+     * @return The new database connection.
+     * @throws SQLException if a database access error occurs.
+     */
+    protected abstract Connection createConnection() throws SQLException;
+
     /**
      * Attempts to close the database connection.
      *
@@ -141,6 +159,11 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         }
 
         try {
+            if (transactionConnection != null) {
+                transactionConnection.close();
+                transactionConnection = null;
+            }
+
             connection.close();
             lastState = false;
             lastChecked = 0L;
@@ -172,6 +195,24 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return connection;
     }
 
+    /**
+     * Returns the connection used for running transactions, if the connection is not open
+     * it will be created with auto commit disabled, the connection must only be used
+     * through {@link DatabaseManager#runTransaction(TransactionFunction)}, so only
+     * one transaction is running on the connection at a time.
+     *
+     * @return the database connection used for transactions
+     * @throws SQLException if a database access error occurs.
+     */
+    public synchronized Connection getTransactionConnection() throws SQLException {
+        if (transactionConnection == null || transactionConnection.isClosed()) {
+            transactionConnection = createConnection();
+            transactionConnection.setAutoCommit(false);
+        }
+
+        return transactionConnection;
+    }
+
     /**
      * Checks to see if the database connection is still valid.
      *
@@ -405,13 +446,13 @@ public abstract class Database implements DatabaseConnection, Grammarable {
     }
 
     protected Statement createPreparedStatement(String query) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+        QueryMetrics.forQuery(query).inc();
 
         return getConnection().prepareStatement(query);
     }
 
     private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+        QueryMetrics.forQuery(query).inc();
 
         return getConnection().prepareStatement(query, autoGeneratedKeys);
     }
@@ -430,6 +471,13 @@ public abstract class Database implements DatabaseConnection, Grammarable {
         return grammar.format(blueprint);
     }
 
+    protected String setupAndRun(IndexGrammar grammar, Index index, DatabaseManager manager, Map<String, Boolean> options) {
+        grammar.setDBM(manager);
+        grammar.setOptions(options);
+
+        return grammar.format(index);
+    }
+
     public enum QueryType {
         SELECT,
         INSERT,
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.contracts.database;
+
+import com.avbot.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface TransactionFunction {
+
+    /**
+     * Runs the transaction function with the connection handed out by the
+     * {@link DatabaseManager#runTransaction(TransactionFunction) database runTransaction method},
+     * the function should not commit, rollback, or change the auto commit mode of the connection.
+     *
+     * @param connection The connection the statements for the transaction should be sent through.
+     * @throws SQLException If an error occurred, the transaction will be rolled back.
+     */
+    void run(Connection connection) throws SQLException;
+}
@@ -25,6 +25,7 @@ import com.avbot.contracts.database.Database;
 import com.avbot.database.DatabaseManager;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.Index;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -81,4 +82,24 @@ public interface Grammarable {
      * @return The database query that was generated by the blueprint.
      */
     String update(DatabaseManager manager, QueryBuilder query, @Nullable Map<String, Boolean> options);
+
+    /**
+     * Creates a create index grammar instance with the provided settings.
+     *
+     * @param manager The database manager instance.
+     * @param index   The index that should be used for generating the grammar query.
+     * @param options The options that should be parsed to the grammar generator.
+     * @return The database query that was generated by the index.
+     */
+    String createIndex(DatabaseManager manager, Index index, @Nullable Map<String, Boolean> options);
+
+    /**
+     * Creates a drop index grammar instance with the provided settings.
+     *
+     * @param manager The database manager instance.
+     * @param index   The index that should be used for generating the grammar query.
+     * @param options The options that should be parsed to the grammar generator.
+     * @return The database query that was generated by the index.
+     */
+    String dropIndex(DatabaseManager manager, Index index, @Nullable Map<String, Boolean> options);
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.contracts.database.grammar;
+
+import com.avbot.database.schema.Index;
+
+public abstract class IndexGrammar extends Grammar {
+
+    /**
+     * The query formatter method, this is called by the schema
+     * when an index should be created or dropped.
+     *
+     * @param index The index to build the query from.
+     * @return the formatted SQL query
+     */
+    public abstract String format(Index index);
+
+    /**
+     * Formats the columns covered by the given index as a comma separated list.
+     *
+     * @param index The index to format the columns for.
+     * @return the formatted index columns
+     */
+    protected String formatColumns(Index index) {
+        StringBuilder columns = new StringBuilder();
+        for (String column : index.getColumns()) {
+            columns.append(formatField(column)).append(", ");
+        }
+
+        return columns.substring(0, columns.length() - 2);
+    }
+}
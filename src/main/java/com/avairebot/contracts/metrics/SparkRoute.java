@@ -22,11 +22,16 @@
 package com.avbot.contracts.metrics;
 
 import com.avbot.av;
+import com.avbot.servlet.cache.CachedResponse;
 import org.json.JSONObject;
 import spark.Request;
 import spark.Response;
 import spark.Route;
 
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
 public abstract class SparkRoute implements Route {
 
     /**
@@ -75,4 +80,51 @@ public abstract class SparkRoute implements Route {
             av.getInstance().getConfig().getString("metrics.authToken", "av-auth-token")
         );
     }
+
+    /**
+     * Writes the given cached response directly to the underlying servlet response,
+     * the gzipped body is used if the client accepts gzip encoding, and a 304 Not
+     * Modified response is sent instead if the client already has the response
+     * from a previous request, using the {@code If-None-Match} header.
+     * <p>
+     * The body is written and flushed directly, so the returned empty string
+     * should be returned from the route as is, Spark will skip serializing
+     * the return value since the response have already been committed.
+     *
+     * @param request  The spark request instance for the incoming request.
+     * @param response The spark response for the request.
+     * @param cached   The cached response that should be sent.
+     * @return An empty string that should be returned from the route.
+     * @throws IOException If the body could not be written to the response.
+     */
+    protected Object sendCachedResponse(Request request, Response response, CachedResponse cached) throws IOException {
+        response.header("ETag", cached.getETag());
+        response.header("Vary", "Accept-Encoding");
+
+        if (cached.matches(request.headers("If-None-Match"))) {
+            response.status(304);
+            return "";
+        }
+
+        byte[] body = cached.getBody();
+        if (cached.getGzipBody() != null && acceptsGzip(request)) {
+            response.header("Content-Encoding", "gzip");
+            body = cached.getGzipBody();
+        }
+
+        HttpServletResponse raw = response.raw();
+        raw.setContentLength(body.length);
+
+        ServletOutputStream stream = raw.getOutputStream();
+        stream.write(body);
+        stream.flush();
+
+        return "";
+    }
+
+    private boolean acceptsGzip(Request request) {
+        String encoding = request.headers("Accept-Encoding");
+
+        return encoding != null && encoding.toLowerCase().contains("gzip");
+    }
 }
@@ -24,15 +24,18 @@ package com.avbot.database;
 import com.avbot.av;
 import com.avbot.contracts.database.BatchQueryFunction;
 import com.avbot.contracts.database.Database;
+import com.avbot.contracts.database.TransactionFunction;
 import com.avbot.database.collection.Collection;
 import com.avbot.database.connections.MySQL;
 import com.avbot.database.connections.SQLite;
 import com.avbot.database.exceptions.DatabaseException;
 import com.avbot.database.migrate.Migrations;
+import com.avbot.database.query.BoundValue;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Schema;
 import com.avbot.database.seeder.SeederManager;
-import com.avbot.metrics.Metrics;
+import com.avbot.database.writer.WriteBehindWriter;
+import com.avbot.metrics.QueryMetrics;
 import com.mysql.jdbc.exceptions.MySQLTransactionRollbackException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +43,12 @@ import org.slf4j.MDC;
 
 import javax.annotation.WillClose;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DatabaseManager {
@@ -53,9 +59,11 @@ public class DatabaseManager {
     private final Schema schema;
     private final Migrations migrations;
     private final SeederManager seeder;
+    private final WriteBehindWriter writer;
 
     private final AtomicInteger batchIncrementer;
     private final Set<Integer> runningBatchRequests;
+    private final Object transactionLock = new Object();
 
     private int queryRetries = 5;
     private Database connection = null;
@@ -65,9 +73,10 @@ public class DatabaseManager {
         this.schema = new Schema(this);
         this.migrations = new Migrations(this);
         this.seeder = new SeederManager();
+        this.writer = new WriteBehindWriter(this);
 
         this.batchIncrementer = new AtomicInteger(0);
-        this.runningBatchRequests = new HashSet<>();
+        this.runningBatchRequests = ConcurrentHashMap.newKeySet();
     }
 
     public av getav() {
@@ -86,6 +95,10 @@ public class DatabaseManager {
         return seeder;
     }
 
+    public WriteBehindWriter getWriter() {
+        return writer;
+    }
+
     public Database getConnection() throws SQLException, DatabaseException {
         if (connection == null) {
             switch (av.getConfig().getString("database.type", "invalid").toLowerCase()) {
@@ -213,7 +226,19 @@ public class DatabaseManager {
      */
     @WillClose
     public int queryUpdate(QueryBuilder query) throws SQLException {
-        return queryUpdate(query.toSQL());
+        if (!query.hasBoundValues()) {
+            return queryUpdate(query.toSQL());
+        }
+
+        String sql = query.toSQL();
+        log.debug("queryUpdate(QueryBuilder query) was called with the following SQL query.\nSQL: " + sql);
+        MDC.put("query", sql);
+
+        if (sql == null) {
+            throw new SQLException("null query was generated, null can not be used as a valid query");
+        }
+
+        return runBoundQueryUpdate(query, sql, queryRetries);
     }
 
     /**
@@ -234,7 +259,7 @@ public class DatabaseManager {
     @WillClose
     public Set<Integer> queryInsert(String query) throws SQLException {
         log.debug("queryInsert(String query) was called with the following SQL query.\nSQL: " + query);
-        Metrics.databaseQueries.labels("INSERT").inc();
+        QueryMetrics.forQuery("INSERT").inc();
         MDC.put("query", query);
 
         if (!query.toUpperCase().startsWith("INSERT INTO")) {
@@ -264,7 +289,7 @@ public class DatabaseManager {
     public Set<Integer> queryInsert(QueryBuilder queryBuilder) throws SQLException {
         String query = queryBuilder.toSQL();
         log.debug("queryInsert(QueryBuilder queryBuilder) was called with the following SQL query.\nSQL: " + query);
-        Metrics.databaseQueries.labels("INSERT").inc();
+        QueryMetrics.forQuery("INSERT").inc();
         MDC.put("query", query);
 
         if (query == null) {
@@ -316,6 +341,38 @@ public class DatabaseManager {
         runQueryBatch(query, queryFunction, batchIncrementer.getAndIncrement(), queryRetries);
     }
 
+    /**
+     * Runs the given function in a transaction, the transaction runs on a connection
+     * that is only used for transactions, so statements sent through the shared
+     * connection by other threads never become a part of the transaction.
+     * <p>
+     * Transactions are run one at a time, if the function returns without throwing
+     * an exception the transaction is committed, otherwise it is rolled back
+     * and the exception is thrown again.
+     *
+     * @param function The function that should send the statements for the transaction.
+     * @throws SQLException if a database access error occurs, or the function throws
+     *                      an exception, in which case the transaction is rolled back.
+     */
+    public void runTransaction(TransactionFunction function) throws SQLException {
+        synchronized (transactionLock) {
+            Connection connection = getConnection().getTransactionConnection();
+
+            try {
+                function.run(connection);
+
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e1) {
+                    log.error("An SQL exception was thrown while attempting to rollback a transaction", e1);
+                }
+                throw e;
+            }
+        }
+    }
+
     /**
      * Checks if there are any running batch query requests running right now.
      *
@@ -325,6 +382,60 @@ public class DatabaseManager {
         return !runningBatchRequests.isEmpty();
     }
 
+    /**
+     * Binds the values from the given query builder that the grammar has replaced with
+     * prepared placeholders to the given prepared statement, values that are written
+     * directly into the query by the grammar will be skipped. The values are bound
+     * in the same column order the insert and update grammars uses.
+     *
+     * @param statement    The prepared statement created from the query.
+     * @param queryBuilder The query builder the query was generated from.
+     * @throws SQLException if a database access error occurs or this
+     *                      method is called on a closed <code>PreparedStatement</code>
+     */
+    public static void bindValues(PreparedStatement statement, QueryBuilder queryBuilder) throws SQLException {
+        boolean isInsert = queryBuilder.getType() == Database.QueryType.INSERT;
+
+        List<String> keyset = new ArrayList<>();
+        for (Map<String, Object> row : queryBuilder.getItems()) {
+            for (String key : row.keySet()) {
+                if (!keyset.contains(key)) {
+                    keyset.add(key);
+                }
+            }
+        }
+
+        int preparedIndex = 1;
+        for (Map<String, Object> row : queryBuilder.getItems()) {
+            for (String key : keyset) {
+                Object item = row.get(key);
+                if (item == null) {
+                    continue;
+                }
+
+                if (item instanceof BoundValue) {
+                    statement.setString(preparedIndex++, ((BoundValue) item).getValue());
+                    continue;
+                }
+
+                if (!isInsert) {
+                    continue;
+                }
+
+                String value = item.toString();
+
+                if (value.startsWith("RAW:") ||
+                    value.equalsIgnoreCase("true") ||
+                    value.equalsIgnoreCase("false") ||
+                    value.matches("[-+]?\\d*\\.?\\d+")) {
+                    continue;
+                }
+
+                statement.setString(preparedIndex++, value);
+            }
+        }
+    }
+
     @WillClose
     private Collection runQuery(String query, int retriesLeft) throws SQLException {
         try (ResultSet resultSet = getConnection().query(query)) {
@@ -357,6 +468,22 @@ public class DatabaseManager {
         }
     }
 
+    @WillClose
+    private int runBoundQueryUpdate(QueryBuilder queryBuilder, String query, int retriesLeft) throws SQLException {
+        try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query)) {
+            bindValues(stmt, queryBuilder);
+
+            return stmt.executeUpdate();
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                return runBoundQueryUpdate(queryBuilder, query, retriesLeft);
+            }
+            throw new MySQLTransactionRollbackException(
+                e.getMessage(), e.getSQLState(), e.getErrorCode()
+            );
+        }
+    }
+
     @WillClose
     private Set<Integer> runQueryInsert(String query, int retriesLeft) throws SQLException {
         try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
@@ -385,25 +512,7 @@ public class DatabaseManager {
         String query = queryBuilder.toSQL();
 
         try (PreparedStatement stmt = getConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            int preparedIndex = 1;
-            for (Map<String, Object> row : queryBuilder.getItems()) {
-                for (Map.Entry<String, Object> item : row.entrySet()) {
-                    if (item.getValue() == null) {
-                        continue;
-                    }
-
-                    String value = item.getValue().toString();
-
-                    if (value.startsWith("RAW:") ||
-                        value.equalsIgnoreCase("true") ||
-                        value.equalsIgnoreCase("false") ||
-                        value.matches("[-+]?\\d*\\.?\\d+")) {
-                        continue;
-                    }
-
-                    stmt.setString(preparedIndex++, value);
-                }
-            }
+            bindValues(stmt, queryBuilder);
 
             stmt.executeUpdate();
 
@@ -430,41 +539,24 @@ public class DatabaseManager {
             query, batchId, retriesLeft
         );
 
-        Connection connection = getConnection().getConnection();
-
-        if (!runningBatchRequests.contains(batchId)) {
-            runningBatchRequests.add(batchId);
-        }
+        runningBatchRequests.add(batchId);
 
         try {
-            connection.setAutoCommit(false);
-
-            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                queryFunction.run(preparedStatement);
+            runTransaction(connection -> {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    queryFunction.run(preparedStatement);
 
-                preparedStatement.executeBatch();
+                    preparedStatement.executeBatch();
+                }
+            });
+        } catch (MySQLTransactionRollbackException e) {
+            if (--retriesLeft > 0) {
+                runQueryBatch(query, queryFunction, batchId, retriesLeft);
             }
         } catch (SQLException e) {
             log.error("An SQL exception was thrown while running a batch query: {}", query, e);
-
-            try {
-                connection.rollback();
-            } catch (SQLException e1) {
-                log.error("An SQL exception was thrown while attempting to rollback a batch query: {}", query, e);
-            }
         } finally {
-            try {
-                connection.commit();
-
-                runningBatchRequests.remove(batchId);
-                if (runningBatchRequests.isEmpty()) {
-                    connection.setAutoCommit(true);
-                }
-            } catch (MySQLTransactionRollbackException e) {
-                if (--retriesLeft > 0) {
-                    runQueryBatch(query, queryFunction, batchId, retriesLeft);
-                }
-            }
+            runningBatchRequests.remove(batchId);
         }
     }
 }
@@ -22,13 +22,13 @@
 package com.avbot.database.collection;
 
 import com.avbot.av;
+import com.avbot.database.migrate.LegacyColumnDecoder;
 import com.avbot.exceptions.InvalidFormatException;
 import com.avbot.time.Carbon;
 import com.avbot.utilities.NumberUtil;
 import com.google.gson.Gson;
 
 import javax.annotation.Nonnull;
-import java.util.Base64;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -36,8 +36,10 @@ import java.util.TreeMap;
 @SuppressWarnings("WeakerAccess")
 public class DataRow {
 
+    private static volatile boolean decodeLegacyValues = true;
+
     private final Map<String, Object> items;
-    private final Map<String, String> decodedItems;
+    private Map<String, String> decodedItems;
 
     /**
      * Creates a new data row object from the provided data row.
@@ -55,13 +57,23 @@ public class DataRow {
      */
     public DataRow(Map<String, Object> items) {
         this.items = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        this.decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
         for (Map.Entry<String, Object> item : items.entrySet()) {
             this.items.put(item.getKey(), item.getValue());
         }
     }
 
+    /**
+     * Sets if strings stored using the legacy base64 encoding should be decoded
+     * when they're read, this is turned off once the legacy column decoder
+     * has decoded all the legacy values stored in the database.
+     *
+     * @param decode {@code True} if legacy values should be decoded, {@code False} otherwise.
+     */
+    public static void setDecodeLegacyValues(boolean decode) {
+        decodeLegacyValues = decode;
+    }
+
     /**
      * Gets a object from the data rows item list.
      *
@@ -360,8 +372,9 @@ public class DataRow {
     }
 
     /**
-     * Gets a string object from the data rows item list, if the string is
-     * encoded with base64 it will automatically be decoded on request.
+     * Gets a string object from the data rows item list, if the string was stored
+     * using the legacy base64 encoding it will automatically be decoded on
+     * request, until all the legacy values have been decoded.
      *
      * @param name The index(name) to get.
      * @param def  The default vault to return if the index doesn't exists.
@@ -376,24 +389,23 @@ public class DataRow {
         }
 
         String string = String.valueOf(value);
-        if (!string.startsWith("base64:")) {
+        if (!decodeLegacyValues || !string.startsWith(LegacyColumnDecoder.LEGACY_PREFIX)) {
             return string;
         }
 
-        if (decodedItems.containsKey(name)) {
+        if (decodedItems == null) {
+            decodedItems = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        } else if (decodedItems.containsKey(name)) {
             return decodedItems.get(name);
         }
 
-        try {
-            String decodedString = new String(Base64.getDecoder().decode(
-                string.substring(7)
-            ));
-            decodedItems.put(name, decodedString);
-
-            return decodedString;
-        } catch (IllegalArgumentException ex) {
+        String decodedString = LegacyColumnDecoder.decode(string);
+        if (decodedString == null) {
             return string;
         }
+        decodedItems.put(name, decodedString);
+
+        return decodedString;
     }
 
     /**
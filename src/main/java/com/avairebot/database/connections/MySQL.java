@@ -28,6 +28,7 @@ import com.avbot.database.DatabaseManager;
 import com.avbot.database.grammar.mysql.*;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.Index;
 import com.avbot.language.I18n;
 import com.avbot.utilities.NumberUtil;
 
@@ -85,18 +86,8 @@ public class MySQL extends HostnameDatabase {
     @Override
     public boolean open() throws SQLException {
         try {
-            String url = String.format("jdbc:mysql://%s:%d/%s?autoReconnect=true&verifyServerCertificate=%s&useSSL=true",
-                getHostname(), getPort(), getDatabase(),
-                dbm.getav().getConfig().getBoolean("database.verifyServerCertificate", true) ? "true" : "false"
-            );
-
             if (initialize()) {
-                connection = DriverManager.getConnection(url, getUsername(), getPassword());
-
-                // Sets a timeout of 20 seconds(This is an extremely long time, however the default
-                // is around 10 minutes so this should give some improvements with the threads
-                // not being blocked for ages due to hanging database queries.
-                connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+                connection = createConnection();
 
                 return true;
             }
@@ -110,6 +101,30 @@ public class MySQL extends HostnameDatabase {
         return false;
     }
 
+    @Override
+    protected Connection createConnection() throws SQLException {
+        String url = String.format("jdbc:mysql://%s:%d/%s?autoReconnect=true&useUnicode=true&characterEncoding=UTF-8&verifyServerCertificate=%s&useSSL=true",
+            getHostname(), getPort(), getDatabase(),
+            dbm.getav().getConfig().getBoolean("database.verifyServerCertificate", true) ? "true" : "false"
+        );
+
+        Connection connection = DriverManager.getConnection(url, getUsername(), getPassword());
+
+        // Sets a timeout of 20 seconds(This is an extremely long time, however the default
+        // is around 10 minutes so this should give some improvements with the threads
+        // not being blocked for ages due to hanging database queries.
+        connection.setNetworkTimeout(Executors.newCachedThreadPool(), 1000 * 20);
+
+        // The driver only negotiates the three byte utf8 character set with the server, so we
+        // switch the session over to utf8mb4 to allow four byte characters, like emojis,
+        // to be sent as bound parameters and stored in the utf8mb4 text columns.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET NAMES utf8mb4 COLLATE utf8mb4_unicode_ci;");
+        }
+
+        return connection;
+    }
+
     @Override
     protected void queryValidation(StatementInterface statement) throws SQLException {
         SQLException exception;
@@ -222,4 +237,14 @@ public class MySQL extends HostnameDatabase {
     public String update(DatabaseManager manager, QueryBuilder query, Map<String, Boolean> options) {
         return setupAndRun(new Update(), query, manager, options);
     }
+
+    @Override
+    public String createIndex(DatabaseManager manager, Index index, Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), index, manager, options);
+    }
+
+    @Override
+    public String dropIndex(DatabaseManager manager, Index index, Map<String, Boolean> options) {
+        return setupAndRun(new DropIndex(), index, manager, options);
+    }
 }
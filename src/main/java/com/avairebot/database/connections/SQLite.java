@@ -29,16 +29,22 @@ import com.avbot.database.exceptions.DatabaseException;
 import com.avbot.database.grammar.sqlite.*;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.Index;
 import com.avbot.language.I18n;
-import com.avbot.metrics.Metrics;
+import com.avbot.metrics.QueryMetrics;
 
 import javax.annotation.Nonnull;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SQLite extends FilenameDatabase {
 
+    private static final AtomicInteger memoryDatabases = new AtomicInteger(0);
+
+    private final String memoryDatabaseName = "av-memory-" + memoryDatabases.incrementAndGet();
+
     /**
      * Creates a SQLite database connection instance with the parsed information.
      *
@@ -85,7 +91,7 @@ public class SQLite extends FilenameDatabase {
     public boolean open() throws SQLException {
         if (initialize()) {
             try {
-                connection = DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+                connection = createConnection();
 
                 return true;
             } catch (SQLException ex) {
@@ -99,6 +105,17 @@ public class SQLite extends FilenameDatabase {
         return false;
     }
 
+    @Override
+    protected Connection createConnection() throws SQLException {
+        if (getFile() == null) {
+            // In-memory databases are only visible to the connection that created them, so we use a
+            // named shared cache database instead, allowing the transaction connection to see it.
+            return DriverManager.getConnection("jdbc:sqlite:file:" + memoryDatabaseName + "?mode=memory&cache=shared");
+        }
+
+        return DriverManager.getConnection("jdbc:sqlite:" + getFile().getAbsolutePath());
+    }
+
     @Override
     protected void queryValidation(StatementInterface paramStatement) throws SQLException {
         // This does nothing for SQLite
@@ -118,7 +135,9 @@ public class SQLite extends FilenameDatabase {
 
     @Override
     public Connection getConnection() throws SQLException {
-        open();
+        if (connection == null || connection.isClosed()) {
+            open();
+        }
 
         return connection;
     }
@@ -176,7 +195,7 @@ public class SQLite extends FilenameDatabase {
 
     @Override
     protected Statement createPreparedStatement(String query) throws SQLException {
-        Metrics.databaseQueries.labels(query.split(" ")[0].toUpperCase()).inc();
+        QueryMetrics.forQuery(query).inc();
 
         Statement statement = getConnection().createStatement();
 
@@ -210,4 +229,14 @@ public class SQLite extends FilenameDatabase {
     public String update(DatabaseManager manager, QueryBuilder query, Map<String, Boolean> options) {
         return setupAndRun(new Update(), query, manager, options);
     }
+
+    @Override
+    public String createIndex(DatabaseManager manager, Index index, Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), index, manager, options);
+    }
+
+    @Override
+    public String dropIndex(DatabaseManager manager, Index index, Map<String, Boolean> options) {
+        return setupAndRun(new DropIndex(), index, manager, options);
+    }
 }
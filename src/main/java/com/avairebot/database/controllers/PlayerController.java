@@ -112,6 +112,7 @@ public class PlayerController {
                         .newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
                         .where("experiences.user_id", user.getId())
                         .andWhere("experiences.guild_id", message.getGuild().getId())
+                        .useAsync(true)
                         .update(statement -> {
                             statement.set("active", true);
                         });
@@ -151,7 +152,7 @@ public class PlayerController {
         return !user.getName().equals(transformer.getUsername())
             || !user.getDiscriminator().equals(transformer.getDiscriminator())
             || !Objects.equals(user.getAvatarId(), transformer.getAvatar())
-            || !transformer.getUsernameRaw().startsWith("base64:");
+            || transformer.getUsernameRaw().startsWith("base64:");
     }
 
     private static String asKey(@Nonnull Guild guild, @Nonnull User user) {
@@ -191,9 +192,7 @@ public class PlayerController {
         private final String avatar;
 
         PlayerUpdateReference(@Nonnull User user) {
-            this.username = "base64:" + new String(
-                Base64.getEncoder().encode(user.getName().getBytes())
-            );
+            this.username = user.getName();
             this.discriminator = user.getDiscriminator();
             this.avatar = user.getAvatarId();
         }
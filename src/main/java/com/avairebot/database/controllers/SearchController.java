@@ -43,7 +43,6 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
@@ -118,15 +117,12 @@ public class SearchController {
                 return null;
             }
 
-            ScheduleHandler.getScheduler().submit(() -> {
-                try {
-                    av.getInstance().getDatabase().queryUpdate(
-                        createUpdateLookupQueryFromContext(context)
-                    );
-                } catch (SQLException e) {
-                    log.error("Something went wrong while trying to update the last lookup date for a music cache record: {}", e.getMessage(), e);
-                }
-            });
+            av.getInstance().getDatabase().getWriter().queue(
+                Database.QueryType.UPDATE,
+                Constants.MUSIC_SEARCH_CACHE_TABLE_NAME,
+                createUpdateLookupQueryFromContext(context),
+                context.getFullQueryString()
+            );
 
             SearchResultTransformer resultTransformer = new SearchResultTransformer(result.first());
 
@@ -155,27 +151,18 @@ public class SearchController {
         final Carbon time = Carbon.now();
 
         try {
-            // Creates the insert query using the proper formats
-            // and prepared values replaced into the query.
-            final String query = I18n.format(
-                "INSERT INTO `{0}` (`provider`, `query`, `result`, `created_at`) " +
-                    "SELECT * FROM (SELECT {1}, {2}, {3}, {4}) AS tmp " +
-                    "WHERE NOT EXISTS (" +
-                    " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = {1} AND `query` = {2}" +
-                    ") LIMIT 1;",
-                Constants.MUSIC_SEARCH_CACHE_TABLE_NAME,
-                prepareStringForQuery(String.valueOf(context.getProvider().getId())),
-                prepareStringForQuery(context.getQuery()),
-                prepareStringForQuery("base64:" + new String(
-                    Base64.getEncoder().encode(
-                        new SearchResultTransformer.SerializableAudioPlaylist(playlist)
-                            .toString().getBytes()
-                    )
-                )),
-                prepareStringForQuery(time.toString())
-            );
+            final String serializedPlaylist = new SearchResultTransformer.SerializableAudioPlaylist(playlist).toString();
 
-            av.getInstance().getDatabase().queryUpdate(query);
+            av.getInstance().getDatabase().queryBatch(createInsertQuery(), (PreparedStatement statement) -> {
+                statement.setInt(1, context.getProvider().getId());
+                statement.setInt(5, context.getProvider().getId());
+                statement.setString(2, context.getQuery());
+                statement.setString(6, context.getQuery());
+                statement.setString(3, serializedPlaylist);
+                statement.setString(4, time.toString());
+
+                statement.addBatch();
+            });
         } catch (SQLException e) {
             log.error("Failed to create audio track record for query \"{}\" using provider {}, error: {}",
                 context.getQuery(), context.getProvider().name(), e.getMessage(), e
@@ -188,14 +175,7 @@ public class SearchController {
 
         ScheduleHandler.getScheduler().submit(() -> {
             try {
-                av.getInstance().getDatabase().queryBatch(I18n.format(
-                    "INSERT INTO `{0}` (`provider`, `query`, `result`, `created_at`) " +
-                        "SELECT * FROM (SELECT ?, ?, ?, ?) AS tmp " +
-                        "WHERE NOT EXISTS (" +
-                        " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = ? AND `query` = ?" +
-                        ") LIMIT 1;",
-                    Constants.MUSIC_SEARCH_CACHE_TABLE_NAME
-                ), (PreparedStatement statement) -> {
+                av.getInstance().getDatabase().queryBatch(createInsertQuery(), (PreparedStatement statement) -> {
                     for (AudioTrack track : playlist.getTracks()) {
                         BasicAudioPlaylist audioPlaylist = new BasicAudioPlaylist(
                             track.getInfo().title,
@@ -213,9 +193,7 @@ public class SearchController {
                         statement.setString(2, track.getInfo().uri);
                         statement.setString(6, track.getInfo().uri);
 
-                        statement.setString(3, "base64:" + new String(
-                            Base64.getEncoder().encode(serializedAudioPlaylist.getBytes())
-                        ));
+                        statement.setString(3, serializedAudioPlaylist);
                         statement.setString(4, time.toString());
 
                         statement.addBatch();
@@ -229,6 +207,17 @@ public class SearchController {
         });
     }
 
+    private static String createInsertQuery() {
+        return I18n.format(
+            "INSERT INTO `{0}` (`provider`, `query`, `result`, `created_at`) " +
+                "SELECT * FROM (SELECT ?, ?, ?, ?) AS tmp " +
+                "WHERE NOT EXISTS (" +
+                " SELECT `provider`, `query` FROM `{0}` WHERE `provider` = ? AND `query` = ?" +
+                ") LIMIT 1;",
+            Constants.MUSIC_SEARCH_CACHE_TABLE_NAME
+        );
+    }
+
     @SuppressWarnings("StringBufferReplaceableByString")
     private static String createUpdateLookupQueryFromContext(TrackRequestContext context) throws SQLException {
         StringBuilder updateQuery = new StringBuilder(StringUtils.chop(
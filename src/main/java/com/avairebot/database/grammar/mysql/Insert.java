@@ -22,6 +22,7 @@
 package com.avbot.database.grammar.mysql;
 
 import com.avbot.contracts.database.grammar.InsertGrammar;
+import com.avbot.database.query.BoundValue;
 import com.avbot.database.query.QueryBuilder;
 
 import java.util.List;
@@ -78,6 +79,12 @@ public class Insert extends InsertGrammar {
                     continue;
                 }
 
+                if (row.get(key) instanceof BoundValue) {
+                    addPart("?, ");
+
+                    continue;
+                }
+
                 String value = row.get(key).toString();
 
                 if (value.startsWith("RAW:")) {
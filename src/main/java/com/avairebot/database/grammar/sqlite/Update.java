@@ -22,6 +22,7 @@
 package com.avbot.database.grammar.sqlite;
 
 import com.avbot.contracts.database.grammar.UpdateGrammar;
+import com.avbot.database.query.BoundValue;
 import com.avbot.database.query.QueryBuilder;
 
 import java.util.List;
@@ -73,6 +74,12 @@ public class Update extends UpdateGrammar {
                     continue;
                 }
 
+                if (row.get(key) instanceof BoundValue) {
+                    addPart(" %s = ?, ", formatKey);
+
+                    continue;
+                }
+
                 String value = row.get(key).toString();
 
                 if (value.startsWith("RAW:")) {
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.migrate;
+
+import com.avbot.Constants;
+import com.avbot.database.DatabaseManager;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.query.QueryBuilder;
+import com.avbot.language.I18n;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Decodes the text columns that used to be stored encoded with base64 back into plain
+ * text, the columns are decoded in small batches so the decoder can run alongside
+ * the bot without locking the tables, and the progress for each column is
+ * stored in the database so the decoder can resume after a restart.
+ * <p>
+ * Rows are selected in key order, and rows that can't be decoded are left as they
+ * are and counted as skipped, the skipped count is then used as the offset for
+ * the next batch, since every row before the offset that still has the legacy
+ * prefix is a row that has already been skipped.
+ * <p>
+ * Rows with a {@code NULL} key can't be matched back to using their keys, so they are
+ * updated using only their encoded value instead, this may also update other rows
+ * with the same encoded value, which is fine since they decode to the same value.
+ */
+public class LegacyColumnDecoder {
+
+    /**
+     * The prefix used by the legacy encoding for encoded values.
+     */
+    public static final String LEGACY_PREFIX = "base64:";
+
+    /**
+     * The columns that may still have values stored with the legacy encoding.
+     */
+    static final List<LegacyColumn> columns = Arrays.asList(
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "name", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "channels", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "channels_data", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "roles_data", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "claimable_roles", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "level_roles", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "prefixes", "id"),
+        new LegacyColumn(Constants.GUILD_TABLE_NAME, "aliases", "id"),
+        new LegacyColumn(Constants.PLAYER_EXPERIENCE_TABLE_NAME, "username", "user_id", "guild_id"),
+        new LegacyColumn(Constants.LOG_TABLE_NAME, "reason", "guild_id", "modlogCase"),
+        new LegacyColumn(Constants.MUSIC_SEARCH_CACHE_TABLE_NAME, "result", "provider", "query"),
+        new LegacyColumn(Constants.MUSIC_PLAYLIST_TABLE_NAME, "name", "id"),
+        new LegacyColumn(Constants.MUSIC_PLAYLIST_TABLE_NAME, "songs", "id"),
+        new LegacyColumn(Constants.FEEDBACK_TABLE_NAME, "message", "id"),
+        new LegacyColumn(Constants.FEEDBACK_TABLE_NAME, "response", "id"),
+        new LegacyColumn(Constants.REMINDERS_TABLE_NAME, "message", "id")
+    );
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyColumnDecoder.class);
+
+    private final DatabaseManager dbm;
+    private final int batchSize;
+
+    private Map<String, Progress> progress;
+
+    /**
+     * Creates a new legacy column decoder using the given database manager.
+     *
+     * @param dbm       The database manager that should be used to decode the columns.
+     * @param batchSize The maximum amount of rows that should be decoded for each batch.
+     */
+    public LegacyColumnDecoder(DatabaseManager dbm, int batchSize) {
+        this.dbm = dbm;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Decodes the given legacy encoded value, if the value isn't encoded
+     * using the legacy encoding it will be returned as-is.
+     *
+     * @param value The value that should be decoded.
+     * @return The decoded value, or {@code NULL} if the value has the
+     *         legacy prefix but is not valid base64.
+     */
+    @Nullable
+    public static String decode(String value) {
+        if (value == null || !value.startsWith(LEGACY_PREFIX)) {
+            return value;
+        }
+
+        try {
+            return new String(Base64.getDecoder().decode(
+                value.substring(LEGACY_PREFIX.length())
+            ));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the next batch of rows for the first column that hasn't been
+     * completed yet, once all the columns has been decoded, decoding of
+     * legacy values when reading data rows will be turned off.
+     *
+     * @return {@code True} if there are more rows that may need to be decoded, {@code False} otherwise.
+     * @throws SQLException If a database access error occurs while decoding the rows.
+     */
+    public boolean decodeNextBatch() throws SQLException {
+        for (LegacyColumn column : columns) {
+            Progress columnProgress = getProgress().get(column.getName());
+            if (columnProgress.completed) {
+                continue;
+            }
+
+            decodeBatch(column, columnProgress);
+
+            return true;
+        }
+
+        DataRow.setDecodeLegacyValues(false);
+
+        return false;
+    }
+
+    private void decodeBatch(LegacyColumn column, Progress columnProgress) throws SQLException {
+        String[] select = Arrays.copyOf(column.keys, column.keys.length + 1);
+        select[column.keys.length] = column.column;
+
+        QueryBuilder query = dbm.newQueryBuilder(column.table)
+            .select(select)
+            .where(column.column, "LIKE", LEGACY_PREFIX + "%")
+            .take(batchSize)
+            .skip(columnProgress.skipped);
+
+        for (String key : column.keys) {
+            query.orderBy(key);
+        }
+
+        Collection rows = query.get();
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> valueUpdates = new ArrayList<>();
+        for (DataRow row : rows) {
+            String encoded = String.valueOf(row.get(column.column));
+            String decoded = decode(encoded);
+
+            // Rows that can't be decoded are left as they are and skipped.
+            if (decoded == null) {
+                columnProgress.skipped++;
+                continue;
+            }
+
+            Object[] update = new Object[column.keys.length + 2];
+            update[0] = decoded;
+            update[update.length - 1] = encoded;
+
+            boolean hasKeys = true;
+            for (int i = 0; i < column.keys.length; i++) {
+                update[i + 1] = row.get(column.keys[i]);
+                if (update[i + 1] == null) {
+                    hasKeys = false;
+                }
+            }
+
+            if (hasKeys) {
+                updates.add(update);
+            } else {
+                valueUpdates.add(new Object[]{decoded, encoded});
+            }
+        }
+
+        runUpdates(column.createUpdateQuery(), updates);
+        runUpdates(column.createValueUpdateQuery(), valueUpdates);
+
+        columnProgress.decoded += updates.size() + valueUpdates.size();
+        columnProgress.completed = rows.size() < batchSize;
+
+        dbm.newQueryBuilder(Constants.LEGACY_ENCODING_PROGRESS_TABLE_NAME)
+            .where("table_name", column.table)
+            .andWhere("column_name", column.column)
+            .update(statement -> {
+                statement.set("decoded", columnProgress.decoded);
+                statement.set("skipped", columnProgress.skipped);
+                statement.set("completed", columnProgress.completed);
+            });
+
+        if (columnProgress.completed) {
+            log.info("Finished decoding the legacy encoded {} column, decoded {} rows and skipped {} rows",
+                column.getName(), columnProgress.decoded, columnProgress.skipped
+            );
+        }
+    }
+
+    private void runUpdates(String query, List<Object[]> updates) throws SQLException {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        dbm.queryBatch(query, (PreparedStatement statement) -> {
+            for (Object[] update : updates) {
+                for (int i = 0; i < update.length; i++) {
+                    if (update[i] instanceof Number) {
+                        statement.setLong(i + 1, ((Number) update[i]).longValue());
+                    } else {
+                        statement.setString(i + 1, String.valueOf(update[i]));
+                    }
+                }
+                statement.addBatch();
+            }
+        });
+    }
+
+    private Map<String, Progress> getProgress() throws SQLException {
+        if (progress != null) {
+            return progress;
+        }
+
+        Map<String, Progress> loadedProgress = new HashMap<>();
+        for (DataRow row : dbm.newQueryBuilder(Constants.LEGACY_ENCODING_PROGRESS_TABLE_NAME).get()) {
+            loadedProgress.put(row.getString("table_name") + "." + row.getString("column_name"), new Progress(
+                row.getInt("decoded"), row.getInt("skipped"), row.getBoolean("completed")
+            ));
+        }
+
+        for (LegacyColumn column : columns) {
+            if (loadedProgress.containsKey(column.getName())) {
+                continue;
+            }
+
+            loadedProgress.put(column.getName(), new Progress(0, 0, false));
+
+            dbm.newQueryBuilder(Constants.LEGACY_ENCODING_PROGRESS_TABLE_NAME)
+                .insert(statement -> {
+                    statement.set("table_name", column.table);
+                    statement.set("column_name", column.column);
+                });
+        }
+
+        progress = loadedProgress;
+
+        return progress;
+    }
+
+    static class LegacyColumn {
+
+        private final String table;
+        private final String column;
+        private final String[] keys;
+
+        LegacyColumn(String table, String column, String... keys) {
+            this.table = table;
+            this.column = column;
+            this.keys = keys;
+        }
+
+        String getName() {
+            return table + "." + column;
+        }
+
+        String createUpdateQuery() {
+            StringBuilder where = new StringBuilder();
+            for (String key : keys) {
+                where.append(I18n.format("`{0}` = ? AND ", key));
+            }
+
+            return I18n.format("UPDATE `{0}` SET `{1}` = ? WHERE {2}`{1}` = ?;",
+                table, column, where.toString()
+            );
+        }
+
+        String createValueUpdateQuery() {
+            return I18n.format("UPDATE `{0}` SET `{1}` = ? WHERE `{1}` = ?;", table, column);
+        }
+    }
+
+    private static class Progress {
+
+        private int decoded;
+        private int skipped;
+        private boolean completed;
+
+        Progress(int decoded, int skipped, boolean completed) {
+            this.decoded = decoded;
+            this.skipped = skipped;
+            this.completed = completed;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.migrate.migrations;
+
+import com.avbot.Constants;
+import com.avbot.contracts.database.migrations.Migration;
+import com.avbot.contracts.database.schema.DatabaseClosure;
+import com.avbot.database.connections.MySQL;
+import com.avbot.database.schema.Schema;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AddLookupIndexesMigration implements Migration {
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 2:10 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        for (Map.Entry<String, DatabaseClosure> entry : getIndexes(schema).entrySet()) {
+            schema.addIndexes(entry.getKey(), entry.getValue());
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        for (Map.Entry<String, DatabaseClosure> entry : getIndexes(schema).entrySet()) {
+            schema.dropIndexes(entry.getKey(), entry.getValue());
+        }
+
+        return true;
+    }
+
+    private Map<String, DatabaseClosure> getIndexes(Schema schema) {
+        Map<String, DatabaseClosure> indexes = new LinkedHashMap<>();
+
+        indexes.put(Constants.GUILD_TABLE_NAME, table -> table.Index("id"));
+
+        indexes.put(Constants.PLAYER_EXPERIENCE_TABLE_NAME, table -> {
+            // Player lookups, and the guild leaderboard which is sorted by experience.
+            table.Index("guild_id", "user_id");
+            table.Index("guild_id", "active", "experience");
+
+            // The global leaderboard sums up the users experience across all guilds.
+            table.Index("user_id", "active");
+        });
+
+        indexes.put(Constants.LOG_TABLE_NAME, table -> {
+            // Modlog history for a user, and mute cleanups.
+            table.Index("guild_id", "target_id", "modlogCase");
+
+            // Modlog case lookups, used by the reason and pardon commands and the mute joins.
+            table.Index("guild_id", "modlogCase");
+        });
+
+        indexes.put(Constants.MUTE_TABLE_NAME, table -> table.Index("guild_id", "modlog_id"));
+
+        indexes.put(Constants.REACTION_ROLES_TABLE_NAME, table -> {
+            table.Index("guild_id", "message_id");
+            table.Index("channel_id");
+        });
+
+        indexes.put(Constants.VOTES_TABLE_NAME, table -> table.Index("user_id"));
+
+        // MySQL already covers the search cache lookups using the
+        // primary key that is created along with the table.
+        if (!(schema.getDbm().getConnection() instanceof MySQL)) {
+            indexes.put(Constants.MUSIC_SEARCH_CACHE_TABLE_NAME, table -> table.Index("provider", "query"));
+        }
+
+        return indexes;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.database.migrate.migrations;
+
+import com.avbot.Constants;
+import com.avbot.contracts.database.migrations.Migration;
+import com.avbot.database.schema.Schema;
+
+import java.sql.SQLException;
+
+public class AddPardonToModlogHistoryIndexMigration implements Migration {
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 8:15 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        // The modlog history only lists cases that hasn't been pardoned, with the pardon column
+        // in the index the history pages can be counted and located using only the index.
+        schema.addIndexes(Constants.LOG_TABLE_NAME, table -> table.Index("guild_id", "target_id", "pardon", "modlogCase"));
+        schema.dropIndexes(Constants.LOG_TABLE_NAME, table -> table.Index("guild_id", "target_id", "modlogCase"));
+
+        return true;
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        schema.addIndexes(Constants.LOG_TABLE_NAME, table -> table.Index("guild_id", "target_id", "modlogCase"));
+        schema.dropIndexes(Constants.LOG_TABLE_NAME, table -> table.Index("guild_id", "target_id", "pardon", "modlogCase"));
+
+        return true;
+    }
+}
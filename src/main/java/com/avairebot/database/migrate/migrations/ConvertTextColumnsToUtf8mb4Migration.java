@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.migrate.migrations;
+
+import com.avbot.Constants;
+import com.avbot.contracts.database.migrations.Migration;
+import com.avbot.database.connections.MySQL;
+import com.avbot.database.schema.Schema;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+public class ConvertTextColumnsToUtf8mb4Migration implements Migration {
+
+    /**
+     * The user facing text columns that used to be stored encoded with base64, the
+     * columns are converted to utf8mb4 so they can store any unicode character
+     * natively, like emojis in usernames, guild names, and messages.
+     */
+    private static final List<String[]> columns = Arrays.asList(
+        new String[]{Constants.GUILD_TABLE_NAME, "name", "TEXT", "NOT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "channels", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "channels_data", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "roles_data", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "claimable_roles", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "level_roles", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "prefixes", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.GUILD_TABLE_NAME, "aliases", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.PLAYER_EXPERIENCE_TABLE_NAME, "username", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.LOG_TABLE_NAME, "reason", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.MUSIC_SEARCH_CACHE_TABLE_NAME, "result", "LONGTEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.MUSIC_PLAYLIST_TABLE_NAME, "name", "VARCHAR(256)", "NOT NULL"},
+        new String[]{Constants.MUSIC_PLAYLIST_TABLE_NAME, "songs", "TEXT", "NOT NULL"},
+        new String[]{Constants.FEEDBACK_TABLE_NAME, "message", "TEXT", "NOT NULL"},
+        new String[]{Constants.FEEDBACK_TABLE_NAME, "response", "TEXT", "NULL DEFAULT NULL"},
+        new String[]{Constants.REMINDERS_TABLE_NAME, "message", "TEXT", "NOT NULL"}
+    );
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 6:10 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        // SQLite always stores text using the database encoding, so
+        // the columns can already store any unicode character.
+        if (!(schema.getDbm().getConnection() instanceof MySQL)) {
+            return true;
+        }
+
+        for (String[] column : columns) {
+            if (!schema.hasColumn(column[0], column[1])) {
+                continue;
+            }
+
+            schema.getDbm().queryUpdate(String.format(
+                "ALTER TABLE `%s` MODIFY `%s` %s CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci %s;",
+                column[0], column[1], column[2], column[3]
+            ));
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        // utf8mb4 is a superset of the old character set, and converting the
+        // columns back could truncate values that was stored after the
+        // migration was run, so the columns are left as they are.
+        return true;
+    }
+}
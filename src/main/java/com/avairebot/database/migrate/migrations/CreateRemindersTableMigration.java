@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.migrate.migrations;
+
+import com.avbot.Constants;
+import com.avbot.contracts.database.migrations.Migration;
+import com.avbot.database.schema.Schema;
+
+import java.sql.SQLException;
+
+public class CreateRemindersTableMigration implements Migration {
+
+    @Override
+    public String created_at() {
+        return "Mon, Oct 19, 2026 4:20 PM";
+    }
+
+    @Override
+    public boolean up(Schema schema) throws SQLException {
+        return schema.createIfNotExists(Constants.REMINDERS_TABLE_NAME, table -> {
+            table.Increments("id");
+            table.Long("user_id").unsigned();
+            table.Long("channel_id").unsigned();
+            table.Boolean("respond_in_dm").defaultValue(true);
+            table.Text("message");
+            table.DateTime("expires_at");
+            table.Timestamps();
+
+            table.Index("expires_at");
+        });
+    }
+
+    @Override
+    public boolean down(Schema schema) throws SQLException {
+        return schema.dropIfExists(Constants.REMINDERS_TABLE_NAME);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.query;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Represents a value set on a {@link ChangeableStatement} that should be sent to
+ * the database as a bound parameter instead of being written into the query,
+ * the grammars will replace the value with a prepared placeholder, and the
+ * value is then bound to the statement when the query is executed.
+ */
+public class BoundValue {
+
+    private final String value;
+
+    /**
+     * Creates a new bound value for the given string.
+     *
+     * @param value The string that should be bound to the query.
+     */
+    public BoundValue(@Nonnull String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the string that should be bound to the query.
+     *
+     * @return The string that should be bound to the query.
+     */
+    @Nonnull
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BoundValue && value.equals(((BoundValue) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -21,7 +21,6 @@
 
 package com.avbot.database.query;
 
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,15 +38,13 @@ public class ChangeableStatement {
         return set(key, value, false);
     }
 
-    public ChangeableStatement set(String key, Object value, boolean encode) {
-        if (!encode || value == null) {
+    public ChangeableStatement set(String key, Object value, boolean bind) {
+        if (!bind || value == null) {
             items.put(key, value);
             return this;
         }
 
-        items.put(key, "base64:" + new String(
-            Base64.getEncoder().encode(value.toString().getBytes())
-        ));
+        items.put(key, new BoundValue(value.toString()));
 
         return this;
     }
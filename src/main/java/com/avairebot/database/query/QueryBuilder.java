@@ -28,7 +28,6 @@ import com.avbot.contracts.database.query.ChangeableClosure;
 import com.avbot.contracts.database.query.ClauseConsumer;
 import com.avbot.database.DatabaseManager;
 import com.avbot.database.collection.Collection;
-import com.avbot.scheduler.ScheduleHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -706,7 +705,8 @@ public final class QueryBuilder {
     }
 
     /**
-     * Sets the async status for the query, if async is set to true the query will be executed on a separate
+     * Sets the async status for the query, if async is set to true the query will be queued with the
+     * {@link com.avbot.database.writer.WriteBehindWriter write-behind writer} and executed on a separate
      * thread, only <code>update</code>, <code>insert</code>, and <code>delete</code> queries can be
      * executed as async, when async is enabled for a query it will not return any response or
      * throw any exceptions that can be catched.
@@ -720,6 +720,15 @@ public final class QueryBuilder {
         return this;
     }
 
+    /**
+     * Gets the query type that's being preformed.
+     *
+     * @return the query type that's being preformed.
+     */
+    public QueryType getType() {
+        return type;
+    }
+
     /**
      * Creates the grammar instance and builds the SQL query, if an error occurs
      * while building the query <code>NULL</code> will be returned instead.
@@ -803,13 +812,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async update query: " + toSQL(), e);
-            }
-        });
+        dbm.getWriter().queue(this);
 
         return 0;
     }
@@ -849,13 +852,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async update query: " + toSQL(), e);
-            }
-        });
+        dbm.getWriter().queue(this);
 
         return 0;
     }
@@ -882,13 +879,7 @@ public final class QueryBuilder {
             return runInsertQuery();
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryInsert(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async insert query: " + toSQL(), e);
-            }
-        });
+        dbm.getWriter().queue(this);
 
         return new Collection();
     }
@@ -926,13 +917,7 @@ public final class QueryBuilder {
             return runInsertQuery();
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryInsert(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async insert query: " + toSQL(), e);
-            }
-        });
+        dbm.getWriter().queue(this);
 
         return new Collection();
     }
@@ -954,13 +939,7 @@ public final class QueryBuilder {
             return dbm.queryUpdate(this);
         }
 
-        ScheduleHandler.getScheduler().submit(() -> {
-            try {
-                dbm.queryUpdate(this);
-            } catch (SQLException e) {
-                log.error("Error thrown during async delete query: " + toSQL(), e);
-            }
-        });
+        dbm.getWriter().queue(this);
 
         return 0;
     }
@@ -1016,6 +995,24 @@ public final class QueryBuilder {
         return items;
     }
 
+    /**
+     * Checks if any of the item maps for the query builder has values that should
+     * be sent to the database as bound parameters, queries with bound values
+     * must be executed as prepared statements with the values bound.
+     *
+     * @return {@code True} if the query builder has bound values, {@code False} otherwise.
+     */
+    public boolean hasBoundValues() {
+        for (Map<String, Object> row : items) {
+            for (Object value : row.values()) {
+                if (value instanceof BoundValue) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         return toSQL();
@@ -21,13 +21,16 @@
 
 package com.avbot.database.schema;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Blueprint {
 
     private final String table;
     private final LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
+    private final List<Index> indexes = new ArrayList<>();
     private String engine = DatabaseEngine.InnoDB.toString();
 
     /**
@@ -85,6 +88,37 @@ public class Blueprint {
         return fields;
     }
 
+    /**
+     * Gets the indexes created by the blueprint, in the order they were declared.
+     *
+     * @return the indexes created by the blueprint.
+     */
+    public List<Index> getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * Creates a regular index covering the given columns, the columns are
+     * used in the order they're given, so the column used for equality
+     * lookups should come first, followed by any range or sort columns.
+     *
+     * @param columns The names of the columns the index should cover
+     * @return the index instance.
+     */
+    public Index Index(String... columns) {
+        return makeIndex(false, columns);
+    }
+
+    /**
+     * Creates a unique index covering the given columns.
+     *
+     * @param columns The names of the columns the index should cover
+     * @return the index instance.
+     */
+    public Index Unique(String... columns) {
+        return makeIndex(true, columns);
+    }
+
     /**
      * Creates a {@link FieldType#INTEGER} column of the given name that
      * is {@link Field#unsigned() } and {@link Field#autoIncrement() }.
@@ -390,4 +424,19 @@ public class Blueprint {
 
         return obj;
     }
+
+    /**
+     * Creates a new index object for the given columns.
+     *
+     * @param unique  Determines if the index should be unique
+     * @param columns The names of the columns the index should cover
+     * @return the index instance.
+     */
+    private Index makeIndex(boolean unique, String... columns) {
+        Index index = new Index(table, unique, columns);
+
+        indexes.add(index);
+
+        return index;
+    }
 }
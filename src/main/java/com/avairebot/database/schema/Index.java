@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.schema;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Index {
+
+    private final String table;
+    private final List<String> columns;
+    private final boolean unique;
+    private String name;
+
+    public Index(String table, boolean unique, String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("An index must cover at least one column");
+        }
+
+        this.table = table;
+        this.unique = unique;
+        this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+        this.name = String.format("%s_%s_%s",
+            table, String.join("_", columns), unique ? "unique" : "index"
+        );
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Index name(String name) {
+        this.name = name;
+
+        return this;
+    }
+}
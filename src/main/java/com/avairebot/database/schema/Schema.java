@@ -23,12 +23,13 @@ package com.avbot.database.schema;
 
 import com.avbot.contracts.database.schema.DatabaseClosure;
 import com.avbot.database.DatabaseManager;
-import com.avbot.metrics.Metrics;
+import com.avbot.metrics.QueryMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
@@ -68,7 +69,7 @@ public class Schema {
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
     public boolean hasTable(String table) throws SQLException {
-        Metrics.databaseQueries.labels("SELECT").inc();
+        QueryMetrics.forQuery("SELECT").inc();
 
         return dbm.getConnection().hasTable(table);
     }
@@ -89,6 +90,26 @@ public class Schema {
         return getMetaData().getColumns(null, null, table, column).next();
     }
 
+    /**
+     * Checks if the default connection has an index with the provided name for the given table.
+     *
+     * @param table The table to use
+     * @param index The name of the index to check if exists
+     * @return <code>TRUE</code> if the index exists, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean hasIndex(String table, String index) throws SQLException {
+        try (ResultSet indexes = getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Creates a new table using the {@link DatabaseClosure} and {@link Blueprint} classes.
      *
@@ -111,11 +132,13 @@ public class Schema {
 
         log.debug("Schema create was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
-        }
+        boolean created = stmt instanceof PreparedStatement
+            ? !((PreparedStatement) stmt).execute()
+            : !stmt.execute(query);
 
-        return !stmt.execute(query);
+        createIndexes(blueprint);
+
+        return created;
     }
 
     /**
@@ -143,11 +166,78 @@ public class Schema {
 
         log.debug("Schema createIfNotExists was called with: {}", query);
 
-        if (stmt instanceof PreparedStatement) {
-            return !((PreparedStatement) stmt).execute();
+        boolean created = stmt instanceof PreparedStatement
+            ? !((PreparedStatement) stmt).execute()
+            : !stmt.execute(query);
+
+        createIndexes(blueprint);
+
+        return created;
+    }
+
+    /**
+     * Adds the indexes declared by the {@link DatabaseClosure} to an existing
+     * table, indexes that already exists on the table will be skipped, any
+     * columns declared in the blueprint are ignored.
+     *
+     * @param table   The table the indexes should be added to
+     * @param closure The database closure that declares the indexes
+     * @return <code>TRUE</code> if the indexes were created successfully, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object, the method is called on a
+     *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
+     */
+    public boolean addIndexes(String table, DatabaseClosure closure) throws SQLException {
+        return createIndexes(createAndRunBlueprint(table, closure));
+    }
+
+    /**
+     * Drops the indexes declared by the {@link DatabaseClosure} from the given
+     * table, indexes that doesn't exist on the table will be skipped.
+     *
+     * @param table   The table the indexes should be dropped from
+     * @param closure The database closure that declares the indexes
+     * @return <code>TRUE</code> if the indexes were dropped successfully, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs,
+     *                      this method is called on a closed <code>Statement</code>, the given
+     *                      SQL statement produces anything other than a single
+     *                      <code>ResultSet</code> object, the method is called on a
+     *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
+     */
+    public boolean dropIndexes(String table, DatabaseClosure closure) throws SQLException {
+        Blueprint blueprint = createAndRunBlueprint(table, closure);
+
+        for (Index index : blueprint.getIndexes()) {
+            if (!hasIndex(table, index.getName())) {
+                continue;
+            }
+
+            alterQuery(dbm.getConnection().dropIndex(dbm, index, null));
         }
 
-        return !stmt.execute(query);
+        return true;
+    }
+
+    /**
+     * Creates all the indexes declared by the given blueprint
+     * which doesn't already exists on the blueprints table.
+     *
+     * @param blueprint The blueprint the indexes should be created for
+     * @return <code>TRUE</code> if the indexes were created successfully, <code>FALSE</code> otherwise.
+     * @throws SQLException if a database access error occurs
+     */
+    private boolean createIndexes(Blueprint blueprint) throws SQLException {
+        for (Index index : blueprint.getIndexes()) {
+            if (hasIndex(blueprint.getTable(), index.getName())) {
+                continue;
+            }
+
+            alterQuery(dbm.getConnection().createIndex(dbm, index, null));
+        }
+
+        return true;
     }
 
     /**
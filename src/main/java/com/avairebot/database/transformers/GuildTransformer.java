@@ -25,6 +25,7 @@ import com.avbot.av;
 import com.avbot.audio.DJGuildLevel;
 import com.avbot.contracts.database.transformers.Transformer;
 import com.avbot.database.collection.DataRow;
+import com.avbot.level.LevelRoleTable;
 import com.avbot.utilities.NumberUtil;
 import com.google.gson.internal.LinkedTreeMap;
 import com.google.gson.reflect.TypeToken;
@@ -69,6 +70,7 @@ public class GuildTransformer extends Transformer {
     private int modlogCase = 0;
     private int defaultVolume = 100;
     private double levelModifier = -1;
+    private volatile LevelRoleTable levelRoleTable = LevelRoleTable.EMPTY;
     private DJGuildLevel djGuildLevel = null;
 
     public GuildTransformer(Guild guild) {
@@ -160,6 +162,8 @@ public class GuildTransformer extends Transformer {
                 for (Map.Entry<String, String> item : dbLevelRoles.entrySet()) {
                     levelRoles.put(NumberUtil.parseInt(item.getKey(), -1), item.getValue().toLowerCase());
                 }
+
+                levelRoleTable = LevelRoleTable.of(levelRoles);
             }
 
             if (data.getString("level_exempt_channels", null) != null) {
@@ -288,6 +292,18 @@ public class GuildTransformer extends Transformer {
         return levelRoles;
     }
 
+    public LevelRoleTable getLevelRoleTable() {
+        return levelRoleTable;
+    }
+
+    /**
+     * Rebuilds the level role table from the level roles map, this
+     * must be called after the level roles has been modified.
+     */
+    public void refreshLevelRoleTable() {
+        levelRoleTable = LevelRoleTable.of(levelRoles);
+    }
+
     public double getLevelModifier() {
         return levelModifier;
     }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.writer;
+
+import com.avbot.contracts.database.Database.QueryType;
+import com.avbot.database.query.QueryBuilder;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+class PendingWrite {
+
+    /**
+     * The type of query the write represents.
+     */
+    private final QueryType type;
+
+    /**
+     * The name of the table the write is targeting.
+     */
+    private final String table;
+
+    /**
+     * The key used to merge repeated writes to the same
+     * row, or {@code NULL} if the write can't be merged.
+     */
+    private final String mergeKey;
+
+    /**
+     * The query builder instance used to build the SQL query, this
+     * will be {@code NULL} for writes queued using raw SQL.
+     */
+    private final QueryBuilder query;
+
+    /**
+     * The raw SQL query that should be executed, this will be
+     * {@code NULL} for writes queued using a query builder.
+     */
+    private String sql;
+
+    /**
+     * The amount of writes that has been merged into this write.
+     */
+    private int merges = 0;
+
+    PendingWrite(QueryBuilder query, @Nullable String mergeKey) {
+        this.type = query.getType();
+        this.table = query.getTable();
+        this.mergeKey = mergeKey;
+        this.query = query;
+        this.sql = null;
+    }
+
+    PendingWrite(QueryType type, String table, String sql, @Nullable String mergeKey) {
+        this.type = type;
+        this.table = table;
+        this.mergeKey = mergeKey;
+        this.query = null;
+        this.sql = sql;
+    }
+
+    QueryType getType() {
+        return type;
+    }
+
+    String getTable() {
+        return table;
+    }
+
+    @Nullable
+    String getMergeKey() {
+        return mergeKey;
+    }
+
+    @Nullable
+    QueryBuilder getQuery() {
+        return query;
+    }
+
+    int getMerges() {
+        return merges;
+    }
+
+    /**
+     * Builds the SQL query for the write.
+     *
+     * @return The SQL query that should be executed for the write.
+     */
+    String toSQL() {
+        return query != null ? query.toSQL() : sql;
+    }
+
+    /**
+     * Merges the given write into the current write, columns set in the given
+     * write will override the columns in the current write, while columns
+     * that only exists in the current write will be left untouched.
+     *
+     * @param write The newer write that should be merged into the current write.
+     */
+    void merge(PendingWrite write) {
+        merges++;
+
+        if (query == null || write.query == null) {
+            sql = write.toSQL();
+            return;
+        }
+
+        Map<String, Object> items = new HashMap<>(query.getItems().get(0));
+        items.putAll(write.query.getItems().get(0));
+
+        query.getItems().set(0, items);
+    }
+}
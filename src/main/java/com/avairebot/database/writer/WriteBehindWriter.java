@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.writer;
+
+import com.avbot.contracts.database.Database.QueryType;
+import com.avbot.contracts.database.QueryClause;
+import com.avbot.database.DatabaseManager;
+import com.avbot.database.query.BoundValue;
+import com.avbot.database.query.Clause;
+import com.avbot.database.query.QueryBuilder;
+import com.avbot.metrics.Metrics;
+import io.prometheus.client.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The write-behind writer queues asynchronous database writes and applies them on a single
+ * dedicated thread, repeated updates to the same row are merged into a single update
+ * while they're waiting to be written, and every flush is written in queue order in
+ * a single transaction, if the writer falls behind callers queueing new
+ * writes will block until there is room again.
+ */
+public class WriteBehindWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindWriter.class);
+
+    /**
+     * The default maximum amount of writes that can be waiting to be written.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * The default maximum amount of writes that should be written in a single flush.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    /**
+     * The default amount of milliseconds the writer should wait
+     * for more writes to arrive before flushing the queue.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 250L;
+
+    private final DatabaseManager dbm;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long flushInterval;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<PendingWrite> pending = new ArrayDeque<>();
+    private final Map<String, Map<String, PendingWrite>> mergeable = new HashMap<>();
+
+    private Thread thread = null;
+    private boolean running = true;
+    private boolean flushing = false;
+    private boolean flushRequested = false;
+
+    /**
+     * Creates a new write-behind writer using the default options.
+     *
+     * @param dbm The database manager instance the writes should be written through.
+     */
+    public WriteBehindWriter(DatabaseManager dbm) {
+        this(dbm, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a new write-behind writer using the given options.
+     *
+     * @param dbm           The database manager instance the writes should be written through.
+     * @param capacity      The maximum amount of writes that can be waiting to be written.
+     * @param maxBatchSize  The maximum amount of writes that should be written in a single flush.
+     * @param flushInterval The amount of milliseconds to wait for more writes before flushing.
+     */
+    public WriteBehindWriter(DatabaseManager dbm, int capacity, int maxBatchSize, long flushInterval) {
+        this.dbm = dbm;
+        this.capacity = Math.max(1, capacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushInterval = Math.max(0L, flushInterval);
+    }
+
+    /**
+     * Queues the given query builder to be written, the query builder must already have
+     * its query type and items set, update queries that only uses simple where
+     * clauses will be merged with other pending updates to the same row.
+     *
+     * @param query The query builder that should be queued.
+     */
+    public void queue(@Nonnull QueryBuilder query) {
+        queue(new PendingWrite(query, createMergeKey(query)));
+    }
+
+    /**
+     * Queues the given raw SQL query to be written, if a merge key is given the query will
+     * replace any pending query using the same merge key for the same table, rather
+     * than being executed after it.
+     *
+     * @param type     The type of query that is being queued.
+     * @param table    The table the query is targeting.
+     * @param sql      The SQL query that should be executed.
+     * @param mergeKey The merge key for the query, or {@code NULL} to never merge the query.
+     */
+    public void queue(@Nonnull QueryType type, @Nonnull String table, @Nonnull String sql, @Nullable String mergeKey) {
+        queue(new PendingWrite(type, table, sql, mergeKey == null ? null : "raw:" + mergeKey));
+    }
+
+    /**
+     * Gets the amount of writes that are currently waiting to be written.
+     *
+     * @return The amount of writes that are waiting to be written.
+     */
+    public int size() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Blocks until every write queued before this method was called has been
+     * written to the database, or the given timeout has been reached.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout argument.
+     * @return {@code True} if all the pending writes were written, {@code False} otherwise.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (lock) {
+            if (thread == null || Thread.currentThread() == thread) {
+                drainOnCurrentThread();
+                return true;
+            }
+
+            flushRequested = true;
+            lock.notifyAll();
+            while (!pending.isEmpty() || flushing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops accepting new writes to the queue and waits for the writer to write all the
+     * pending writes to the database, any writes queued after the writer has been
+     * shutdown will be executed synchronously on the thread queueing them.
+     *
+     * @param timeout The maximum time to wait for the pending writes to be written.
+     * @param unit    The unit of the timeout argument.
+     * @return {@code True} if all the pending writes were written, {@code False} otherwise.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        Thread writerThread;
+        synchronized (lock) {
+            running = false;
+            writerThread = thread;
+            lock.notifyAll();
+        }
+
+        if (writerThread != null) {
+            try {
+                writerThread.join(unit.toMillis(timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (lock) {
+            if (writerThread == null || !writerThread.isAlive()) {
+                drainOnCurrentThread();
+            }
+
+            if (!pending.isEmpty()) {
+                log.warn("Write-behind writer was shutdown with {} writes still pending", pending.size());
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private void queue(PendingWrite write) {
+        synchronized (lock) {
+            if (!running) {
+                executeSynchronously(write);
+                return;
+            }
+
+            startThreadIfMissing();
+
+            if (mergeIntoPending(write)) {
+                Metrics.databaseWriteBehind.labels("MERGED").inc();
+                return;
+            }
+
+            if (pending.size() >= capacity && Thread.currentThread() != thread) {
+                Metrics.databaseWriteBehindBackpressure.inc();
+                log.debug("Write-behind queue is full, blocking {} until there is room", Thread.currentThread().getName());
+
+                // Wakes up the writer thread so it can make room, the writer notifies the waiting
+                // callers once a batch has been taken, callers must not wake each other up
+                // while waiting, since that can keep the writer from getting the lock.
+                lock.notifyAll();
+                while (running && pending.size() >= capacity) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+
+                if (!running) {
+                    executeSynchronously(write);
+                    return;
+                }
+            }
+
+            pending.add(write);
+            registerMergeable(write);
+
+            Metrics.databaseWriteBehind.labels(write.getType().name()).inc();
+            Metrics.databaseWriteBehindQueueSize.set(pending.size());
+
+            if (pending.size() == 1 || pending.size() >= maxBatchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private boolean mergeIntoPending(PendingWrite write) {
+        Map<String, PendingWrite> tableWrites = mergeable.get(write.getTable());
+
+        if (write.getType() != QueryType.UPDATE) {
+            // Inserts and deletes act as a barrier for the table, any update queued after
+            // them must be written after them as well, so we're removing the table from
+            // the merge index to prevent newer updates from being merged backwards.
+            mergeable.remove(write.getTable());
+            return false;
+        }
+
+        if (write.getMergeKey() == null || tableWrites == null) {
+            return false;
+        }
+
+        PendingWrite existing = tableWrites.get(write.getMergeKey());
+        if (existing == null || hasRawValues(write)) {
+            return false;
+        }
+
+        existing.merge(write);
+        return true;
+    }
+
+    private void registerMergeable(PendingWrite write) {
+        if (write.getType() != QueryType.UPDATE || write.getMergeKey() == null) {
+            return;
+        }
+
+        mergeable.computeIfAbsent(write.getTable(), table -> new HashMap<>())
+            .put(write.getMergeKey(), write);
+    }
+
+    private boolean hasRawValues(PendingWrite write) {
+        QueryBuilder query = write.getQuery();
+        if (query == null) {
+            return false;
+        }
+
+        for (Object value : query.getItems().get(0).values()) {
+            if (value != null && !(value instanceof BoundValue) && value.toString().startsWith("RAW:")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startThreadIfMissing() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "database-write-behind");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            List<PendingWrite> batch;
+
+            synchronized (lock) {
+                try {
+                    while (running && pending.isEmpty()) {
+                        lock.wait();
+                    }
+
+                    // Waits for the flush interval before flushing the queue so repeated
+                    // updates to the same rows have some time to be merged together.
+                    long deadline = System.currentTimeMillis() + flushInterval;
+                    while (running && !flushRequested && pending.size() < maxBatchSize) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        lock.wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+
+                if (pending.isEmpty()) {
+                    if (!running) {
+                        lock.notifyAll();
+                        return;
+                    }
+                    continue;
+                }
+
+                batch = takeBatch();
+                flushing = true;
+            }
+
+            try {
+                write(batch);
+            } finally {
+                synchronized (lock) {
+                    flushing = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private List<PendingWrite> takeBatch() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+            batch.add(pending.poll());
+        }
+
+        // Any write that has been taken from the queue can no longer be merged with,
+        // so we're just resetting the merge index and rebuilding it from the
+        // writes that are left in the queue, if there are any.
+        mergeable.clear();
+        for (PendingWrite write : pending) {
+            if (write.getType() != QueryType.UPDATE) {
+                mergeable.remove(write.getTable());
+            }
+            registerMergeable(write);
+        }
+
+        if (pending.isEmpty()) {
+            flushRequested = false;
+        }
+
+        Metrics.databaseWriteBehindQueueSize.set(pending.size());
+        lock.notifyAll();
+
+        return batch;
+    }
+
+    private void drainOnCurrentThread() {
+        while (!pending.isEmpty()) {
+            write(takeBatch());
+        }
+    }
+
+    private void executeSynchronously(PendingWrite write) {
+        Metrics.databaseWriteBehind.labels(write.getType().name()).inc();
+        write(Collections.singletonList(write));
+    }
+
+    private void write(List<PendingWrite> batch) {
+        Histogram.Timer timer = Metrics.databaseWriteBehindFlushTime.startTimer();
+        try {
+            writeTransaction(batch);
+        } catch (SQLException e) {
+            log.warn("Failed to write {} queued writes in a single transaction, retrying them one by one: {}",
+                batch.size(), e.getMessage()
+            );
+            writeIndividually(batch);
+        } finally {
+            timer.observeDuration();
+        }
+    }
+
+    private void writeTransaction(List<PendingWrite> writes) throws SQLException {
+        dbm.runTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                int batched = 0;
+
+                for (PendingWrite write : writes) {
+                    if (isPrepared(write)) {
+                        if (batched > 0) {
+                            statement.executeBatch();
+                            batched = 0;
+                        }
+
+                        executePrepared(connection, write.getQuery());
+                        continue;
+                    }
+
+                    statement.addBatch(write.toSQL());
+                    batched++;
+                }
+
+                if (batched > 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+
+        Metrics.databaseWriteBehindFlushed.inc(writes.size());
+    }
+
+    private void writeIndividually(List<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            try {
+                if (write.getType() == QueryType.INSERT && write.getQuery() != null) {
+                    dbm.queryInsert(write.getQuery());
+                } else if (write.getQuery() != null) {
+                    dbm.queryUpdate(write.getQuery());
+                } else {
+                    dbm.queryUpdate(write.toSQL());
+                }
+                Metrics.databaseWriteBehindFlushed.inc();
+            } catch (SQLException e) {
+                Metrics.databaseWriteBehindFailures.inc();
+                log.error("Error thrown during async {} query: {}", write.getType().name().toLowerCase(), write.toSQL(), e);
+            }
+        }
+    }
+
+    private boolean isPrepared(PendingWrite write) {
+        return write.getQuery() != null
+            && (write.getType() == QueryType.INSERT || write.getQuery().hasBoundValues());
+    }
+
+    private void executePrepared(Connection connection, QueryBuilder query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query.toSQL())) {
+            DatabaseManager.bindValues(statement, query);
+
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Creates the merge key for the given query, the key is made up of the table and the where
+     * clauses used by the query, queries that uses nested clauses, joins, or limits
+     * can't be merged safely, so {@code NULL} will be returned for them.
+     *
+     * @param query The query that the merge key should be created for.
+     * @return The merge key for the query, or {@code NULL} if the query can't be merged.
+     */
+    @Nullable
+    static String createMergeKey(QueryBuilder query) {
+        if (query.getType() != QueryType.UPDATE
+            || query.getItems().size() != 1
+            || query.getWhereClauses().isEmpty()
+            || !query.getJoins().isEmpty()
+            || query.getTake() != -1
+            || query.getSkip() != -1) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (QueryClause queryClause : query.getWhereClauses()) {
+            if (!(queryClause instanceof Clause)) {
+                return null;
+            }
+
+            Clause clause = (Clause) queryClause;
+            key.append(clause.getOrder().name())
+                .append('|').append(clause.getOne())
+                .append('|').append(clause.getIdentifier())
+                .append('|').append(clause.getTwo())
+                .append(';');
+        }
+        return key.toString();
+    }
+}
@@ -22,15 +22,47 @@
 package com.avbot.handlers;
 
 import com.avbot.av;
-import com.avbot.contracts.handlers.EventListener;
+import com.avbot.contracts.events.Cancellable;
+import com.avbot.handlers.events.ApplicationShutdownEvent;
+import com.avbot.handlers.events.ModlogActionEvent;
+import com.avbot.handlers.events.MusicEndedEvent;
+import com.avbot.handlers.events.NowPlayingEvent;
 import com.avbot.plugin.PluginLoader;
+import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.events.Event;
-import net.dv8tion.jda.core.hooks.ListenerAdapter;
+import net.dv8tion.jda.core.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.core.events.message.GenericMessageEvent;
 import net.dv8tion.jda.core.utils.Checks;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class EventEmitter {
 
+    /**
+     * The number of lanes each plugin can handle events on at the same time.
+     */
+    private static final int PLUGIN_EVENT_LANES = 4;
+
+    /**
+     * The max number of events that can be waiting in each lane for a plugin,
+     * events pushed to a full lane will be dropped for the plugin.
+     */
+    private static final int PLUGIN_EVENT_LANE_CAPACITY = 2500;
+
+    /**
+     * The time budget in milliseconds each plugin event listener has to handle an event.
+     */
+    private static final long PLUGIN_EVENT_TIME_BUDGET = 500L;
+
+    /**
+     * The number of times in a row a plugin event listener can exceed
+     * its time budget before the listener is disabled.
+     */
+    private static final int PLUGIN_EVENT_MAX_STRIKES = 10;
+
     private final av av;
+    private final Map<PluginLoader, PluginEventQueue> queues = new ConcurrentHashMap<>();
 
     /**
      * Creates a new event emitter instance using
@@ -44,20 +76,77 @@ public class EventEmitter {
     }
 
     /**
-     * Pushes the given event to all loaded plugins with at least
-     * one event listener, forwarding the custom events through
-     * each plugin one by one.
+     * Pushes the given custom event to all loaded plugins with at least one event
+     * listener that handles the event, the event is handled by each plugin on
+     * their own event queue, cancellable events and the shutdown event is
+     * handled right away, so the result can be used by the caller.
      *
      * @param event The event that should be pushed to all the loaded plugins.
      */
     public void push(Event event) {
         Checks.notNull(event, "event instance");
+
+        dispatch(event, true, event instanceof Cancellable || event instanceof ApplicationShutdownEvent);
+    }
+
+    /**
+     * Forwards the given JDA event to all loaded plugins with at least one
+     * event listener that handles the event, the event is handled by
+     * each plugin on their own event queue.
+     *
+     * @param event The JDA event that should be forwarded to all the loaded plugins.
+     */
+    public void forward(Event event) {
+        Checks.notNull(event, "event instance");
+
+        dispatch(event, false, false);
+    }
+
+    /**
+     * Unregisters the given plugin from the event emitter, shutting
+     * down the event queue that was used for the plugin.
+     *
+     * @param plugin The plugin that should be unregistered.
+     */
+    public void unregister(PluginLoader plugin) {
+        PluginEventQueue queue = queues.remove(plugin);
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    private void dispatch(Event event, boolean custom, boolean synchronous) {
+        long orderingKey = getOrderingKey(event);
+
         for (PluginLoader plugin : av.getPluginManager().getPlugins()) {
-            for (ListenerAdapter listener : plugin.getEventListeners()) {
-                if (listener != null && listener instanceof EventListener) {
-                    ((EventListener) listener).onCustomEvent(event);
-                }
-            }
+            queues.computeIfAbsent(plugin, loader -> new PluginEventQueue(
+                loader.getName(),
+                PLUGIN_EVENT_LANES,
+                PLUGIN_EVENT_LANE_CAPACITY,
+                PLUGIN_EVENT_TIME_BUDGET,
+                PLUGIN_EVENT_MAX_STRIKES
+            )).dispatch(
+                plugin.getEventListeners(),
+                plugin.getEventListenersVersion(),
+                event, custom, orderingKey, synchronous
+            );
         }
     }
+
+    private long getOrderingKey(Event event) {
+        Guild guild = null;
+        if (event instanceof GenericGuildEvent) {
+            guild = ((GenericGuildEvent) event).getGuild();
+        } else if (event instanceof GenericMessageEvent && ((GenericMessageEvent) event).getChannelType().isGuild()) {
+            guild = ((GenericMessageEvent) event).getGuild();
+        } else if (event instanceof NowPlayingEvent) {
+            return ((NowPlayingEvent) event).getGuildId();
+        } else if (event instanceof MusicEndedEvent) {
+            return ((MusicEndedEvent) event).getGuildId();
+        } else if (event instanceof ModlogActionEvent) {
+            guild = ((ModlogActionEvent) event).getGuild();
+        }
+
+        return guild == null ? 0L : guild.getIdLong();
+    }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.handlers;
+
+import com.avbot.metrics.Metrics;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Dispatches the work for guild events off the JDA event thread, the work is handled on a
+ * fixed set of single threaded lanes, and work for the same guild always uses the same
+ * lane, so the work for each guild is still handled in the order the events happened.
+ * <p>
+ * Each lane has a bounded queue, what happens when the queue for a lane is full depends
+ * on the {@link Policy policy} the work was dispatched with, allowing events that can't
+ * be lost to apply backpressure to the event thread, while high volume events are shed.
+ */
+public class GuildEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(GuildEventDispatcher.class);
+
+    private final ThreadPoolExecutor[] lanes;
+    private final long blockTimeout;
+    private final Set<String> pendingCoalesced = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new guild event dispatcher.
+     *
+     * @param lanes        The number of lanes guild events can be handled on at the same time.
+     * @param capacity     The max number of events that can be waiting in each lane.
+     * @param blockTimeout The max time in milliseconds the event thread will wait for space in a full
+     *                     lane when dispatching work using the {@link Policy#BLOCK} or
+     *                     {@link Policy#COALESCE} policy.
+     */
+    public GuildEventDispatcher(int lanes, int capacity, long blockTimeout) {
+        this.blockTimeout = blockTimeout;
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("av-guild-events-%d")
+            .setDaemon(true)
+            .build();
+
+        this.lanes = new ThreadPoolExecutor[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                threadFactory
+            );
+
+            // The work is added directly to the lane queues so the event thread can wait for
+            // space in the queue, so the lane threads must be started before any work is
+            // queued, the lane threads will never time out once they have been started.
+            this.lanes[i].prestartAllCoreThreads();
+        }
+    }
+
+    /**
+     * Dispatches the given work for the given guild, if the dispatcher has
+     * been shutdown the work will be run right away on the current thread.
+     *
+     * @param guildId The ID of the guild the event happened in.
+     * @param type    The type of the event, used for metrics and to coalesce work.
+     * @param policy  The policy that should be used if the lane for the guild is full.
+     * @param work    The work that should be handled for the event.
+     * @return {@code True} if the work was queued or handled, {@code False} if it was shed.
+     */
+    public boolean dispatch(long guildId, @Nonnull String type, @Nonnull Policy policy, @Nonnull Runnable work) {
+        // Discord IDs often share the same low bits, so the guild ID is spread
+        // out with a multiplicative hash before it is used to pick the lane.
+        ThreadPoolExecutor lane = lanes[(int) (((guildId * 0x9E3779B97F4A7C15L) >>> 32) % lanes.length)];
+        if (lane.isShutdown()) {
+            handle(type, work);
+            return true;
+        }
+
+        String coalesceKey = null;
+        if (policy == Policy.COALESCE) {
+            coalesceKey = guildId + ":" + type;
+            if (!pendingCoalesced.add(coalesceKey)) {
+                Metrics.guildEventsCoalesced.labels(type).inc();
+                return false;
+            }
+        }
+
+        final String key = coalesceKey;
+        final long queuedAt = System.nanoTime();
+        Runnable task = () -> {
+            if (key != null) {
+                pendingCoalesced.remove(key);
+            }
+
+            Metrics.guildEventQueueSize.dec();
+            Metrics.guildEventQueueLatency.labels(type).observe((System.nanoTime() - queuedAt) / 1E9D);
+
+            handle(type, work);
+        };
+
+        Metrics.guildEventQueueSize.inc();
+        if (enqueue(lane, task, policy)) {
+            return true;
+        }
+
+        if (key != null) {
+            pendingCoalesced.remove(key);
+        }
+
+        Metrics.guildEventQueueSize.dec();
+        Metrics.guildEventsDropped.labels(type).inc();
+        log.warn("The guild event lane for guild {} is full, dropping {} work", guildId, type);
+
+        return false;
+    }
+
+    /**
+     * Gets the number of events waiting to be handled.
+     *
+     * @return The number of events waiting to be handled.
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            size += lane.getQueue().size();
+        }
+        return size;
+    }
+
+    /**
+     * Shuts down the dispatcher and waits for the events that are still waiting
+     * in the lanes to be handled, any work dispatched after the dispatcher
+     * has been shutdown will be run on the thread dispatching it.
+     *
+     * @param timeout The maximum time to wait for the waiting events to be handled.
+     * @param unit    The unit of the timeout argument.
+     * @return {@code True} if all the waiting events were handled, {@code False} otherwise.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (ThreadPoolExecutor lane : lanes) {
+                if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn("Guild event dispatcher was shutdown with {} events still waiting", getQueueSize());
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean enqueue(ThreadPoolExecutor lane, Runnable task, Policy policy) {
+        if (policy == Policy.DROP) {
+            return lane.getQueue().offer(task);
+        }
+
+        try {
+            return lane.getQueue().offer(task, blockTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void handle(String type, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (Throwable e) {
+            log.error("Failed to handle {} guild event work: {}", type, e.getMessage(), e);
+        }
+        Metrics.guildEventExecutionTime.labels(type).observe((System.nanoTime() - start) / 1E9D);
+    }
+
+    /**
+     * The policy used when the lane for a guild is full.
+     */
+    public enum Policy {
+
+        /**
+         * Waits for space in the lane, applying backpressure to the event thread, the
+         * work is only dropped if the lane is still full once the timeout is reached.
+         */
+        BLOCK,
+
+        /**
+         * Drops the work right away if the lane is full.
+         */
+        DROP,
+
+        /**
+         * Drops the work if the same type of work is already waiting to be handled for the
+         * guild, otherwise waits for space in the lane the same way as {@link #BLOCK},
+         * used for work that always reads the latest state of the guild when it is
+         * handled, since the waiting work will also pick up the dropped changes.
+         */
+        COALESCE
+    }
+}
@@ -24,8 +24,10 @@ package com.avbot.handlers;
 import com.avbot.av;
 import com.avbot.contracts.handlers.EventHandler;
 import com.avbot.database.controllers.PlayerController;
+import com.avbot.handlers.GuildEventDispatcher.Policy;
 import com.avbot.handlers.adapter.*;
-import com.avbot.metrics.Metrics;
+import com.avbot.metrics.EventMetrics;
+import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.events.Event;
 import net.dv8tion.jda.core.events.ReadyEvent;
 import net.dv8tion.jda.core.events.ReconnectedEvent;
@@ -34,13 +36,19 @@ import net.dv8tion.jda.core.events.channel.text.TextChannelCreateEvent;
 import net.dv8tion.jda.core.events.channel.text.TextChannelDeleteEvent;
 import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdateNameEvent;
 import net.dv8tion.jda.core.events.channel.text.update.TextChannelUpdatePositionEvent;
+import net.dv8tion.jda.core.events.channel.voice.VoiceChannelCreateEvent;
 import net.dv8tion.jda.core.events.channel.voice.VoiceChannelDeleteEvent;
 import net.dv8tion.jda.core.events.emote.EmoteRemovedEvent;
+import net.dv8tion.jda.core.events.guild.GuildAvailableEvent;
 import net.dv8tion.jda.core.events.guild.GuildJoinEvent;
 import net.dv8tion.jda.core.events.guild.GuildLeaveEvent;
+import net.dv8tion.jda.core.events.guild.GuildUnavailableEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberJoinEvent;
 import net.dv8tion.jda.core.events.guild.member.GuildMemberLeaveEvent;
+import net.dv8tion.jda.core.events.guild.member.GuildMemberNickChangeEvent;
+import net.dv8tion.jda.core.events.guild.update.GuildUpdateIconEvent;
 import net.dv8tion.jda.core.events.guild.update.GuildUpdateNameEvent;
+import net.dv8tion.jda.core.events.guild.update.GuildUpdateOwnerEvent;
 import net.dv8tion.jda.core.events.guild.update.GuildUpdateRegionEvent;
 import net.dv8tion.jda.core.events.message.MessageBulkDeleteEvent;
 import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
@@ -91,11 +99,12 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onGenericEvent(Event event) {
-        Metrics.jdaEvents.labels(event.getClass().getSimpleName()).inc();
+        EventMetrics.of(event.getClass()).inc();
     }
 
     @Override
     public void onReady(ReadyEvent event) {
+        av.getShardEntityCounter().syncShard(event.getJDA());
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
     }
 
@@ -106,69 +115,123 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onReconnect(ReconnectedEvent event) {
+        av.getShardEntityCounter().syncShard(event.getJDA());
+        av.getGuildNameIndexCache().invalidateAll();
         jdaStateEventAdapter.onConnectToShard(event.getJDA());
     }
 
     @Override
     public void onGuildUpdateRegion(GuildUpdateRegionEvent event) {
-        guildStateEvent.onGuildUpdateRegion(event);
+        av.getGuildSnapshotCache().invalidate(event.getGuild().getIdLong());
+        dispatch(event.getGuild(), "guild-update-region", Policy.BLOCK, () -> guildStateEvent.onGuildUpdateRegion(event));
     }
 
     @Override
     public void onGuildUpdateName(GuildUpdateNameEvent event) {
-        guildStateEvent.onGuildUpdateName(event);
+        av.getGuildSnapshotCache().invalidate(event.getGuild().getIdLong());
+        dispatch(event.getGuild(), "guild-update-name", Policy.BLOCK, () -> guildStateEvent.onGuildUpdateName(event));
+    }
+
+    @Override
+    public void onGuildUpdateIcon(GuildUpdateIconEvent event) {
+        av.getGuildSnapshotCache().invalidate(event.getGuild().getIdLong());
+    }
+
+    @Override
+    public void onGuildUpdateOwner(GuildUpdateOwnerEvent event) {
+        av.getGuildSnapshotCache().invalidate(event.getGuild().getIdLong());
     }
 
     @Override
     public void onGuildJoin(GuildJoinEvent event) {
-        guildStateEvent.onGuildJoin(event);
+        av.getShardEntityCounter().onGuildJoin(event.getGuild());
+        dispatch(event.getGuild(), "guild-join", Policy.BLOCK, () -> guildStateEvent.onGuildJoin(event));
+    }
+
+    @Override
+    public void onGuildAvailable(GuildAvailableEvent event) {
+        av.getShardEntityCounter().syncShard(event.getJDA());
+    }
+
+    @Override
+    public void onGuildUnavailable(GuildUnavailableEvent event) {
+        av.getShardEntityCounter().syncShard(event.getJDA());
+        av.getGuildNameIndexCache().invalidate(event.getGuild().getIdLong());
     }
 
     @Override
     public void onGuildLeave(GuildLeaveEvent event) {
-        guildStateEvent.onGuildLeave(event);
+        av.getShardEntityCounter().onGuildLeave(event.getGuild());
+        av.getGuildSnapshotCache().invalidate(event.getGuild().getIdLong());
+        av.getGuildNameIndexCache().invalidate(event.getGuild().getIdLong());
+        dispatch(event.getGuild(), "guild-leave", Policy.BLOCK, () -> guildStateEvent.onGuildLeave(event));
+    }
+
+    @Override
+    public void onVoiceChannelCreate(VoiceChannelCreateEvent event) {
+        av.getGuildSnapshotCache().onVoiceChannelsChange(event.getGuild().getIdLong(), 1);
+        av.getShardEntityCounter().onVoiceChannelsChange(event.getJDA(), 1);
     }
 
     @Override
     public void onVoiceChannelDelete(VoiceChannelDeleteEvent event) {
-        channelEvent.onVoiceChannelDelete(event);
+        av.getGuildSnapshotCache().onVoiceChannelsChange(event.getGuild().getIdLong(), -1);
+        av.getShardEntityCounter().onVoiceChannelsChange(event.getJDA(), -1);
+        dispatch(event.getGuild(), "voice-channel-delete", Policy.BLOCK, () -> channelEvent.onVoiceChannelDelete(event));
     }
 
     @Override
     public void onTextChannelDelete(TextChannelDeleteEvent event) {
-        channelEvent.updateChannelData(event.getGuild());
-        channelEvent.onTextChannelDelete(event);
+        av.getGuildSnapshotCache().onTextChannelsChange(event.getGuild().getIdLong(), -1);
+        av.getShardEntityCounter().onTextChannelsChange(event.getJDA(), -1);
+        updateChannelData(event.getGuild());
+        dispatch(event.getGuild(), "text-channel-delete", Policy.BLOCK, () -> channelEvent.onTextChannelDelete(event));
     }
 
     @Override
     public void onTextChannelCreate(TextChannelCreateEvent event) {
-        channelEvent.updateChannelData(event.getGuild());
+        av.getGuildSnapshotCache().onTextChannelsChange(event.getGuild().getIdLong(), 1);
+        av.getShardEntityCounter().onTextChannelsChange(event.getJDA(), 1);
+        updateChannelData(event.getGuild());
     }
 
     @Override
     public void onTextChannelUpdateName(TextChannelUpdateNameEvent event) {
-        channelEvent.updateChannelData(event.getGuild());
+        updateChannelData(event.getGuild());
     }
 
     @Override
     public void onTextChannelUpdatePosition(TextChannelUpdatePositionEvent event) {
-        channelEvent.updateChannelData(event.getGuild());
+        updateChannelData(event.getGuild());
     }
 
     @Override
     public void onGuildMemberJoin(GuildMemberJoinEvent event) {
+        av.getGuildSnapshotCache().onMemberJoin(event.getGuild().getIdLong(), event.getUser().isBot());
+        av.getShardEntityCounter().onMembersChange(event.getJDA());
+        av.getGuildNameIndexCache().onMemberUpdate(event.getMember());
+
         if (!av.getSettings().isMusicOnlyMode()) {
-            memberEvent.onGuildMemberJoin(event);
+            dispatch(event.getGuild(), "member-join", Policy.BLOCK, () -> memberEvent.onGuildMemberJoin(event));
         }
     }
 
     @Override
     public void onGuildMemberLeave(GuildMemberLeaveEvent event) {
+        av.getGuildSnapshotCache().onMemberLeave(event.getGuild().getIdLong(), event.getUser().isBot());
+        av.getShardEntityCounter().onMembersChange(event.getJDA());
+        av.getGuildNameIndexCache().onMemberLeave(event.getGuild().getIdLong(), event.getUser());
+
         if (!av.getSettings().isMusicOnlyMode()) {
-            memberEvent.onGuildMemberLeave(event);
+            dispatch(event.getGuild(), "member-leave", Policy.BLOCK, () -> memberEvent.onGuildMemberLeave(event));
         }
     }
 
+    @Override
+    public void onGuildMemberNickChange(GuildMemberNickChangeEvent event) {
+        av.getGuildNameIndexCache().onMemberUpdate(event.getMember());
+    }
+
     @Override
     public void onMessageReceived(MessageReceivedEvent event) {
         if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
@@ -180,16 +243,20 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onGuildMessageDelete(GuildMessageDeleteEvent event) {
-        if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
-            changelogEventAdapter.onMessageDelete(event);
-        }
+        dispatch(event.getGuild(), "message-delete", Policy.DROP, () -> {
+            if (changelogEventAdapter.isChangelogMessage(event.getChannel())) {
+                changelogEventAdapter.onMessageDelete(event);
+            }
 
-        messageEvent.onMessageDelete(event.getChannel(), Collections.singletonList(event.getMessageId()));
+            messageEvent.onMessageDelete(event.getChannel(), Collections.singletonList(event.getMessageId()));
+        });
     }
 
     @Override
     public void onMessageBulkDelete(MessageBulkDeleteEvent event) {
-        messageEvent.onMessageDelete(event.getChannel(), event.getMessageIds());
+        dispatch(event.getChannel().getGuild(), "message-bulk-delete", Policy.DROP, () -> {
+            messageEvent.onMessageDelete(event.getChannel(), event.getMessageIds());
+        });
     }
 
     @Override
@@ -203,29 +270,33 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onRoleUpdateName(RoleUpdateNameEvent event) {
-        roleEvent.updateRoleData(event.getGuild());
-        roleEvent.onRoleUpdateName(event);
+        av.getGuildNameIndexCache().onRolesChange(event.getGuild());
+        updateRoleData(event.getGuild());
+        dispatch(event.getGuild(), "role-update-name", Policy.BLOCK, () -> roleEvent.onRoleUpdateName(event));
     }
 
     @Override
     public void onRoleDelete(RoleDeleteEvent event) {
-        roleEvent.updateRoleData(event.getGuild());
-        roleEvent.onRoleDelete(event);
+        av.getGuildNameIndexCache().onRolesChange(event.getGuild());
+        updateRoleData(event.getGuild());
+        dispatch(event.getGuild(), "role-delete", Policy.BLOCK, () -> roleEvent.onRoleDelete(event));
     }
 
     @Override
     public void onRoleCreate(RoleCreateEvent event) {
-        roleEvent.updateRoleData(event.getGuild());
+        av.getGuildNameIndexCache().onRolesChange(event.getGuild());
+        updateRoleData(event.getGuild());
     }
 
     @Override
     public void onRoleUpdatePosition(RoleUpdatePositionEvent event) {
-        roleEvent.updateRoleData(event.getGuild());
+        av.getGuildNameIndexCache().onRolesChange(event.getGuild());
+        updateRoleData(event.getGuild());
     }
 
     @Override
     public void onRoleUpdatePermissions(RoleUpdatePermissionsEvent event) {
-        roleEvent.updateRoleData(event.getGuild());
+        updateRoleData(event.getGuild());
     }
 
     @Override
@@ -244,6 +315,8 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onUserUpdateName(UserUpdateNameEvent event) {
+        av.getGuildNameIndexCache().onUserUpdateName(event.getUser());
+
         if (!av.getSettings().isMusicOnlyMode()) {
             PlayerController.updateUserData(event.getUser());
         }
@@ -251,23 +324,44 @@ public class MainEventHandler extends EventHandler {
 
     @Override
     public void onEmoteRemoved(EmoteRemovedEvent event) {
-        reactionEmoteEventAdapter.onEmoteRemoved(event);
+        dispatch(event.getGuild(), "emote-removed", Policy.BLOCK, () -> reactionEmoteEventAdapter.onEmoteRemoved(event));
     }
 
     @Override
     public void onMessageReactionAdd(MessageReactionAddEvent event) {
         if (isValidMessageReactionEvent(event)) {
-            reactionEmoteEventAdapter.onMessageReactionAdd(event);
+            dispatch(event.getGuild(), "reaction-add", Policy.DROP, () -> reactionEmoteEventAdapter.onMessageReactionAdd(event));
         }
     }
 
     @Override
     public void onMessageReactionRemove(MessageReactionRemoveEvent event) {
         if (isValidMessageReactionEvent(event)) {
-            reactionEmoteEventAdapter.onMessageReactionRemove(event);
+            dispatch(event.getGuild(), "reaction-remove", Policy.DROP, () -> reactionEmoteEventAdapter.onMessageReactionRemove(event));
         }
     }
 
+    /**
+     * Dispatches the given work for the guild off the event thread, the work
+     * for each guild is handled in the order it was dispatched in.
+     *
+     * @param guild  The guild the event happened in.
+     * @param type   The type of work that is being dispatched.
+     * @param policy The policy that should be used if the lane for the guild is full.
+     * @param work   The work that should be handled for the event.
+     */
+    private void dispatch(Guild guild, String type, Policy policy, Runnable work) {
+        av.getGuildEventDispatcher().dispatch(guild.getIdLong(), type, policy, work);
+    }
+
+    private void updateChannelData(Guild guild) {
+        dispatch(guild, "channel-data", Policy.COALESCE, () -> channelEvent.updateChannelData(guild));
+    }
+
+    private void updateRoleData(Guild guild) {
+        dispatch(guild, "role-data", Policy.COALESCE, () -> roleEvent.updateRoleData(guild));
+    }
+
     private boolean isValidMessageReactionEvent(GenericMessageReactionEvent event) {
         return !event.getUser().isBot()
             && event.getGuild() != null
@@ -23,9 +23,7 @@ package com.avbot.handlers;
 
 import com.avbot.av;
 import com.avbot.contracts.handlers.EventHandler;
-import com.avbot.plugin.PluginLoader;
 import net.dv8tion.jda.core.events.Event;
-import net.dv8tion.jda.core.hooks.ListenerAdapter;
 
 public class PluginEventHandler extends EventHandler {
 
@@ -40,10 +38,6 @@ public class PluginEventHandler extends EventHandler {
 
     @Override
     public void onGenericEvent(Event event) {
-        for (PluginLoader plugin : av.getPluginManager().getPlugins()) {
-            for (ListenerAdapter listener : plugin.getEventListeners()) {
-                listener.onEvent(event);
-            }
-        }
+        av.getEventEmitter().forward(event);
     }
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.handlers;
+
+import com.avbot.contracts.handlers.EventListener;
+import com.avbot.metrics.Metrics;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.hooks.ListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The event queue for a single plugin, events are handled by the event listeners of the
+ * plugin on a small set of single threaded lanes owned by the plugin, so slow or blocking
+ * listeners only delays the events for the plugin they belong to. Events with the same
+ * ordering key, like the ID of the guild the event happened in, always use the
+ * same lane, so the plugin still receives them in the order they happened.
+ * <p>
+ * The listeners that handles each type of event are computed the first time the event
+ * type is seen, events that none of the listeners handles are ignored right away,
+ * and listeners that repeatedly exceed the time budget are disabled.
+ */
+public class PluginEventQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(PluginEventQueue.class);
+
+    private final String name;
+    private final long timeBudget;
+    private final int maxStrikes;
+    private final ThreadPoolExecutor[] lanes;
+
+    private volatile ListenerTable table = new ListenerTable(-1, Collections.emptySet());
+
+    /**
+     * Creates a new plugin event queue.
+     *
+     * @param name       The name of the plugin the queue belongs to.
+     * @param lanes      The number of lanes events can be handled on at the same time.
+     * @param capacity   The max number of events that can be waiting in each lane.
+     * @param timeBudget The time budget in milliseconds a listener has to handle an event.
+     * @param maxStrikes The number of times in a row a listener can exceed its time budget before it is disabled.
+     */
+    public PluginEventQueue(@Nonnull String name, int lanes, int capacity, long timeBudget, int maxStrikes) {
+        this.name = name;
+        this.timeBudget = TimeUnit.MILLISECONDS.toNanos(timeBudget);
+        this.maxStrikes = maxStrikes;
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("av-plugin-" + name.replace("%", "") + "-%d")
+            .setDaemon(true)
+            .build();
+
+        this.lanes = new ThreadPoolExecutor[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                threadFactory
+            );
+        }
+    }
+
+    /**
+     * Dispatches the given event to the given event listeners.
+     *
+     * @param listeners   The event listeners registered by the plugin.
+     * @param version     The version of the event listeners, the listeners handling each type
+     *                    of event will be recomputed when the version changes.
+     * @param event       The event that should be dispatched.
+     * @param custom      Whether the event is one of our custom events, or an event from JDA.
+     * @param orderingKey The ordering key for the event, events with the same key is handled in order.
+     * @param synchronous Whether the event should be handled right away on the current thread.
+     */
+    public void dispatch(
+        @Nonnull Set<ListenerAdapter> listeners,
+        int version,
+        @Nonnull Event event,
+        boolean custom,
+        long orderingKey,
+        boolean synchronous
+    ) {
+        ListenerTable table = this.table;
+        if (table.version != version) {
+            table = new ListenerTable(version, listeners);
+            this.table = table;
+        }
+
+        RegisteredListener[] targets = table.getListeners(event.getClass(), custom);
+        if (targets.length == 0) {
+            return;
+        }
+
+        if (synchronous) {
+            handle(targets, event, custom);
+            return;
+        }
+
+        // Discord IDs often share the same low bits, so the ordering key is spread
+        // out with a multiplicative hash before it is used to pick the lane.
+        ThreadPoolExecutor lane = lanes[(int) (((orderingKey * 0x9E3779B97F4A7C15L) >>> 32) % lanes.length)];
+        Metrics.pluginEventQueueSize.labels(name).inc();
+        try {
+            lane.execute(() -> {
+                Metrics.pluginEventQueueSize.labels(name).dec();
+                handle(targets, event, custom);
+            });
+        } catch (RejectedExecutionException e) {
+            Metrics.pluginEventQueueSize.labels(name).dec();
+            Metrics.pluginEventsDropped.labels(name).inc();
+            log.warn("The event queue for the {} plugin is full, dropping {} event", name, event.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be handled by the plugin.
+     *
+     * @return The number of events waiting to be handled.
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            size += lane.getQueue().size();
+        }
+        return size;
+    }
+
+    /**
+     * Shuts down the event queue, events that are still waiting
+     * in the queue will be discarded.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+        Metrics.pluginEventQueueSize.labels(name).set(0);
+    }
+
+    private void handle(RegisteredListener[] targets, Event event, boolean custom) {
+        for (RegisteredListener target : targets) {
+            if (target.disabled) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                if (custom) {
+                    ((EventListener) target.listener).onCustomEvent(event);
+                } else {
+                    target.listener.onEvent(event);
+                }
+            } catch (Throwable e) {
+                log.error("The {} plugin failed to handle {} in {}: {}",
+                    name, event.getClass().getSimpleName(), target.listener.getClass().getName(), e.getMessage(), e
+                );
+            }
+
+            long elapsed = System.nanoTime() - start;
+            Metrics.pluginEventExecutionTime.labels(name).observe(elapsed / 1E9D);
+
+            if (elapsed <= timeBudget) {
+                target.strikes.set(0);
+                continue;
+            }
+
+            if (target.strikes.incrementAndGet() >= maxStrikes && !target.disabled) {
+                target.disabled = true;
+                Metrics.pluginListenersDisabled.labels(name).inc();
+                log.warn("Disabled the {} event listener from the {} plugin, it exceeded its time budget of {} ms {} times in a row",
+                    target.listener.getClass().getName(), name, TimeUnit.NANOSECONDS.toMillis(timeBudget), maxStrikes
+                );
+            }
+        }
+    }
+
+    private static class ListenerTable {
+
+        private final int version;
+        private final List<RegisteredListener> listeners = new ArrayList<>();
+        private final Map<Class<?>, RegisteredListener[]> jdaEvents = new ConcurrentHashMap<>();
+        private final Map<Class<?>, RegisteredListener[]> customEvents = new ConcurrentHashMap<>();
+
+        ListenerTable(int version, Set<ListenerAdapter> listeners) {
+            this.version = version;
+
+            for (ListenerAdapter listener : new ArrayList<>(listeners)) {
+                if (listener != null) {
+                    this.listeners.add(new RegisteredListener(listener));
+                }
+            }
+        }
+
+        RegisteredListener[] getListeners(Class<?> eventType, boolean custom) {
+            return (custom ? customEvents : jdaEvents).computeIfAbsent(eventType, type -> {
+                List<RegisteredListener> handlers = new ArrayList<>();
+                for (RegisteredListener listener : listeners) {
+                    if (custom && !(listener.listener instanceof EventListener)) {
+                        continue;
+                    }
+
+                    if (handlesEvent(listener.listener.getClass(), type)) {
+                        handlers.add(listener);
+                    }
+                }
+                return handlers.toArray(new RegisteredListener[0]);
+            });
+        }
+
+        /**
+         * Checks if the given listener type handles the given type of event, a listener
+         * handles an event if it overrides one of the event methods that accepts
+         * the event, or any of the events super types, or if it overrides
+         * the event dispatching method itself.
+         */
+        private static boolean handlesEvent(Class<?> listenerType, Class<?> eventType) {
+            for (Class<?> type = listenerType; type != null; type = type.getSuperclass()) {
+                if (type == ListenerAdapter.class || type == EventListener.class || type == Object.class) {
+                    return false;
+                }
+
+                for (Method method : type.getDeclaredMethods()) {
+                    if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+                        continue;
+                    }
+
+                    if (method.getName().equals("onEvent")) {
+                        return true;
+                    }
+
+                    if (method.getName().startsWith("on") && method.getParameterTypes()[0].isAssignableFrom(eventType)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class RegisteredListener {
+
+        private final ListenerAdapter listener;
+        private final AtomicInteger strikes = new AtomicInteger();
+        private volatile boolean disabled = false;
+
+        RegisteredListener(ListenerAdapter listener) {
+            this.listener = listener;
+        }
+    }
+}
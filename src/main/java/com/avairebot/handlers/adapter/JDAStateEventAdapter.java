@@ -29,7 +29,6 @@ import com.avbot.audio.VoiceConnectStatus;
 import com.avbot.audio.cache.AudioCache;
 import com.avbot.audio.cache.AudioState;
 import com.avbot.audio.cache.AudioTrackSerializer;
-import com.avbot.cache.CacheType;
 import com.avbot.chat.MessageType;
 import com.avbot.commands.CommandHandler;
 import com.avbot.commands.CommandMessage;
@@ -44,7 +43,6 @@ import com.avbot.time.Carbon;
 import com.avbot.utilities.RoleUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.gson.reflect.TypeToken;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import net.dv8tion.jda.core.JDA;
 import net.dv8tion.jda.core.Permission;
@@ -66,6 +64,13 @@ public class JDAStateEventAdapter extends EventAdapter {
 
     private static final Logger log = LoggerFactory.getLogger(JDAStateEventAdapter.class);
 
+    /**
+     * The delay in milliseconds between resuming the music for each guild on a shard, this
+     * spreads out the track loading when a shard connects, so we don't start loading
+     * the tracks for every guild at the exact same time after a restart.
+     */
+    private static final long RESUME_MUSIC_DELAY = 250L;
+
     /**
      * Instantiates the event adapter and sets the av class instance.
      *
@@ -86,7 +91,7 @@ public class JDAStateEventAdapter extends EventAdapter {
         );
 
         int connectedChannels = 0;
-        for (AudioState state : getAudioStates()) {
+        for (AudioState state : AudioHandler.getDefaultAudioHandler().getAudioStateStore().load(jda.getShardInfo().getShardId())) {
             if (state == null) {
                 continue;
             }
@@ -113,10 +118,9 @@ public class JDAStateEventAdapter extends EventAdapter {
                 continue;
             }
 
-            connectedChannels++;
             textChannel.sendMessage(MessageFactory.createEmbeddedBuilder()
                 .setDescription(I18n.getString(guild, "music.internal.resumeMusic"))
-                .build()).queue(message -> {
+                .build()).queueAfter(connectedChannels++ * RESUME_MUSIC_DELAY, TimeUnit.MILLISECONDS, message -> {
 
                 VoiceConnectStatus voiceConnectStatus = AudioHandler.getDefaultAudioHandler().connectToVoiceChannel(
                     message, voiceChannel, guild.getAudioManager()
@@ -157,17 +161,18 @@ public class JDAStateEventAdapter extends EventAdapter {
                         continue;
                     }
 
+                    if (audioCache.getPosition() > 0 && track.isSeekable()) {
+                        track.setPosition(audioCache.getPosition());
+                    }
+
                     musicManager.getScheduler().queue(track, member.getUser());
                 }
-            });
 
-            AudioTrack track = AudioTrackSerializer.decodeTrack(state.getPlayingTrack() != null
-                ? state.getPlayingTrack().getTrack()
-                : null
-            );
+                musicManager.registerVolume(state.getVolume());
+            });
 
-            log.debug("{} stopped playing {} with {} songs in the queue",
-                guild.getId(), track == null ? "Unknown Track" : track.getInfo().uri, state.getQueue().size()
+            log.debug("{} stopped playing at {} ms with {} songs in the queue",
+                guild.getId(), state.getPlayingTrack() == null ? 0 : state.getPlayingTrack().getPosition(), state.getQueue().size()
             );
         }
 
@@ -176,19 +181,6 @@ public class JDAStateEventAdapter extends EventAdapter {
         );
     }
 
-    private List<AudioState> getAudioStates() {
-        Object rawAudioState = av.getCache().getAdapter(CacheType.FILE).get("audio.state");
-        if (rawAudioState == null) {
-            return new ArrayList<>();
-        }
-
-        return av.gson.fromJson(
-            String.valueOf(rawAudioState),
-            new TypeToken<List<AudioState>>() {
-            }.getType()
-        );
-    }
-
     private void handleAutoroleTask(JDA jda) {
         log.debug("Connection to shard {} has been established, running autorole job to sync autoroles missed due to downtime",
             jda.getShardInfo().getShardId()
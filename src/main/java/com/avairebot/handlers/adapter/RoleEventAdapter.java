@@ -126,6 +126,7 @@ public class RoleEventAdapter extends EventAdapter {
 
         try {
             transformer.getLevelRoles().remove(key);
+            transformer.refreshLevelRoleTable();
             av.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
                 .useAsync(true)
                 .where("id", event.getGuild().getId())
@@ -24,6 +24,7 @@ package com.avbot.handlers.events;
 import com.avbot.modlog.ModlogAction;
 import com.avbot.modlog.ModlogType;
 import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.User;
 import net.dv8tion.jda.core.events.Event;
 
@@ -32,6 +33,7 @@ import javax.annotation.Nullable;
 @SuppressWarnings("unused")
 public class ModlogActionEvent extends Event {
 
+    private final Guild guild;
     private final ModlogAction action;
     private final int caseId;
 
@@ -43,12 +45,35 @@ public class ModlogActionEvent extends Event {
      * @param caseId The case ID for the given modlog event.
      */
     public ModlogActionEvent(JDA api, ModlogAction action, int caseId) {
+        this(api, null, action, caseId);
+    }
+
+    /**
+     * Creates a new modlog action event.
+     *
+     * @param api    The JDA api(shard) that the event should be triggered on.
+     * @param guild  The guild the modlog action is happening in.
+     * @param action The modlog action that is happening.
+     * @param caseId The case ID for the given modlog event.
+     */
+    public ModlogActionEvent(JDA api, @Nullable Guild guild, ModlogAction action, int caseId) {
         super(api);
 
+        this.guild = guild;
         this.action = action;
         this.caseId = caseId;
     }
 
+    /**
+     * Gets the guild the modlog action is happening in.
+     *
+     * @return The guild the modlog action is happening in, or {@code NULL} if the guild is unknown.
+     */
+    @Nullable
+    public Guild getGuild() {
+        return guild;
+    }
+
     /**
      * Gets the target for the modlog action.
      *
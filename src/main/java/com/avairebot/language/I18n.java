@@ -25,22 +25,35 @@ import com.avbot.av;
 import com.avbot.config.YamlConfiguration;
 import com.avbot.database.controllers.GuildController;
 import com.avbot.database.transformers.GuildTransformer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.core.entities.Guild;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.text.MessageFormat;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class I18n {
 
     static final Set<LanguageContainer> languages = new HashSet<>();
+    private static final Map<String, LanguageContainer> locales = new ConcurrentHashMap<>();
     private static final LanguageContainer defaultLanguage = new LanguageContainer(Language.EN_US);
     private static final Logger log = LoggerFactory.getLogger(I18n.class);
 
+    /**
+     * The cache of compiled message templates used by {@link #format(String, Object...)},
+     * the cache is bounded since the method is also used to format messages that
+     * are created at runtime, and not just strings from the language files.
+     */
+    private static final Cache<String, MessageTemplate> templates = CacheBuilder.newBuilder()
+        .maximumSize(8192)
+        .build();
+
     private static av av;
 
     /**
@@ -62,6 +75,13 @@ public class I18n {
             languages.add(new LanguageContainer(language));
         }
 
+        locales.clear();
+        for (LanguageContainer locale : languages) {
+            locales.put(locale.getLanguage().getCode(), locale);
+            locales.put(locale.getLanguage().getCode().toLowerCase(), locale);
+        }
+        templates.invalidateAll();
+
         log.info("Loaded " + languages.size() + " languages: " + languages);
     }
 
@@ -92,11 +112,19 @@ public class I18n {
      */
     @Nullable
     public static String getString(@Nonnull Guild guild, String string, Object... args) {
-        String message = getString(guild, string);
-        if (message == null) {
+        if (string == null) {
+            return null;
+        }
+
+        MessageTemplate template = getLocale(guild).getTemplate(string);
+        if (template == null) {
+            template = defaultLanguage.getTemplate(string);
+        }
+
+        if (template == null) {
             return null;
         }
-        return format(message, args);
+        return template.format(toArguments(args));
     }
 
     /**
@@ -179,16 +207,29 @@ public class I18n {
      */
     @Nonnull
     public static LanguageContainer getLocale(@Nonnull GuildTransformer transformer) {
-        try {
-            for (LanguageContainer locale : languages) {
-                if (locale.getLanguage().getCode().equalsIgnoreCase(transformer.getLocale())) {
-                    return locale;
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error when reading entity", e);
+        return getLocale(transformer.getLocale());
+    }
+
+    /**
+     * Gets the {@link LanguageContainer language container} matching the given language
+     * code, the code is matched case-insensitively, if no language matches the
+     * given code, the default language will be returned instead.
+     *
+     * @param code The language code that should be loaded, like <code>en_US</code>.
+     * @return The language container for the given code, or the default language
+     *         container if no language matches the given code.
+     */
+    @Nonnull
+    public static LanguageContainer getLocale(@Nullable String code) {
+        if (code == null) {
+            return defaultLanguage;
         }
-        return defaultLanguage;
+
+        LanguageContainer locale = locales.get(code);
+        if (locale == null) {
+            locale = locales.get(code.toLowerCase());
+        }
+        return locale == null ? defaultLanguage : locale;
     }
 
     /**
@@ -201,12 +242,10 @@ public class I18n {
      */
     @Nonnull
     public static LanguageContainer getLocale(Language language) {
-        for (LanguageContainer locale : languages) {
-            if (locale.getLanguage().equals(language)) {
-                return locale;
-            }
+        if (language == null) {
+            return defaultLanguage;
         }
-        return defaultLanguage;
+        return getLocale(language.getCode());
     }
 
     /**
@@ -218,6 +257,10 @@ public class I18n {
      * Every argument given can be replaced multiple times per string, the placement of the
      * placeholders(<code>{0}</code>, <code>{1}</code>, etc) doesn't matter either, giving
      * developers free rein to format and structure their messages however they want to.
+     * <p>
+     * Messages are compiled into {@link MessageTemplate message templates} the first time
+     * they're formatted, and the compiled templates are cached, so formatting the same
+     * message again doesn't require the message to be parsed again.
      *
      * @param message The message that should be formatted with the given arguments.
      * @param args    The arguments that should be replaced in the given message.
@@ -225,6 +268,19 @@ public class I18n {
      *         failed due to an invalid argument exception.
      */
     public static String format(@Nonnull String message, Object... args) {
+        MessageTemplate template = templates.getIfPresent(message);
+        if (template == null) {
+            template = MessageTemplate.compile(message);
+            templates.put(message, template);
+        }
+        return template.format(toArguments(args));
+    }
+
+    private static Object[] toArguments(Object[] args) {
+        if (args == null) {
+            return new Object[0];
+        }
+
         int num = 0;
         Object[] arguments = new Object[args.length];
         for (Object arg : args) {
@@ -233,17 +289,6 @@ public class I18n {
             }
             arguments[num++] = arg.toString();
         }
-
-        try {
-            return MessageFormat.format(
-                message.replace("'", "''"), arguments
-            );
-        } catch (IllegalArgumentException ex) {
-            log.error(
-                "An exception was thrown while formatting \"{}\", error: {}",
-                message, ex.getMessage(), ex
-            );
-            return message;
-        }
+        return arguments;
     }
 }
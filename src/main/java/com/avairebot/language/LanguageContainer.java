@@ -24,12 +24,16 @@ package com.avbot.language;
 import com.avbot.config.YamlConfiguration;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LanguageContainer {
 
     private final Language language;
     private final YamlConfiguration config;
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
 
     LanguageContainer(@Nonnull Language language) {
         this.language = language;
@@ -60,6 +64,32 @@ public class LanguageContainer {
         return config;
     }
 
+    /**
+     * Gets the precompiled message template for the given language key, the template is
+     * compiled the first time it is requested, and is then cached for the lifetime
+     * of the language container, since the language files never changes.
+     *
+     * @param key The language key that the template should be loaded for.
+     * @return The message template for the given key, or {@code NULL} if the key doesn't exist.
+     */
+    @Nullable
+    public MessageTemplate getTemplate(@Nonnull String key) {
+        MessageTemplate template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+
+        String message = config.getString(key, null);
+        if (message == null) {
+            return null;
+        }
+
+        template = MessageTemplate.compile(message);
+        templates.putIfAbsent(key, template);
+
+        return template;
+    }
+
     @Override
     public String toString() {
         return language.getNativeName();
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.language;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled language message template, the template is parsed once when it is
+ * compiled, and can then be formatted any number of times from any thread,
+ * producing the same output as {@link I18n#format(String, Object...)}
+ * would have done by running the message through {@link MessageFormat}.
+ * <p>
+ * Messages that only uses simple placeholders like <code>{0}</code> are split into literal
+ * text and argument segments, messages using anything more advanced, like format types
+ * or styles, are compiled into a message format instance that is used instead.
+ */
+public class MessageTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageTemplate.class);
+
+    /**
+     * The highest argument index that is supported by simple templates, any placeholder
+     * using a larger index is left to the message format instance to deal with.
+     */
+    private static final int MAX_SIMPLE_ARGUMENT_INDEX = 9999;
+
+    private final String message;
+    private final String[] literals;
+    private final int[] arguments;
+    private final MessageFormat format;
+    private final IllegalArgumentException error;
+    private final int length;
+
+    private MessageTemplate(String message, String[] literals, int[] arguments, MessageFormat format, IllegalArgumentException error) {
+        this.message = message;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.format = format;
+        this.error = error;
+
+        int length = 0;
+        if (literals != null) {
+            for (String literal : literals) {
+                length += literal.length();
+            }
+        }
+        this.length = length;
+    }
+
+    /**
+     * Compiles the given message into a message template, all the single quotes in the message
+     * are treated as literal quotes, the same way {@link I18n#format(String, Object...)}
+     * escapes them before they're passed to {@link MessageFormat}.
+     *
+     * @param message The message that should be compiled.
+     * @return The compiled message template.
+     */
+    public static MessageTemplate compile(@Nonnull String message) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+
+        int start = 0;
+        int index = message.indexOf('{');
+        while (index != -1) {
+            int end = message.indexOf('}', index);
+            int argument = end == -1 ? -1 : parseArgumentIndex(message, index + 1, end);
+
+            if (argument == -1) {
+                return compileMessageFormat(message);
+            }
+
+            literals.add(message.substring(start, index));
+            arguments.add(argument);
+
+            start = end + 1;
+            index = message.indexOf('{', start);
+        }
+        literals.add(message.substring(start));
+
+        int[] argumentIndexes = new int[arguments.size()];
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            argumentIndexes[i] = arguments.get(i);
+        }
+
+        return new MessageTemplate(message, literals.toArray(new String[0]), argumentIndexes, null, null);
+    }
+
+    private static MessageTemplate compileMessageFormat(String message) {
+        try {
+            return new MessageTemplate(message, null, null, new MessageFormat(message.replace("'", "''")), null);
+        } catch (IllegalArgumentException ex) {
+            // Invalid messages are still compiled so the result is cached, formatting
+            // them will log the error and return the original message instead.
+            return new MessageTemplate(message, null, null, null, ex);
+        }
+    }
+
+    private static int parseArgumentIndex(String message, int start, int end) {
+        if (start == end || end - start > 4) {
+            return -1;
+        }
+
+        int argument = 0;
+        for (int i = start; i < end; i++) {
+            char character = message.charAt(i);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            argument = argument * 10 + (character - '0');
+        }
+        return argument > MAX_SIMPLE_ARGUMENT_INDEX ? -1 : argument;
+    }
+
+    /**
+     * Gets the original message the template was compiled from.
+     *
+     * @return The original message the template was compiled from.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Formats the template using the given arguments, placeholders pointing to arguments
+     * outside of the given arguments will be left as-is, and placeholders pointing
+     * to <code>NULL</code> arguments will be replaced with <code>null</code>,
+     * matching the behaviour of {@link MessageFormat}, arguments are inserted
+     * using their string representation, just like the arguments given
+     * to {@link I18n#format(String, Object...)}.
+     *
+     * @param args The arguments that should be replaced in the template.
+     * @return The formatted message, or the original message if the message is invalid.
+     */
+    public String format(@Nonnull Object[] args) {
+        if (literals == null) {
+            return formatUsingMessageFormat(args);
+        }
+
+        if (arguments.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = new StringBuilder(length + arguments.length * 16);
+        for (int i = 0; i < arguments.length; i++) {
+            builder.append(literals[i]);
+
+            int argument = arguments[i];
+            if (argument >= args.length) {
+                builder.append('{').append(argument).append('}');
+            } else {
+                builder.append(args[argument]);
+            }
+        }
+        return builder.append(literals[arguments.length]).toString();
+    }
+
+    private String formatUsingMessageFormat(Object[] args) {
+        try {
+            if (format == null) {
+                throw error;
+            }
+
+            // Message format instances are not thread-safe, since messages using
+            // the message format are quite rare we're just synchronizing on
+            // the instance instead of creating a new one every time.
+            synchronized (format) {
+                return format.format(args);
+            }
+        } catch (IllegalArgumentException ex) {
+            log.error(
+                "An exception was thrown while formatting \"{}\", error: {}",
+                message, ex.getMessage(), ex
+            );
+            return message;
+        }
+    }
+}
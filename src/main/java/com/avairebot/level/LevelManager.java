@@ -22,22 +22,27 @@
 package com.avbot.level;
 
 import com.avbot.av;
+import com.avbot.Constants;
 import com.avbot.chat.MessageType;
 import com.avbot.chat.PlaceholderMessage;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
 import com.avbot.database.controllers.GuildController;
 import com.avbot.database.controllers.PlayerController;
 import com.avbot.database.transformers.GuildTransformer;
 import com.avbot.database.transformers.PlayerTransformer;
 import com.avbot.factories.MessageFactory;
 import com.avbot.language.I18n;
-import com.avbot.scheduler.ScheduleHandler;
 import com.avbot.utilities.CacheUtil;
 import com.avbot.utilities.NumberUtil;
 import com.avbot.utilities.RandomUtil;
+import com.avbot.utilities.RestActionUtil;
 import com.avbot.utilities.RoleUtil;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import net.dv8tion.jda.core.Permission;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.Message;
 import net.dv8tion.jda.core.entities.Role;
 import net.dv8tion.jda.core.entities.TextChannel;
@@ -46,10 +51,9 @@ import net.dv8tion.jda.core.events.message.MessageReceivedEvent;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -338,61 +342,110 @@ public class LevelManager {
                 alertMessage.queue();
             }
 
-            if (!guild.getLevelRoles().isEmpty()) {
-                if (!message.getGuild().getSelfMember().hasPermission(Permission.MANAGE_ROLES)) {
-                    return;
-                }
+            if (!guild.getLevelRoleTable().isEmpty()) {
+                syncLevelRoles(message.getMember(), guild, newLevel);
+            }
+        }
+    }
 
-                List<Role> roles = getRoleRewards(message, guild, newLevel);
-                if (roles.isEmpty()) {
-                    return;
-                }
+    /**
+     * Reconciles the level roles for the given member using the guilds level role table,
+     * any level role the member should have for the given level is added to them,
+     * and if level hierarchy is enabled, all the lower level roles except the
+     * highest one is removed, all in a single role modify request.
+     *
+     * @param member The member that should have their level roles synced.
+     * @param guild  The guild transformer for the guild the member is from.
+     * @param level  The level the member is at.
+     * @return {@code True} if a request was sent to change the members roles, {@code False} otherwise.
+     */
+    public boolean syncLevelRoles(@Nonnull Member member, @Nonnull GuildTransformer guild, long level) {
+        if (!member.getGuild().getSelfMember().hasPermission(Permission.MANAGE_ROLES)) {
+            return false;
+        }
 
-                Role highestRole = RoleUtil.getHighestFrom(message.getGuild().getSelfMember());
-                if (highestRole == null || !RoleUtil.isRoleHierarchyHigher(roles, highestRole)) {
-                    return;
+        List<Role> rewards = new ArrayList<>();
+        for (Long roleId : guild.getLevelRoleTable().getRewards(level)) {
+            Role role = member.getGuild().getRoleById(roleId);
+            if (role != null) {
+                rewards.add(role);
+            }
+        }
+
+        if (rewards.isEmpty()) {
+            return false;
+        }
+
+        List<Role> rolesToAdd = new ArrayList<>();
+        List<Role> rolesToRemove = new ArrayList<>();
+        for (int i = 0; i < rewards.size(); i++) {
+            Role role = rewards.get(i);
+            boolean hasRole = member.getRoles().contains(role);
+
+            if (i > 0 && guild.isLevelHierarchy()) {
+                if (hasRole) {
+                    rolesToRemove.add(role);
                 }
+            } else if (!hasRole) {
+                rolesToAdd.add(role);
+            }
+        }
 
-                message.getGuild().getController().addRolesToMember(message.getMember(), roles).queue(aVoid -> {
-                    if (!guild.isLevelHierarchy()) {
-                        return;
-                    }
+        if (rolesToAdd.isEmpty() && rolesToRemove.isEmpty()) {
+            return false;
+        }
 
+        Role highestRole = RoleUtil.getHighestFrom(member.getGuild().getSelfMember());
+        if (highestRole == null
+            || !RoleUtil.isRoleHierarchyHigher(rolesToAdd, highestRole)
+            || !RoleUtil.isRoleHierarchyHigher(rolesToRemove, highestRole)) {
+            return false;
+        }
 
-                    List<Integer> levelKeys = new ArrayList<>(guild.getLevelRoles().keySet());
-                    Collections.sort(levelKeys);
-                    Collections.reverse(levelKeys);
+        member.getGuild().getController().modifyMemberRoles(member, rolesToAdd, rolesToRemove)
+            .queue(null, RestActionUtil.ignore);
 
-                    List<Role> rolesToRemove = new ArrayList<>(roles);
+        return true;
+    }
 
-                    for (int roleLevel : levelKeys) {
-                        String roleId = guild.getLevelRoles().get(roleLevel);
-                        if (roleId == null) {
-                            // This should never be hit... Ever, better to be safe than sorry tho.
-                            continue;
-                        }
+    /**
+     * Reconciles the level roles for every member in the given guild that has any
+     * experience, the experience for all the members are loaded using a single
+     * query, and the role changes are handed straight to JDA, which spaces
+     * the requests out according to the Discord rate limits.
+     *
+     * @param av          The av application instance.
+     * @param guild       The guild that should have its level roles synced.
+     * @param transformer The guild transformer for the given guild.
+     * @return The amount of members that had their roles changed.
+     * @throws SQLException If the experience for the guild members couldn't be loaded.
+     */
+    public int resyncLevelRoles(@Nonnull av av, @Nonnull Guild guild, @Nonnull GuildTransformer transformer) throws SQLException {
+        if (transformer.getLevelRoleTable().isEmpty()) {
+            return 0;
+        }
 
-                        Role roleToRemove = null;
-                        for (Role role : rolesToRemove) {
-                            if (role.getId().equals(roleId)) {
-                                roleToRemove = role;
-                            }
-                        }
+        Collection experiences = av.getDatabase().newQueryBuilder(Constants.PLAYER_EXPERIENCE_TABLE_NAME)
+            .select("user_id", "experience")
+            .where("guild_id", guild.getId())
+            .where("active", 1)
+            .get();
 
-                        if (roleToRemove != null) {
-                            rolesToRemove.remove(roleToRemove);
-                            break;
-                        }
-                    }
+        long zxp = getExperienceFromLevel(transformer, 0) - 100;
 
-                    if (!rolesToRemove.isEmpty()) {
-                        ScheduleHandler.getScheduler().schedule(() -> {
-                            message.getGuild().getController().removeRolesFromMember(message.getMember(), rolesToRemove).queue();
-                        }, 500, TimeUnit.MILLISECONDS);
-                    }
-                });
+        int changed = 0;
+        for (DataRow row : experiences) {
+            Member member = guild.getMemberById(row.getLong("user_id"));
+            if (member == null || member.getUser().isBot()) {
+                continue;
+            }
+
+            long level = getLevelFromExperience(transformer, row.getLong("experience") + zxp);
+            if (syncLevelRoles(member, transformer, level)) {
+                changed++;
             }
         }
+        return changed;
     }
 
     /**
@@ -437,19 +490,6 @@ public class LevelManager {
         return channel == null ? message.getTextChannel() : channel;
     }
 
-    private List<Role> getRoleRewards(Message message, GuildTransformer guild, long level) {
-        List<Role> roles = new ArrayList<>();
-        for (Map.Entry<Integer, String> entry : guild.getLevelRoles().entrySet()) {
-            if (entry.getKey() <= level) {
-                Role role = message.getGuild().getRoleById(entry.getValue());
-                if (role != null) {
-                    roles.add(role);
-                }
-            }
-        }
-        return roles;
-    }
-
     private String loadRandomLevelupMessage(GuildTransformer guild, boolean hasLevelupRole) {
         return (String) RandomUtil.pickRandom(
             I18n.getLocale(guild).getConfig().getStringList(hasLevelupRole ? "levelupRoleMessages" : "levelupMessages")
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.level;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * A precomputed lookup table for the level roles of a guild, mapping any level to
+ * the list of level role IDs a member at that level should be rewarded with,
+ * ordered with the role for the highest level first, so the role a member
+ * should keep when level hierarchy is enabled is always the first one.
+ */
+public class LevelRoleTable {
+
+    /**
+     * An empty level role table, used for guilds without any level roles.
+     */
+    public static final LevelRoleTable EMPTY = new LevelRoleTable(new int[0], Collections.emptyList());
+
+    private final int[] levels;
+    private final List<List<Long>> rewards;
+    private final Set<Long> roleIds;
+
+    private LevelRoleTable(int[] levels, List<List<Long>> rewards) {
+        this.levels = levels;
+        this.rewards = rewards;
+
+        this.roleIds = rewards.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(new HashSet<>(rewards.get(rewards.size() - 1)));
+    }
+
+    /**
+     * Creates a new level role table from the given level roles map, entries
+     * with an invalid level or role ID are ignored.
+     *
+     * @param levelRoles The level roles, where the key is the level, and the value is the role ID.
+     * @return The level role table for the given level roles.
+     */
+    public static LevelRoleTable of(@Nonnull Map<Integer, String> levelRoles) {
+        TreeMap<Integer, Long> sorted = new TreeMap<>();
+        for (Map.Entry<Integer, String> entry : levelRoles.entrySet()) {
+            if (entry.getKey() == null || entry.getKey() < 0 || entry.getValue() == null) {
+                continue;
+            }
+
+            try {
+                sorted.put(entry.getKey(), Long.parseLong(entry.getValue()));
+            } catch (NumberFormatException ignored) {
+                // Invalid role IDs can't be given to anyone anyway, so they're just skipped.
+            }
+        }
+
+        if (sorted.isEmpty()) {
+            return EMPTY;
+        }
+
+        int[] levels = new int[sorted.size()];
+        List<List<Long>> rewards = new ArrayList<>(sorted.size());
+
+        LinkedList<Long> current = new LinkedList<>();
+        int index = 0;
+        for (Map.Entry<Integer, Long> entry : sorted.entrySet()) {
+            current.addFirst(entry.getValue());
+
+            levels[index++] = entry.getKey();
+            rewards.add(Collections.unmodifiableList(new ArrayList<>(current)));
+        }
+
+        return new LevelRoleTable(levels, rewards);
+    }
+
+    /**
+     * Checks if the table has any level roles.
+     *
+     * @return {@code True} if the table doesn't have any level roles, {@code False} otherwise.
+     */
+    public boolean isEmpty() {
+        return levels.length == 0;
+    }
+
+    /**
+     * Gets the IDs of every level role in the table.
+     *
+     * @return A set of all the level role IDs.
+     */
+    public Set<Long> getRoleIds() {
+        return roleIds;
+    }
+
+    /**
+     * Gets the IDs of the level roles a member at the given level should be rewarded
+     * with, ordered by the level the role is given at, with the highest level first.
+     *
+     * @param level The level the rewards should be returned for.
+     * @return The level role IDs for the given level, or an empty list if no roles are given at or below the level.
+     */
+    public List<Long> getRewards(long level) {
+        if (levels.length == 0 || level < levels[0]) {
+            return Collections.emptyList();
+        }
+
+        int index = Arrays.binarySearch(levels, (int) Math.min(level, Integer.MAX_VALUE));
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return rewards.get(index);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Holds the metric children for a single command class, the children are resolved
+ * once per command class and then reused for every invocation of the command,
+ * so the hot command path never has to look up labels in the metric families.
+ */
+public final class CommandMetrics {
+
+    private static final ClassValue<CommandMetrics> commands = new ClassValue<CommandMetrics>() {
+        @Override
+        protected CommandMetrics computeValue(Class<?> type) {
+            return new CommandMetrics(type.getSimpleName());
+        }
+    };
+
+    private static final ClassValue<Counter.Child> exceptions = new ClassValue<Counter.Child>() {
+        @Override
+        protected Counter.Child computeValue(Class<?> type) {
+            return Metrics.commandExceptions.labels(type.getSimpleName());
+        }
+    };
+
+    private final Counter.Child attempts;
+    private final Counter.Child received;
+    private final Counter.Child executed;
+    private final Counter.Child ratelimited;
+    private final Histogram.Child executionTime;
+
+    private CommandMetrics(String name) {
+        attempts = Metrics.commandAttempts.labels(name);
+        received = Metrics.commandsReceived.labels(name);
+        executed = Metrics.commandsExecuted.labels(name);
+        ratelimited = Metrics.commandsRatelimited.labels(name);
+        executionTime = Metrics.executionTime.labels(name);
+    }
+
+    /**
+     * Gets the metric children for the given command class.
+     *
+     * @param type The command class that the metrics should be returned for.
+     * @return The metric children for the given command class.
+     */
+    @Nonnull
+    public static CommandMetrics of(@Nonnull Class<?> type) {
+        return commands.get(type);
+    }
+
+    /**
+     * Gets the uncaught command exceptions counter for the given exception class.
+     *
+     * @param type The class of the exception that was thrown by a command.
+     * @return The command exceptions counter for the given exception class.
+     */
+    @Nonnull
+    public static Counter.Child exception(@Nonnull Class<? extends Throwable> type) {
+        return exceptions.get(type);
+    }
+
+    /**
+     * Gets the command attempts counter, incremented every time a
+     * middleware stack is built for the command.
+     *
+     * @return The command attempts counter.
+     */
+    public Counter.Child getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Gets the received commands counter, incremented once the
+     * command has passed the category checks.
+     *
+     * @return The received commands counter.
+     */
+    public Counter.Child getReceived() {
+        return received;
+    }
+
+    /**
+     * Gets the executed commands counter.
+     *
+     * @return The executed commands counter.
+     */
+    public Counter.Child getExecuted() {
+        return executed;
+    }
+
+    /**
+     * Gets the ratelimited commands counter.
+     *
+     * @return The ratelimited commands counter.
+     */
+    public Counter.Child getRatelimited() {
+        return ratelimited;
+    }
+
+    /**
+     * Gets the command execution time histogram.
+     *
+     * @return The command execution time histogram.
+     */
+    public Histogram.Child getExecutionTime() {
+        return executionTime;
+    }
+}
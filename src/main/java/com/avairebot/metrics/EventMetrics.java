@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.metrics;
+
+import io.prometheus.client.Counter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Caches the {@link Metrics#jdaEvents JDA events} counter child for each event class,
+ * so counting an event is a single class lookup instead of building a label
+ * array and looking up the child in the metric family for every event.
+ */
+public final class EventMetrics {
+
+    private static final ClassValue<Counter.Child> events = new ClassValue<Counter.Child>() {
+        @Override
+        protected Counter.Child computeValue(Class<?> type) {
+            return Metrics.jdaEvents.labels(type.getSimpleName());
+        }
+    };
+
+    private EventMetrics() {
+        // This class should never be instantiated.
+    }
+
+    /**
+     * Gets the JDA events counter for the given event class.
+     *
+     * @param type The class of the event that should be counted.
+     * @return The JDA events counter for the given event class.
+     */
+    @Nonnull
+    public static Counter.Child of(@Nonnull Class<?> type) {
+        return events.get(type);
+    }
+}
@@ -37,6 +37,7 @@ import com.avbot.level.LevelManager;
 import com.avbot.metrics.routes.GetMetrics;
 import com.avbot.middleware.ThrottleMiddleware;
 import com.avbot.scheduler.jobs.LavalinkGarbageNodeCollectorJob;
+import com.avbot.utilities.ClassIndexUtil;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -111,6 +112,12 @@ public class Metrics {
         .labelNames("shard")
         .register();
 
+    public static final Counter shardEntityDrift = Counter.build()
+        .name("av_shard_entity_drift_total")
+        .help("Total amount of drift corrected by the shard entity reconciliation")
+        .labelNames("entity") // guilds, text, voice, users
+        .register();
+
     // Music
 
     public static final Counter searchRequests = Counter.build() // Search requests issued by users
@@ -177,6 +184,14 @@ public class Metrics {
         .labelNames("class")
         .register();
 
+    // Weather
+
+    public static final Counter weatherLookups = Counter.build()
+        .name("av_weather_lookups_total")
+        .help("Total weather lookups by how they were resolved")
+        .labelNames("result") // cache, coalesced, request, or rejected
+        .register();
+
     // AI Requests
 
     public static final Counter aiRequestsReceived = Counter.build()
@@ -204,6 +219,94 @@ public class Metrics {
         .labelNames("type")
         .register();
 
+    public static final Counter databaseWriteBehind = Counter.build()
+        .name("av_database_write_behind_queued_total")
+        .help("Total writes queued with the write-behind writer by type, merged writes are counted as MERGED")
+        .labelNames("type")
+        .register();
+
+    public static final Counter databaseWriteBehindFlushed = Counter.build()
+        .name("av_database_write_behind_flushed_total")
+        .help("Total writes written to the database by the write-behind writer")
+        .register();
+
+    public static final Counter databaseWriteBehindFailures = Counter.build()
+        .name("av_database_write_behind_failures_total")
+        .help("Total writes that failed to be written by the write-behind writer")
+        .register();
+
+    public static final Counter databaseWriteBehindBackpressure = Counter.build()
+        .name("av_database_write_behind_backpressure_total")
+        .help("Total times a thread had to wait for room in the write-behind queue")
+        .register();
+
+    public static final Gauge databaseWriteBehindQueueSize = Gauge.build()
+        .name("av_database_write_behind_queue_size")
+        .help("The amount of writes currently waiting to be written by the write-behind writer")
+        .register();
+
+    public static final Histogram databaseWriteBehindFlushTime = Histogram.build()
+        .name("av_database_write_behind_flush_duration_seconds")
+        .help("Time spent writing a single table transaction from the write-behind writer")
+        .register();
+
+    // Plugins
+
+    public static final Histogram pluginEventExecutionTime = Histogram.build()
+        .name("av_plugin_event_duration_seconds")
+        .help("Time spent by plugin event listeners handling a single event")
+        .labelNames("plugin")
+        .register();
+
+    public static final Gauge pluginEventQueueSize = Gauge.build()
+        .name("av_plugin_event_queue_size")
+        .help("The amount of events waiting to be handled by the event listeners of each plugin")
+        .labelNames("plugin")
+        .register();
+
+    public static final Counter pluginEventsDropped = Counter.build()
+        .name("av_plugin_events_dropped_total")
+        .help("Total events dropped because the event queue for the plugin was full")
+        .labelNames("plugin")
+        .register();
+
+    public static final Counter pluginListenersDisabled = Counter.build()
+        .name("av_plugin_listeners_disabled_total")
+        .help("Total plugin event listeners disabled for repeatedly exceeding their time budget")
+        .labelNames("plugin")
+        .register();
+
+    // Guild events
+
+    public static final Histogram guildEventQueueLatency = Histogram.build()
+        .name("av_guild_event_queue_latency_seconds")
+        .help("Time guild event work spent waiting in the guild event dispatcher before being handled")
+        .labelNames("type")
+        .register();
+
+    public static final Histogram guildEventExecutionTime = Histogram.build()
+        .name("av_guild_event_duration_seconds")
+        .help("Time spent handling guild event work dispatched off the event thread")
+        .labelNames("type")
+        .register();
+
+    public static final Gauge guildEventQueueSize = Gauge.build()
+        .name("av_guild_event_queue_size")
+        .help("The amount of guild event work waiting to be handled by the guild event dispatcher")
+        .register();
+
+    public static final Counter guildEventsDropped = Counter.build()
+        .name("av_guild_events_dropped_total")
+        .help("Total guild event work dropped because the lane for the guild was full")
+        .labelNames("type")
+        .register();
+
+    public static final Counter guildEventsCoalesced = Counter.build()
+        .name("av_guild_events_coalesced_total")
+        .help("Total guild event work skipped because the same work was already waiting for the guild")
+        .labelNames("type")
+        .register();
+
     // Vote statistics
 
     public static final Counter dblVotes = Counter.build()
@@ -285,14 +388,20 @@ public class Metrics {
     }
 
     private static void initializeEventMetrics() {
-        Set<Class<? extends Event>> types = new Reflections("net.dv8tion.jda.core.events")
-            .getSubTypesOf(Event.class);
+        Set<Class<? extends Event>> types = ClassIndexUtil.getSubTypesOf(
+            ClassIndexUtil.JDA_EVENTS_INDEX, "net.dv8tion.jda.core.events", Event.class
+        );
+
+        if (types == null) {
+            types = new Reflections("net.dv8tion.jda.core.events")
+                .getSubTypesOf(Event.class);
+        }
 
         for (Class<? extends Event> type : types) {
             if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
                 continue;
             }
-            jdaEvents.labels(type.getSimpleName()).inc(0D);
+            EventMetrics.of(type).inc(0D);
         }
     }
 }
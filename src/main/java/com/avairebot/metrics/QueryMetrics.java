@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.metrics;
+
+import io.prometheus.client.Counter;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classifies database queries by their leading keyword and hands out the pre-bound
+ * {@link Metrics#databaseQueries database queries} counter for the query type,
+ * the classification only scans the first word of the query, so creating a
+ * statement never has to split or copy the full query string.
+ */
+public final class QueryMetrics {
+
+    private static final String[] types = new String[]{
+        "SELECT", "INSERT", "UPDATE", "DELETE", "REPLACE", "CREATE",
+        "ALTER", "DROP", "TRUNCATE", "SET", "SHOW", "PRAGMA"
+    };
+
+    private static final Counter.Child[] counters = new Counter.Child[types.length];
+
+    private static final Map<String, Counter.Child> unknown = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < types.length; i++) {
+            counters[i] = Metrics.databaseQueries.labels(types[i]);
+        }
+    }
+
+    private QueryMetrics() {
+        // This class should never be instantiated.
+    }
+
+    /**
+     * Gets the database queries counter for the type of the given query.
+     *
+     * @param query The query that should be classified.
+     * @return The database queries counter for the type of the given query.
+     */
+    @Nonnull
+    public static Counter.Child forQuery(@Nonnull String query) {
+        int start = skipWhitespace(query);
+        int end = findKeywordEnd(query, start);
+
+        int type = findType(query, start, end);
+        if (type != -1) {
+            return counters[type];
+        }
+
+        return unknown.computeIfAbsent(
+            query.substring(start, end).toUpperCase(),
+            label -> Metrics.databaseQueries.labels(label)
+        );
+    }
+
+    private static int findType(String query, int start, int end) {
+        for (int i = 0; i < types.length; i++) {
+            if (matches(query, start, end, types[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(String query, int start, int end, String type) {
+        return end - start == type.length()
+            && query.regionMatches(true, start, type, 0, type.length());
+    }
+
+    private static int skipWhitespace(String query) {
+        int index = 0;
+        while (index < query.length() && Character.isWhitespace(query.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int findKeywordEnd(String query, int start) {
+        int index = start;
+        while (index < query.length() && Character.isLetter(query.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
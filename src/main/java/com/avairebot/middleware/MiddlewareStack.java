@@ -26,7 +26,6 @@ import com.avbot.commands.CommandContainer;
 import com.avbot.contracts.commands.Command;
 import com.avbot.contracts.middleware.Middleware;
 import com.avbot.handlers.DatabaseEventHolder;
-import com.avbot.metrics.Metrics;
 import com.avbot.middleware.global.IncrementMetricsForCommand;
 import com.avbot.middleware.global.IsCategoryEnabled;
 import com.avbot.middleware.global.ProcessCommand;
@@ -63,7 +62,7 @@ public class MiddlewareStack {
         middlewares.add(new MiddlewareContainer(isCategoryEnabled));
         middlewares.add(new MiddlewareContainer(incrementMetricsForCommand));
 
-        Metrics.commandAttempts.labels(command.getClass().getSimpleName()).inc();
+        command.getMetrics().getAttempts().inc();
     }
 
     public MiddlewareStack(Message message, CommandContainer command, DatabaseEventHolder databaseEventHolder) {
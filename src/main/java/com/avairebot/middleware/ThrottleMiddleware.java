@@ -27,7 +27,6 @@ import com.avbot.contracts.commands.CacheFingerprint;
 import com.avbot.contracts.middleware.Middleware;
 import com.avbot.contracts.middleware.ThrottleMessage;
 import com.avbot.factories.MessageFactory;
-import com.avbot.metrics.Metrics;
 import com.avbot.time.Carbon;
 import com.avbot.utilities.CacheUtil;
 import com.avbot.utilities.NumberUtil;
@@ -106,7 +105,7 @@ public class ThrottleMiddleware extends Middleware {
     }
 
     private boolean cancelCommandThrottleRequest(Message message, MiddlewareStack stack, ThrottleEntity entity) {
-        Metrics.commandsRatelimited.labels(stack.getCommand().getClass().getSimpleName()).inc();
+        stack.getCommandContainer().getMetrics().getRatelimited().inc();
 
         return runMessageCheck(message, () -> {
             String throttleMessage = "Too many `:command` attempts. Please try again in **:time** seconds.";
@@ -23,7 +23,6 @@ package com.avbot.middleware.global;
 
 import com.avbot.av;
 import com.avbot.contracts.middleware.Middleware;
-import com.avbot.metrics.Metrics;
 import com.avbot.middleware.MiddlewareStack;
 import net.dv8tion.jda.core.entities.Message;
 
@@ -37,7 +36,7 @@ public class IncrementMetricsForCommand extends Middleware {
 
     @Override
     public boolean handle(@Nonnull Message message, @Nonnull MiddlewareStack stack, String... args) {
-        Metrics.commandsReceived.labels(stack.getCommand().getClass().getSimpleName()).inc();
+        stack.getCommandContainer().getMetrics().getReceived().inc();
 
         return stack.next();
     }
@@ -27,7 +27,7 @@ import com.avbot.commands.AliasCommandContainer;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.middleware.Middleware;
 import com.avbot.factories.MessageFactory;
-import com.avbot.metrics.Metrics;
+import com.avbot.metrics.CommandMetrics;
 import com.avbot.middleware.MiddlewareStack;
 import com.avbot.shared.SentryConstants;
 import com.avbot.utilities.ArrayUtil;
@@ -109,7 +109,7 @@ public class ProcessCommand extends Middleware {
             );
         }
 
-        Metrics.commandsExecuted.labels(stack.getCommand().getClass().getSimpleName()).inc();
+        stack.getCommandContainer().getMetrics().getExecuted().inc();
 
         return runCommand(stack, new CommandMessage(
                 stack.getCommandContainer(),
@@ -130,12 +130,12 @@ public class ProcessCommand extends Middleware {
             MDCCloseable _author = MDC.putCloseable(SentryConstants.SENTRY_MDC_TAG_AUTHOR, context.getAuthor().getId());
             MDCCloseable _message = MDC.putCloseable(SentryConstants.SENTRY_MDC_TAG_MESSAGE, context.getMessage().getContentRaw())
         ) {
-            Histogram.Timer timer = Metrics.executionTime.labels(stack.getCommand().getClass().getSimpleName()).startTimer();
+            Histogram.Timer timer = stack.getCommandContainer().getMetrics().getExecutionTime().startTimer();
 
             try {
                 return stack.getCommand().onCommand(context, args);
             } catch (Exception ex) {
-                Metrics.commandExceptions.labels(ex.getClass().getSimpleName()).inc();
+                CommandMetrics.exception(ex.getClass()).inc();
 
                 if (ex instanceof InsufficientPermissionException) {
                     MessageFactory.makeError(context.getMessage(), "Error: " + ex.getMessage())
@@ -22,7 +22,6 @@
 package com.avbot.modlog;
 
 import com.avbot.av;
-import com.avbot.Constants;
 import com.avbot.commands.CommandContainer;
 import com.avbot.commands.CommandHandler;
 import com.avbot.commands.CommandMessage;
@@ -38,6 +37,8 @@ import net.dv8tion.jda.core.entities.Guild;
 import net.dv8tion.jda.core.entities.Message;
 import net.dv8tion.jda.core.entities.TextChannel;
 import net.dv8tion.jda.core.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
@@ -46,6 +47,8 @@ import java.util.Arrays;
 
 public class Modlog {
 
+    private static final Logger log = LoggerFactory.getLogger(Modlog.class);
+
     /**
      * Logs an action to the modlog channel for the given context.
      *
@@ -118,14 +121,21 @@ public class Modlog {
             return null;
         }
 
-        transformer.setModlogCase(transformer.getModlogCase() + 1);
+        final int modlogCase;
+        try {
+            modlogCase = av.getModlogCaseSequence().next(guild.getIdLong());
+        } catch (SQLException e) {
+            log.error("Failed to create the next modlog case for the guild with an ID of: {}", guild.getId(), e);
+            return null;
+        }
+        updateTransformerCase(transformer, modlogCase);
 
         String[] split = null;
         EmbedBuilder builder = MessageFactory.createEmbeddedBuilder()
             .setTitle(I18n.format("{0} {1} | Case #{2}",
                 action.getType().getEmote(),
                 action.getType().getName(guild),
-                transformer.getModlogCase()
+                modlogCase
             ))
             .setColor(action.getType().getColor())
             .setTimestamp(Instant.now());
@@ -140,7 +150,7 @@ public class Modlog {
                 builder
                     .addField("User", action.getStringifiedTarget(), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, action.getMessage()), false);
+                    .addField("Reason", formatReason(transformer, modlogCase, action.getMessage()), false);
                 break;
 
             case MUTE:
@@ -155,7 +165,7 @@ public class Modlog {
                     builder.addField("Expires At", split[0], true);
                 }
 
-                builder.addField("Reason", formatReason(transformer, String.join("\n",
+                builder.addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                     Arrays.copyOfRange(split, 1, split.length)
                 )), false);
                 break;
@@ -164,7 +174,7 @@ public class Modlog {
                 builder
                     .addField("Moderator", action.getStringifiedModerator(), true)
                     .addField("Action", action.getMessage(), true)
-                    .addField("Reason", formatReason(transformer, null), false);
+                    .addField("Reason", formatReason(transformer, modlogCase, null), false);
                 action.setMessage(null);
                 break;
 
@@ -175,7 +185,7 @@ public class Modlog {
                     .addField("User", action.getStringifiedTarget(), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
                     .addField("Voice Channel", split[0], false)
-                    .addField("Reason", formatReason(transformer, String.join("\n",
+                    .addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                         Arrays.copyOfRange(split, 1, split.length)
                     )), false);
 
@@ -193,7 +203,7 @@ public class Modlog {
                         modlogParts[0], transformer.getId(), transformer.getModlog(), modlogParts[1]
                     ), true)
                     .addField("Moderator", action.getStringifiedModerator(), true)
-                    .addField("Reason", formatReason(transformer, String.join("\n",
+                    .addField("Reason", formatReason(transformer, modlogCase, String.join("\n",
                         Arrays.copyOfRange(split, 1, split.length)
                     )), false);
 
@@ -204,24 +214,23 @@ public class Modlog {
         }
 
         av.getEventEmitter().push(new ModlogActionEvent(
-            guild.getJDA(), action, transformer.getModlogCase()
+            guild.getJDA(), guild, action, modlogCase
         ));
 
-        channel.sendMessage(builder.build()).queue(success -> {
-            try {
-                av.getDatabase().newQueryBuilder(Constants.GUILD_TABLE_NAME)
-                    .where("id", guild.getId())
-                    .update(statement -> {
-                        statement.set("modlog_case", transformer.getModlogCase());
-                    });
-
-                logActionToTheDatabase(av, guild, action, success, transformer.getModlogCase());
-            } catch (SQLException ignored) {
-                //
-            }
-        }, RestActionUtil.ignore);
+        // The modlog entry is written even if the modlog message couldn't be sent,
+        // that way every case ID handed out by the sequence will exist in
+        // the database, so we don't end up with gaps between cases.
+        try {
+            channel.sendMessage(builder.build()).queue(
+                success -> logActionToTheDatabase(av, guild, action, success, modlogCase),
+                failure -> logActionToTheDatabase(av, guild, action, null, modlogCase)
+            );
+        } catch (RuntimeException e) {
+            logActionToTheDatabase(av, guild, action, null, modlogCase);
+            throw e;
+        }
 
-        return "" + transformer.getModlogCase();
+        return "" + modlogCase;
     }
 
     /**
@@ -261,33 +270,29 @@ public class Modlog {
         }, RestActionUtil.ignore);
     }
 
-    private static void logActionToTheDatabase(av av, Guild guild, ModlogAction action, Message message, int modlogCase) {
-        try {
-            av.getDatabase().newQueryBuilder(Constants.LOG_TABLE_NAME)
-                .useAsync(true)
-                .insert(statement -> {
-                    statement.set("modlogCase", modlogCase);
-                    statement.set("type", action.getType().getId());
-                    statement.set("guild_id", guild.getId());
-                    statement.set("user_id", action.getModerator().getId());
-
-                    if (action.getTarget() != null) {
-                        statement.set("target_id", action.getTarget().getId());
-                    }
-
-                    if (message != null) {
-                        statement.set("message_id", message.getId());
-                    }
-
-                    statement.set("reason", formatReason(null, action.getMessage()), true);
-                });
-        } catch (SQLException ignored) {
-            //
+    private static void logActionToTheDatabase(av av, Guild guild, ModlogAction action, @Nullable Message message, int modlogCase) {
+        av.getModlogCaseSequence().queue(new ModlogEntry(
+            guild.getIdLong(),
+            modlogCase,
+            action.getType(),
+            action.getModerator().getIdLong(),
+            action.getTarget() == null ? null : action.getTarget().getIdLong(),
+            message == null ? null : message.getIdLong(),
+            formatReason(null, modlogCase, action.getMessage())
+        ));
+    }
+
+    private static void updateTransformerCase(GuildTransformer transformer, int modlogCase) {
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (transformer) {
+            if (transformer.getModlogCase() < modlogCase) {
+                transformer.setModlogCase(modlogCase);
+            }
         }
     }
 
     @SuppressWarnings("ConstantConditions")
-    private static String formatReason(@Nullable GuildTransformer transformer, String reason) {
+    private static String formatReason(@Nullable GuildTransformer transformer, int modlogCase, String reason) {
         if (reason == null || reason.trim().equalsIgnoreCase("No reason was given.")) {
             if (transformer != null) {
                 CommandContainer command = CommandHandler.getCommand(ModlogReasonCommand.class);
@@ -297,7 +302,7 @@ public class Modlog {
 
                 return String.format(
                     "Moderator do `%sreason %s <reason>`",
-                    prefix, transformer.getModlogCase()
+                    prefix, modlogCase
                 );
             }
             return null;
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.modlog;
+
+import com.avbot.Constants;
+import com.avbot.database.DatabaseManager;
+import com.avbot.database.collection.Collection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The modlog case sequence hands out case IDs for modlog actions using a per-guild atomic
+ * counter, the counter is seeded from the database the first time a guild uses it,
+ * so concurrent modlog actions in the same guild will always get unique cases
+ * without any gaps between them, the modlog entries for the cases are
+ * then written to the database in batches together with the
+ * last case ID used for each guild, in a single transaction.
+ */
+public class ModlogCaseSequence {
+
+    private static final Logger log = LoggerFactory.getLogger(ModlogCaseSequence.class);
+
+    /**
+     * The default maximum amount of modlog entries that should be written in a single transaction.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 250;
+
+    /**
+     * The default amount of milliseconds the sequence should wait for
+     * more modlog entries to arrive before writing them.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 250L;
+
+    private final DatabaseManager dbm;
+    private final int maxBatchSize;
+    private final long flushInterval;
+
+    private final Map<Long, AtomicInteger> sequences = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<ModlogEntry> pending = new LinkedBlockingQueue<>();
+    private final Object lock = new Object();
+
+    private Thread thread = null;
+    private boolean running = true;
+    private int writing = 0;
+    private boolean flushRequested = false;
+
+    /**
+     * Creates a new modlog case sequence using the default options.
+     *
+     * @param dbm The database manager instance used to seed the sequences and write the modlog entries.
+     */
+    public ModlogCaseSequence(DatabaseManager dbm) {
+        this(dbm, DEFAULT_MAX_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a new modlog case sequence using the given options.
+     *
+     * @param dbm           The database manager instance used to seed the sequences and write the modlog entries.
+     * @param maxBatchSize  The maximum amount of modlog entries that should be written in a single transaction.
+     * @param flushInterval The amount of milliseconds to wait for more modlog entries before writing them.
+     */
+    public ModlogCaseSequence(DatabaseManager dbm, int maxBatchSize, long flushInterval) {
+        this.dbm = dbm;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushInterval = Math.max(0L, flushInterval);
+    }
+
+    /**
+     * Gets the next case ID for the given guild, if this is the first time a case is requested
+     * for the guild, the sequence will be seeded using the highest case ID stored in
+     * either the guilds table or the log table in the database for the guild.
+     *
+     * @param guildId The ID of the guild the case ID should be created for.
+     * @return The next case ID for the guild.
+     * @throws SQLException If the sequence couldn't be seeded from the database.
+     */
+    public int next(long guildId) throws SQLException {
+        AtomicInteger sequence = sequences.get(guildId);
+        if (sequence == null) {
+            sequence = seed(guildId);
+        }
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Gets the last case ID that was handed out for the given guild, if the sequence
+     * for the guild haven't been seeded yet, {@code -1} will be returned instead.
+     *
+     * @param guildId The ID of the guild the case ID should be returned for.
+     * @return The last case ID handed out for the guild, or {@code -1}.
+     */
+    public int current(long guildId) {
+        AtomicInteger sequence = sequences.get(guildId);
+        return sequence == null ? -1 : sequence.get();
+    }
+
+    /**
+     * Queues the given modlog entry to be written to the database together with
+     * the case ID of the entry, if the sequence has been shutdown the entry
+     * will be written synchronously on the current thread instead.
+     *
+     * @param entry The modlog entry that should be written to the database.
+     */
+    public void queue(@Nonnull ModlogEntry entry) {
+        synchronized (lock) {
+            if (!running) {
+                write(Collections.singletonList(entry));
+                return;
+            }
+
+            startThreadIfMissing();
+            pending.add(entry);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Gets the amount of modlog entries that are currently waiting to be written.
+     *
+     * @return The amount of modlog entries waiting to be written.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Blocks until every modlog entry queued before this method was called has been
+     * written to the database, or the given timeout has been reached.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout argument.
+     * @return {@code True} if all the pending modlog entries were written, {@code False} otherwise.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (lock) {
+            if (thread == null || Thread.currentThread() == thread) {
+                drainOnCurrentThread();
+                return true;
+            }
+
+            flushRequested = true;
+            lock.notifyAll();
+            while (!pending.isEmpty() || writing > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops the background writer and writes all the pending modlog entries to the database,
+     * any entries queued after the sequence has been shutdown will be written
+     * synchronously on the thread queueing them.
+     *
+     * @param timeout The maximum time to wait for the pending modlog entries to be written.
+     * @param unit    The unit of the timeout argument.
+     * @return {@code True} if all the pending modlog entries were written, {@code False} otherwise.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        Thread writerThread;
+        synchronized (lock) {
+            running = false;
+            writerThread = thread;
+            lock.notifyAll();
+        }
+
+        if (writerThread != null) {
+            try {
+                writerThread.join(unit.toMillis(timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (lock) {
+            if (writerThread == null || !writerThread.isAlive()) {
+                drainOnCurrentThread();
+            }
+
+            if (!pending.isEmpty()) {
+                log.warn("Modlog case sequence was shutdown with {} modlog entries still pending", pending.size());
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private AtomicInteger seed(long guildId) throws SQLException {
+        synchronized (sequences) {
+            AtomicInteger sequence = sequences.get(guildId);
+            if (sequence != null) {
+                return sequence;
+            }
+
+            int guildCase = getMaxInt(String.format(
+                "SELECT `modlog_case` AS `modlogCase` FROM `%s` WHERE `id` = '%s';",
+                Constants.GUILD_TABLE_NAME, guildId
+            ));
+
+            int logCase = getMaxInt(String.format(
+                "SELECT MAX(`modlogCase`) AS `modlogCase` FROM `%s` WHERE `guild_id` = '%s';",
+                Constants.LOG_TABLE_NAME, guildId
+            ));
+
+            sequence = new AtomicInteger(Math.max(guildCase, logCase));
+            sequences.put(guildId, sequence);
+
+            return sequence;
+        }
+    }
+
+    private int getMaxInt(String query) throws SQLException {
+        Collection result = dbm.query(query);
+        if (result.isEmpty()) {
+            return 0;
+        }
+        return result.first().getInt("modlogCase", 0);
+    }
+
+    private void startThreadIfMissing() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "modlog-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            List<ModlogEntry> batch = new ArrayList<>();
+
+            synchronized (lock) {
+                try {
+                    while (running && pending.isEmpty()) {
+                        lock.wait();
+                    }
+
+                    // Waits for the flush interval before writing the entries, so mass bans
+                    // and other actions triggering a lot of modlog actions at once
+                    // will be written together in a single transaction.
+                    long deadline = System.currentTimeMillis() + flushInterval;
+                    while (running && !flushRequested && pending.size() < maxBatchSize) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        lock.wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+
+                if (pending.isEmpty()) {
+                    if (!running) {
+                        lock.notifyAll();
+                        return;
+                    }
+                    continue;
+                }
+
+                pending.drainTo(batch, maxBatchSize);
+                if (pending.isEmpty()) {
+                    flushRequested = false;
+                }
+                writing++;
+            }
+
+            try {
+                write(batch);
+            } finally {
+                synchronized (lock) {
+                    writing--;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void drainOnCurrentThread() {
+        while (!pending.isEmpty()) {
+            List<ModlogEntry> batch = new ArrayList<>();
+            pending.drainTo(batch, maxBatchSize);
+            write(batch);
+        }
+    }
+
+    private void write(List<ModlogEntry> batch) {
+        try {
+            writeTransaction(batch);
+        } catch (SQLException e) {
+            log.warn("Failed to write {} modlog entries in a single transaction, retrying them one by one: {}",
+                batch.size(), e.getMessage()
+            );
+
+            for (ModlogEntry entry : batch) {
+                try {
+                    writeTransaction(Collections.singletonList(entry));
+                } catch (SQLException e1) {
+                    log.error("Failed to write modlog case #{} for guild {} to the database",
+                        entry.getModlogCase(), entry.getGuildId(), e1
+                    );
+                }
+            }
+        }
+    }
+
+    private void writeTransaction(List<ModlogEntry> entries) throws SQLException {
+        Map<Long, Integer> guildCases = new HashMap<>();
+        for (ModlogEntry entry : entries) {
+            guildCases.merge(entry.getGuildId(), entry.getModlogCase(), Math::max);
+        }
+
+        dbm.runTransaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(String.format(
+                "INSERT INTO `%s` (`type`, `modlogCase`, `guild_id`, `user_id`, `target_id`, `message_id`, `reason`) VALUES (?, ?, ?, ?, ?, ?, ?);",
+                Constants.LOG_TABLE_NAME
+            ))) {
+                for (ModlogEntry entry : entries) {
+                    statement.setInt(1, entry.getType().getId());
+                    statement.setInt(2, entry.getModlogCase());
+                    statement.setLong(3, entry.getGuildId());
+                    statement.setLong(4, entry.getModeratorId());
+                    setNullableLong(statement, 5, entry.getTargetId());
+                    setNullableLong(statement, 6, entry.getMessageId());
+                    statement.setString(7, entry.getReason());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(String.format(
+                "UPDATE `%s` SET `modlog_case` = ? WHERE `id` = ? AND `modlog_case` < ?;",
+                Constants.GUILD_TABLE_NAME
+            ))) {
+                for (Map.Entry<Long, Integer> guildCase : guildCases.entrySet()) {
+                    statement.setInt(1, guildCase.getValue());
+                    statement.setLong(2, guildCase.getKey());
+                    statement.setInt(3, guildCase.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.modlog;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A modlog entry that has been given a case ID, and is waiting to
+ * be written to the log table by the {@link ModlogCaseSequence}.
+ */
+public class ModlogEntry {
+
+    private final long guildId;
+    private final int modlogCase;
+    private final ModlogType type;
+    private final long moderatorId;
+    private final Long targetId;
+    private final Long messageId;
+    private final String reason;
+
+    /**
+     * Creates a new modlog entry.
+     *
+     * @param guildId     The ID of the guild the modlog action happened in.
+     * @param modlogCase  The case ID given to the modlog action.
+     * @param type        The type of modlog action.
+     * @param moderatorId The ID of the moderator that triggered the modlog action.
+     * @param targetId    The ID of the target of the modlog action, or {@code NULL}.
+     * @param messageId   The ID of the message sent to the modlog channel, or {@code NULL}.
+     * @param reason      The reason for the modlog action, or {@code NULL}.
+     */
+    public ModlogEntry(
+        long guildId,
+        int modlogCase,
+        @Nonnull ModlogType type,
+        long moderatorId,
+        @Nullable Long targetId,
+        @Nullable Long messageId,
+        @Nullable String reason
+    ) {
+        this.guildId = guildId;
+        this.modlogCase = modlogCase;
+        this.type = type;
+        this.moderatorId = moderatorId;
+        this.targetId = targetId;
+        this.messageId = messageId;
+        this.reason = reason;
+    }
+
+    public long getGuildId() {
+        return guildId;
+    }
+
+    public int getModlogCase() {
+        return modlogCase;
+    }
+
+    public ModlogType getType() {
+        return type;
+    }
+
+    public long getModeratorId() {
+        return moderatorId;
+    }
+
+    @Nullable
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    @Nullable
+    public Long getMessageId() {
+        return messageId;
+    }
+
+    @Nullable
+    public String getReason() {
+        return reason;
+    }
+}
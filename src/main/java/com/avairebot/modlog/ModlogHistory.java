@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.modlog;
+
+import com.avbot.Constants;
+import com.avbot.database.DatabaseManager;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.query.QueryBuilder;
+
+import java.sql.SQLException;
+
+public class ModlogHistory {
+
+    /**
+     * Counts the modlog cases for the given target in the given guild,
+     * cases that have been pardoned are not included in the count.
+     *
+     * @param dbm      The database manager that should be used to count the cases.
+     * @param guildId  The ID of the guild the cases belongs to.
+     * @param targetId The ID of the user the cases was created for.
+     * @return The amount of modlog cases for the target.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static int count(DatabaseManager dbm, String guildId, String targetId) throws SQLException {
+        Collection result = createHistoryQuery(dbm, guildId, targetId)
+            .selectRaw("COUNT(*) AS `total`")
+            .get();
+
+        return result.isEmpty() ? 0 : result.first().getInt("total");
+    }
+
+    /**
+     * Loads the modlog cases for the given page, ordered by their case ID, cases that have been
+     * pardoned are not included. Instead of selecting full rows and skipping past every row
+     * before the page, the case ID the page starts at is looked up on its own first, the
+     * guild, target, pardon, and case index covers that lookup so it only has to walk
+     * the index, the page itself is then loaded by seeking to that case ID.
+     *
+     * @param dbm      The database manager that should be used to load the cases.
+     * @param guildId  The ID of the guild the cases belongs to.
+     * @param targetId The ID of the user the cases was created for.
+     * @param page     The page that should be loaded, starting from one.
+     * @param perPage  The amount of cases that should be loaded for each page.
+     * @return The modlog cases for the given page.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static Collection loadPage(DatabaseManager dbm, String guildId, String targetId, int page, int perPage) throws SQLException {
+        QueryBuilder query = createHistoryQuery(dbm, guildId, targetId)
+            .orderBy("modlogCase")
+            .take(perPage);
+
+        if (page > 1) {
+            Collection anchor = createHistoryQuery(dbm, guildId, targetId)
+                .select("modlogCase")
+                .orderBy("modlogCase")
+                .skip((page - 1) * perPage)
+                .take(1)
+                .get();
+
+            if (anchor.isEmpty()) {
+                return Collection.EMPTY_COLLECTION;
+            }
+
+            query.where("modlogCase", ">=", anchor.first().getInt("modlogCase"));
+        }
+
+        return query.get();
+    }
+
+    private static QueryBuilder createHistoryQuery(DatabaseManager dbm, String guildId, String targetId) {
+        return dbm.newQueryBuilder(Constants.LOG_TABLE_NAME)
+            .where("guild_id", guildId)
+            .where("target_id", targetId)
+            .where("pardon", 0);
+    }
+}
@@ -25,29 +25,38 @@ import com.avbot.time.Carbon;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.ScheduledFuture;
 
 @SuppressWarnings("WeakerAccess")
 public class MuteContainer {
 
+    private final String caseId;
     private final long guildId;
     private final long userId;
     private final Carbon expiresAt;
-    private ScheduledFuture<?> schedule;
 
     /**
-     * Creates a mute container using the given guild ID, user ID, and expiration time.
+     * Creates a mute container using the given case ID, guild ID, user ID, and expiration time.
      *
+     * @param caseId    The ID of the modlog case that triggered the mute.
      * @param guildId   The ID of the guild the mute is registered to.
      * @param userId    The ID of the user the mute is registered for.
      * @param expiresAt The date and time the mute should expire,
      *                  or {@code NULL} for permanent mutes.
      */
-    public MuteContainer(long guildId, long userId, @Nullable Carbon expiresAt) {
+    public MuteContainer(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) {
+        this.caseId = caseId;
         this.guildId = guildId;
         this.userId = userId;
         this.expiresAt = expiresAt;
-        this.schedule = null;
+    }
+
+    /**
+     * Gets the ID of the modlog case that triggered the mute.
+     *
+     * @return The modlog case ID that triggered the mute.
+     */
+    public String getCaseId() {
+        return caseId;
     }
 
     /**
@@ -79,41 +88,6 @@ public class MuteContainer {
         return expiresAt;
     }
 
-    /**
-     * Gets the future scheduled task for the mute, this task is used
-     * to automatically unmute a user if there is 5 minutes or less
-     * left of their temporary mute.
-     * <p>
-     * If this value is {@code NULL} the automatic mute task haven't
-     * yet been started for the mute container.
-     *
-     * @return The future scheduled task used to auto unmute the container, or {@code NULL}.
-     */
-    @Nullable
-    public ScheduledFuture<?> getSchedule() {
-        return schedule;
-    }
-
-    /**
-     * Sets the future scheduled task that should automatically unmute the container.
-     *
-     * @param schedule The future task used to unmute the container.
-     */
-    public void setSchedule(@Nonnull ScheduledFuture<?> schedule) {
-        this.schedule = schedule;
-    }
-
-    /**
-     * Cancels the future scheduled task used to automatically
-     * unmute the container if one has been started.
-     */
-    public void cancelSchedule() {
-        if (schedule != null) {
-            schedule.cancel(false);
-            schedule = null;
-        }
-    }
-
     /**
      * Checks if the registered mute is permanent or temporary.
      *
@@ -153,10 +127,15 @@ public class MuteContainer {
         return obj != null && obj instanceof MuteContainer && isSame((MuteContainer) obj);
     }
 
+    @Override
+    public int hashCode() {
+        return Long.hashCode(guildId) * 31 + Long.hashCode(userId);
+    }
+
     @Override
     public String toString() {
-        return String.format("MuteContainer={guildId=%s, userId=%s, expiresAt=%s}",
-            getGuildId(), getUserId(), getExpiresAt()
+        return String.format("MuteContainer={caseId=%s, guildId=%s, userId=%s, expiresAt=%s}",
+            getCaseId(), getGuildId(), getUserId(), getExpiresAt()
         );
     }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.mute;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * The mute expiry queue holds every temporary mute ordered by when the mute expires, a single
+ * thread sleeps until the earliest mute expires, and then hands all the mutes that expired
+ * in the same tick to the expiry handler, grouped together by the guild they belong to.
+ */
+public class MuteExpiryQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(MuteExpiryQueue.class);
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final BiConsumer<Long, List<MuteContainer>> handler;
+    private final long tickMillis;
+
+    private Thread thread = null;
+
+    /**
+     * Creates a new mute expiry queue using the given handler and tick length, expiry times are
+     * rounded up to the next tick so mutes expiring close to each other are handled together.
+     *
+     * @param handler    The handler that should be called with the guild ID and the mutes that expired.
+     * @param tickLength The length of a single tick.
+     * @param unit       The unit of the tick length argument.
+     */
+    public MuteExpiryQueue(@Nonnull BiConsumer<Long, List<MuteContainer>> handler, long tickLength, @Nonnull TimeUnit unit) {
+        this.handler = handler;
+        this.tickMillis = Math.max(1L, unit.toMillis(tickLength));
+    }
+
+    /**
+     * Schedules the given mute container to expire at its expiry time, permanent
+     * mutes are ignored since they will never expire on their own.
+     *
+     * @param container The mute container that should be scheduled.
+     */
+    public void schedule(@Nonnull MuteContainer container) {
+        if (container.isPermanent()) {
+            return;
+        }
+
+        //noinspection ConstantConditions
+        schedule(container, container.getExpiresAt().getTimestamp() * 1000L);
+    }
+
+    /**
+     * Schedules the given mute container to expire after the given delay, regardless of
+     * the expiry time set on the container, this is used to retry expired mutes that
+     * couldn't be handled yet, like mutes for guilds that are not loaded yet.
+     *
+     * @param container The mute container that should be scheduled.
+     * @param delay     The delay before the mute should be handled again.
+     * @param unit      The unit of the delay argument.
+     */
+    public void scheduleAfter(@Nonnull MuteContainer container, long delay, @Nonnull TimeUnit unit) {
+        schedule(container, System.currentTimeMillis() + unit.toMillis(delay));
+    }
+
+    /**
+     * Gets the amount of mutes that are currently waiting to expire.
+     *
+     * @return The amount of mutes waiting to expire.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Starts the thread that waits for the mutes to expire, if the thread is already running
+     * this method does nothing, the thread is a daemon thread so it will not stop the
+     * application from shutting down.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "mute-expiry");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the thread waiting for the mutes to expire.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void schedule(MuteContainer container, long expiresAtMillis) {
+        long tick = (expiresAtMillis + tickMillis - 1) / tickMillis;
+
+        queue.add(new Expiry(container, tick * tickMillis));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Expiry> expired = new ArrayList<>();
+                expired.add(queue.take());
+                queue.drainTo(expired);
+
+                handleExpired(expired);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Groups the given expired entries by their guild ID and passes each group to the handler.
+     *
+     * @param expired The list of expired entries.
+     */
+    void handleExpired(List<Expiry> expired) {
+        Map<Long, List<MuteContainer>> guilds = new LinkedHashMap<>();
+        for (Expiry expiry : expired) {
+            guilds.computeIfAbsent(expiry.container.getGuildId(), guildId -> new ArrayList<>())
+                .add(expiry.container);
+        }
+
+        for (Map.Entry<Long, List<MuteContainer>> entry : guilds.entrySet()) {
+            try {
+                handler.accept(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.error("Failed to handle {} expired mutes for guildId:{}, error: {}",
+                    entry.getValue().size(), entry.getKey(), e.getMessage(), e
+                );
+            }
+        }
+    }
+
+    static class Expiry implements Delayed {
+
+        private final MuteContainer container;
+        private final long expiresAtMillis;
+
+        Expiry(MuteContainer container, long expiresAtMillis) {
+            this.container = container;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed other) {
+            if (other instanceof Expiry) {
+                return Long.compare(expiresAtMillis, ((Expiry) other).expiresAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -25,36 +25,48 @@ import com.avbot.av;
 import com.avbot.Constants;
 import com.avbot.database.collection.Collection;
 import com.avbot.database.collection.DataRow;
+import com.avbot.database.controllers.GuildController;
+import com.avbot.database.transformers.GuildTransformer;
 import com.avbot.language.I18n;
+import com.avbot.modlog.Modlog;
+import com.avbot.modlog.ModlogAction;
 import com.avbot.modlog.ModlogType;
 import com.avbot.time.Carbon;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.Role;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class MuteManager {
 
     private final Logger log = LoggerFactory.getLogger(MuteManager.class);
-    private final HashMap<Long, HashSet<MuteContainer>> mutes = new HashMap<>();
+    private final Map<Long, Map<Long, MuteContainer>> mutes = new ConcurrentHashMap<>();
+    private final MuteExpiryQueue expiryQueue;
 
     private final av av;
 
     /**
      * Creates the mute manager instance with the given av
      * application instance, the mute manager will sync the
-     * mutes entities from the database into memory.
+     * mutes entities from the database into memory, and
+     * start the expiry queue for temporary mutes.
      *
      * @param av The main av instance.
      */
     public MuteManager(av av) {
         this.av = av;
+        this.expiryQueue = new MuteExpiryQueue(this::handleExpiredMutes, 1, TimeUnit.SECONDS);
 
         syncWithDatabase();
+
+        expiryQueue.start();
     }
 
     /**
@@ -77,10 +89,6 @@ public class MuteManager {
      *                      to be removed before the new mute is registered.
      */
     public void registerMute(String caseId, long guildId, long userId, @Nullable Carbon expiresAt) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
-            mutes.put(guildId, new HashSet<>());
-        }
-
         if (isMuted(guildId, userId)) {
             unregisterMute(guildId, userId);
         }
@@ -92,7 +100,10 @@ public class MuteManager {
                 statement.set("expires_in", expiresAt);
             });
 
-        mutes.get(guildId).add(new MuteContainer(guildId, userId, expiresAt));
+        MuteContainer container = new MuteContainer(caseId, guildId, userId, expiresAt);
+
+        getGuildMutes(guildId).put(userId, container);
+        expiryQueue.schedule(container);
     }
 
     /**
@@ -103,27 +114,14 @@ public class MuteManager {
      * @throws SQLException If the unmute fails to delete the mute record from the database.
      */
     public void unregisterMute(long guildId, long userId) throws SQLException {
-        if (!mutes.containsKey(guildId)) {
+        Map<Long, MuteContainer> guildMutes = mutes.get(guildId);
+        if (guildMutes == null) {
             return;
         }
 
-        final boolean[] removedEntities = {false};
-        synchronized (mutes) {
-            mutes.get(guildId).removeIf(next -> {
-                if (!next.isSame(guildId, userId)) {
-                    return false;
-                }
-
-                if (next.getSchedule() != null) {
-                    next.cancelSchedule();
-                }
-
-                removedEntities[0] = true;
-                return true;
-            });
-        }
-
-        if (removedEntities[0]) {
+        // The container may still be waiting in the expiry queue, we don't need to remove
+        // it from there since expired mutes that are no longer in the index are ignored.
+        if (guildMutes.remove(userId) != null) {
             cleanupMutes(guildId, userId);
         }
     }
@@ -138,16 +136,9 @@ public class MuteManager {
      *         with the given guild ID, {@code False} otherwise.
      */
     public boolean isMuted(long guildId, long userId) {
-        if (!mutes.containsKey(guildId)) {
-            return false;
-        }
+        Map<Long, MuteContainer> guildMutes = mutes.get(guildId);
 
-        for (MuteContainer container : mutes.get(guildId)) {
-            if (container.isSame(guildId, userId)) {
-                return true;
-            }
-        }
-        return false;
+        return guildMutes != null && guildMutes.containsKey(userId);
     }
 
     /**
@@ -158,54 +149,163 @@ public class MuteManager {
      */
     public int getTotalAmountOfMutes() {
         int totalMutes = 0;
-        for (Map.Entry<Long, HashSet<MuteContainer>> entry : mutes.entrySet()) {
-            totalMutes += entry.getValue().size();
+        for (Map<Long, MuteContainer> guildMutes : mutes.values()) {
+            totalMutes += guildMutes.size();
         }
         return totalMutes;
     }
 
     /**
      * Gets the map of mutes currently stored, where the key is the guild ID for
-     * the mutes, and the value is a set of mute containers, which holds
-     * the information about each individual mute.
+     * the mutes, and the value is a map of mute containers keyed by the user
+     * ID, which holds the information about each individual mute.
      *
      * @return The complete map of mutes currently stored.
      */
-    public HashMap<Long, HashSet<MuteContainer>> getMutes() {
-        return mutes;
+    public Map<Long, Map<Long, MuteContainer>> getMutes() {
+        return Collections.unmodifiableMap(mutes);
+    }
+
+    private Map<Long, MuteContainer> getGuildMutes(long guildId) {
+        return mutes.computeIfAbsent(guildId, id -> new ConcurrentHashMap<>());
     }
 
     private void syncWithDatabase() {
         log.info("Syncing mutes with the database...");
 
-        String query = I18n.format("SELECT `{1}`.`guild_id`, `{1}`.`target_id`, `{0}`.`expires_in` FROM `{0}` INNER JOIN `{1}` ON `{0}`.`modlog_id` = `{1}`.`modlogCase` WHERE `{0}`.`modlog_id` = `{1}`.`modlogCase` AND `{0}`.`guild_id` = `{1}`.`guild_id`;",
+        String query = I18n.format("SELECT `{0}`.`modlog_id`, `{1}`.`guild_id`, `{1}`.`target_id`, `{0}`.`expires_in` FROM `{0}` INNER JOIN `{1}` ON `{0}`.`modlog_id` = `{1}`.`modlogCase` WHERE `{0}`.`modlog_id` = `{1}`.`modlogCase` AND `{0}`.`guild_id` = `{1}`.`guild_id`;",
             Constants.MUTE_TABLE_NAME, Constants.LOG_TABLE_NAME
         );
 
         try {
             int size = getTotalAmountOfMutes();
             for (DataRow row : av.getDatabase().query(query)) {
-                long guildId = row.getLong("guild_id");
-
-                if (!mutes.containsKey(guildId)) {
-                    mutes.put(guildId, new HashSet<>());
-                }
-
-                mutes.get(guildId).add(new MuteContainer(
+                MuteContainer container = new MuteContainer(
+                    row.getString("modlog_id"),
                     row.getLong("guild_id"),
                     row.getLong("target_id"),
                     row.getTimestamp("expires_in")
-                ));
+                );
+
+                getGuildMutes(container.getGuildId()).put(container.getUserId(), container);
+                expiryQueue.schedule(container);
             }
 
-            log.info("Syncing complete! {} mutes entries was found that has not expired yet",
-                getTotalAmountOfMutes() - size
+            log.info("Syncing complete! {} mutes entries was found, {} of them are waiting to expire",
+                getTotalAmountOfMutes() - size, expiryQueue.size()
             );
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    private void handleExpiredMutes(long guildId, List<MuteContainer> containers) {
+        Map<Long, MuteContainer> guildMutes = mutes.get(guildId);
+        if (guildMutes == null) {
+            return;
+        }
+
+        Guild guild = av.getShardManager() == null ? null : av.getShardManager().getGuildById(guildId);
+        if (guild == null && !av.areWeReadyYet()) {
+            // The guild might just not have been loaded yet, so we'll try again
+            // in a minute instead, once all the shards are connected and
+            // ready we'll know for sure if the guild still exists.
+            for (MuteContainer container : containers) {
+                expiryQueue.scheduleAfter(container, 1, TimeUnit.MINUTES);
+            }
+            return;
+        }
+
+        List<MuteContainer> expired = new ArrayList<>();
+        for (MuteContainer container : containers) {
+            // Only mutes that are still registered in the index are removed, if the user was unmuted
+            // or muted again since the expiry was scheduled, the container is just a leftover.
+            final boolean[] removed = {false};
+            guildMutes.computeIfPresent(container.getUserId(), (userId, current) -> {
+                if (current != container) {
+                    return current;
+                }
+                removed[0] = true;
+                return null;
+            });
+
+            if (removed[0]) {
+                expired.add(container);
+            }
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        log.debug("Unmuting {} expired mutes for guildId:{}", expired.size(), guildId);
+
+        deleteExpiredMutes(guildId, expired);
+
+        if (guild == null) {
+            return;
+        }
+
+        GuildTransformer transformer = GuildController.fetchGuild(av, guild);
+        if (transformer == null || transformer.getMuteRole() == null) {
+            return;
+        }
+
+        Role muteRole = guild.getRoleById(transformer.getMuteRole());
+        if (muteRole == null) {
+            return;
+        }
+
+        for (MuteContainer container : expired) {
+            handleAutomaticUnmute(guild, transformer, muteRole, container);
+        }
+    }
+
+    private void handleAutomaticUnmute(Guild guild, GuildTransformer transformer, Role muteRole, MuteContainer container) {
+        Member member = guild.getMemberById(container.getUserId());
+        if (member == null) {
+            return;
+        }
+
+        guild.getController().removeSingleRoleFromMember(
+            member, muteRole
+        ).queueAfter(1, TimeUnit.SECONDS, aVoid -> {
+            log.debug("Successfully removed the {} role from {} on the {} server.",
+                muteRole.getName(), member.getUser().getAsTag(), guild.getName()
+            );
+
+            ModlogAction modlogAction = new ModlogAction(
+                ModlogType.UNMUTE, guild.getSelfMember().getUser(), member.getUser(),
+                I18n.getString(guild, "administration.UnmuteCommand.userAutoUnmutedReason")
+            );
+
+            String caseId = Modlog.log(av, guild, transformer, modlogAction);
+            Modlog.notifyUser(member.getUser(), guild, modlogAction, caseId);
+        }, throwable -> {
+            log.debug("Failed to remove role from {} on the {} guild, error: {}",
+                container.getUserId(), container.getGuildId(), throwable.getMessage(), throwable
+            );
+        });
+    }
+
+    private void deleteExpiredMutes(long guildId, List<MuteContainer> containers) {
+        String query = String.format("DELETE FROM `%s` WHERE `guild_id` = ? AND `modlog_id` IN (%s)",
+            Constants.MUTE_TABLE_NAME, String.join(", ", Collections.nCopies(containers.size(), "?"))
+        );
+
+        try {
+            av.getDatabase().queryBatch(query, statement -> {
+                statement.setLong(1, guildId);
+                for (int i = 0; i < containers.size(); i++) {
+                    statement.setString(i + 2, containers.get(i).getCaseId());
+                }
+                statement.addBatch();
+            });
+        } catch (SQLException e) {
+            log.error("Failed to delete {} expired mutes for guildId:{}", containers.size(), guildId, e);
+        }
+    }
+
     private void cleanupMutes(long guildId, long userId) throws SQLException {
         Collection collection = av.getDatabase().newQueryBuilder(Constants.MUTE_TABLE_NAME)
             .select(Constants.MUTE_TABLE_NAME + ".modlog_id as id")
@@ -52,6 +52,7 @@ public abstract class JavaPlugin {
 
     private final Set<ListenerAdapter> eventListeners = new HashSet<>();
     private final Set<Class<? extends Command>> commands = new HashSet<>();
+    private volatile int eventListenersVersion = 0;
 
     private Logger log = LoggerFactory.getLogger(JavaPlugin.class);
 
@@ -81,6 +82,24 @@ public abstract class JavaPlugin {
         return eventListeners;
     }
 
+    /**
+     * Gets the version of the registered event listeners, the version is
+     * incremented every time the set of event listeners is changed.
+     *
+     * @return The version of the registered event listeners.
+     */
+    final int getEventListenersVersion() {
+        return eventListenersVersion;
+    }
+
+    /**
+     * Unregisters all the event listeners that has been registered by the plugin.
+     */
+    final void clearEventListeners() {
+        eventListeners.clear();
+        eventListenersVersion++;
+    }
+
     /**
      * Gets a set of registered commands that is associated with the plugin.
      *
@@ -149,6 +168,7 @@ public abstract class JavaPlugin {
      */
     public final void registerEventListener(ListenerAdapter listener) {
         eventListeners.add(listener);
+        eventListenersVersion++;
     }
 
     /**
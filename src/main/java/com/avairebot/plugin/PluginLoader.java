@@ -149,7 +149,7 @@ public class PluginLoader {
      */
     public void unregisterPlugin(av av) {
         classLoader.getPlugin().onDisable();
-        classLoader.getPlugin().getEventListeners().clear();
+        classLoader.getPlugin().clearEventListeners();
 
         for (Class<? extends Command> commandClass : classLoader.getPlugin().getCommands()) {
             CommandHandler.unregister(commandClass);
@@ -165,6 +165,17 @@ public class PluginLoader {
         return classLoader.getPlugin().getEventListeners();
     }
 
+    /**
+     * Gets the version of the event listeners registered by the plugin, the
+     * version changes every time an event listener is registered, or
+     * when the event listeners are cleared.
+     *
+     * @return The version of the registered event listeners.
+     */
+    public int getEventListenersVersion() {
+        return classLoader.getPlugin().getEventListenersVersion();
+    }
+
     /**
      * Loads the resource from the plugin with the given name.
      *
@@ -242,6 +242,8 @@ public class PluginManager {
             next.unregisterPlugin(av.getInstance());
             iterator.remove();
 
+            av.getInstance().getEventEmitter().unregister(next);
+
             return true;
         }
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.reminder;
+
+import com.avbot.time.Carbon;
+
+import javax.annotation.Nonnull;
+
+@SuppressWarnings("WeakerAccess")
+public class Reminder {
+
+    private final long id;
+    private final long userId;
+    private final long channelId;
+    private final boolean respondInDM;
+    private final String message;
+    private final Carbon createdAt;
+    private final Carbon expiresAt;
+
+    /**
+     * Creates a reminder container using the given reminder details.
+     *
+     * @param id          The database ID of the reminder.
+     * @param userId      The ID of the user that should be reminded.
+     * @param channelId   The ID of the channel the reminder was created in.
+     * @param respondInDM Determines if the reminder should be delivered in a DM
+     *                    before falling back to the channel it was created in.
+     * @param message     The message the user should be reminded about.
+     * @param createdAt   The date and time the reminder was created.
+     * @param expiresAt   The date and time the reminder should be delivered.
+     */
+    public Reminder(long id, long userId, long channelId, boolean respondInDM, @Nonnull String message, @Nonnull Carbon createdAt, @Nonnull Carbon expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.channelId = channelId;
+        this.respondInDM = respondInDM;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Gets the database ID of the reminder.
+     *
+     * @return The database ID of the reminder.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the ID of the user that should be reminded.
+     *
+     * @return The ID of the user that should be reminded.
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the ID of the channel the reminder was created in.
+     *
+     * @return The ID of the channel the reminder was created in.
+     */
+    public long getChannelId() {
+        return channelId;
+    }
+
+    /**
+     * Checks if the reminder should be delivered in a DM, if the user can't
+     * be messaged the reminder will be sent in the channel it was created
+     * in instead, and the other way around for channel reminders.
+     *
+     * @return {@code True} if the reminder should be delivered in a DM, {@code False} otherwise.
+     */
+    public boolean isRespondInDM() {
+        return respondInDM;
+    }
+
+    /**
+     * Gets the message the user should be reminded about.
+     *
+     * @return The message the user should be reminded about.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the date and time the reminder was created.
+     *
+     * @return The date and time the reminder was created.
+     */
+    public Carbon getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets the date and time the reminder should be delivered.
+     *
+     * @return The date and time the reminder should be delivered.
+     */
+    public Carbon getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Gets the key of the channel the reminder is primarily delivered to, reminders
+     * sharing the same delivery target are sent one after another so a single
+     * channel is never flooded with reminders at once.
+     *
+     * @return The key of the channel the reminder is delivered to.
+     */
+    public String getDeliveryTarget() {
+        return respondInDM ? "user:" + userId : "channel:" + channelId;
+    }
+}
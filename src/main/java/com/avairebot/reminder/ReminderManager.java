@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.reminder;
+
+import com.avbot.av;
+import com.avbot.Constants;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.time.Carbon;
+import net.dv8tion.jda.core.EmbedBuilder;
+import net.dv8tion.jda.core.MessageBuilder;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.TextChannel;
+import net.dv8tion.jda.core.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ReminderManager {
+
+    /**
+     * The amount of minutes ahead of time reminders are loaded from the database into
+     * the reminder queue, reminders that are due further into the future are only
+     * stored in the database, so the memory used doesn't grow with the amount
+     * of pending reminders, this should always be longer than the interval
+     * used by the {@link com.avbot.scheduler.jobs.LoadUpcomingRemindersJob}.
+     */
+    public static final int LOOKAHEAD_MINUTES = 5;
+
+    private final Logger log = LoggerFactory.getLogger(ReminderManager.class);
+    private final ReminderQueue queue;
+
+    private final av av;
+
+    /**
+     * Reminders that are due before this point in time has either been loaded into the
+     * reminder queue already, or will be scheduled directly when they're created.
+     */
+    private volatile long loadedUntil = 0L;
+
+    /**
+     * Creates the reminder manager instance with the given av application
+     * instance, the reminder manager will load the reminders that are due in
+     * the near future from the database, and start the reminder queue.
+     *
+     * @param av The main av instance.
+     */
+    public ReminderManager(av av) {
+        this.av = av;
+        this.queue = new ReminderQueue(this::deliverReminders, 1, TimeUnit.SECONDS);
+
+        loadUpcomingReminders();
+
+        queue.start();
+    }
+
+    /**
+     * Creates a new reminder for the given user, the reminder is stored in the
+     * database so it survives restarts, and will be delivered once the given
+     * amount of seconds has passed.
+     *
+     * @param userId      The ID of the user that should be reminded.
+     * @param channelId   The ID of the channel the reminder was created in.
+     * @param respondInDM Determines if the reminder should be delivered in a DM.
+     * @param message     The message the user should be reminded about.
+     * @param seconds     The amount of seconds before the reminder should be delivered.
+     * @throws SQLException If the reminder fails to be stored in the database.
+     */
+    public void createReminder(long userId, long channelId, boolean respondInDM, @Nonnull String message, int seconds) throws SQLException {
+        Carbon createdAt = Carbon.now();
+        Carbon expiresAt = createdAt.copy().addSeconds(seconds);
+
+        Collection keys = av.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
+            .insert(statement -> {
+                statement.set("user_id", userId);
+                statement.set("channel_id", channelId);
+                statement.set("respond_in_dm", respondInDM);
+                statement.set("message", message, true);
+                statement.set("expires_at", expiresAt);
+                statement.set("created_at", createdAt);
+            });
+
+        if (keys.isEmpty() || expiresAt.getTimestamp() > loadedUntil) {
+            return;
+        }
+
+        queue.schedule(new Reminder(
+            keys.first().getLong("id"), userId, channelId, respondInDM, message, createdAt, expiresAt
+        ));
+    }
+
+    /**
+     * Loads all the reminders that are due within the next {@link #LOOKAHEAD_MINUTES}
+     * minutes into the reminder queue, this includes any reminders that were due
+     * while the bot was offline, reminders that are already waiting in the
+     * queue are skipped, so this method can safely be called repeatedly.
+     */
+    public synchronized void loadUpcomingReminders() {
+        Carbon horizon = Carbon.now().addMinutes(LOOKAHEAD_MINUTES);
+
+        // The horizon is moved before the reminders are loaded, so reminders created while
+        // the query is running are either picked up by the query, or scheduled directly.
+        loadedUntil = horizon.getTimestamp();
+
+        try {
+            int size = queue.size();
+            for (DataRow row : av.getDatabase().newQueryBuilder(Constants.REMINDERS_TABLE_NAME)
+                .where("expires_at", "<=", horizon.toDateTimeString())
+                .orderBy("expires_at")
+                .get()) {
+                queue.schedule(new Reminder(
+                    row.getLong("id"),
+                    row.getLong("user_id"),
+                    row.getLong("channel_id"),
+                    row.getBoolean("respond_in_dm"),
+                    row.getString("message"),
+                    row.getTimestamp("created_at"),
+                    row.getTimestamp("expires_at")
+                ));
+            }
+
+            log.debug("Loaded {} upcoming reminders, {} reminders are waiting to be delivered",
+                queue.size() - size, queue.size()
+            );
+        } catch (SQLException e) {
+            log.error("Failed to load upcoming reminders: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the amount of reminders that are loaded and waiting to be delivered.
+     *
+     * @return The amount of reminders waiting to be delivered.
+     */
+    public int getPendingReminders() {
+        return queue.size();
+    }
+
+    private void deliverReminders(String target, List<Reminder> reminders) {
+        if (!av.areWeReadyYet()) {
+            // The channel or user might just not have been loaded yet, so
+            // we'll try again once all the shards are connected.
+            for (Reminder reminder : reminders) {
+                queue.scheduleAfter(reminder, 30, TimeUnit.SECONDS);
+            }
+            return;
+        }
+
+        // The reminders are removed from the database before they're sent, a reminder
+        // that fails to be delivered in both the channel and the DM is dropped.
+        if (!deleteReminders(target, reminders)) {
+            for (Reminder reminder : reminders) {
+                queue.scheduleAfter(reminder, 1, TimeUnit.MINUTES);
+            }
+            return;
+        }
+
+        for (Reminder reminder : reminders) {
+            queue.complete(reminder);
+        }
+
+        log.debug("Delivering {} reminders to {}", reminders.size(), target);
+
+        deliverSequentially(reminders.iterator());
+    }
+
+    /**
+     * Delivers the given reminders one at a time, the next reminder is only sent
+     * once the previous one has been delivered, or failed to be delivered, so
+     * a single channel never has more than one reminder in flight at once.
+     *
+     * @param reminders The reminders that should be delivered.
+     */
+    private void deliverSequentially(Iterator<Reminder> reminders) {
+        if (!reminders.hasNext()) {
+            return;
+        }
+
+        Reminder reminder = reminders.next();
+        Runnable next = () -> deliverSequentially(reminders);
+
+        Message message = buildMessage(reminder);
+        if (reminder.isRespondInDM()) {
+            sendToUser(reminder, message, next, () -> sendToChannel(reminder, message, next, next));
+        } else {
+            sendToChannel(reminder, message, next, () -> sendToUser(reminder, message, next, next));
+        }
+    }
+
+    private void sendToChannel(Reminder reminder, Message message, Runnable success, Runnable failure) {
+        TextChannel channel = av.getShardManager().getTextChannelById(reminder.getChannelId());
+        if (channel == null || !channel.canTalk()) {
+            failure.run();
+            return;
+        }
+
+        channel.sendMessage(message).queue(sent -> success.run(), error -> failure.run());
+    }
+
+    private void sendToUser(Reminder reminder, Message message, Runnable success, Runnable failure) {
+        User user = av.getShardManager().getUserById(reminder.getUserId());
+        if (user == null) {
+            failure.run();
+            return;
+        }
+
+        user.openPrivateChannel().queue(privateChannel -> {
+            privateChannel.sendMessage(message).queue(sent -> success.run(), error -> failure.run());
+        }, error -> failure.run());
+    }
+
+    private Message buildMessage(Reminder reminder) {
+        return new MessageBuilder()
+            .setContent(String.format("<@%s>, %s you asked to be reminded about:",
+                reminder.getUserId(),
+                reminder.getCreatedAt().diffForHumans()
+            ))
+            .setEmbed(new EmbedBuilder()
+                .setDescription(reminder.getMessage())
+                .build()
+            ).build();
+    }
+
+    private boolean deleteReminders(String target, List<Reminder> reminders) {
+        String query = String.format("DELETE FROM `%s` WHERE `id` IN (%s)",
+            Constants.REMINDERS_TABLE_NAME, String.join(", ", Collections.nCopies(reminders.size(), "?"))
+        );
+
+        try {
+            av.getDatabase().queryBatch(query, statement -> {
+                for (int i = 0; i < reminders.size(); i++) {
+                    statement.setLong(i + 1, reminders.get(i).getId());
+                }
+                statement.addBatch();
+            });
+
+            return true;
+        } catch (SQLException e) {
+            log.error("Failed to delete {} due reminders for {}", reminders.size(), target, e);
+
+            return false;
+        }
+    }
+}
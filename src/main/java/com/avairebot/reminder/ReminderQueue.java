@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * The reminder queue holds the reminders that are due in the near future ordered by when
+ * they're due, a single thread sleeps until the earliest reminder is due, and then hands
+ * all the reminders that are due in the same tick to the delivery handler, grouped
+ * together by the channel they're delivered to.
+ */
+public class ReminderQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderQueue.class);
+
+    private final DelayQueue<Due> queue = new DelayQueue<>();
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    private final BiConsumer<String, List<Reminder>> handler;
+    private final long tickMillis;
+
+    private Thread thread = null;
+
+    /**
+     * Creates a new reminder queue using the given handler and tick length, due times are
+     * rounded up to the next tick so reminders due close to each other are delivered together.
+     *
+     * @param handler    The handler that should be called with the delivery target and the reminders that are due.
+     * @param tickLength The length of a single tick.
+     * @param unit       The unit of the tick length argument.
+     */
+    public ReminderQueue(@Nonnull BiConsumer<String, List<Reminder>> handler, long tickLength, @Nonnull TimeUnit unit) {
+        this.handler = handler;
+        this.tickMillis = Math.max(1L, unit.toMillis(tickLength));
+    }
+
+    /**
+     * Schedules the given reminder to be delivered at its due time, reminders
+     * that are already waiting in the queue will not be scheduled twice.
+     *
+     * @param reminder The reminder that should be scheduled.
+     * @return {@code True} if the reminder was scheduled, {@code False} if it was already scheduled.
+     */
+    public boolean schedule(@Nonnull Reminder reminder) {
+        if (!scheduled.add(reminder.getId())) {
+            return false;
+        }
+
+        schedule(reminder, reminder.getExpiresAt().getTimestamp() * 1000L);
+
+        return true;
+    }
+
+    /**
+     * Schedules the given reminder to be delivered after the given delay, regardless
+     * of the due time set on the reminder, this is used to retry reminders that
+     * couldn't be delivered yet, like while the shards are still connecting.
+     *
+     * @param reminder The reminder that should be scheduled.
+     * @param delay    The delay before the reminder should be delivered again.
+     * @param unit     The unit of the delay argument.
+     */
+    public void scheduleAfter(@Nonnull Reminder reminder, long delay, @Nonnull TimeUnit unit) {
+        scheduled.add(reminder.getId());
+
+        schedule(reminder, System.currentTimeMillis() + unit.toMillis(delay));
+    }
+
+    /**
+     * Marks the given reminder as handled, allowing a reminder with the same ID to be
+     * scheduled again, this should only be called once the reminder has been removed
+     * from the database, so it can't be loaded and scheduled a second time.
+     *
+     * @param reminder The reminder that has been handled.
+     */
+    public void complete(@Nonnull Reminder reminder) {
+        scheduled.remove(reminder.getId());
+    }
+
+    /**
+     * Gets the amount of reminders that are currently waiting to be delivered.
+     *
+     * @return The amount of reminders waiting to be delivered.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Starts the thread that waits for the reminders to be due, if the thread is already
+     * running this method does nothing, the thread is a daemon thread so it will
+     * not stop the application from shutting down.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "reminder-delivery");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the thread waiting for the reminders to be due.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void schedule(Reminder reminder, long dueAtMillis) {
+        long tick = (dueAtMillis + tickMillis - 1) / tickMillis;
+
+        queue.add(new Due(reminder, tick * tickMillis));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Due> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due);
+
+                handleDue(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Groups the given due entries by their delivery target and passes each group to the handler.
+     *
+     * @param due The list of due entries.
+     */
+    void handleDue(List<Due> due) {
+        Map<String, List<Reminder>> targets = new LinkedHashMap<>();
+        for (Due entry : due) {
+            targets.computeIfAbsent(entry.reminder.getDeliveryTarget(), target -> new ArrayList<>())
+                .add(entry.reminder);
+        }
+
+        for (Map.Entry<String, List<Reminder>> entry : targets.entrySet()) {
+            try {
+                handler.accept(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.error("Failed to deliver {} reminders to {}, error: {}",
+                    entry.getValue().size(), entry.getKey(), e.getMessage(), e
+                );
+            }
+        }
+    }
+
+    static class Due implements Delayed {
+
+        private final Reminder reminder;
+        private final long dueAtMillis;
+
+        Due(Reminder reminder, long dueAtMillis) {
+            this.reminder = reminder;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed other) {
+            if (other instanceof Due) {
+                return Long.compare(dueAtMillis, ((Due) other).dueAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
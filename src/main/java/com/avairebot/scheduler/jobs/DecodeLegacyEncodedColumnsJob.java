@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.scheduler.jobs;
+
+import com.avbot.av;
+import com.avbot.contracts.scheduler.Job;
+import com.avbot.database.migrate.LegacyColumnDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This job will decode the text columns that used to be stored encoded
+ * with base64, one batch of rows at a time until every column has
+ * been decoded, after that the job will do nothing.
+ */
+public class DecodeLegacyEncodedColumnsJob extends Job {
+
+    private static final Logger log = LoggerFactory.getLogger(DecodeLegacyEncodedColumnsJob.class);
+
+    private final LegacyColumnDecoder decoder;
+    private boolean completed = false;
+
+    public DecodeLegacyEncodedColumnsJob(av av) {
+        super(av, 30, 5, TimeUnit.SECONDS);
+
+        this.decoder = new LegacyColumnDecoder(av.getDatabase(), 500);
+    }
+
+    @Override
+    public void run() {
+        if (completed) {
+            return;
+        }
+
+        try {
+            completed = !decoder.decodeNextBatch();
+        } catch (SQLException e) {
+            log.error("Failed to decode a batch of legacy encoded rows, error: {}", e.getMessage(), e);
+        }
+    }
+}
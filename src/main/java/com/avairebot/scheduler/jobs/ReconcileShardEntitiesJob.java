@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.scheduler.jobs;
+
+import com.avbot.av;
+import com.avbot.contracts.scheduler.Job;
+import com.avbot.contracts.scheduler.Task;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ReconcileShardEntitiesJob extends Job {
+
+    /**
+     * The reconciliation is handed off to its own low priority thread, so the
+     * sweep never competes with the scheduler threads used by other jobs.
+     */
+    private static final ExecutorService reconcileService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setPriority(Thread.MIN_PRIORITY)
+        .setNameFormat("shard-entity-reconcile-%d")
+        .setDaemon(true)
+        .build()
+    );
+
+    public ReconcileShardEntitiesJob(av av) {
+        super(av, 5, 5, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void run() {
+        handleTask((Task) av -> {
+            if (!av.areWeReadyYet()) {
+                return;
+            }
+
+            reconcileService.submit(() -> av.getShardEntityCounter().reconcile());
+        });
+    }
+}
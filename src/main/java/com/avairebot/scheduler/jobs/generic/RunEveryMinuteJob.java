@@ -30,7 +30,7 @@ import java.util.concurrent.TimeUnit;
 public class RunEveryMinuteJob extends Job {
 
     private final ChangeGameTask changeGameTask = new ChangeGameTask();
-    private final DrainMuteQueueTask drainMuteQueueTask = new DrainMuteQueueTask();
+    private final SaveAudioStatesTask saveAudioStatesTask = new SaveAudioStatesTask();
     private final GarbageCollectorTask garbageCollectorTask = new GarbageCollectorTask();
     private final SyncBlacklistMetricsTask syncBlacklistMetricsTask = new SyncBlacklistMetricsTask();
     private final ResetRespectStatisticsTask resetRespectStatisticsTask = new ResetRespectStatisticsTask();
@@ -48,7 +48,7 @@ public class RunEveryMinuteJob extends Job {
     public void run() {
         handleTask(
             changeGameTask,
-            drainMuteQueueTask,
+            saveAudioStatesTask,
             garbageCollectorTask,
             syncBlacklistMetricsTask,
             resetRespectStatisticsTask,
@@ -26,7 +26,6 @@ import com.avbot.contracts.scheduler.Job;
 import com.avbot.scheduler.tasks.ApplicationShutdownTask;
 import com.avbot.scheduler.tasks.DrainReactionRoleQueueTask;
 import com.avbot.scheduler.tasks.DrainVoteQueueTask;
-import com.avbot.scheduler.tasks.DrainWeatherQueueTask;
 
 import java.util.concurrent.TimeUnit;
 
@@ -34,7 +33,6 @@ public class RunEverySecondJob extends Job {
 
     private final DrainVoteQueueTask emptyVoteQueueTask = new DrainVoteQueueTask();
     private final ApplicationShutdownTask shutdownTask = new ApplicationShutdownTask();
-    private final DrainWeatherQueueTask drainWeatherQueueTask = new DrainWeatherQueueTask();
     private final DrainReactionRoleQueueTask reactionRoleQueueTask = new DrainReactionRoleQueueTask();
 
     public RunEverySecondJob(av av) {
@@ -43,6 +41,6 @@ public class RunEverySecondJob extends Job {
 
     @Override
     public void run() {
-        handleTask(emptyVoteQueueTask, shutdownTask, drainWeatherQueueTask, reactionRoleQueueTask);
+        handleTask(emptyVoteQueueTask, shutdownTask, reactionRoleQueueTask);
     }
 }
@@ -25,6 +25,7 @@ import com.avbot.av;
 import com.avbot.contracts.scheduler.Job;
 import com.avbot.scheduler.tasks.MusicActivityTask;
 import com.avbot.scheduler.tasks.SyncJDAMetricsCounterTask;
+import com.avbot.scheduler.tasks.UpdateLavalinkNodesTask;
 
 import java.util.concurrent.TimeUnit;
 
@@ -32,6 +33,7 @@ public class RunEveryThirtySecondsJob extends Job {
 
     private final MusicActivityTask musicActivityTask = new MusicActivityTask();
     private final SyncJDAMetricsCounterTask syncGuildMetricsCounterTask = new SyncJDAMetricsCounterTask();
+    private final UpdateLavalinkNodesTask updateLavalinkNodesTask = new UpdateLavalinkNodesTask();
 
     public RunEveryThirtySecondsJob(av av) {
         super(av, 0, 30, TimeUnit.SECONDS);
@@ -41,7 +43,8 @@ public class RunEveryThirtySecondsJob extends Job {
     public void run() {
         handleTask(
             musicActivityTask,
-            syncGuildMetricsCounterTask
+            syncGuildMetricsCounterTask,
+            updateLavalinkNodesTask
         );
     }
 }
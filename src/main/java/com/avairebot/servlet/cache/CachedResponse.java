@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.servlet.cache;
+
+import com.google.common.hash.Hashing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An immutable, pre-encoded response body, the JSON payload is encoded to bytes
+ * once, along with a gzipped copy for larger payloads and a strong ETag, so
+ * the same snapshot can be served to any number of requests without
+ * serializing or compressing anything on the request path.
+ */
+public class CachedResponse {
+
+    /**
+     * The minimum amount of bytes a payload must have before a gzipped
+     * copy is created, anything smaller than this tends to get
+     * larger from the gzip headers than it saves.
+     */
+    static final int GZIP_MIN_LENGTH = 512;
+
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final String etag;
+    private final long createdAt;
+
+    private CachedResponse(byte[] body, byte[] gzipBody, String etag) {
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.etag = etag;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates a new cached response from the given JSON payload.
+     *
+     * @param json The JSON payload that should be cached.
+     * @return The cached response for the given payload.
+     */
+    public static CachedResponse of(@Nonnull String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        return new CachedResponse(
+            body,
+            body.length < GZIP_MIN_LENGTH ? null : gzip(body),
+            "\"" + Hashing.murmur3_128().hashBytes(body).toString() + "\""
+        );
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream stream = new GZIPOutputStream(output)) {
+            stream.write(body);
+        } catch (IOException e) {
+            // Writing to a byte array output stream can't actually fail, but if it
+            // somehow does we'll just serve the uncompressed body instead.
+            return null;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Gets the UTF-8 encoded JSON payload.
+     *
+     * @return The UTF-8 encoded JSON payload.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Gets the gzipped JSON payload, or {@code NULL} if the payload
+     * was too small to be worth compressing.
+     *
+     * @return The gzipped JSON payload, or {@code NULL}.
+     */
+    @Nullable
+    public byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    /**
+     * Gets the strong ETag for the payload, including the surrounding quotes.
+     *
+     * @return The ETag for the payload.
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * Gets the unix timestamp in milliseconds for when the response was created.
+     *
+     * @return The unix timestamp in milliseconds for when the response was created.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Checks if the given {@code If-None-Match} header value matches
+     * the ETag of the response, weak validators are compared
+     * using the weak comparison, as per RFC 7232.
+     *
+     * @param ifNoneMatch The value of the {@code If-None-Match} header.
+     * @return {@code True} if the client already has the response, {@code False} otherwise.
+     */
+    public boolean matches(@Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
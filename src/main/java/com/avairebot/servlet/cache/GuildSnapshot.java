@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.servlet.cache;
+
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.entities.Member;
+import net.dv8tion.jda.core.entities.User;
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A snapshot of the guild information exposed through the guilds API, the
+ * member and channel counters are created from the guild once, and are
+ * then kept up to date from JDA events, so serving the snapshot
+ * doesn't have to iterate over the guilds member list.
+ */
+public class GuildSnapshot {
+
+    /**
+     * Shared between all the snapshots so a version is never reused, not even
+     * by a snapshot that was rebuilt for the same guild, which allows
+     * responses to be validated by just comparing the versions.
+     */
+    private static final AtomicLong versionSequence = new AtomicLong();
+
+    private final String id;
+    private final String name;
+    private final String region;
+    private final String icon;
+    private final JSONObject owner;
+
+    private final AtomicInteger textChannels;
+    private final AtomicInteger voiceChannels;
+    private final AtomicInteger members;
+    private final AtomicInteger bots;
+
+    private volatile long version;
+    private volatile String json;
+
+    GuildSnapshot(String id, String name, String region, String icon, JSONObject owner, int textChannels, int voiceChannels, int members, int bots) {
+        this.id = id;
+        this.name = name;
+        this.region = region;
+        this.icon = icon;
+        this.owner = owner;
+
+        this.textChannels = new AtomicInteger(textChannels);
+        this.voiceChannels = new AtomicInteger(voiceChannels);
+        this.members = new AtomicInteger(members);
+        this.bots = new AtomicInteger(bots);
+
+        this.version = versionSequence.incrementAndGet();
+    }
+
+    /**
+     * Creates a new snapshot from the given guild, this will iterate
+     * over the members of the guild to count the bots, so it
+     * should only be called once per guild snapshot.
+     *
+     * @param guild The guild the snapshot should be created for.
+     * @return The snapshot for the given guild.
+     */
+    static GuildSnapshot of(Guild guild) {
+        JSONObject owner = null;
+        if (guild.getOwner() != null) {
+            User user = guild.getOwner().getUser();
+
+            owner = new JSONObject();
+            owner.put("id", user.getId());
+            owner.put("username", user.getName());
+            owner.put("discriminator", user.getDiscriminator());
+            owner.put("avatar", user.getEffectiveAvatarUrl());
+        }
+
+        int bots = 0;
+        for (Member member : guild.getMembers()) {
+            if (member.getUser().isBot()) {
+                bots++;
+            }
+        }
+
+        return new GuildSnapshot(
+            guild.getId(),
+            guild.getName(),
+            guild.getRegion().getName(),
+            guild.getIconUrl(),
+            owner,
+            guild.getTextChannels().size(),
+            guild.getVoiceChannels().size(),
+            guild.getMembers().size(),
+            bots
+        );
+    }
+
+    /**
+     * Gets the version of the snapshot, the version is changed
+     * every time one of the counters in the snapshot changes.
+     *
+     * @return The version of the snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the amount of members in the guild, including bots.
+     *
+     * @return The amount of members in the guild.
+     */
+    public int getMembers() {
+        return members.get();
+    }
+
+    /**
+     * Gets the amount of bots in the guild.
+     *
+     * @return The amount of bots in the guild.
+     */
+    public int getBots() {
+        return bots.get();
+    }
+
+    /**
+     * Gets the amount of text channels in the guild.
+     *
+     * @return The amount of text channels in the guild.
+     */
+    public int getTextChannels() {
+        return textChannels.get();
+    }
+
+    /**
+     * Gets the amount of voice channels in the guild.
+     *
+     * @return The amount of voice channels in the guild.
+     */
+    public int getVoiceChannels() {
+        return voiceChannels.get();
+    }
+
+    void memberJoined(boolean bot) {
+        members.incrementAndGet();
+        if (bot) {
+            bots.incrementAndGet();
+        }
+        changed();
+    }
+
+    void memberLeft(boolean bot) {
+        members.decrementAndGet();
+        if (bot) {
+            bots.decrementAndGet();
+        }
+        changed();
+    }
+
+    void textChannelsChanged(int delta) {
+        textChannels.addAndGet(delta);
+        changed();
+    }
+
+    void voiceChannelsChanged(int delta) {
+        voiceChannels.addAndGet(delta);
+        changed();
+    }
+
+    private void changed() {
+        json = null;
+        version = versionSequence.incrementAndGet();
+    }
+
+    /**
+     * Gets the JSON representation of the snapshot, the JSON string is
+     * cached until one of the counters in the snapshot changes.
+     *
+     * @return The JSON representation of the snapshot.
+     */
+    public String toJson() {
+        String json = this.json;
+        if (json == null) {
+            json = buildJson().toString();
+            this.json = json;
+        }
+        return json;
+    }
+
+    private JSONObject buildJson() {
+        JSONObject guild = new JSONObject();
+
+        guild.put("id", id);
+        guild.put("name", name);
+        guild.put("region", region);
+        guild.put("icon", icon == null ? JSONObject.NULL : icon);
+        guild.put("owner", owner == null ? JSONObject.NULL : owner);
+
+        int members = this.members.get();
+        int bots = this.bots.get();
+
+        JSONObject counter = new JSONObject();
+        counter.put("textChannels", textChannels.get());
+        counter.put("voiceChannels", voiceChannels.get());
+        counter.put("members", members);
+        counter.put("users", members - bots);
+        counter.put("bots", bots);
+        guild.put("counter", counter);
+
+        return guild;
+    }
+}
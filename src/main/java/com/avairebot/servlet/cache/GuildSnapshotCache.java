@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.servlet.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.dv8tion.jda.core.entities.Guild;
+import org.json.JSONObject;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the guild snapshots used by the guilds API, along with the encoded
+ * responses built from them. Snapshots are created lazily the first time
+ * a guild is requested, and are then updated through the event methods
+ * below, the snapshots also expires after a few minutes so any drift
+ * from missed events is reconciled against JDA's own cache.
+ */
+public class GuildSnapshotCache {
+
+    private final Cache<Long, GuildSnapshot> snapshots = CacheBuilder.newBuilder()
+        .expireAfterWrite(10, TimeUnit.MINUTES)
+        .build();
+
+    private final Cache<String, SnapshotResponse> responses = CacheBuilder.newBuilder()
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .maximumSize(1000)
+        .build();
+
+    /**
+     * Gets the snapshot for the given guild, creating it if it doesn't exist yet.
+     *
+     * @param guild The guild that the snapshot should be returned for.
+     * @return The snapshot for the given guild.
+     */
+    public GuildSnapshot getSnapshot(@Nonnull Guild guild) {
+        GuildSnapshot snapshot = snapshots.getIfPresent(guild.getIdLong());
+        if (snapshot == null) {
+            snapshot = GuildSnapshot.of(guild);
+            snapshots.put(guild.getIdLong(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the encoded response for the given IDs and snapshots, the response is
+     * only rebuilt if one of the given snapshots have changed since the
+     * last time a response was built for the same list of IDs.
+     *
+     * @param ids       The guild IDs that was requested, used as the keys in the response.
+     * @param snapshots The snapshots for each of the IDs, or {@code NULL} for guilds that wasn't found.
+     * @return The encoded response for the given IDs and snapshots.
+     */
+    public CachedResponse getResponse(@Nonnull List<String> ids, @Nonnull List<GuildSnapshot> snapshots) {
+        String key = String.join(",", ids);
+
+        long[] versions = new long[snapshots.size()];
+        for (int i = 0; i < versions.length; i++) {
+            GuildSnapshot snapshot = snapshots.get(i);
+            versions[i] = snapshot == null ? -1 : snapshot.getVersion();
+        }
+
+        SnapshotResponse cached = responses.getIfPresent(key);
+        if (cached != null && cached.isValid(versions)) {
+            return cached.response;
+        }
+
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+
+            GuildSnapshot snapshot = snapshots.get(i);
+            json.append(JSONObject.quote(ids.get(i)))
+                .append(':')
+                .append(snapshot == null ? "null" : snapshot.toJson());
+        }
+
+        CachedResponse response = CachedResponse.of(json.append('}').toString());
+        responses.put(key, new SnapshotResponse(versions, response));
+
+        return response;
+    }
+
+    /**
+     * Updates the member counters for the guild with the given ID, if it has a snapshot.
+     *
+     * @param guildId The ID of the guild that the member joined.
+     * @param bot     {@code True} if the member is a bot, {@code False} otherwise.
+     */
+    public void onMemberJoin(long guildId, boolean bot) {
+        GuildSnapshot snapshot = snapshots.getIfPresent(guildId);
+        if (snapshot != null) {
+            snapshot.memberJoined(bot);
+        }
+    }
+
+    /**
+     * Updates the member counters for the guild with the given ID, if it has a snapshot.
+     *
+     * @param guildId The ID of the guild that the member left.
+     * @param bot     {@code True} if the member is a bot, {@code False} otherwise.
+     */
+    public void onMemberLeave(long guildId, boolean bot) {
+        GuildSnapshot snapshot = snapshots.getIfPresent(guildId);
+        if (snapshot != null) {
+            snapshot.memberLeft(bot);
+        }
+    }
+
+    /**
+     * Updates the text channel counter for the guild with the given ID, if it has a snapshot.
+     *
+     * @param guildId The ID of the guild the text channel was created or deleted in.
+     * @param delta   The amount of text channels that was created, or deleted if negative.
+     */
+    public void onTextChannelsChange(long guildId, int delta) {
+        GuildSnapshot snapshot = snapshots.getIfPresent(guildId);
+        if (snapshot != null) {
+            snapshot.textChannelsChanged(delta);
+        }
+    }
+
+    /**
+     * Updates the voice channel counter for the guild with the given ID, if it has a snapshot.
+     *
+     * @param guildId The ID of the guild the voice channel was created or deleted in.
+     * @param delta   The amount of voice channels that was created, or deleted if negative.
+     */
+    public void onVoiceChannelsChange(long guildId, int delta) {
+        GuildSnapshot snapshot = snapshots.getIfPresent(guildId);
+        if (snapshot != null) {
+            snapshot.voiceChannelsChanged(delta);
+        }
+    }
+
+    /**
+     * Invalidates the snapshot for the guild with the given ID, this should be called when
+     * the guild information that isn't counted, like the name or owner changes, or
+     * when the bot leaves the guild, the snapshot is then rebuilt on demand.
+     *
+     * @param guildId The ID of the guild that should be invalidated.
+     */
+    public void invalidate(long guildId) {
+        snapshots.invalidate(guildId);
+    }
+
+    /**
+     * Gets the snapshot for the guild with the given ID if one exists.
+     *
+     * @param guildId The ID of the guild.
+     * @return The snapshot for the guild, or {@code NULL} if the guild doesn't have a snapshot.
+     */
+    @Nullable
+    public GuildSnapshot getIfPresent(long guildId) {
+        return snapshots.getIfPresent(guildId);
+    }
+
+    private static class SnapshotResponse {
+
+        private final long[] versions;
+        private final CachedResponse response;
+
+        SnapshotResponse(long[] versions, CachedResponse response) {
+            this.versions = versions;
+            this.response = response;
+        }
+
+        boolean isValid(long[] versions) {
+            return Arrays.equals(this.versions, versions);
+        }
+    }
+}
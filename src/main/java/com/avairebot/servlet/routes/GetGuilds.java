@@ -23,58 +23,36 @@ package com.avbot.servlet.routes;
 
 import com.avbot.av;
 import com.avbot.contracts.metrics.SparkRoute;
+import com.avbot.servlet.cache.GuildSnapshot;
+import com.avbot.servlet.cache.GuildSnapshotCache;
 import net.dv8tion.jda.core.entities.Guild;
-import org.json.JSONObject;
 import spark.Request;
 import spark.Response;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 public class GetGuilds extends SparkRoute {
 
     @Override
     public Object handle(Request request, Response response) throws Exception {
-        String[] ids = request.params("ids").split(",");
+        GuildSnapshotCache cache = av.getInstance().getGuildSnapshotCache();
+
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(request.params("ids").split(","))));
+        List<GuildSnapshot> snapshots = new ArrayList<>(ids.size());
 
-        JSONObject root = new JSONObject();
         for (String id : ids) {
             try {
-                Guild guildById = av.getInstance().getShardManager().getGuildById(Long.parseLong(id));
-                if (guildById == null) {
-                    root.put(id, JSONObject.NULL);
-                    continue;
-                }
-
-                JSONObject guild = new JSONObject();
-
-                guild.put("id", guildById.getId());
-                guild.put("name", guildById.getName());
-                guild.put("region", guildById.getRegion().getName());
-                guild.put("icon", guildById.getIconUrl());
-
-                JSONObject owner = new JSONObject();
-                owner.put("id", guildById.getOwner().getUser().getId());
-                owner.put("username", guildById.getOwner().getUser().getName());
-                owner.put("discriminator", guildById.getOwner().getUser().getDiscriminator());
-                owner.put("avatar", guildById.getOwner().getUser().getEffectiveAvatarUrl());
-                guild.put("owner", owner);
-
-                JSONObject counter = new JSONObject();
-
-                long userCount = guildById.getMembers()
-                    .stream().filter(member -> member.getUser().isBot()).count();
-
-                counter.put("textChannels", guildById.getTextChannels().size());
-                counter.put("voiceChannels", guildById.getVoiceChannels().size());
-                counter.put("members", guildById.getMembers().size());
-                counter.put("users", guildById.getMembers().size() - userCount);
-                counter.put("bots", userCount);
-                guild.put("counter", counter);
+                Guild guild = av.getInstance().getShardManager().getGuildById(Long.parseLong(id));
 
-                root.put(id, guild);
+                snapshots.add(guild == null ? null : cache.getSnapshot(guild));
             } catch (NumberFormatException e) {
-                root.put(id, JSONObject.NULL);
+                snapshots.add(null);
             }
         }
 
-        return root;
+        return sendCachedResponse(request, response, cache.getResponse(ids, snapshots));
     }
 }
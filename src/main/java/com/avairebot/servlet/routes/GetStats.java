@@ -25,6 +25,9 @@ import com.avbot.AppInfo;
 import com.avbot.av;
 import com.avbot.GitInfo;
 import com.avbot.contracts.metrics.SparkRoute;
+import com.avbot.servlet.cache.CachedResponse;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import net.dv8tion.jda.core.JDA;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -33,11 +36,26 @@ import spark.Response;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
+import java.util.concurrent.TimeUnit;
 
 public class GetStats extends SparkRoute {
 
+    /**
+     * The stats are rebuilt at most once within this amount of seconds, any
+     * requests in between are served the same pre-encoded snapshot.
+     */
+    private static final long SNAPSHOT_REFRESH_SECONDS = 5;
+
+    private final Supplier<CachedResponse> snapshot = Suppliers.memoizeWithExpiration(
+        this::buildSnapshot, SNAPSHOT_REFRESH_SECONDS, TimeUnit.SECONDS
+    );
+
     @Override
     public Object handle(Request request, Response response) throws Exception {
+        return sendCachedResponse(request, response, snapshot.get());
+    }
+
+    private CachedResponse buildSnapshot() {
         JSONObject root = new JSONObject();
 
         root.put("application", buildApplication());
@@ -52,7 +70,7 @@ public class GetStats extends SparkRoute {
             // which is only the case during development.
         }
 
-        return root;
+        return CachedResponse.of(root.toString());
     }
 
     private JSONObject buildApplication() {
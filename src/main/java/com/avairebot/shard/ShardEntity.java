@@ -21,36 +21,83 @@
 
 package com.avbot.shard;
 
-import com.avbot.av;
 import com.avbot.contracts.shard.EntityGenerator;
 import net.dv8tion.jda.core.JDA;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class ShardEntity {
 
+    private final String name;
     private final EntityGenerator generator;
 
-    private long value = 0;
-    private long lastUpdate = -1;
+    private final Map<Integer, AtomicLong> shards = new ConcurrentHashMap<>();
+    private final AtomicLong total = new AtomicLong();
 
-    ShardEntity(EntityGenerator generator) {
+    ShardEntity(String name, EntityGenerator generator) {
+        this.name = name;
         this.generator = generator;
     }
 
-    public long getValue(av av) {
-        if (isOutdated()) {
-            long count = 0;
-            for (JDA shard : av.getShardManager().getShards()) {
-                count += generator.generateEntity(shard);
-            }
-            value = count;
+    /**
+     * Gets the name of the entity, used for metrics and logging.
+     *
+     * @return The name of the entity.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the total value of the entity between all the shards.
+     *
+     * @return The total value of the entity.
+     */
+    public long getValue() {
+        return total.get();
+    }
+
+    /**
+     * Gets the value of the entity for the shard with the given ID.
+     *
+     * @param shardId The ID of the shard.
+     * @return The value of the entity for the given shard.
+     */
+    public long getValue(int shardId) {
+        AtomicLong value = shards.get(shardId);
+
+        return value == null ? 0 : value.get();
+    }
+
+    /**
+     * Adds the given delta to the value for the given shard.
+     *
+     * @param shard The shard the value should be changed for.
+     * @param delta The amount that should be added to the value, or removed if negative.
+     */
+    void add(JDA shard, long delta) {
+        getCounter(shard).addAndGet(delta);
+        total.addAndGet(delta);
+    }
+
+    /**
+     * Recalculates the value for the given shard using the entity generator.
+     *
+     * @param shard The shard the value should be recalculated for.
+     * @return The difference between the old and new value for the shard.
+     */
+    long reconcile(JDA shard) {
+        long value = generator.generateEntity(shard);
+        long drift = value - getCounter(shard).getAndSet(value);
 
-            lastUpdate = System.currentTimeMillis() + 15000;
-        }
+        total.addAndGet(drift);
 
-        return value;
+        return drift;
     }
 
-    private boolean isOutdated() {
-        return lastUpdate < System.currentTimeMillis();
+    private AtomicLong getCounter(JDA shard) {
+        return shards.computeIfAbsent(shard.getShardInfo().getShardId(), id -> new AtomicLong());
     }
 }
@@ -22,15 +22,26 @@
 package com.avbot.shard;
 
 import com.avbot.av;
+import com.avbot.metrics.Metrics;
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.Guild;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ShardEntityCounter {
 
+    private static final Logger log = LoggerFactory.getLogger(ShardEntityCounter.class);
+
     private final av av;
 
-    private final ShardEntity guilds = new ShardEntity(shard -> shard.getGuilds().size());
-    private final ShardEntity textChannels = new ShardEntity(shard -> shard.getTextChannels().size());
-    private final ShardEntity voiceChannels = new ShardEntity(shard -> shard.getVoiceChannels().size());
-    private final ShardEntity users = new ShardEntity(shard -> shard.getUsers().size());
+    private final ShardEntity guilds = new ShardEntity("guilds", shard -> shard.getGuildCache().size());
+    private final ShardEntity textChannels = new ShardEntity("text", shard -> shard.getTextChannelCache().size());
+    private final ShardEntity voiceChannels = new ShardEntity("voice", shard -> shard.getVoiceChannelCache().size());
+    private final ShardEntity users = new ShardEntity("users", shard -> shard.getUserCache().size());
+
+    private final ShardEntity[] entities = new ShardEntity[]{
+        guilds, textChannels, voiceChannels, users
+    };
 
     public ShardEntityCounter(av av) {
         this.av = av;
@@ -42,7 +53,7 @@ public class ShardEntityCounter {
      * @return The total amount of guilds for the bot.
      */
     public long getGuilds() {
-        return guilds.getValue(av);
+        return guilds.getValue();
     }
 
     /**
@@ -51,7 +62,7 @@ public class ShardEntityCounter {
      * @return The total amount of text channels for the bot.
      */
     public long getTextChannels() {
-        return textChannels.getValue(av);
+        return textChannels.getValue();
     }
 
     /**
@@ -60,7 +71,7 @@ public class ShardEntityCounter {
      * @return The total amount of voice channels for the bot.
      */
     public long getVoiceChannels() {
-        return voiceChannels.getValue(av);
+        return voiceChannels.getValue();
     }
 
     /**
@@ -78,6 +89,104 @@ public class ShardEntityCounter {
      * @return The total amount of users for the bot.
      */
     public long getUsers() {
-        return users.getValue(av);
+        return users.getValue();
+    }
+
+    /**
+     * Updates the counters after the bot has joined the given guild.
+     *
+     * @param guild The guild that the bot joined.
+     */
+    public void onGuildJoin(Guild guild) {
+        guilds.add(guild.getJDA(), 1);
+        textChannels.add(guild.getJDA(), guild.getTextChannelCache().size());
+        voiceChannels.add(guild.getJDA(), guild.getVoiceChannelCache().size());
+        users.reconcile(guild.getJDA());
+    }
+
+    /**
+     * Updates the counters after the bot has left the given guild.
+     *
+     * @param guild The guild that the bot left.
+     */
+    public void onGuildLeave(Guild guild) {
+        guilds.add(guild.getJDA(), -1);
+        textChannels.add(guild.getJDA(), -guild.getTextChannelCache().size());
+        voiceChannels.add(guild.getJDA(), -guild.getVoiceChannelCache().size());
+        users.reconcile(guild.getJDA());
+    }
+
+    /**
+     * Updates the text channel counter for the given shard.
+     *
+     * @param shard The shard the text channel was created or deleted on.
+     * @param delta The amount of text channels that was created, or deleted if negative.
+     */
+    public void onTextChannelsChange(JDA shard, int delta) {
+        textChannels.add(shard, delta);
+    }
+
+    /**
+     * Updates the voice channel counter for the given shard.
+     *
+     * @param shard The shard the voice channel was created or deleted on.
+     * @param delta The amount of voice channels that was created, or deleted if negative.
+     */
+    public void onVoiceChannelsChange(JDA shard, int delta) {
+        voiceChannels.add(shard, delta);
+    }
+
+    /**
+     * Updates the user counter for the given shard, this should be called when
+     * members join or leave a guild, since JDA only keeps one user object
+     * per shard, the user cache size is used directly instead of trying
+     * to work out if the user was shared with any other guilds.
+     *
+     * @param shard The shard the member joined or left a guild on.
+     */
+    public void onMembersChange(JDA shard) {
+        users.reconcile(shard);
+    }
+
+    /**
+     * Recalculates all the counters for the given shard without reporting any drift, this
+     * should be called when the shard has (re)loaded its cache, like when the shard
+     * becomes ready, since no events are sent for the guilds loaded by then.
+     *
+     * @param shard The shard that should be recalculated.
+     */
+    public void syncShard(JDA shard) {
+        for (ShardEntity entity : entities) {
+            entity.reconcile(shard);
+        }
+    }
+
+    /**
+     * Recalculates all the counters for all the shards, correcting any drift the event driven
+     * counters might have gotten from missed events, any drift that is found is reported
+     * through the shard entity drift metric, and logged.
+     *
+     * @return The total amount of drift that was corrected between all the counters.
+     */
+    public long reconcile() {
+        if (av.getShardManager() == null) {
+            return 0;
+        }
+
+        long totalDrift = 0;
+        for (ShardEntity entity : entities) {
+            long drift = 0;
+            for (JDA shard : av.getShardManager().getShards()) {
+                drift += Math.abs(entity.reconcile(shard));
+            }
+
+            if (drift > 0) {
+                Metrics.shardEntityDrift.labels(entity.getName()).inc(drift);
+                log.info("Reconciled the {} shard entity counter, corrected a drift of {}", entity.getName(), drift);
+            }
+            totalDrift += drift;
+        }
+
+        return totalDrift;
     }
 }
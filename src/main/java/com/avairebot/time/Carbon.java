@@ -25,8 +25,9 @@ import com.avbot.exceptions.InvalidFormatException;
 
 import javax.annotation.Nonnull;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.OffsetDateTime;
+import java.time.*;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /**
@@ -37,6 +38,10 @@ import java.util.*;
  * Carbon works as a standalone utility that runs along side av, it's used to help
  * format <code>DATETIME</code> and other date fields in the database, and gives
  * you a quick and easy way to interact with the dates and calendars.
+ * <p>
+ * Carbon instances are immutable, every method that changes the date, time, timezone
+ * or start of the week returns a new Carbon instance and leaves the original as-is,
+ * so instances can safely be shared between threads and stored in caches.
  *
  * @author Alexis Tan
  * @version 0.9.1
@@ -48,25 +53,17 @@ public final class Carbon {
     private static final Day GLOBAL_WEEK_END_AT = Day.SUNDAY;
     private static final List<Day> WEEKEND_DAYS = Arrays.asList(Day.SATURDAY, Day.SUNDAY);
     private static String toStringFormat = Formats.DATE_TIME.getFormat();
-    private final Calendar time;
-    private Day WEEK_START_AT;
-    private Day WEEK_END_AT;
-    private TimeZone timezone;
+    private final ZonedDateTime time;
+    private final TimeZone timezone;
+    private final Day WEEK_START_AT;
+    private final Day WEEK_END_AT;
 
     /**
      * Creates a new new Carbon instance with the current date and time,
      * this is the same as the {@link Carbon#now() static now()} method.
      */
     public Carbon() {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = time.getTimeZone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-        this.time.setTime(Calendar.getInstance(Locale.ENGLISH).getTime());
+        this(ZonedDateTime.now(), null, GLOBAL_WEEK_START_AT, GLOBAL_WEEK_END_AT);
     }
 
     /**
@@ -80,25 +77,7 @@ public final class Carbon {
      * @see java.text.SimpleDateFormat
      */
     public Carbon(String time) throws InvalidFormatException {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = this.time.getTimeZone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        for (Formats supportedFormat : Formats.values()) {
-            try {
-                this.time.setTime(supportedFormat.parse(time));
-
-                return;
-            } catch (ParseException ignored) {
-            }
-        }
-
-        throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to creae Carbon instance.", time);
+        this(parseTime(time), null, GLOBAL_WEEK_START_AT, GLOBAL_WEEK_END_AT);
     }
 
     /**
@@ -113,25 +92,7 @@ public final class Carbon {
      * @see java.text.SimpleDateFormat
      */
     public Carbon(String time, String timezone) throws InvalidFormatException {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = TimeZone.getTimeZone(timezone);
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        for (Formats supportedFormat : Formats.values()) {
-            try {
-                this.time.setTime(supportedFormat.parse(time));
-
-                return;
-            } catch (ParseException ignored) {
-            }
-        }
-
-        throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to creae Carbon instance.", time);
+        this(parseTime(time), TimeZone.getTimeZone(timezone), GLOBAL_WEEK_START_AT, GLOBAL_WEEK_END_AT);
     }
 
     /**
@@ -140,34 +101,33 @@ public final class Carbon {
      * @param instance the carbon instance to copy
      */
     public Carbon(Carbon instance) {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = instance.WEEK_START_AT;
-        this.WEEK_END_AT = instance.WEEK_END_AT;
-
-        this.timezone = instance.getTimezone();
-
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
-
-        this.time.setTime((Date) instance.getTime().getTime().clone());
+        this(instance.time, instance.timezone, instance.WEEK_START_AT, instance.WEEK_END_AT);
     }
 
     /**
      * Creates an new carbon instance from an internal method call from a date.
      *
-     * @param date The date to use to create the carbon instance
+     * @param time The date and time to use to create the carbon instance
      */
-    private Carbon(Date date) {
-        this.time = Calendar.getInstance(Locale.ENGLISH);
-
-        this.WEEK_START_AT = GLOBAL_WEEK_START_AT;
-        this.WEEK_END_AT = GLOBAL_WEEK_END_AT;
-
-        this.timezone = time.getTimeZone();
+    private Carbon(ZonedDateTime time) {
+        this(time, null, GLOBAL_WEEK_START_AT, GLOBAL_WEEK_END_AT);
+    }
 
-        this.time.setFirstDayOfWeek(WEEK_START_AT.getId());
+    /**
+     * Creates an new carbon instance from an internal method call, all
+     * the methods that modifies a Carbon instance goes through here.
+     *
+     * @param time        The date and time in the systems default timezone
+     * @param timezone    The timezone to base the time output off, or {@code null} for the default
+     * @param weekStartAt The first day of the week
+     * @param weekEndAt   The last day of the week
+     */
+    private Carbon(ZonedDateTime time, TimeZone timezone, Day weekStartAt, Day weekEndAt) {
+        this.time = time;
+        this.timezone = timezone == null ? TimeZone.getDefault() : timezone;
 
-        this.time.setTime(date);
+        this.WEEK_START_AT = weekStartAt;
+        this.WEEK_END_AT = weekEndAt;
     }
 
     /**
@@ -186,11 +146,7 @@ public final class Carbon {
      * @return a Carbon instance with the current date and time.
      */
     public static Carbon now(String timezone) {
-        Carbon carbon = now().startOfDay();
-
-        carbon.setTimezone(timezone);
-
-        return carbon;
+        return now().startOfDay().setTimezone(timezone);
     }
 
     /**
@@ -200,11 +156,7 @@ public final class Carbon {
      * @return a Carbon instance with the current date and time.
      */
     public static Carbon now(TimeZone timezone) {
-        Carbon carbon = now().startOfDay();
-
-        carbon.setTimezone(timezone);
-
-        return carbon;
+        return now().startOfDay().setTimezone(timezone);
     }
 
     /**
@@ -318,15 +270,15 @@ public final class Carbon {
         Carbon carbon = new Carbon();
 
         if (params.length >= 1 && params[0] != null && parseObj(params[0]) > 0) {
-            carbon.setYear(parseObj(params[0]));
+            carbon = carbon.setYear(parseObj(params[0]));
         }
 
         if (params.length >= 2 && params[1] != null && parseObj(params[1]) > 0) {
-            carbon.setMonth(parseObj(params[1]));
+            carbon = carbon.setMonth(parseObj(params[1]));
         }
 
         if (params.length >= 3 && params[2] != null && parseObj(params[2]) > 0) {
-            carbon.setDay(parseObj(params[2]));
+            carbon = carbon.setDay(parseObj(params[2]));
         }
 
         if (params.length >= 4 && params[3] != null) {
@@ -360,15 +312,15 @@ public final class Carbon {
         Carbon carbon = new Carbon();
 
         if (params.length >= 1 && params[0] != null && parseObj(params[0]) >= 0) {
-            carbon.setHour(parseObj(params[0]));
+            carbon = carbon.setHour(parseObj(params[0]));
         }
 
         if (params.length >= 2 && params[1] != null && parseObj(params[1]) >= 0) {
-            carbon.setMinute(parseObj(params[1]));
+            carbon = carbon.setMinute(parseObj(params[1]));
         }
 
         if (params.length >= 3 && params[2] != null && parseObj(params[2]) >= 0) {
-            carbon.setSecond(parseObj(params[2]));
+            carbon = carbon.setSecond(parseObj(params[2]));
         }
 
         if (params.length >= 4 && params[3] != null) {
@@ -421,41 +373,31 @@ public final class Carbon {
         Carbon carbon = new Carbon();
 
         if (params.length >= 1 && params[0] != null && parseObj(params[0]) > 0) {
-            carbon.setYear(parseObj(params[0]));
+            carbon = carbon.setYear(parseObj(params[0]));
         }
 
         if (params.length >= 2 && params[1] != null && parseObj(params[1]) > 0) {
-            carbon.setMonth(parseObj(params[1]));
+            carbon = carbon.setMonth(parseObj(params[1]));
         }
 
         if (params.length >= 3 && params[2] != null && parseObj(params[2]) > 0) {
-            carbon.setDay(parseObj(params[2]));
+            carbon = carbon.setDay(parseObj(params[2]));
         }
 
         if (params.length >= 4 && params[3] != null && parseObj(params[3]) >= 0) {
-            carbon.setHour(parseObj(params[3]));
+            carbon = carbon.setHour(parseObj(params[3]));
         }
 
         if (params.length >= 5 && params[4] != null && parseObj(params[4]) >= 0) {
-            carbon.setMinute(parseObj(params[4]));
+            carbon = carbon.setMinute(parseObj(params[4]));
         }
 
         if (params.length >= 6 && params[5] != null && parseObj(params[5]) >= 0) {
-            carbon.setSecond(parseObj(params[5]));
+            carbon = carbon.setSecond(parseObj(params[5]));
         }
 
         if (params.length >= 7 && params[6] != null) {
-            if (params[6] instanceof TimeZone) {
-                carbon.setTimezone((TimeZone) params[6]);
-
-                return carbon;
-            }
-
-            if (params[6] instanceof String) {
-                carbon.setTimezone((String) params[6]);
-
-                return carbon;
-            }
+            return parseTimezone(carbon, params[6]);
         }
 
         return carbon;
@@ -493,11 +435,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date);
+        return new Carbon(DateFormatters.parse(format, time, ZoneId.systemDefault()));
     }
 
     /**
@@ -514,11 +452,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time, String timezone) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date).setTimezone(timezone);
+        return createFromFormat(format, time).setTimezone(timezone);
     }
 
     /**
@@ -535,11 +469,7 @@ public final class Carbon {
      *                                  string format is invalid.
      */
     public static Carbon createFromFormat(String format, String time, TimeZone timezone) throws ParseException {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        Date date = sdf.parse(time);
-
-        return new Carbon(date).setTimezone(timezone);
+        return createFromFormat(format, time).setTimezone(timezone);
     }
 
     /**
@@ -589,14 +519,39 @@ public final class Carbon {
      *
      * @param field the given calendar field.
      * @param value the value to be set for the given calendar field.
-     * @return the Carbon instance
+     * @return the new Carbon instance
      * @throws ArrayIndexOutOfBoundsException if the specified field is out of range
      *                                        (<code>field &lt; 0 || field &gt;= FIELD_COUNT</code>).
      */
     public Carbon set(int field, int value) {
-        time.set(field, value);
+        switch (field) {
+            case Calendar.SECOND:
+                return with(ChronoField.SECOND_OF_MINUTE, value, ChronoUnit.SECONDS);
 
-        return this;
+            case Calendar.MINUTE:
+                return with(ChronoField.MINUTE_OF_HOUR, value, ChronoUnit.MINUTES);
+
+            case Calendar.HOUR_OF_DAY:
+                return with(ChronoField.HOUR_OF_DAY, value, ChronoUnit.HOURS);
+
+            case Calendar.DAY_OF_MONTH:
+                return with(ChronoField.DAY_OF_MONTH, value, ChronoUnit.DAYS);
+
+            case Calendar.DAY_OF_YEAR:
+                return with(ChronoField.DAY_OF_YEAR, value, ChronoUnit.DAYS);
+
+            case Calendar.MONTH:
+                return with(ChronoField.MONTH_OF_YEAR, value + 1, ChronoUnit.MONTHS);
+
+            case Calendar.YEAR:
+                return with(ChronoField.YEAR, value, ChronoUnit.YEARS);
+
+            default:
+                Calendar calendar = getTime();
+                calendar.set(field, value);
+
+                return fromCalendar(calendar);
+        }
     }
 
     /**
@@ -614,7 +569,34 @@ public final class Carbon {
      *                                        (<code>field &lt; 0 || field &gt;= FIELD_COUNT</code>).
      */
     public int get(int field) {
-        return time.get(field);
+        switch (field) {
+            case Calendar.SECOND:
+                return time.getSecond();
+
+            case Calendar.MINUTE:
+                return time.getMinute();
+
+            case Calendar.HOUR_OF_DAY:
+                return time.getHour();
+
+            case Calendar.DAY_OF_MONTH:
+                return time.getDayOfMonth();
+
+            case Calendar.DAY_OF_YEAR:
+                return time.getDayOfYear();
+
+            case Calendar.DAY_OF_WEEK:
+                return time.getDayOfWeek().getValue() % 7 + 1;
+
+            case Calendar.MONTH:
+                return time.getMonthValue() - 1;
+
+            case Calendar.YEAR:
+                return time.getYear();
+
+            default:
+                return getTime().get(field);
+        }
     }
 
     /**
@@ -630,7 +612,7 @@ public final class Carbon {
      * Sets the second to the carbon instance.
      *
      * @param second the seconds to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setSecond(int second) {
         return set(Calendar.SECOND, second);
@@ -649,7 +631,7 @@ public final class Carbon {
      * Sets the minute to the carbon instance.
      *
      * @param minute the minute to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setMinute(int minute) {
         return set(Calendar.MINUTE, minute);
@@ -668,7 +650,7 @@ public final class Carbon {
      * Sets the hour to the carbon instance.
      *
      * @param hour the hour to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setHour(int hour) {
         return set(Calendar.HOUR_OF_DAY, hour);
@@ -687,7 +669,7 @@ public final class Carbon {
      * Sets the day of the month to the carbon instance.
      *
      * @param day the day to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setDay(int day) {
         return set(Calendar.DAY_OF_MONTH, day);
@@ -698,7 +680,7 @@ public final class Carbon {
      * The days count from 1 to 7, where 1 is a {@link Day#SUNDAY}
      *
      * @param day The day to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setDayOfWeek(int day) {
         return set(Calendar.DAY_OF_WEEK, day);
@@ -719,7 +701,7 @@ public final class Carbon {
      * The days count from 1 to 7, where 1 is a {@link Day#SUNDAY}
      *
      * @param day The day to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setDayOfWeek(Day day) {
         return set(Calendar.DAY_OF_WEEK, day.getId());
@@ -740,7 +722,7 @@ public final class Carbon {
      * This is a calendar-specific value. The week starts on a <code>MONDAY</code> and ends on a <code>SUNDAY</code>
      *
      * @param week the week to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      * @see #WEEK_START_AT
      * @see #WEEK_END_AT
      */
@@ -765,7 +747,7 @@ public final class Carbon {
      * the last depends on the number of months in a year.
      *
      * @param month the month to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      * @see java.util.Calendar#JANUARY
      * @see java.util.Calendar#FEBRUARY
      * @see java.util.Calendar#MARCH
@@ -788,7 +770,7 @@ public final class Carbon {
      * Sets the month to the carbon instance.
      *
      * @param month the month to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setMonth(Month month) {
         return set(Calendar.MONTH, month.getId());
@@ -807,7 +789,7 @@ public final class Carbon {
      * Sets the year to the carbon instance.
      *
      * @param year the year to set
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon setYear(int year) {
         return set(Calendar.YEAR, year);
@@ -846,7 +828,7 @@ public final class Carbon {
      * @return the numeric value of how many days there are in the current month.
      */
     public int getDaysInMonth() {
-        return time.getActualMaximum(Calendar.DAY_OF_MONTH);
+        return time.toLocalDate().lengthOfMonth();
     }
 
     /**
@@ -855,19 +837,17 @@ public final class Carbon {
      * @return the current time since epoch in seconds.
      */
     public long getTimestamp() {
-        return time.getTimeInMillis() / 1000;
+        return time.toInstant().toEpochMilli() / 1000;
     }
 
     /**
      * Sets a timestamp to the current date and time, the timestamp should be in seconds.
      *
      * @param timestamp the time in seconds since epoch.
-     * @return the Carbon instance with the new date and time.
+     * @return the new Carbon instance with the new date and time.
      */
     public Carbon setTimestamp(long timestamp) {
-        time.setTime(new Date(timestamp * 1000));
-
-        return this;
+        return withTime(ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp * 1000), time.getZone()));
     }
 
     /**
@@ -889,9 +869,7 @@ public final class Carbon {
      * @return the age of the carbon instance.
      */
     public int getAge() {
-        Carbon carbon = new Carbon();
-
-        return getPositive(getYear() - (carbon.setTimezone(timezone)).getYear());
+        return getPositive(getYear() - ZonedDateTime.now(time.getZone()).getYear());
     }
 
     /**
@@ -900,7 +878,12 @@ public final class Carbon {
      * @return the calendar object used by carbon
      */
     public Calendar getTime() {
-        return time;
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone(time.getZone()), Locale.ENGLISH);
+
+        calendar.setFirstDayOfWeek(WEEK_START_AT.getId());
+        calendar.setTimeInMillis(time.toInstant().toEpochMilli());
+
+        return calendar;
     }
 
     /**
@@ -908,14 +891,13 @@ public final class Carbon {
      * if <code>NULL</code> parsed nothing will be set.
      *
      * @param timezone the timezone to use
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setTimezone(TimeZone timezone) {
-        if (timezone != null) {
-            this.timezone = timezone;
+        if (timezone == null) {
+            return this;
         }
-
-        return this;
+        return new Carbon(time, timezone, WEEK_START_AT, WEEK_END_AT);
     }
 
     /**
@@ -932,7 +914,7 @@ public final class Carbon {
      * if <code>NULL</code> parsed nothing will be set.
      *
      * @param timezone the timezone to use
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setTimezone(String timezone) {
         return setTimezone(TimeZone.getTimeZone(timezone));
@@ -945,13 +927,10 @@ public final class Carbon {
      * The last day of the week will also be set using the {@link Day#getYesterday() } method.
      *
      * @param day The day to set as the first day of the week
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setFirstDayOfWeek(Day day) {
-        WEEK_START_AT = day;
-        WEEK_END_AT = day.getYesterday();
-
-        return this;
+        return new Carbon(time, timezone, day, day.getYesterday());
     }
 
     /**
@@ -961,13 +940,10 @@ public final class Carbon {
      * The first day of the week will also be set using the {@link Day#getTomorrow() } method.
      *
      * @param day The day to set as the last day of the week.
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setLastDayOfWeek(Day day) {
-        WEEK_END_AT = day;
-        WEEK_START_AT = day.getTomorrow();
-
-        return this;
+        return new Carbon(time, timezone, day.getTomorrow(), day);
     }
 
     /**
@@ -976,7 +952,7 @@ public final class Carbon {
      * @param year  The year to set
      * @param month The month to set
      * @param day   The day to set
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setDate(int year, int month, int day) {
         return setYear(year).setMonth(month).setDay(day);
@@ -988,7 +964,7 @@ public final class Carbon {
      * @param hour   The hour to set
      * @param minute The minute to set
      * @param second The second to set
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setTime(int hour, int minute, int second) {
         return setHour(hour).setMinute(minute).setSecond(second);
@@ -1003,7 +979,7 @@ public final class Carbon {
      * @param hour   The hour to set
      * @param minute The minute to set
      * @param second The second to set
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon setDateTime(int year, int month, int day, int hour, int minute, int second) {
         return setDate(year, month, day).setTime(hour, minute, second);
@@ -1018,12 +994,10 @@ public final class Carbon {
      *
      * @param field  the calendar field.
      * @param amount the amount of date or time to be added to the field.
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon add(int field, int amount) {
-        time.add(field, getPositive(amount));
-
-        return this;
+        return plus(field, getPositive(amount));
     }
 
     /**
@@ -1035,12 +1009,10 @@ public final class Carbon {
      *
      * @param field  the calendar field.
      * @param amount the amount of date or time to be added to the field.
-     * @return the Carbon instance.
+     * @return the new Carbon instance.
      */
     public Carbon sub(int field, int amount) {
-        time.add(field, getNegative(amount));
-
-        return this;
+        return plus(field, getNegative(amount));
     }
 
     ///////////////////////////////////////////////////////////////////
@@ -1050,7 +1022,7 @@ public final class Carbon {
     /**
      * Adds one second to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addSecond() {
         return addSeconds(1);
@@ -1060,7 +1032,7 @@ public final class Carbon {
      * Adds the given amount of seconds to the carbon instance.
      *
      * @param seconds the amount of seconds to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addSeconds(int seconds) {
         return add(Calendar.SECOND, seconds);
@@ -1069,7 +1041,7 @@ public final class Carbon {
     /**
      * Subtracts one second from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subSecond() {
         return subSeconds(1);
@@ -1079,7 +1051,7 @@ public final class Carbon {
      * Subtracts the given amount of seconds from the carbon instance.
      *
      * @param seconds the amount of seconds to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subSeconds(int seconds) {
         return sub(Calendar.SECOND, seconds);
@@ -1088,7 +1060,7 @@ public final class Carbon {
     /**
      * Adds one minute to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addMinute() {
         return addMinutes(1);
@@ -1098,7 +1070,7 @@ public final class Carbon {
      * Adds the given amount of minutes to the carbon instance.
      *
      * @param minutes the amount of minutes to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addMinutes(int minutes) {
         return add(Calendar.MINUTE, minutes);
@@ -1107,7 +1079,7 @@ public final class Carbon {
     /**
      * Subtracts one minute from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subMinute() {
         return subMinutes(1);
@@ -1117,7 +1089,7 @@ public final class Carbon {
      * Subtracts the given amount of minutes from the carbon instance.
      *
      * @param minutes the amount of minutes to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subMinutes(int minutes) {
         return sub(Calendar.MINUTE, minutes);
@@ -1126,7 +1098,7 @@ public final class Carbon {
     /**
      * Adds one hour to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addHour() {
         return addHours(1);
@@ -1136,7 +1108,7 @@ public final class Carbon {
      * Adds the given amount of hours to the carbon instance.
      *
      * @param hours the amount of hours to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addHours(int hours) {
         return add(Calendar.HOUR, hours);
@@ -1145,7 +1117,7 @@ public final class Carbon {
     /**
      * Subtracts one hour from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subHour() {
         return subHours(1);
@@ -1155,7 +1127,7 @@ public final class Carbon {
      * Subtracts the given amount of hours from the carbon instance.
      *
      * @param hours the amount of hours to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subHours(int hours) {
         return sub(Calendar.HOUR, hours);
@@ -1164,7 +1136,7 @@ public final class Carbon {
     /**
      * Adds one day to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addDay() {
         return addDays(1);
@@ -1174,7 +1146,7 @@ public final class Carbon {
      * Adds the given amount of days to the carbon instance.
      *
      * @param days the amount of days to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addDays(int days) {
         return add(Calendar.DAY_OF_MONTH, days);
@@ -1183,7 +1155,7 @@ public final class Carbon {
     /**
      * Subtracts one day from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subDay() {
         return subDays(1);
@@ -1193,7 +1165,7 @@ public final class Carbon {
      * Subtracts the given amount of days from the carbon instance.
      *
      * @param days the amount of days to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subDays(int days) {
         return sub(Calendar.DAY_OF_MONTH, days);
@@ -1202,7 +1174,7 @@ public final class Carbon {
     /**
      * Adds one week to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addWeek() {
         return addWeeks(1);
@@ -1212,7 +1184,7 @@ public final class Carbon {
      * Adds the given amount of weeks to the carbon instance.
      *
      * @param weeks the amount of weeks to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addWeeks(int weeks) {
         return add(Calendar.WEEK_OF_MONTH, weeks);
@@ -1221,7 +1193,7 @@ public final class Carbon {
     /**
      * Subtracts one week from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subWeek() {
         return subWeeks(1);
@@ -1231,7 +1203,7 @@ public final class Carbon {
      * Subtracts the given amount of weeks from the carbon instance.
      *
      * @param weeks the amount of weeks to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subWeeks(int weeks) {
         return sub(Calendar.WEEK_OF_MONTH, weeks);
@@ -1240,7 +1212,7 @@ public final class Carbon {
     /**
      * Adds one month to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addMonth() {
         return addMonths(1);
@@ -1250,7 +1222,7 @@ public final class Carbon {
      * Adds the given amount of months to the carbon instance.
      *
      * @param months the amount of months to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addMonths(int months) {
         return add(Calendar.MONTH, months);
@@ -1259,7 +1231,7 @@ public final class Carbon {
     /**
      * Subtracts one month from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subMonth() {
         return subMonths(1);
@@ -1269,7 +1241,7 @@ public final class Carbon {
      * Subtracts the given amount of months from the carbon instance.
      *
      * @param months the amount of months to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subMonths(int months) {
         return sub(Calendar.MONTH, months);
@@ -1278,7 +1250,7 @@ public final class Carbon {
     /**
      * Adds one year to the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addYear() {
         return addYears(1);
@@ -1288,7 +1260,7 @@ public final class Carbon {
      * Adds the given amount of years to the carbon instance.
      *
      * @param years the amount of years to add
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon addYears(int years) {
         return add(Calendar.YEAR, years);
@@ -1297,7 +1269,7 @@ public final class Carbon {
     /**
      * Subtracts one year from the carbon instance.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subYear() {
         return subYears(1);
@@ -1307,12 +1279,126 @@ public final class Carbon {
      * Subtracts the given amount of years from the carbon instance.
      *
      * @param years the amount of years to subtract
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon subYears(int years) {
         return sub(Calendar.YEAR, years);
     }
 
+    /**
+     * Parses the given time string into a date time in the systems default
+     * timezone, the database timestamp format is checked first since that
+     * is by far the most common format Carbon instances are created from.
+     *
+     * @param time The date string to parse.
+     * @return the parsed date time.
+     * @throws InvalidFormatException if the date string given doesn't match any of the supported formats
+     */
+    private static ZonedDateTime parseTime(String time) throws InvalidFormatException {
+        ZonedDateTime timestamp = DateFormatters.parseTimestamp(time, ZoneId.systemDefault());
+        if (timestamp != null) {
+            return timestamp;
+        }
+
+        for (Formats supportedFormat : Formats.values()) {
+            try {
+                return DateFormatters.parse(supportedFormat.getFormat(), time, ZoneId.systemDefault());
+            } catch (ParseException ignored) {
+            }
+        }
+
+        throw new InvalidFormatException("'%s' does not follow any of the supported time formats, failed to creae Carbon instance.", time);
+    }
+
+    /**
+     * Creates a new Carbon instance using the given date time, while keeping
+     * the timezone and week settings of the current Carbon instance.
+     *
+     * @param time The date time the new Carbon instance should use
+     * @return the new Carbon instance.
+     */
+    private Carbon withTime(ZonedDateTime time) {
+        return new Carbon(time, timezone, WEEK_START_AT, WEEK_END_AT);
+    }
+
+    /**
+     * Creates a new Carbon instance from the time of the given calendar, this
+     * is used as a fallback for calendar fields that don't have a direct
+     * equivalent in the {@link java.time} API.
+     *
+     * @param calendar The calendar to get the time from
+     * @return the new Carbon instance.
+     */
+    private Carbon fromCalendar(Calendar calendar) {
+        return withTime(ZonedDateTime.ofInstant(calendar.toInstant(), time.getZone()));
+    }
+
+    /**
+     * Sets the given field to the given value, values that are outside of the
+     * valid range of the field rolls over into the next or previous unit, the
+     * same way a lenient {@link Calendar} would handle them.
+     *
+     * @param field The field that should be set
+     * @param value The value the field should be set to
+     * @param unit  The unit the field is measured in
+     * @return the new Carbon instance.
+     */
+    private Carbon with(ChronoField field, int value, ChronoUnit unit) {
+        if (time.range(field).isValidIntValue(value)) {
+            return withTime(time.with(field, value));
+        }
+
+        long minimum = field.range().getMinimum();
+
+        return withTime(time.toLocalDateTime()
+            .with(field, minimum)
+            .plus(value - minimum, unit)
+            .atZone(time.getZone())
+        );
+    }
+
+    /**
+     * Adds the given amount to the given calendar field.
+     *
+     * @param field  The calendar field the amount should be added to
+     * @param amount The amount to add, negative amounts subtracts from the field
+     * @return the new Carbon instance.
+     */
+    private Carbon plus(int field, int amount) {
+        switch (field) {
+            case Calendar.SECOND:
+                return withTime(time.plusSeconds(amount));
+
+            case Calendar.MINUTE:
+                return withTime(time.plusMinutes(amount));
+
+            case Calendar.HOUR:
+            case Calendar.HOUR_OF_DAY:
+                return withTime(time.plusHours(amount));
+
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.DAY_OF_YEAR:
+            case Calendar.DAY_OF_WEEK:
+                return withTime(time.plusDays(amount));
+
+            case Calendar.WEEK_OF_YEAR:
+            case Calendar.WEEK_OF_MONTH:
+                return withTime(time.plusWeeks(amount));
+
+            case Calendar.MONTH:
+                return withTime(time.plusMonths(amount));
+
+            case Calendar.YEAR:
+                return withTime(time.plusYears(amount));
+
+            default:
+                Calendar calendar = getTime();
+                calendar.add(field, amount);
+
+                return fromCalendar(calendar);
+        }
+    }
+
     private int getPositive(int x) {
         if (x >= 0) {
             return x;
@@ -1364,7 +1450,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it isn't greater than the provided instance.
      */
     public boolean gt(Carbon value) {
-        return time.after(value.getTime());
+        return time.isAfter(value.time);
     }
 
     /**
@@ -1388,7 +1474,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it isn't less than the provided instance.
      */
     public boolean lt(Carbon value) {
-        return time.before(value.getTime());
+        return time.isBefore(value.time);
     }
 
     /**
@@ -1429,9 +1515,8 @@ public final class Carbon {
     public boolean between(Carbon first, Carbon second, boolean matchEqual) {
         return matchEqual
             && (eq(first) || eq(second))
-            || (time.before(first.getTime()) && time.after(second.getTime()))
-            || (time.before(second.getTime()) && time.after(first.getTime()));
-
+            || (time.isBefore(first.time) && time.isAfter(second.time))
+            || (time.isBefore(second.time) && time.isAfter(first.time));
     }
 
     /**
@@ -1441,9 +1526,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it doesn't match.
      */
     public boolean isYesterday() {
-        Carbon carbon = new Carbon().subDay();
-
-        return carbon.getYear() == getYear() && carbon.getMonth() == getMonth() && carbon.getDay() == getDay();
+        return isSameDay(new Carbon().subDay());
     }
 
     /**
@@ -1453,9 +1536,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it doesn't match.
      */
     public boolean isToday() {
-        Carbon carbon = new Carbon();
-
-        return carbon.getYear() == getYear() && carbon.getMonth() == getMonth() && carbon.getDay() == getDay();
+        return isSameDay(new Carbon());
     }
 
     ///////////////////////////////////////////////////////////////////
@@ -1469,9 +1550,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it doesn't match.
      */
     public boolean isTomorrow() {
-        Carbon carbon = new Carbon().addDay();
-
-        return carbon.getYear() == getYear() && carbon.getMonth() == getMonth() && carbon.getDay() == getDay();
+        return isSameDay(new Carbon().addDay());
     }
 
     /**
@@ -1481,7 +1560,7 @@ public final class Carbon {
      *         or (2) <code>FALSE</code> if it's set to the present or future.
      */
     public boolean isPast() {
-        return Calendar.getInstance(Locale.ENGLISH).getTimeInMillis() > time.getTimeInMillis();
+        return System.currentTimeMillis() > time.toInstant().toEpochMilli();
     }
 
     /**
@@ -1532,7 +1611,7 @@ public final class Carbon {
      * @return <code>TRUE</code> if the year is a leap year, <code>FALSE</code> otherwise.
      */
     public boolean isLeapYear() {
-        return time.getActualMaximum(Calendar.DAY_OF_YEAR) > 365;
+        return time.toLocalDate().isLeapYear();
     }
 
     /**
@@ -1561,10 +1640,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in seconds
      */
     public long diffInSeconds() {
-        long current = System.currentTimeMillis();
-        long unixTime = time.getTimeInMillis();
-
-        long value = (current - unixTime) / 1000;
+        long value = (System.currentTimeMillis() - time.toInstant().toEpochMilli()) / 1000;
 
         return value >= 0 ? value : value * -1;
     }
@@ -1576,10 +1652,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in seconds
      */
     public long diffInSeconds(Carbon other) {
-        long current = other.getTime().getTimeInMillis();
-        long unixTime = time.getTimeInMillis();
-
-        long value = (current - unixTime) / 1000;
+        long value = (other.time.toInstant().toEpochMilli() - time.toInstant().toEpochMilli()) / 1000;
 
         return value >= 0 ? value : value * -1;
     }
@@ -1666,9 +1739,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in months.
      */
     public long diffInMonths() {
-        Carbon now = new Carbon();
-
-        return getPositive((getYear() - now.getYear()) * 12 + time.get(Calendar.MONTH) - now.getTime().get(Calendar.MONTH));
+        return diffInMonths(new Carbon());
     }
 
     /**
@@ -1678,7 +1749,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in months.
      */
     public long diffInMonths(Carbon other) {
-        return getPositive((getYear() - other.getYear()) * 12 + time.get(Calendar.MONTH) - other.getTime().get(Calendar.MONTH));
+        return getPositive((getYear() - other.getYear()) * 12 + getMonth() - other.getMonth());
     }
 
     /**
@@ -1687,9 +1758,7 @@ public final class Carbon {
      * @return the difference between now and the carbon instance in years.
      */
     public long diffInYears() {
-        Carbon now = new Carbon();
-
-        return getPositive(now.getYear() - getYear());
+        return diffInYears(new Carbon());
     }
 
     /**
@@ -1766,7 +1835,7 @@ public final class Carbon {
         StringBuilder builder = parseDiffForHumans(unix);
 
         if (!removeModifiers) {
-            if (other.time.getTimeInMillis() > time.getTimeInMillis()) {
+            if (other.time.isAfter(time)) {
                 builder.append(" after");
             } else {
                 builder.append(" before");
@@ -1860,19 +1929,19 @@ public final class Carbon {
     /**
      * Sets the carbon time to the start of the day.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon startOfDay() {
-        return setHour(0).setMinute(0).setSecond(0);
+        return withTime(time.withHour(0).withMinute(0).withSecond(0));
     }
 
     /**
      * Sets the carbon time to the end of the day.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon endOfDay() {
-        return setHour(23).setMinute(59).setSecond(59);
+        return withTime(time.withHour(23).withMinute(59).withSecond(59));
     }
 
     ///////////////////////////////////////////////////////////////////
@@ -1882,7 +1951,7 @@ public final class Carbon {
     /**
      * Sets the carbon time to the start of the week.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon startOfWeek() {
         return setDayOfWeek(WEEK_START_AT.getId()).startOfDay();
@@ -1891,7 +1960,7 @@ public final class Carbon {
     /**
      * Sets the carbon time to the end of the week.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon endOfWeek() {
         return setDay(WEEK_END_AT.getId()).endOfDay();
@@ -1900,7 +1969,7 @@ public final class Carbon {
     /**
      * Sets the carbon time to the start of the month.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon startOfMonth() {
         return startOfDay().setDay(1);
@@ -1909,18 +1978,16 @@ public final class Carbon {
     /**
      * Sets the carbon time to the end of the month.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon endOfMonth() {
-        Calendar cal = new GregorianCalendar(getYear(), getMonth(), getDay());
-
-        return setDay(cal.getActualMaximum(Calendar.DAY_OF_MONTH)).endOfDay();
+        return setDay(getDaysInMonth()).endOfDay();
     }
 
     /**
      * Sets the carbon time to the start of the year.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon startOfYear() {
         return setMonth(1).startOfMonth();
@@ -1929,7 +1996,7 @@ public final class Carbon {
     /**
      * Sets the carbon time to the end of the year.
      *
-     * @return the Carbon instance
+     * @return the new Carbon instance
      */
     public Carbon endOfYear() {
         return setMonth(Time.MONTHS_PER_YEAR.getTime()).endOfMonth();
@@ -2115,13 +2182,7 @@ public final class Carbon {
      * @return the formatted datetime string
      */
     public String format(String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format, Locale.ENGLISH);
-
-        if (timezone != null) {
-            sdf.setTimeZone(timezone);
-        }
-
-        return sdf.format(time.getTime());
+        return DateFormatters.format(format, time.withZoneSameInstant(timezone.toZoneId()));
     }
 
     /**
@@ -2135,12 +2196,13 @@ public final class Carbon {
     }
 
     /**
-     * Creates a copy of the current Carbon instance.
+     * Creates a copy of the current Carbon instance, since Carbon
+     * instances are immutable the current instance is returned.
      *
      * @return a copy of the current Carbon instance
      * @see #Carbon(com.avbot.time.Carbon)
      */
     public Carbon copy() {
-        return new Carbon(this);
+        return this;
     }
 }
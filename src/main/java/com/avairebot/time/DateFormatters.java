@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.time;
+
+import javax.annotation.Nullable;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the formatters used by Carbon for each {@link SimpleDateFormat} pattern, patterns are
+ * translated into thread-safe {@link DateTimeFormatter} instances that produces the same
+ * output as the simple date format would have, patterns using letters that doesn't
+ * have an exact equivalent falls back to a simple date format cached per thread.
+ */
+final class DateFormatters {
+
+    /**
+     * The fields used when resolving parsed dates, any other fields parsed, like the
+     * day of the week, are ignored the same way the simple date format ignores
+     * them, rather than being cross-checked against the parsed date.
+     */
+    private static final ChronoField[] RESOLVER_FIELDS = new ChronoField[]{
+        ChronoField.YEAR_OF_ERA, ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_MONTH,
+        ChronoField.HOUR_OF_DAY, ChronoField.CLOCK_HOUR_OF_AMPM, ChronoField.AMPM_OF_DAY,
+        ChronoField.MINUTE_OF_HOUR, ChronoField.SECOND_OF_MINUTE, ChronoField.OFFSET_SECONDS
+    };
+
+    private static final Map<String, Entry> formatters = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> simpleDateFormats =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private DateFormatters() {
+        // This class should never be initialized.
+    }
+
+    /**
+     * Formats the given time using the given simple date format pattern.
+     *
+     * @param pattern The simple date format pattern that should be used.
+     * @param time    The time that should be formatted.
+     * @return The formatted time.
+     * @throws IllegalArgumentException If the given pattern is invalid.
+     */
+    static String format(String pattern, ZonedDateTime time) {
+        Entry entry = getEntry(pattern);
+        if (entry.formatter != null) {
+            return entry.formatter.format(time);
+        }
+
+        SimpleDateFormat format = getSimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone(time.getZone()));
+
+        return format.format(Date.from(time.toInstant()));
+    }
+
+    /**
+     * Parses the given time using the given simple date format pattern, just like the simple date
+     * format, the time only has to start with the pattern, any text after the parsed time is
+     * ignored, and fields missing from the pattern defaults to the start of the epoch.
+     * <p>
+     * The translated formatter is stricter than the simple date format, it requires padded
+     * numbers to be padded, and zone offsets to be numeric, so times the translated
+     * formatter fails to parse are parsed again using the simple date format
+     * instead, to accept the same input the simple date format would.
+     *
+     * @param pattern The simple date format pattern that should be used.
+     * @param time    The time string that should be parsed.
+     * @param zone    The zone the time should be parsed in if the time doesn't include a zone.
+     * @return The parsed time in the given zone.
+     * @throws ParseException           If the given time doesn't match the pattern.
+     * @throws IllegalArgumentException If the given pattern is invalid.
+     */
+    static ZonedDateTime parse(String pattern, String time, ZoneId zone) throws ParseException {
+        Entry entry = getEntry(pattern);
+        if (entry.parser != null) {
+            ZonedDateTime parsed = parseTranslated(entry.parser, time, zone);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+
+        SimpleDateFormat format = getSimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone(zone));
+
+        return ZonedDateTime.ofInstant(format.parse(time).toInstant(), zone);
+    }
+
+    @Nullable
+    private static ZonedDateTime parseTranslated(DateTimeFormatter parser, String time, ZoneId zone) {
+        TemporalAccessor parsed;
+        try {
+            parsed = parser.parse(time, new ParsePosition(0));
+        } catch (DateTimeException e) {
+            return null;
+        }
+
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        LocalTime localTime = parsed.query(TemporalQueries.localTime());
+        if (date == null || localTime == null) {
+            return null;
+        }
+
+        ZoneId parsedZone = parsed.query(TemporalQueries.zone());
+        if (parsedZone == null) {
+            return ZonedDateTime.of(date, localTime, zone);
+        }
+        return ZonedDateTime.of(date, localTime, parsedZone).withZoneSameInstant(zone);
+    }
+
+    /**
+     * Parses the default database timestamp format, <code>yyyy-MM-dd HH:mm:ss</code>, without
+     * going through any formatters, if the time doesn't start with a valid timestamp in
+     * that format, <code>NULL</code> will be returned instead.
+     *
+     * @param time The time string that should be parsed.
+     * @param zone The zone the time should be parsed in.
+     * @return The parsed time, or <code>NULL</code> if the time is not a valid timestamp.
+     */
+    @Nullable
+    static ZonedDateTime parseTimestamp(String time, ZoneId zone) {
+        if (time.length() < 19
+            || time.charAt(4) != '-' || time.charAt(7) != '-' || time.charAt(10) != ' '
+            || time.charAt(13) != ':' || time.charAt(16) != ':') {
+            return null;
+        }
+
+        int year = digits(time, 0, 4);
+        int month = digits(time, 5, 7);
+        int day = digits(time, 8, 10);
+        int hour = digits(time, 11, 13);
+        int minute = digits(time, 14, 16);
+        int second = digits(time, 17, 19);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 28 && day > YearMonth.of(year, month).lengthOfMonth()
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        return ZonedDateTime.of(year, month, day, hour, minute, second, 0, zone);
+    }
+
+    private static int digits(String time, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char character = time.charAt(i);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            value = value * 10 + (character - '0');
+        }
+        return value;
+    }
+
+    private static SimpleDateFormat getSimpleDateFormat(String pattern) {
+        return simpleDateFormats.get().computeIfAbsent(pattern,
+            key -> new SimpleDateFormat(key, Locale.ENGLISH)
+        );
+    }
+
+    private static Entry getEntry(String pattern) {
+        Entry entry = formatters.get(pattern);
+        if (entry == null) {
+            entry = createEntry(pattern);
+            formatters.putIfAbsent(pattern, entry);
+        }
+        return entry;
+    }
+
+    private static Entry createEntry(String pattern) {
+        // Validates the pattern the same way it would have been validated
+        // before, so invalid patterns still throws the same exception.
+        new SimpleDateFormat(pattern, Locale.ENGLISH);
+
+        Set<Character> letters = new HashSet<>();
+        String translated = translate(pattern, letters);
+        if (translated == null) {
+            return new Entry(null, null);
+        }
+
+        try {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(translated, Locale.ENGLISH);
+
+            DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(translated);
+
+            if (!letters.contains('y')) {
+                builder.parseDefaulting(ChronoField.YEAR_OF_ERA, 1970);
+            }
+            if (!letters.contains('M')) {
+                builder.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1);
+            }
+            if (!letters.contains('d')) {
+                builder.parseDefaulting(ChronoField.DAY_OF_MONTH, 1);
+            }
+            if (!letters.contains('H') && !letters.contains('h')) {
+                builder.parseDefaulting(ChronoField.HOUR_OF_DAY, 0);
+            }
+            if (letters.contains('h') && !letters.contains('a')) {
+                builder.parseDefaulting(ChronoField.AMPM_OF_DAY, 0);
+            }
+            if (!letters.contains('m')) {
+                builder.parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0);
+            }
+            if (!letters.contains('s')) {
+                builder.parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0);
+            }
+
+            DateTimeFormatter parser = builder.toFormatter(Locale.ENGLISH)
+                .withResolverFields(RESOLVER_FIELDS);
+
+            return new Entry(formatter, parser);
+        } catch (IllegalArgumentException e) {
+            return new Entry(null, null);
+        }
+    }
+
+    /**
+     * Translates the given simple date format pattern into a date time formatter pattern,
+     * if the pattern uses any letters, or letter counts, that would produce different
+     * output between the two formatters, <code>NULL</code> will be returned instead.
+     *
+     * @param pattern The simple date format pattern that should be translated.
+     * @param letters The set the pattern letters used by the pattern should be added to.
+     * @return The translated pattern, or <code>NULL</code> if the pattern can't be translated.
+     */
+    @Nullable
+    private static String translate(String pattern, Set<Character> letters) {
+        StringBuilder builder = new StringBuilder(pattern.length());
+
+        int index = 0;
+        while (index < pattern.length()) {
+            char character = pattern.charAt(index);
+
+            if (character == '\'') {
+                int end = index + 1;
+                while (end < pattern.length()) {
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < pattern.length() && pattern.charAt(end + 1) == '\'' && end != index + 1) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+
+                if (end >= pattern.length()) {
+                    return null;
+                }
+
+                builder.append(pattern, index, end + 1);
+                index = end + 1;
+                continue;
+            }
+
+            if (!Character.isLetter(character)) {
+                if ("[]{}#".indexOf(character) != -1) {
+                    return null;
+                }
+
+                builder.append(character);
+                index++;
+                continue;
+            }
+
+            int count = 1;
+            while (index + count < pattern.length() && pattern.charAt(index + count) == character) {
+                count++;
+            }
+
+            String letter = translateLetter(character, count);
+            if (letter == null) {
+                return null;
+            }
+
+            letters.add(character);
+            builder.append(letter);
+            index += count;
+        }
+
+        return builder.toString();
+    }
+
+    @Nullable
+    private static String translateLetter(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                // Two digit years are parsed using different centuries by
+                // the two formatters, so they're not translated at all.
+                return count == 2 ? null : repeat(letter, count);
+
+            case 'M':
+                return repeat(letter, Math.min(count, 4));
+
+            case 'd':
+            case 'H':
+            case 'h':
+            case 'm':
+            case 's':
+                return count > 2 ? null : repeat(letter, count);
+
+            case 'E':
+                return count >= 4 ? "EEEE" : "EEE";
+
+            case 'a':
+                return "a";
+
+            case 'z':
+                return count >= 4 ? "zzzz" : "z";
+
+            case 'Z':
+                return "Z";
+
+            case 'X':
+                return count > 3 ? null : repeat(letter, count);
+
+            default:
+                return null;
+        }
+    }
+
+    private static String repeat(char letter, int count) {
+        char[] characters = new char[count];
+        Arrays.fill(characters, letter);
+        return new String(characters);
+    }
+
+    private static class Entry {
+
+        private final DateTimeFormatter formatter;
+        private final DateTimeFormatter parser;
+
+        Entry(DateTimeFormatter formatter, DateTimeFormatter parser) {
+            this.formatter = formatter;
+            this.parser = parser;
+        }
+    }
+}
@@ -23,6 +23,7 @@ package com.avbot.time;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.Locale;
 
@@ -127,7 +128,7 @@ public enum Formats {
      * @throws ParseException if the provided time doesn't match the provided format.
      */
     public Date parse(String time) throws ParseException {
-        return make().parse(time);
+        return Date.from(DateFormatters.parse(string, time, ZoneId.systemDefault()).toInstant());
     }
 
     @Override
@@ -28,7 +28,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 public class AutoloaderUtil {
@@ -67,10 +69,29 @@ public class AutoloaderUtil {
      *                            to the loaded class constructor.
      */
     public static void load(String path, Consumer<Reflectional> callback, boolean parseavInstance) {
-        Set<Class<? extends Reflectional>> types = new Reflections(path).getSubTypesOf(Reflectional.class);
+        long start = System.nanoTime();
+
+        Set<Class<? extends Reflectional>> types = ClassIndexUtil.getSubTypesOf(
+            ClassIndexUtil.REFLECTIONAL_INDEX, path, Reflectional.class
+        );
+
+        // The class index is generated at build time for the classes shipped with the bot,
+        // so we should only ever need to scan the classpath for packages that are not
+        // covered by the index, like packages that are loaded in by plugins.
+        boolean indexed = types != null;
+        if (!indexed) {
+            types = new Reflections(path).getSubTypesOf(Reflectional.class);
+        }
+
+        log.debug("Found {} reflectional classes in {} using the {} in {} ms",
+            types.size(), path, indexed ? "class index" : "classpath scanner",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        );
 
         for (Class<? extends Reflectional> reflectionClass : types) {
-            if (reflectionClass.getPackage().getName().contains("contracts")) {
+            if (reflectionClass.getPackage().getName().contains("contracts")
+                || reflectionClass.isInterface()
+                || Modifier.isAbstract(reflectionClass.getModifiers())) {
                 continue;
             }
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ClassIndexUtil {
+
+    /**
+     * The name of the class index containing every concrete
+     * {@link com.avbot.contracts.reflection.Reflectional} class.
+     */
+    public static final String REFLECTIONAL_INDEX = "reflectional";
+
+    /**
+     * The name of the class index containing every concrete JDA event class.
+     */
+    public static final String JDA_EVENTS_INDEX = "jda-events";
+
+    /**
+     * The resource directory the class indexes are generated to during the build.
+     */
+    private static final String INDEX_PATH = "META-INF/av/%s.index";
+
+    /**
+     * The prefix used in the class index files for the line defining
+     * the root package of the classes that was indexed.
+     */
+    private static final String ROOT_PREFIX = "# root: ";
+
+    private static final Logger log = LoggerFactory.getLogger(ClassIndexUtil.class);
+
+    private static final Map<String, Optional<ClassIndex>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the names of all the classes in the given class index that belongs to the
+     * given package, or any of its sub-packages, if the index doesn't exist, or
+     * the package isn't covered by the index, {@code NULL} will be returned
+     * instead so the caller can fallback to scanning the classpath.
+     *
+     * @param index The name of the class index that should be loaded.
+     * @param path  The package path the classes should belong to.
+     * @return A list of class names in the given package, or {@code NULL} if the package isn't indexed.
+     */
+    @Nullable
+    public static List<String> getClassNames(@Nonnull String index, @Nonnull String path) {
+        ClassIndex classIndex = indexes.computeIfAbsent(index, ClassIndexUtil::loadIndex).orElse(null);
+        if (classIndex == null || !classIndex.covers(path)) {
+            return null;
+        }
+
+        String prefix = path + ".";
+
+        List<String> classNames = new ArrayList<>();
+        for (String className : classIndex.classNames) {
+            if (className.startsWith(prefix)) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Loads all the classes in the given class index that belongs to the given package, or any of its
+     * sub-packages, classes that fails to load will be logged and skipped, if the index doesn't
+     * exist or doesn't cover the given package, {@code NULL} will be returned instead.
+     *
+     * @param index The name of the class index that should be loaded.
+     * @param path  The package path the classes should belong to.
+     * @param type  The type all the loaded classes must be assignable to.
+     * @param <T>   The type all the loaded classes must be assignable to.
+     * @return A set of loaded classes in the given package, or {@code NULL} if the package isn't indexed.
+     */
+    @Nullable
+    public static <T> Set<Class<? extends T>> getSubTypesOf(@Nonnull String index, @Nonnull String path, @Nonnull Class<T> type) {
+        List<String> classNames = getClassNames(index, path);
+        if (classNames == null) {
+            return null;
+        }
+
+        Set<Class<? extends T>> classes = new LinkedHashSet<>();
+        for (String className : classNames) {
+            try {
+                Class<?> clazz = Class.forName(className, false, type.getClassLoader());
+                if (type.isAssignableFrom(clazz)) {
+                    //noinspection unchecked
+                    classes.add((Class<? extends T>) clazz);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.warn("Failed to load the {} class from the {} class index", className, index, e);
+            }
+        }
+        return classes;
+    }
+
+    private static Optional<ClassIndex> loadIndex(String index) {
+        InputStream stream = ClassIndexUtil.class.getClassLoader()
+            .getResourceAsStream(String.format(INDEX_PATH, index));
+
+        if (stream == null) {
+            log.debug("No {} class index was found, falling back to scanning the classpath", index);
+            return Optional.empty();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            List<String> roots = new ArrayList<>();
+            List<String> classNames = new ArrayList<>();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                if (line.startsWith(ROOT_PREFIX)) {
+                    roots.add(line.substring(ROOT_PREFIX.length()).trim());
+                } else if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+
+            log.debug("Loaded the {} class index with {} classes", index, classNames.size());
+
+            return Optional.of(new ClassIndex(roots, classNames));
+        } catch (IOException e) {
+            log.warn("Failed to read the {} class index, falling back to scanning the classpath", index, e);
+            return Optional.empty();
+        }
+    }
+
+    private static class ClassIndex {
+
+        private final List<String> roots;
+        private final List<String> classNames;
+
+        ClassIndex(List<String> roots, List<String> classNames) {
+            this.roots = roots;
+            this.classNames = classNames;
+        }
+
+        boolean covers(String path) {
+            for (String root : roots) {
+                if (path.equals(root) || path.startsWith(root + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
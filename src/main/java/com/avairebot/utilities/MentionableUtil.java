@@ -21,6 +21,8 @@
 
 package com.avbot.utilities;
 
+import com.avbot.av;
+import com.avbot.cache.GuildNameIndex;
 import com.avbot.commands.CommandMessage;
 import com.avbot.contracts.utilities.MentionChannelFinder;
 import net.dv8tion.jda.core.entities.*;
@@ -139,21 +141,24 @@ public class MentionableUtil {
                 return null;
             }
 
-            List<Member> effectiveName = context.getGuild().getMembersByEffectiveName(parts[0], true);
-
-            if (effectiveName.isEmpty()) {
-                return null;
+            GuildNameIndex nameIndex = av.getInstance().getGuildNameIndexCache().getIndex(context.getGuild());
+            for (Long memberId : nameIndex.getMembersByEffectiveName(parts[0])) {
+                Member member = context.getGuild().getMemberById(memberId);
+                if (member != null) {
+                    return member.getUser();
+                }
             }
-            return effectiveName.get(0).getUser();
+            return null;
         }
 
         if (parts[0].length() == 0) {
             return null;
         }
 
-        List<Member> members = context.getGuild().getMembersByName(parts[0], true);
-        for (Member member : members) {
-            if (member.getUser().getDiscriminator().equals(parts[1])) {
+        GuildNameIndex nameIndex = av.getInstance().getGuildNameIndexCache().getIndex(context.getGuild());
+        for (Long memberId : nameIndex.getMembersByName(parts[0])) {
+            Member member = context.getGuild().getMemberById(memberId);
+            if (member != null && member.getUser().getDiscriminator().equals(parts[1])) {
                 return member.getUser();
             }
         }
@@ -21,6 +21,8 @@
 
 package com.avbot.utilities;
 
+import com.avbot.av;
+import com.avbot.cache.GuildNameIndex;
 import com.avbot.factories.MessageFactory;
 import net.dv8tion.jda.core.entities.Member;
 import net.dv8tion.jda.core.entities.Message;
@@ -50,8 +52,14 @@ public class RoleUtil {
             return null;
         }
 
-        List<Role> roles = message.getGuild().getRolesByName(roleName, true);
-        return roles.isEmpty() ? null : roles.get(0);
+        GuildNameIndex index = av.getInstance().getGuildNameIndexCache().getIndex(message.getGuild());
+        for (Long roleId : index.getRolesByName(roleName)) {
+            Role role = message.getGuild().getRoleById(roleId);
+            if (role != null) {
+                return role;
+            }
+        }
+        return null;
     }
 
     /**
@@ -21,12 +21,12 @@
 
 package com.avbot.utilities;
 
+import com.avbot.chat.PlaceholderResolver;
+import com.avbot.chat.PlaceholderTemplate;
 import net.dv8tion.jda.core.entities.*;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @SuppressWarnings("WeakerAccess")
 public class StringReplacementUtil {
@@ -44,10 +44,7 @@ public class StringReplacementUtil {
             return string;
         }
 
-        return string.replaceAll(
-            Pattern.quote(key),
-            Matcher.quoteReplacement(value)
-        );
+        return string.replace(key, value);
     }
 
     /**
@@ -62,11 +59,13 @@ public class StringReplacementUtil {
      * @return The parsed string after all the placeholders was replaced with the actual values.
      */
     public static String parse(@Nonnull Guild guild, @Nonnull TextChannel channel, @Nonnull User user, @Nonnull String message) {
-        return StringReplacementUtil.parseChannel(channel,
-            StringReplacementUtil.parseUser(user,
-                StringReplacementUtil.parseGuild(guild, message)
-            )
-        ).replaceAll("%br%", "\n");
+        PlaceholderResolver resolver = new PlaceholderResolver();
+
+        addGuild(resolver, guild);
+        addUser(resolver, user);
+        addChannel(resolver, channel);
+
+        return render(message, addLineBreak(resolver));
     }
 
     /**
@@ -81,27 +80,24 @@ public class StringReplacementUtil {
      * @return The parsed string after the placeholders was replaced with the actual values.
      */
     public static String parse(@Nonnull Message message, @Nonnull String string, @Nonnull ReplacementType... types) {
+        PlaceholderResolver resolver = new PlaceholderResolver();
         for (ReplacementType type : types) {
-            string = type.function.parse(message, string);
+            type.function.register(message, resolver);
         }
-        return string.replaceAll("%br%", "\n");
+        return render(string, addLineBreak(resolver));
     }
 
     /**
-     * Converts the message object to a guild object and parses the guild
-     * and string to the {@link #parseGuild(Guild, String)} method.
+     * Converts the message object to a guild object and registers
+     * the guild placeholders to the given placeholder resolver.
      *
-     * @param message The message that the guild should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string if the given message contains a valid guild instance,
-     *         otherwise it will just return the original unchanged string.
+     * @param message  The message that the guild should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be registered to.
      */
-    private static String toGuild(Message message, String string) {
-        if (!message.getChannelType().isGuild()) {
-            return string;
+    private static void toGuild(Message message, PlaceholderResolver resolver) {
+        if (message.getChannelType().isGuild()) {
+            addGuild(resolver, message.getGuild());
         }
-
-        return parseGuild(message.getGuild(), string);
     }
 
     /**
@@ -113,24 +109,25 @@ public class StringReplacementUtil {
      * @return The parsed string after all the guild placeholders was parsed.
      */
     public static String parseGuild(@Nonnull Guild guild, @Nonnull String string) {
-        string = string.replaceAll("%server%", Matcher.quoteReplacement(guild.getName()));
-        string = string.replaceAll("%servername%", Matcher.quoteReplacement(guild.getName()));
-        string = string.replaceAll("%serverid%", guild.getId());
+        return render(string, addGuild(new PlaceholderResolver(), guild));
+    }
 
-        return string;
+    private static PlaceholderResolver addGuild(PlaceholderResolver resolver, Guild guild) {
+        return resolver
+            .set("server%", guild::getName)
+            .set("servername%", guild::getName)
+            .set("serverid%", guild::getId);
     }
 
     /**
-     * Converts the message object to a channel object and parses the channel
-     * and string to the {@link #parseChannel(Channel, String)} method.
+     * Converts the message object to a channel object and registers
+     * the channel placeholders to the given placeholder resolver.
      *
-     * @param message The message that the channel should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string if the given message contains a valid channel instance,
-     *         otherwise it will just return the original unchanged string.
+     * @param message  The message that the channel should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be registered to.
      */
-    private static String toChannel(@Nonnull Message message, @Nonnull String string) {
-        return parseChannel(message.getTextChannel(), string);
+    private static void toChannel(@Nonnull Message message, @Nonnull PlaceholderResolver resolver) {
+        addChannel(resolver, message.getTextChannel());
     }
 
     /**
@@ -142,23 +139,25 @@ public class StringReplacementUtil {
      * @return The parsed string after all the channel placeholders was parsed.
      */
     public static String parseChannel(@Nonnull Channel channel, @Nonnull String string) {
-        string = string.replaceAll("%channel%", "<#" + channel.getId() + ">");
-        string = string.replaceAll("%channelname%", Matcher.quoteReplacement(channel.getName()));
-        string = string.replaceAll("%channelid%", channel.getId());
+        return render(string, addChannel(new PlaceholderResolver(), channel));
+    }
 
-        return string;
+    private static PlaceholderResolver addChannel(PlaceholderResolver resolver, Channel channel) {
+        return resolver
+            .set("channel%", () -> "<#" + channel.getId() + ">")
+            .set("channelname%", channel::getName)
+            .set("channelid%", channel::getId);
     }
 
     /**
-     * Converts the message object to a user object and parses the user
-     * and string to the {@link #parseUser(User, String)} method.
+     * Converts the message object to a user object and registers
+     * the user placeholders to the given placeholder resolver.
      *
-     * @param message The message that the user should be retrieved from.
-     * @param string  The original string that should be parsed.
-     * @return The parsed string using the given message author instance.
+     * @param message  The message that the user should be retrieved from.
+     * @param resolver The placeholder resolver the placeholders should be registered to.
      */
-    private static String toUser(@Nonnull Message message, @Nonnull String string) {
-        return parseUser(message.getAuthor(), string);
+    private static void toUser(@Nonnull Message message, @Nonnull PlaceholderResolver resolver) {
+        addUser(resolver, message.getAuthor());
     }
 
     /**
@@ -170,12 +169,32 @@ public class StringReplacementUtil {
      * @return The parsed string after all the user placeholders was parsed.
      */
     public static String parseUser(@Nonnull User user, @Nonnull String string) {
-        string = string.replaceAll("%user%", "<@" + user.getId() + ">");
-        string = string.replaceAll("%userid%", user.getId());
-        string = string.replaceAll("%username%", Matcher.quoteReplacement(user.getName()));
-        string = string.replaceAll("%userdisc%", user.getDiscriminator());
+        return render(string, addUser(new PlaceholderResolver(), user));
+    }
+
+    private static PlaceholderResolver addUser(PlaceholderResolver resolver, User user) {
+        return resolver
+            .set("user%", () -> "<@" + user.getId() + ">")
+            .set("userid%", user::getId)
+            .set("username%", user::getName)
+            .set("userdisc%", user::getDiscriminator);
+    }
+
+    private static PlaceholderResolver addLineBreak(PlaceholderResolver resolver) {
+        return resolver.set("br%", "\n");
+    }
 
-        return string;
+    /**
+     * Renders the given string in a single pass, the placeholders are all
+     * wrapped in percentage signs, so they're tokenized by that prefix,
+     * with the trailing percentage sign being part of the key.
+     *
+     * @param string   The original string that should be rendered.
+     * @param resolver The resolver containing the placeholders that should be used.
+     * @return The rendered string.
+     */
+    private static String render(String string, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(string, '%').render(resolver);
     }
 
     /**
@@ -211,14 +230,13 @@ public class StringReplacementUtil {
     private interface ReplacementFunction {
 
         /**
-         * Converts the message object to the required replacement
-         * type object and parses the string.
+         * Converts the message object to the required replacement type object and registers
+         * the replacement type placeholders to the given placeholder resolver, if the
+         * message doesn't contain the required object nothing will be registered.
          *
-         * @param message The message that the replacement type object should be retrieved from.
-         * @param string  The original string that should be parsed.
-         * @return The parsed string if the given message object contained the required replacement
-         *         type object, otherwise it will just return the original unchanged string.
+         * @param message  The message that the replacement type object should be retrieved from.
+         * @param resolver The placeholder resolver the placeholders should be registered to.
          */
-        String parse(Message message, String string);
+        void register(Message message, PlaceholderResolver resolver);
     }
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.weather;
+
+import com.avbot.exceptions.WeatherQuotaExceededException;
+import com.avbot.metrics.Metrics;
+import com.avbot.requests.service.WeatherService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import io.prometheus.client.Counter;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The weather manager looks up the current weather for cities using the OpenWeatherMap API,
+ * results are cached by the normalized city name for a short time, concurrent lookups
+ * for the same city share a single API request, and the requests that has to be sent
+ * to the API are scheduled against a request quota, allowing short bursts of
+ * requests while keeping the average rate within the quota.
+ */
+public class WeatherManager {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherManager.class);
+
+    private static final Pattern whitespace = Pattern.compile("\\s+");
+    private static final Pattern commaSpacing = Pattern.compile("\\s*,\\s*");
+
+    private static final Counter.Child cacheHits = Metrics.weatherLookups.labels("cache");
+    private static final Counter.Child coalesced = Metrics.weatherLookups.labels("coalesced");
+    private static final Counter.Child requests = Metrics.weatherLookups.labels("request");
+    private static final Counter.Child rejected = Metrics.weatherLookups.labels("rejected");
+
+    private final HttpUrl endpoint;
+    private final String apiKey;
+    private final long interval;
+    private final long burstTolerance;
+    private final long maxWait;
+
+    private final Cache<String, Optional<WeatherService>> cache;
+    private final Map<String, CompletableFuture<WeatherService>> pending = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor executor;
+    private final OkHttpClient client;
+    private final Gson gson = new Gson();
+
+    private long nextSlot;
+
+    /**
+     * Creates a new weather manager.
+     *
+     * @param endpoint          The URL of the current weather API endpoint.
+     * @param apiKey            The API key that should be sent with the API requests.
+     * @param requestsPerMinute The max average amount of requests that can be sent to the API every minute.
+     * @param burst             The max amount of requests that can be sent to the API right after each other.
+     * @param cacheTtl          The time in milliseconds a weather lookup result should be cached for.
+     * @param maxWait           The max time in milliseconds a lookup can wait for the request quota,
+     *                          lookups that would have to wait any longer are rejected instead.
+     */
+    public WeatherManager(@Nonnull String endpoint, @Nonnull String apiKey, int requestsPerMinute, int burst, long cacheTtl, long maxWait) {
+        HttpUrl url = HttpUrl.parse(endpoint);
+        if (url == null) {
+            throw new IllegalArgumentException("Invalid weather API endpoint given: " + endpoint);
+        }
+
+        this.endpoint = url;
+        this.apiKey = apiKey;
+        this.interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        this.burstTolerance = interval * (Math.max(1, burst) - 1);
+        this.maxWait = TimeUnit.MILLISECONDS.toNanos(maxWait);
+        this.nextSlot = System.nanoTime();
+
+        this.cache = CacheBuilder.newBuilder()
+            .expireAfterWrite(cacheTtl, TimeUnit.MILLISECONDS)
+            .maximumSize(5000)
+            .build();
+
+        this.executor = new ScheduledThreadPoolExecutor(2, new ThreadFactoryBuilder()
+            .setNameFormat("av-weather-lookup-%d")
+            .setDaemon(true)
+            .build()
+        );
+        this.executor.setRemoveOnCancelPolicy(true);
+
+        this.client = new OkHttpClient.Builder()
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(10, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * Normalizes the given city query, so different spellings of the same query,
+     * like {@code "London,UK"} and {@code " london, uk"}, share the same key.
+     *
+     * @param query The city query that should be normalized.
+     * @return The normalized city query.
+     */
+    @Nonnull
+    public static String normalize(@Nonnull String query) {
+        return commaSpacing.matcher(
+            whitespace.matcher(query.trim()).replaceAll(" ")
+        ).replaceAll(",").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up the current weather for the given city query, the returned future completes
+     * with {@code NULL} if no city was found matching the query, or exceptionally with a
+     * {@link WeatherQuotaExceededException} if the lookup had to wait too long for the
+     * request quota, or with the error that occurred while requesting the weather.
+     *
+     * @param query The city query that the weather should be looked up for.
+     * @return The future that completes with the weather for the given city query.
+     */
+    public CompletableFuture<WeatherService> lookup(@Nonnull String query) {
+        String key = normalize(query);
+
+        Optional<WeatherService> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.inc();
+            return CompletableFuture.completedFuture(cached.orElse(null));
+        }
+
+        CompletableFuture<WeatherService> future = new CompletableFuture<>();
+        CompletableFuture<WeatherService> existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.inc();
+            return existing;
+        }
+
+        // The result might have been cached by a request that finished right between
+        // checking the cache and registering the pending lookup, so we check the
+        // cache again before sending another request for the same city.
+        cached = cache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.inc();
+            pending.remove(key, future);
+            future.complete(cached.orElse(null));
+            return future;
+        }
+
+        long delay = reserveRequestSlot();
+        if (delay < 0) {
+            rejected.inc();
+            pending.remove(key, future);
+            future.completeExceptionally(new WeatherQuotaExceededException(
+                "The weather request quota has been exceeded, lookup for \"" + key + "\" was rejected"
+            ));
+            return future;
+        }
+
+        requests.inc();
+        executor.schedule(() -> request(key, future), delay, TimeUnit.NANOSECONDS);
+
+        return future;
+    }
+
+    /**
+     * Gets the amount of lookups that are currently waiting for an API request.
+     *
+     * @return The amount of lookups waiting for an API request.
+     */
+    public int getPendingSize() {
+        return pending.size();
+    }
+
+    /**
+     * Stops the weather manager, lookups that are still waiting
+     * for an API request will be completed exceptionally.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+
+        for (CompletableFuture<WeatherService> future : pending.values()) {
+            future.completeExceptionally(new IllegalStateException("The weather manager has been shutdown"));
+        }
+        pending.clear();
+    }
+
+    /**
+     * Reserves a slot for sending a request to the API, the slots are spaced evenly
+     * out using the request quota, while allowing the amount of requests given
+     * as the burst to be sent right away if no requests has been sent recently.
+     *
+     * @return The time in nanoseconds until the reserved slot, or {@code -1}
+     *         if the slot would be further away than the max wait time.
+     */
+    private synchronized long reserveRequestSlot() {
+        long now = System.nanoTime();
+        long slot = Math.max(nextSlot, now);
+        long delay = Math.max(0L, slot - burstTolerance - now);
+
+        if (delay > maxWait) {
+            return -1L;
+        }
+
+        nextSlot = slot + interval;
+
+        return delay;
+    }
+
+    private void request(String key, CompletableFuture<WeatherService> future) {
+        log.debug("Requesting weather data with the query: {}", key);
+
+        Request request = new Request.Builder()
+            .url(endpoint.newBuilder()
+                .addQueryParameter("appid", apiKey)
+                .addQueryParameter("units", "metric")
+                .addQueryParameter("q", key)
+                .build()
+            )
+            .header("User-Agent", "Mozilla/5.0")
+            .get()
+            .build();
+
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+
+            if (response.code() == 404) {
+                complete(key, future, Optional.empty());
+            } else if (response.isSuccessful() && body != null) {
+                complete(key, future, Optional.ofNullable(gson.fromJson(body.string(), WeatherService.class)));
+            } else {
+                throw new IOException("Weather API responded with status code " + response.code());
+            }
+        } catch (Exception e) {
+            log.debug("Failed to request weather data with the query: {}", key, e);
+
+            pending.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void complete(String key, CompletableFuture<WeatherService> future, Optional<WeatherService> result) {
+        // The result is cached before the pending lookup is removed, so lookups for the same
+        // city will always find either the pending lookup or the cached result.
+        cache.put(key, result);
+        pending.remove(key, future);
+
+        future.complete(result.orElse(null));
+    }
+}
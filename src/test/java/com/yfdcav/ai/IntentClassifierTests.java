@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.ai;
+
+import com.avbot.BaseTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntentClassifierTests extends BaseTest {
+
+    private IntentClassifier classifier;
+
+    @Before
+    public void setUp() {
+        classifier = new IntentClassifier();
+        classifier.train("request.cat", Arrays.asList(
+            "show me a cat", "send a cat picture", "cat picture", "random cat", "show me a kitten"
+        ));
+        classifier.train("request.dog", Arrays.asList(
+            "show me a dog", "send a dog picture", "dog picture", "random dog", "show me a puppy"
+        ));
+        classifier.train("request.level", Arrays.asList(
+            "what level am i", "what is my level", "show me my level", "what is my rank"
+        ));
+    }
+
+    @Test
+    public void testQueriesAreNormalized() {
+        assertEquals("show me a cat", IntentClassifier.normalize("  Show me  a CAT!! "));
+        assertEquals("what s my level", IntentClassifier.normalize("What's my level?"));
+        assertEquals("", IntentClassifier.normalize("?!"));
+    }
+
+    @Test
+    public void testMatchingQueriesAreClassified() {
+        assertClassifiedAs("request.cat", "Show me a cat!");
+        assertClassifiedAs("request.cat", "Random CAT");
+        assertClassifiedAs("request.dog", "send a dog picture");
+        assertClassifiedAs("request.level", "what level am I?");
+        assertClassifiedAs("request.level", "what is my level");
+    }
+
+    @Test
+    public void testUnrelatedQueriesAreNotClassified() {
+        assertNull(classifier.classify("what is the weather like in Paris tomorrow"));
+        assertNull(classifier.classify("tell me a joke"));
+        assertNull(classifier.classify(""));
+        assertNull(classifier.classify("!?"));
+    }
+
+    @Test
+    public void testAmbiguousQueriesAreNotClassified() {
+        assertNull(classifier.classify("show me a"));
+        assertNull(classifier.classify("cat or dog"));
+    }
+
+    @Test
+    public void testQueriesWithLotsOfUnknownWordsAreNotClassified() {
+        assertNull(classifier.classify("can you explain why my cat keeps knocking glasses off the kitchen table"));
+    }
+
+    @Test
+    public void testEmptyClassifiersNeverClassifiesAnything() {
+        IntentClassifier empty = new IntentClassifier();
+        empty.train("request.cat", Arrays.asList());
+
+        assertTrue(empty.isEmpty());
+        assertNull(empty.classify("show me a cat"));
+    }
+
+    private void assertClassifiedAs(String action, String query) {
+        IntentClassifier.Classification classification = classifier.classify(query);
+
+        assertNotNull(classification, "Expected \"" + query + "\" to be classified as " + action);
+        assertEquals(action, classification.getAction());
+        assertTrue(classification.getConfidence() >= 0.75D && classification.getConfidence() <= 1.0001D);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.ai.dialogflow;
+
+import ai.api.AIServiceException;
+import ai.api.model.AIResponse;
+import ai.api.model.Fulfillment;
+import ai.api.model.Result;
+import ai.api.model.Status;
+import com.avbot.BaseTest;
+import com.avbot.ai.IntentClassifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntentResolverTests extends BaseTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private FakeBackend backend;
+    private IntentResolver resolver;
+
+    @Before
+    public void setUp() {
+        IntentClassifier classifier = new IntentClassifier();
+        classifier.train("request.cat", Arrays.asList("show me a cat", "cat picture", "random cat"));
+        classifier.train("request.dog", Arrays.asList("show me a dog", "dog picture", "random dog"));
+
+        backend = new FakeBackend();
+        resolver = new IntentResolver(classifier, backend, executor, 10, TimeUnit.MINUTES);
+    }
+
+    @After
+    public void tearDown() {
+        backend.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testClassifiedQueriesAreResolvedLocally() throws Exception {
+        AIResponse response = resolver.resolve("Show me a cat!").get(1, TimeUnit.SECONDS);
+
+        assertEquals("request.cat", response.getResult().getAction());
+        assertEquals(200, (int) response.getStatus().getCode());
+        assertEquals("", response.getResult().getFulfillment().getSpeech());
+        assertEquals(0, backend.requests.get());
+    }
+
+    @Test
+    public void testRemoteResponsesAreCachedByNormalizedQuery() throws Exception {
+        backend.release.countDown();
+
+        AIResponse first = resolver.resolve("Hello there!").get(1, TimeUnit.SECONDS);
+        AIResponse second = resolver.resolve("hello   THERE").get(1, TimeUnit.SECONDS);
+
+        assertEquals("smalltalk.greetings.hello", first.getResult().getAction());
+        assertSame(first, second);
+        assertEquals(1, backend.requests.get());
+    }
+
+    @Test
+    public void testConcurrentIdenticalQueriesAreCoalesced() throws Exception {
+        List<CompletableFuture<AIResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(resolver.resolve("hello there"));
+        }
+
+        backend.release.countDown();
+
+        AIResponse response = futures.get(0).get(1, TimeUnit.SECONDS);
+        for (CompletableFuture<AIResponse> future : futures) {
+            assertSame(response, future.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, backend.requests.get());
+    }
+
+    @Test
+    public void testFailedRequestsAreNotCached() throws Exception {
+        backend.release.countDown();
+        backend.failures.set(1);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> resolver.resolve("hello there").get(1, TimeUnit.SECONDS)
+        );
+        assertTrue(exception.getCause() instanceof AIServiceException);
+
+        awaitRemoval("hello there");
+
+        assertEquals("smalltalk.greetings.hello", resolver.resolve("hello there")
+            .get(1, TimeUnit.SECONDS).getResult().getAction());
+        assertEquals(2, backend.requests.get());
+    }
+
+    @Test
+    public void testErrorResponsesAreNotCached() throws Exception {
+        backend.release.countDown();
+        backend.errorResponses.set(1);
+
+        assertEquals(429, (int) resolver.resolve("hello there").get(1, TimeUnit.SECONDS).getStatus().getCode());
+
+        awaitRemoval("hello there");
+
+        assertEquals(200, (int) resolver.resolve("hello there").get(1, TimeUnit.SECONDS).getStatus().getCode());
+        assertEquals(2, backend.requests.get());
+    }
+
+    private void awaitRemoval(String key) throws InterruptedException {
+        for (int i = 0; i < 100 && resolver.getResponses().getIfPresent(key) != null; i++) {
+            Thread.sleep(10);
+        }
+        assertNull(resolver.getResponses().getIfPresent(key));
+    }
+
+    private static class FakeBackend implements DialogFlowBackend {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger errorResponses = new AtomicInteger();
+
+        @Override
+        public AIResponse request(String query) throws AIServiceException {
+            requests.incrementAndGet();
+
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (failures.getAndDecrement() > 0) {
+                throw new AIServiceException("The fake DialogFlow backend is unavailable");
+            }
+
+            Fulfillment fulfillment = new Fulfillment();
+            fulfillment.setSpeech("Hello, %nick%!");
+
+            Result result = new Result();
+            result.setAction("smalltalk.greetings.hello");
+            result.setResolvedQuery(query);
+            result.setFulfillment(fulfillment);
+
+            Status status = new Status();
+            status.setCode(errorResponses.getAndDecrement() > 0 ? 429 : 200);
+
+            AIResponse response = new AIResponse();
+            response.setResult(result);
+            response.setStatus(status);
+
+            return response;
+        }
+    }
+}
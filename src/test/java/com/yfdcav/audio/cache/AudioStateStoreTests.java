@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.cache;
+
+import com.avbot.BaseTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AudioStateStoreTests extends BaseTest {
+
+    private File directory;
+    private AudioStateStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audio-state-tests").toFile();
+        store = new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3));
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testAudioStatesCanBeEncodedAndDecoded() throws IOException {
+        AudioState state = createState(10L, 93500L, 3);
+
+        AudioState decoded = AudioStateStore.decode(AudioStateStore.encode(state));
+
+        assertEquals(state.getGuildId(), decoded.getGuildId());
+        assertEquals(state.getVoiceChannelId(), decoded.getVoiceChannelId());
+        assertEquals(state.getMessageChannelId(), decoded.getMessageChannelId());
+        assertEquals(state.getVolume(), decoded.getVolume());
+
+        assertNotNull(decoded.getPlayingTrack());
+        assertAudioCacheEquals(state.getPlayingTrack(), decoded.getPlayingTrack());
+
+        assertEquals(3, decoded.getQueue().size());
+        for (int i = 0; i < 3; i++) {
+            assertAudioCacheEquals(state.getQueue().get(i), decoded.getQueue().get(i));
+        }
+    }
+
+    @Test
+    public void testTracksThatFailedToEncodeAreSkipped() throws IOException {
+        AudioState state = new AudioState(1L, 2L, 3L, 50, new AudioCache((byte[]) null, 4L, 5L), Arrays.asList(
+            new AudioCache((byte[]) null, 4L, 0L),
+            new AudioCache(new byte[]{1, 2, 3}, 4L, 0L)
+        ));
+
+        AudioState decoded = AudioStateStore.decode(AudioStateStore.encode(state));
+
+        assertNull(decoded.getPlayingTrack());
+        assertEquals(1, decoded.getQueue().size());
+        assertArrayEquals(new byte[]{1, 2, 3}, decoded.getQueue().get(0).getTrack());
+    }
+
+    @Test
+    public void testOnlyChangedShardsAreWrittenToDisk() {
+        assertTrue(store.put(0, createState(1L, 1000L, 1)));
+        assertTrue(store.put(1, createState(2L, 1000L, 1)));
+        assertEquals(2, store.flush());
+
+        assertFalse(store.put(0, createState(1L, 1000L, 1)));
+        assertEquals(0, store.flush());
+
+        assertTrue(store.put(1, createState(2L, 2000L, 1)));
+        assertEquals(1, store.flush());
+    }
+
+    @Test
+    public void testShardsOnlyLoadTheirOwnGuilds() {
+        store.put(0, createState(1L, 1000L, 0));
+        store.put(0, createState(2L, 2000L, 1));
+        store.put(1, createState(3L, 3000L, 2));
+        store.flush();
+
+        AudioStateStore restarted = new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3));
+
+        List<AudioState> states = restarted.load(0);
+        Set<Long> guildIds = new HashSet<>();
+        for (AudioState state : states) {
+            guildIds.add(state.getGuildId());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), guildIds);
+
+        states = restarted.load(1);
+        assertEquals(1, states.size());
+        assertEquals(3L, states.get(0).getGuildId());
+        assertEquals(3000L, states.get(0).getPlayingTrack().getPosition());
+        assertEquals(2, states.get(0).getQueue().size());
+    }
+
+    @Test
+    public void testSnapshotsAreConsumedWhenLoaded() {
+        store.put(0, createState(1L, 1000L, 0));
+        store.flush();
+
+        AudioStateStore restarted = new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3));
+
+        assertEquals(1, restarted.load(0).size());
+        assertTrue(restarted.load(0).isEmpty());
+        assertTrue(new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3)).load(0).isEmpty());
+    }
+
+    @Test
+    public void testShardsCanOnlyBeLoadedOnce() {
+        assertTrue(store.load(0).isEmpty());
+
+        store.put(0, createState(1L, 1000L, 0));
+        store.flush();
+
+        assertTrue(store.load(0).isEmpty());
+    }
+
+    @Test
+    public void testRemovedGuildsAreRemovedFromTheSnapshot() {
+        store.put(0, createState(1L, 1000L, 0));
+        store.put(0, createState(2L, 1000L, 0));
+        store.put(1, createState(3L, 1000L, 0));
+        store.flush();
+
+        store.retainAll(Collections.singleton(2L));
+        assertEquals(2, store.flush());
+
+        AudioStateStore restarted = new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3));
+
+        List<AudioState> states = restarted.load(0);
+        assertEquals(1, states.size());
+        assertEquals(2L, states.get(0).getGuildId());
+        assertTrue(restarted.load(1).isEmpty());
+    }
+
+    @Test
+    public void testGuildsMovedToAnotherShardAreRemovedFromTheOldShard() {
+        store.put(0, createState(1L, 1000L, 0));
+        store.flush();
+
+        store.put(1, createState(1L, 1000L, 0));
+        assertEquals(2, store.flush());
+
+        AudioStateStore restarted = new AudioStateStore(directory, TimeUnit.HOURS.toMillis(3));
+
+        assertTrue(restarted.load(0).isEmpty());
+        assertEquals(1, restarted.load(1).size());
+    }
+
+    @Test
+    public void testExpiredSnapshotsAreIgnored() {
+        store.put(0, createState(1L, 1000L, 0));
+        store.flush();
+
+        assertTrue(new AudioStateStore(directory, -1).load(0).isEmpty());
+    }
+
+    @Test
+    public void testInvalidSnapshotsAreIgnored() throws IOException {
+        Files.write(new File(directory, "shard-0.state").toPath(), "[{\"guildId\": 1}]".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(store.load(0).isEmpty());
+    }
+
+    private AudioState createState(long guildId, long position, int queueSize) {
+        List<AudioCache> queue = new ArrayList<>();
+        for (int i = 0; i < queueSize; i++) {
+            queue.add(new AudioCache(("queued-track-" + guildId + "-" + i).getBytes(StandardCharsets.UTF_8), 200L + i, 0L));
+        }
+
+        return new AudioState(
+            guildId, 100L + guildId, 300L + guildId, 75,
+            new AudioCache(("playing-track-" + guildId).getBytes(StandardCharsets.UTF_8), 200L, position),
+            queue
+        );
+    }
+
+    private void assertAudioCacheEquals(AudioCache expected, AudioCache actual) {
+        assertArrayEquals(expected.getTrack(), actual.getTrack());
+        assertEquals(expected.getRequestedBy(), actual.getRequestedBy());
+        assertEquals(expected.getPosition(), actual.getPosition());
+    }
+}
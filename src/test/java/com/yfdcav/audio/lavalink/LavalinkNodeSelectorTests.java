@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import com.avbot.BaseTest;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LavalinkNodeSelectorTests extends BaseTest {
+
+    private static final String PASSWORD = "youshallnotpass";
+
+    private final List<StubLavalinkNode> stubs = new ArrayList<>();
+    private final List<NodeClient> clients = new ArrayList<>();
+
+    private LavalinkNodeSelector selector;
+
+    @Before
+    public void setUp() {
+        selector = new LavalinkNodeSelector(new LoadBasedNodeSelectionStrategy());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (NodeClient client : clients) {
+            client.closeBlocking();
+        }
+        for (StubLavalinkNode stub : stubs) {
+            stub.shutdown();
+        }
+    }
+
+    @Test
+    public void testNodeWithTheLowestLoadIsSelected() throws Exception {
+        connect("node-a", StubLavalinkNode.createStats(40, 50, 0.5D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(5, 10, 0.1D, 0, 0));
+
+        assertEquals("node-b", selector.select(null));
+    }
+
+    @Test
+    public void testGuildsStayOnTheirCurrentNodeWhileItIsHealthy() throws Exception {
+        connect("node-a", StubLavalinkNode.createStats(40, 50, 0.5D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(0, 0, 0.0D, 0, 0));
+
+        assertEquals("node-a", selector.select("node-a"));
+        assertFalse(selector.shouldMove("node-a"));
+    }
+
+    @Test
+    public void testGuildsAreMovedAwayFromOverloadedNodes() throws Exception {
+        NodeClient nodeA = connect("node-a", StubLavalinkNode.createStats(10, 10, 0.2D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(30, 30, 0.4D, 0, 0));
+
+        assertFalse(selector.shouldMove("node-a"));
+
+        nodeA.pushStats(StubLavalinkNode.createStats(10, 10, 0.2D, 150, 600));
+
+        assertFalse(selector.isHealthy("node-a"));
+        assertTrue(selector.shouldMove("node-a"));
+        assertEquals("node-b", selector.select("node-a"));
+    }
+
+    @Test
+    public void testGuildsFailoverWhenTheirNodeDisconnects() throws Exception {
+        NodeClient nodeA = connect("node-a", StubLavalinkNode.createStats(0, 0, 0.0D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(50, 50, 0.6D, 0, 0));
+
+        assertEquals("node-a", selector.select(null));
+
+        nodeA.shutdownStub();
+
+        assertFalse(selector.getNode("node-a").isAvailable());
+        assertTrue(selector.shouldMove("node-a"));
+        assertEquals("node-b", selector.select("node-a"));
+    }
+
+    @Test
+    public void testNoNodeIsSelectedWhenAllNodesAreUnavailable() throws Exception {
+        NodeClient nodeA = connect("node-a", StubLavalinkNode.createStats(0, 0, 0.0D, -1, -1));
+
+        nodeA.shutdownStub();
+
+        assertNull(selector.select(null));
+        assertFalse(selector.shouldMove("node-a"));
+    }
+
+    @Test
+    public void testUnhealthyNodesAreStillUsedWhenNoHealthyNodesAreAvailable() throws Exception {
+        connect("node-a", StubLavalinkNode.createStats(10, 10, 0.95D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(10, 10, 0.99D, 0, 0));
+
+        assertFalse(selector.shouldMove("node-a"));
+        assertEquals("node-a", selector.select(null));
+    }
+
+    @Test
+    public void testNewGuildsAreSpreadAcrossEquallyLoadedNodes() throws Exception {
+        connect("node-a", StubLavalinkNode.createStats(0, 0, 0.0D, 0, 0));
+        connect("node-b", StubLavalinkNode.createStats(0, 0, 0.0D, 0, 0));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            counts.merge(selector.select(null), 1, Integer::sum);
+        }
+
+        assertEquals(10, (int) counts.get("node-a"));
+        assertEquals(10, (int) counts.get("node-b"));
+    }
+
+    @Test
+    public void testClientsWithInvalidPasswordsAreRejected() throws Exception {
+        StubLavalinkNode stub = createStub();
+
+        NodeClient client = new NodeClient("node-a", stub, "invalid-password");
+        clients.add(client);
+
+        client.connectBlocking();
+        client.awaitUpdate();
+
+        assertFalse(selector.getNode("node-a").isAvailable());
+        assertNull(selector.getNode("node-a").getStats());
+    }
+
+    private StubLavalinkNode createStub() throws InterruptedException {
+        StubLavalinkNode stub = new StubLavalinkNode(PASSWORD);
+        stub.startAndWait();
+        stubs.add(stub);
+
+        return stub;
+    }
+
+    private NodeClient connect(String name, JSONObject stats) throws InterruptedException {
+        StubLavalinkNode stub = createStub();
+        stub.setStats(stats);
+
+        NodeClient client = new NodeClient(name, stub, PASSWORD);
+        clients.add(client);
+
+        assertTrue(client.connectBlocking());
+        client.awaitUpdate();
+
+        return client;
+    }
+
+    /**
+     * A minimal Lavalink client that feeds the stats it receives from
+     * a stub node into the node selector, the same way the
+     * Lavalink manager does it for real nodes.
+     */
+    private class NodeClient extends WebSocketClient {
+
+        private final String name;
+        private final StubLavalinkNode stub;
+        private final Semaphore updates = new Semaphore(0);
+
+        private volatile LavalinkNodeStats stats;
+
+        NodeClient(String name, StubLavalinkNode stub, String password) {
+            super(stub.getUri(), createHeaders(password));
+
+            this.name = name;
+            this.stub = stub;
+        }
+
+        void pushStats(JSONObject json) throws InterruptedException {
+            stub.setStats(json);
+            awaitUpdate();
+        }
+
+        void shutdownStub() throws Exception {
+            stub.shutdown();
+            awaitUpdate();
+        }
+
+        void awaitUpdate() throws InterruptedException {
+            assertTrue(updates.tryAcquire(5, TimeUnit.SECONDS), "The stub Lavalink node never responded");
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshake) {
+            //
+        }
+
+        @Override
+        public void onMessage(String message) {
+            JSONObject json = new JSONObject(message);
+            if (!"stats".equals(json.optString("op"))) {
+                return;
+            }
+
+            stats = LavalinkNodeStats.fromJson(json);
+            selector.update(new LavalinkNode(name, true, stats, 0));
+            updates.release();
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            selector.update(new LavalinkNode(name, false, stats, -1));
+            updates.release();
+        }
+
+        @Override
+        public void onError(Exception ex) {
+            //
+        }
+    }
+
+    private static Map<String, String> createHeaders(String password) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", password);
+        headers.put("Num-Shards", "1");
+        headers.put("User-Id", "1");
+        return headers;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.audio.lavalink;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local stub of a Lavalink node, the stub accepts websocket connections using the
+ * same headers as a real Lavalink node, and sends stats payloads to the connected
+ * clients whenever the stats of the stub are changed, allowing node selection
+ * and failover to be tested without having a real Lavalink node running.
+ */
+class StubLavalinkNode extends WebSocketServer {
+
+    private final String password;
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private volatile JSONObject stats;
+
+    StubLavalinkNode(String password) {
+        super(new InetSocketAddress("127.0.0.1", 0));
+
+        this.password = password;
+        this.stats = createStats(0, 0, 0D, -1, -1);
+
+        setReuseAddr(true);
+    }
+
+    static JSONObject createStats(int playingPlayers, int players, double systemLoad, int nulled, int deficit) {
+        JSONObject json = new JSONObject()
+            .put("op", "stats")
+            .put("players", players)
+            .put("playingPlayers", playingPlayers)
+            .put("uptime", 60000)
+            .put("memory", new JSONObject()
+                .put("free", 1024)
+                .put("used", 1024)
+                .put("allocated", 2048)
+                .put("reservable", 4096)
+            )
+            .put("cpu", new JSONObject()
+                .put("cores", 4)
+                .put("systemLoad", systemLoad)
+                .put("lavalinkLoad", systemLoad / 2)
+            );
+
+        if (nulled >= 0 && deficit >= 0) {
+            json.put("frameStats", new JSONObject()
+                .put("sent", 3000 - nulled - deficit)
+                .put("nulled", nulled)
+                .put("deficit", deficit)
+            );
+        }
+        return json;
+    }
+
+    void startAndWait() throws InterruptedException {
+        start();
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The stub Lavalink node failed to start");
+        }
+    }
+
+    URI getUri() {
+        return URI.create("ws://127.0.0.1:" + getPort());
+    }
+
+    /**
+     * Sets the stats of the stub node, and sends the new stats to every connected client.
+     *
+     * @param stats The stats payload that should be sent to the clients.
+     */
+    void setStats(JSONObject stats) {
+        this.stats = stats;
+        broadcast(stats.toString());
+    }
+
+    void shutdown() throws IOException, InterruptedException {
+        stop(1000);
+    }
+
+    @Override
+    public void onStart() {
+        started.countDown();
+    }
+
+    @Override
+    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        if (!password.equals(handshake.getFieldValue("Authorization"))
+            || !handshake.hasFieldValue("Num-Shards")
+            || !handshake.hasFieldValue("User-Id")) {
+            conn.close(4001, "Authentication failed");
+            return;
+        }
+
+        conn.send(stats.toString());
+    }
+
+    @Override
+    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        //
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, String message) {
+        //
+    }
+
+    @Override
+    public void onError(WebSocket conn, Exception ex) {
+        //
+    }
+}
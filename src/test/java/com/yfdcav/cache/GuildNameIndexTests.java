@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.cache;
+
+import com.avbot.BaseTest;
+import net.dv8tion.jda.core.entities.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GuildNameIndexTests extends BaseTest {
+
+    private GuildNameIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new GuildNameIndex();
+        index.putMember(3L, "Senither", null);
+        index.putMember(1L, "senither", "Alexis");
+        index.putMember(2L, "Ava", "Sen");
+    }
+
+    @Test
+    public void testMembersCanBeFoundByUsernameIgnoringCasing() {
+        assertEquals(Arrays.asList(1L, 3L), index.getMembersByName("SENITHER"));
+        assertEquals(Collections.singletonList(2L), index.getMembersByName("ava"));
+        assertTrue(index.getMembersByName("Alexis").isEmpty());
+    }
+
+    @Test
+    public void testEffectiveNamesUseTheNicknameWhenOneIsSet() {
+        assertEquals(Collections.singletonList(3L), index.getMembersByEffectiveName("senither"));
+        assertEquals(Collections.singletonList(1L), index.getMembersByEffectiveName("alexis"));
+        assertTrue(index.getMembersByEffectiveName("Ava").isEmpty());
+    }
+
+    @Test
+    public void testMembersCanBeFoundByEffectiveNamePrefix() {
+        assertEquals(Arrays.asList(2L, 3L), index.getMembersByEffectiveNamePrefix("SEN", 10));
+        assertEquals(Collections.singletonList(2L), index.getMembersByEffectiveNamePrefix("sen", 1));
+        assertEquals(3, index.getMembersByEffectiveNamePrefix("", 10).size());
+        assertTrue(index.getMembersByEffectiveNamePrefix("xyz", 10).isEmpty());
+    }
+
+    @Test
+    public void testUpdatingMembersReplacesTheirOldNames() {
+        index.putMember(1L, "senither", null);
+
+        assertTrue(index.getMembersByEffectiveName("alexis").isEmpty());
+        assertEquals(Arrays.asList(1L, 3L), index.getMembersByEffectiveName("senither"));
+    }
+
+    @Test
+    public void testUpdatingUsernamesKeepsTheNickname() {
+        index.updateUsername(1L, "Senither2");
+        index.updateUsername(99L, "Unknown");
+
+        assertEquals(Collections.singletonList(1L), index.getMembersByName("senither2"));
+        assertEquals(Collections.singletonList(3L), index.getMembersByName("senither"));
+        assertEquals(Collections.singletonList(1L), index.getMembersByEffectiveName("alexis"));
+        assertFalse(index.hasMember(99L));
+    }
+
+    @Test
+    public void testRemovedMembersAreNoLongerIndexed() {
+        index.removeMember(3L);
+        index.removeMember(99L);
+
+        assertFalse(index.hasMember(3L));
+        assertEquals(2, index.size());
+        assertEquals(Collections.singletonList(1L), index.getMembersByName("senither"));
+        assertTrue(index.getMembersByEffectiveName("senither").isEmpty());
+    }
+
+    @Test
+    public void testRolesKeepTheOrderTheyWereIndexedIn() {
+        index.setRoles(Arrays.asList(
+            makeRole(30L, "Moderator"),
+            makeRole(10L, "Member"),
+            makeRole(20L, "moderator")
+        ));
+
+        assertEquals(Arrays.asList(30L, 20L), index.getRolesByName("MODERATOR"));
+        assertEquals(Collections.singletonList(10L), index.getRolesByName("member"));
+        assertEquals(Arrays.asList(10L, 30L, 20L), index.getRolesByNamePrefix("m", 10));
+
+        index.setRoles(Collections.singletonList(makeRole(10L, "Member")));
+
+        assertTrue(index.getRolesByName("moderator").isEmpty());
+    }
+
+    private Role makeRole(long id, String name) {
+        return (Role) Proxy.newProxyInstance(
+            Role.class.getClassLoader(), new Class[]{Role.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getIdLong":
+                        return id;
+                    case "getName":
+                        return name;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.chat;
+
+import com.avbot.BaseTest;
+import com.avbot.contracts.chat.PurgeableChannel;
+import net.dv8tion.jda.core.entities.Message;
+import net.dv8tion.jda.core.entities.User;
+import net.dv8tion.jda.core.utils.MiscUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessagePurgerTests extends BaseTest {
+
+    private FakeChannel channel;
+    private AtomicInteger completed;
+
+    @BeforeEach
+    public void setUp() {
+        channel = new FakeChannel();
+        completed = new AtomicInteger(0);
+    }
+
+    @Test
+    public void testHistoryIsStreamedInPagesUntilEnoughMessagesMatch() {
+        channel.addMessages(250, 1L, 0);
+        channel.addMessages(250, 2L, 0);
+
+        MessagePurger purger = makePurger(200, 5000, 2L);
+        purger.start();
+
+        assertEquals(1, completed.get());
+        assertEquals(200, purger.getDeleted());
+        assertEquals(450, purger.getSearched());
+        assertEquals(5, channel.retrieveRequests.size());
+        for (int amount : channel.retrieveRequests) {
+            assertTrue(amount <= MessagePurger.MAX_PER_REQUEST);
+        }
+        for (Message message : channel.deletedMessages) {
+            assertEquals(2L, message.getAuthor().getIdLong());
+        }
+    }
+
+    @Test
+    public void testMessagesAreBulkDeletedInBatchesOfUpTo100() {
+        channel.addMessages(350, 1L, 0);
+
+        MessagePurger purger = makePurger(250, 5000, null);
+        purger.start();
+
+        assertEquals(250, purger.getDeleted());
+        assertEquals(3, channel.bulkDeletes.size());
+        assertEquals(100, (int) channel.bulkDeletes.get(0));
+        assertEquals(100, (int) channel.bulkDeletes.get(1));
+        assertEquals(50, (int) channel.bulkDeletes.get(2));
+        assertEquals(0, channel.singleDeletes.get());
+    }
+
+    @Test
+    public void testMessagesOlderThan14DaysAreDeletedOneByOne() {
+        channel.addMessages(20, 1L, 0);
+        channel.addMessages(10, 1L, 20);
+
+        MessagePurger purger = makePurger(30, 5000, null);
+        purger.start();
+
+        assertEquals(30, purger.getDeleted());
+        assertEquals(1, channel.bulkDeletes.size());
+        assertEquals(20, (int) channel.bulkDeletes.get(0));
+        assertEquals(10, channel.singleDeletes.get());
+    }
+
+    @Test
+    public void testFailedBulkDeletesFallbackToSingleDeletes() {
+        channel.addMessages(10, 1L, 0);
+        channel.failBulkDeletes = true;
+
+        MessagePurger purger = makePurger(10, 5000, null);
+        purger.start();
+
+        assertEquals(10, purger.getDeleted());
+        assertEquals(10, channel.singleDeletes.get());
+    }
+
+    @Test
+    public void testPinnedMessagesAreNeverDeleted() {
+        channel.addMessages(5, 1L, 0);
+        channel.history.get(2).pinned = true;
+
+        MessagePurger purger = makePurger(5, 5000, null);
+        purger.start();
+
+        assertEquals(4, purger.getDeleted());
+        assertEquals(5, purger.getSearched());
+    }
+
+    @Test
+    public void testPurgeStopsOnceTheMaxSearchedLimitIsReached() {
+        channel.addMessages(1000, 1L, 0);
+
+        MessagePurger purger = makePurger(50, 300, 2L);
+        purger.start();
+
+        assertEquals(1, completed.get());
+        assertEquals(0, purger.getDeleted());
+        assertEquals(300, purger.getSearched());
+        assertTrue(purger.isDone());
+    }
+
+    @Test
+    public void testCancelledPurgesStopRetrievingAndDeletingMessages() {
+        channel.addMessages(500, 1L, 0);
+
+        MessagePurger purger = makePurger(500, 5000, null);
+        purger.onProgress(MessagePurger::cancel);
+        purger.start();
+
+        assertTrue(purger.isCancelled());
+        assertTrue(purger.isDone());
+        assertEquals(1, completed.get());
+        assertEquals(100, purger.getDeleted());
+        assertEquals(1, channel.bulkDeletes.size());
+    }
+
+    @Test
+    public void testPurgeCompletesWhenTheHistoryRunsOut() {
+        channel.addMessages(30, 1L, 0);
+
+        MessagePurger purger = makePurger(100, 5000, 2L);
+        purger.start();
+
+        assertEquals(1, completed.get());
+        assertEquals(30, purger.getSearched());
+        assertEquals(0, purger.getDeleted());
+        assertFalse(purger.isCancelled());
+    }
+
+    private MessagePurger makePurger(int toDelete, int maxSearched, Long authorId) {
+        return new MessagePurger(channel, toDelete, maxSearched, message ->
+            authorId == null || message.getAuthor().getIdLong() == authorId
+        ).onComplete(purger -> completed.incrementAndGet());
+    }
+
+    private static class FakeMessage {
+
+        private final long id;
+        private final User author;
+        private boolean pinned = false;
+
+        FakeMessage(long id, long authorId) {
+            this.id = id;
+            this.author = (User) Proxy.newProxyInstance(
+                User.class.getClassLoader(), new Class[]{User.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getIdLong")) {
+                        return authorId;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            );
+        }
+
+        Message toMessage() {
+            return (Message) Proxy.newProxyInstance(
+                Message.class.getClassLoader(), new Class[]{Message.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getIdLong":
+                            return id;
+                        case "isPinned":
+                            return pinned;
+                        case "getAuthor":
+                            return author;
+                        case "hashCode":
+                            return Long.hashCode(id);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+            );
+        }
+    }
+
+    private static class FakeChannel implements PurgeableChannel {
+
+        private final List<FakeMessage> history = new ArrayList<>();
+        private final List<Integer> retrieveRequests = new ArrayList<>();
+        private final List<Integer> bulkDeletes = new ArrayList<>();
+        private final List<Message> deletedMessages = new ArrayList<>();
+        private final AtomicInteger singleDeletes = new AtomicInteger(0);
+        private boolean failBulkDeletes = false;
+        private int position = 0;
+
+        /**
+         * Appends messages to the history, going further back in time
+         * the more messages are added to the history.
+         */
+        void addMessages(int amount, long authorId, int daysOld) {
+            long timestamp = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(daysOld) - TimeUnit.MINUTES.toMillis(history.size());
+            for (int i = 0; i < amount; i++) {
+                long id = (timestamp - TimeUnit.SECONDS.toMillis(i) - MiscUtil.DISCORD_EPOCH) << MiscUtil.TIMESTAMP_OFFSET;
+                history.add(new FakeMessage(id, authorId));
+            }
+        }
+
+        @Override
+        public void retrievePast(int amount, Consumer<List<Message>> success, Consumer<Throwable> failure) {
+            retrieveRequests.add(amount);
+
+            List<Message> page = new ArrayList<>();
+            while (page.size() < amount && position < history.size()) {
+                page.add(history.get(position++).toMessage());
+            }
+            success.accept(page);
+        }
+
+        @Override
+        public void deleteMessages(List<Message> messages, Runnable success, Consumer<Throwable> failure) {
+            if (failBulkDeletes) {
+                failure.accept(new IllegalArgumentException("Message is older than 2 weeks"));
+                return;
+            }
+
+            bulkDeletes.add(messages.size());
+            deletedMessages.addAll(messages);
+            success.run();
+        }
+
+        @Override
+        public void deleteMessage(Message message, Runnable success, Consumer<Throwable> failure) {
+            singleDeletes.incrementAndGet();
+            deletedMessages.add(message);
+            success.run();
+        }
+    }
+}
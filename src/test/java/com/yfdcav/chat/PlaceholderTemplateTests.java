@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.chat;
+
+import com.avbot.BaseTest;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlaceholderTemplateTests extends BaseTest {
+
+    @Test
+    public void testTemplatesWithoutPlaceholdersAreReturnedAsIs() {
+        String template = "Lorem ipsum: dolor sit amet";
+
+        assertSame(template, PlaceholderTemplate.compile(template, ':').render(new PlaceholderResolver()));
+        assertSame(template, PlaceholderTemplate.compile(template, '%').render());
+    }
+
+    @Test
+    public void testTheLongestPlaceholderIsUsed() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .set("user", "<@1>")
+            .set("username", "Senither")
+            .set("userid", "1");
+
+        assertEquals("<@1> Senither 1 <@1>s", render(":user :username :userid :users", resolver));
+    }
+
+    @Test
+    public void testEarlierResolversTakesPriority() {
+        PlaceholderResolver custom = new PlaceholderResolver().set("u", "custom");
+        PlaceholderResolver global = new PlaceholderResolver().set("user", "global");
+
+        assertEquals("customser", PlaceholderTemplate.compile(":user", ':').render(custom, global));
+        assertEquals("global", PlaceholderTemplate.compile(":user", ':').render(null, global));
+    }
+
+    @Test
+    public void testSuppliersAreOnlyCalledWhenThePlaceholderIsUsed() {
+        AtomicInteger calls = new AtomicInteger();
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .set("members", () -> String.valueOf(calls.incrementAndGet()))
+            .set("name", "av");
+
+        assertEquals("av", render(":name", resolver));
+        assertEquals(0, calls.get());
+
+        assertEquals("av has 1 members, 1!", render(":name has :members members, :members!", resolver));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testPlaceholdersWithNullValuesAreIgnored() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .set("username", (String) null)
+            .set("user", "<@1>");
+
+        assertEquals("<@1>name", render(":username", resolver));
+    }
+
+    @Test
+    public void testSettingAPlaceholderAgainReplacesIt() {
+        PlaceholderResolver resolver = new PlaceholderResolver()
+            .set("name", "first")
+            .set("name", "second");
+
+        assertEquals("second", render(":name", resolver));
+    }
+
+    @Test
+    public void testRenderingMatchesReplacingThePlaceholdersOneByOne() {
+        Random random = new Random(1337);
+        String[] keys = new String[]{"a", "ab", "abc", "b", "user", "username", "userid", "channel", "c"};
+
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder template = new StringBuilder();
+            for (int j = random.nextInt(12); j >= 0; j--) {
+                template.append(random.nextInt(3) == 0 ? " " : ":").append(keys[random.nextInt(keys.length)]);
+            }
+
+            Map<String, String> placeholders = new HashMap<>();
+            PlaceholderResolver resolver = new PlaceholderResolver();
+            for (int j = random.nextInt(keys.length); j >= 0; j--) {
+                String key = keys[random.nextInt(keys.length)];
+                String value = "<" + random.nextInt(100) + ">";
+
+                placeholders.put(key, value);
+                resolver.set(key, value);
+            }
+
+            assertEquals(replaceOneByOne(template.toString(), placeholders), render(template.toString(), resolver), template.toString());
+        }
+    }
+
+    private String render(String template, PlaceholderResolver resolver) {
+        return PlaceholderTemplate.compile(template, ':').render(resolver);
+    }
+
+    private String replaceOneByOne(String message, Map<String, String> placeholders) {
+        List<String> keys = new ArrayList<>(placeholders.keySet());
+        keys.sort((o1, o2) -> o2.length() - o1.length());
+        for (String key : keys) {
+            message = message.replaceAll(Pattern.quote(":" + key), Matcher.quoteReplacement(placeholders.get(key)));
+        }
+        return message;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.config;
+
+import com.avbot.BaseTest;
+import com.avbot.contracts.config.ConfigurationSection;
+import com.avbot.exceptions.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemorySectionTests extends BaseTest {
+
+    private static final String CONTENTS = String.join("\n",
+        "name: av",
+        "bot:",
+        "  activity: playing",
+        "  shards: 2",
+        "  features:",
+        "    music: true",
+        "    levels: false",
+        "  aliases:",
+        "    - a",
+        "    - b",
+        ""
+    );
+
+    @Test
+    public void testNestedValuesCanBeLoadedByTheirFullPath() throws InvalidConfigurationException {
+        YamlConfiguration config = load();
+
+        assertEquals("av", config.getString("name"));
+        assertEquals("playing", config.getString("bot.activity"));
+        assertEquals(2, config.getInt("bot.shards"));
+        assertTrue(config.getBoolean("bot.features.music"));
+        assertFalse(config.getBoolean("bot.features.levels"));
+        assertEquals(Arrays.asList("a", "b"), config.getStringList("bot.aliases"));
+        assertTrue(config.get("bot.features") instanceof ConfigurationSection);
+        assertNull(config.get("bot.features.missing"));
+        assertNull(config.get("name.activity"));
+        assertEquals("fallback", config.getString("bot.missing", "fallback"));
+    }
+
+    @Test
+    public void testSubSectionsResolveRelativePaths() throws InvalidConfigurationException {
+        ConfigurationSection bot = load().getConfigurationSection("bot");
+
+        assertEquals("playing", bot.getString("activity"));
+        assertTrue(bot.getBoolean("features.music"));
+        assertSame(bot, ((ConfigurationSection) bot.get("features.")).getParent());
+        assertTrue(bot.getConfigurationSection("features").getBoolean("music"));
+    }
+
+    @Test
+    public void testChangesAreVisibleAfterTheConfigurationWasLoaded() throws InvalidConfigurationException {
+        YamlConfiguration config = load();
+        assertEquals("playing", config.getString("bot.activity"));
+
+        config.set("bot.activity", "listening");
+        config.getConfigurationSection("bot").set("features.music", false);
+        config.set("bot.shards", null);
+        config.createSection("bot.new.section").set("value", 42);
+
+        assertEquals("listening", config.getString("bot.activity"));
+        assertFalse(config.getBoolean("bot.features.music"));
+        assertNull(config.get("bot.shards"));
+        assertEquals(42, config.getInt("bot.new.section.value"));
+    }
+
+    @Test
+    public void testDefaultsAreUsedForMissingValues() throws InvalidConfigurationException {
+        YamlConfiguration config = load();
+
+        config.addDefault("bot.activity", "watching");
+        config.addDefault("bot.prefix", "!");
+        config.addDefault("bot.features.economy", true);
+
+        assertEquals("playing", config.getString("bot.activity"));
+        assertEquals("!", config.getString("bot.prefix"));
+        assertEquals("!", config.get("bot.prefix"));
+        assertTrue(config.getBoolean("bot.features.economy"));
+        assertEquals("!", config.getConfigurationSection("bot").getString("prefix"));
+        assertNull(config.get("bot.prefix", null));
+    }
+
+    private YamlConfiguration load() throws InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(CONTENTS);
+        return config;
+    }
+}
@@ -22,12 +22,23 @@
 package com.avbot.database;
 
 import com.avbot.BaseTest;
+import com.avbot.contracts.database.Database;
 import com.avbot.database.fakes.FakeDatabaseManager;
+import com.avbot.database.query.BoundValue;
 import com.avbot.database.query.QueryBuilder;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class QueryBuilderTests extends BaseTest {
 
@@ -96,6 +107,65 @@ public class QueryBuilderTests extends BaseTest {
         );
     }
 
+    @Test
+    public void testBoundValuesAreReplacedWithPlaceholdersInUpdateQueries() {
+        QueryBuilder query = makeQuery().where("id", 1);
+        query.getItems().add(Collections.singletonMap("name", new BoundValue("RAW:it's ' a name")));
+
+        assertEquals(
+            "UPDATE `test` SET `name` = ? WHERE `id` = 1;",
+            query.toSQL(Database.QueryType.UPDATE)
+        );
+        assertTrue(query.hasBoundValues());
+    }
+
+    @Test
+    public void testBoundValuesAreReplacedWithPlaceholdersInInsertQueries() {
+        Map<String, Object> items = new LinkedHashMap<>();
+        items.put("id", 1);
+        items.put("name", new BoundValue("true"));
+
+        QueryBuilder query = makeQuery();
+        query.getItems().add(items);
+
+        assertEquals(
+            "INSERT INTO `test` (`id`,`name`) VALUES (1,?);",
+            query.toSQL(Database.QueryType.INSERT)
+        );
+    }
+
+    @Test
+    public void testOnlyBoundValuesAreBoundForUpdateQueries() throws SQLException {
+        Map<String, Object> items = new LinkedHashMap<>();
+        items.put("username", new BoundValue("\uD83D\uDE00 emoji"));
+        items.put("experience", 100);
+        items.put("avatar", "abc");
+        items.put("discriminator", new BoundValue("0001"));
+
+        QueryBuilder query = makeQuery().where("id", 1);
+        query.getItems().add(items);
+
+        Map<Integer, String> bound = new HashMap<>();
+        DatabaseManager.bindValues(createRecordingStatement(bound), query);
+
+        assertEquals(2, bound.size());
+        assertEquals("\uD83D\uDE00 emoji", bound.get(1));
+        assertEquals("0001", bound.get(2));
+    }
+
+    private PreparedStatement createRecordingStatement(Map<Integer, String> bound) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class[]{PreparedStatement.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("setString")) {
+                    bound.put((Integer) args[0], (String) args[1]);
+                }
+                return null;
+            }
+        );
+    }
+
     private QueryBuilder makeQuery() {
         return dbm.newQueryBuilder("test");
     }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database;
+
+import com.avbot.BaseTest;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeDatabaseManager;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.Index;
+import com.avbot.database.schema.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaIndexTests extends BaseTest {
+
+    private FakeSQLiteDatabaseManager dbm;
+    private Schema schema;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager(":memory:");
+        schema = new Schema(dbm);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        dbm.destroy();
+    }
+
+    @Test
+    public void testBlueprintGeneratesIndexNamesFromTheTableAndColumns() {
+        Blueprint blueprint = new Blueprint("logs");
+
+        assertEquals("logs_guild_id_target_id_index", blueprint.Index("guild_id", "target_id").getName());
+        assertEquals("logs_guild_id_modlogCase_unique", blueprint.Unique("guild_id", "modlogCase").getName());
+        assertEquals("custom", blueprint.Index("user_id").name("custom").getName());
+        assertEquals(3, blueprint.getIndexes().size());
+    }
+
+    @Test
+    public void testMySQLGrammarFormatsIndexQueries() throws SQLException {
+        FakeDatabaseManager manager = new FakeDatabaseManager();
+
+        assertEquals(
+            "CREATE INDEX `logs_guild_id_target_id_index` ON `logs` (`guild_id`, `target_id`);",
+            manager.getConnection().createIndex(manager, new Index("logs", false, "guild_id", "target_id"), null)
+        );
+
+        assertEquals(
+            "CREATE UNIQUE INDEX `votes_user_id_unique` ON `votes` (`user_id`);",
+            manager.getConnection().createIndex(manager, new Index("votes", true, "user_id"), null)
+        );
+
+        assertEquals(
+            "DROP INDEX `votes_user_id_unique` ON `votes`;",
+            manager.getConnection().dropIndex(manager, new Index("votes", true, "user_id"), null)
+        );
+    }
+
+    @Test
+    public void testSQLiteGrammarFormatsIndexQueries() throws SQLException {
+        assertEquals(
+            "CREATE INDEX IF NOT EXISTS `logs_guild_id_target_id_index` ON `logs` (`guild_id`, `target_id`);",
+            dbm.getConnection().createIndex(dbm, new Index("logs", false, "guild_id", "target_id"), null)
+        );
+
+        assertEquals(
+            "DROP INDEX IF EXISTS `logs_guild_id_target_id_index`;",
+            dbm.getConnection().dropIndex(dbm, new Index("logs", false, "guild_id", "target_id"), null)
+        );
+    }
+
+    @Test
+    public void testIndexesDeclaredInTheBlueprintAreCreatedWithTheTable() throws SQLException {
+        schema.createIfNotExists("experiences", table -> {
+            table.Long("user_id");
+            table.Long("guild_id");
+            table.Long("experience");
+
+            table.Index("guild_id", "user_id");
+            table.Unique("user_id", "guild_id");
+        });
+
+        assertTrue(schema.hasIndex("experiences", "experiences_guild_id_user_id_index"));
+        assertTrue(schema.hasIndex("experiences", "experiences_user_id_guild_id_unique"));
+
+        dbm.queryUpdate("INSERT INTO `experiences` (`user_id`, `guild_id`, `experience`) VALUES (1, 2, 100);");
+        assertThrows(SQLException.class, () -> {
+            dbm.queryUpdate("INSERT INTO `experiences` (`user_id`, `guild_id`, `experience`) VALUES (1, 2, 200);");
+        });
+    }
+
+    @Test
+    public void testIndexesCanBeAddedToAndDroppedFromExistingTables() throws SQLException {
+        dbm.queryUpdate("CREATE TABLE `logs` (`guild_id` INTEGER, `target_id` INTEGER, `modlogCase` INTEGER, `pardon` INTEGER);");
+
+        schema.addIndexes("logs", table -> table.Index("guild_id", "target_id", "modlogCase"));
+        // Adding the same index twice should skip the existing index instead of failing.
+        schema.addIndexes("logs", table -> table.Index("guild_id", "target_id", "modlogCase"));
+
+        assertTrue(schema.hasIndex("logs", "logs_guild_id_target_id_modlogCase_index"));
+        assertTrue(getQueryPlan(
+            "SELECT * FROM `logs` WHERE `guild_id` = 1 AND `target_id` = 2 AND `pardon` = 0;"
+        ).contains("logs_guild_id_target_id_modlogCase_index"));
+
+        schema.dropIndexes("logs", table -> table.Index("guild_id", "target_id", "modlogCase"));
+
+        assertFalse(schema.hasIndex("logs", "logs_guild_id_target_id_modlogCase_index"));
+        assertFalse(getQueryPlan(
+            "SELECT * FROM `logs` WHERE `guild_id` = 1 AND `target_id` = 2 AND `pardon` = 0;"
+        ).contains("logs_guild_id_target_id_modlogCase_index"));
+    }
+
+    private String getQueryPlan(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        Collection rows = dbm.query("EXPLAIN QUERY PLAN " + query);
+        for (DataRow row : rows) {
+            plan.append(row.getString("detail")).append("\n");
+        }
+
+        return plan.toString();
+    }
+}
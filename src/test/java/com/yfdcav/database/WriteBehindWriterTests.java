@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database;
+
+import com.avbot.BaseTest;
+import com.avbot.contracts.database.Database;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import com.avbot.database.writer.WriteBehindWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteBehindWriterTests extends BaseTest {
+
+    private FakeSQLiteDatabaseManager dbm;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager("write-behind-tests-" + System.nanoTime());
+        dbm.queryUpdate("CREATE TABLE `players` (`id` INTEGER PRIMARY KEY, `name` VARCHAR(32), `experience` INTEGER DEFAULT 0);");
+        dbm.queryUpdate("INSERT INTO `players` (`id`, `name`) VALUES (1, 'player');");
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        dbm.getWriter().shutdown(5, TimeUnit.SECONDS);
+        dbm.destroy();
+    }
+
+    @Test
+    public void testQueuedWritesAreWrittenWhenFlushed() throws Exception {
+        for (int i = 2; i <= 26; i++) {
+            final int id = i;
+            dbm.newQueryBuilder("players").useAsync(true).insert(statement -> {
+                statement.set("id", id).set("name", "player-" + id);
+            });
+        }
+
+        assertTrue(dbm.getWriter().flush(5, TimeUnit.SECONDS));
+        assertEquals(26, dbm.query("SELECT * FROM `players`;").size());
+    }
+
+    @Test
+    public void testRepeatedUpdatesToTheSameRowAreMerged() throws Exception {
+        dbm.setWriter(new WriteBehindWriter(dbm, 100, 100, 60000L));
+
+        queueUpdate("name", "first");
+        queueUpdate("experience", 50);
+        queueUpdate("name", "second");
+
+        assertEquals(1, dbm.getWriter().size());
+        assertTrue(dbm.getWriter().flush(5, TimeUnit.SECONDS));
+
+        DataRow row = dbm.query("SELECT * FROM `players` WHERE `id` = 1;").first();
+        assertEquals("second", row.getString("name"));
+        assertEquals(50, row.getInt("experience"));
+    }
+
+    @Test
+    public void testRawUpdatesAreNotMergedWithPendingUpdates() throws Exception {
+        dbm.setWriter(new WriteBehindWriter(dbm, 100, 100, 60000L));
+
+        queueUpdate("experience", 10);
+        queueRawUpdate("experience", "`experience` + 5");
+        queueRawUpdate("experience", "`experience` + 5");
+
+        assertEquals(3, dbm.getWriter().size());
+        assertTrue(dbm.getWriter().flush(5, TimeUnit.SECONDS));
+
+        assertEquals(20, dbm.query("SELECT * FROM `players` WHERE `id` = 1;").first().getInt("experience"));
+    }
+
+    @Test
+    public void testUpdatesAreNotMergedBackwardsPastDeletes() throws Exception {
+        dbm.setWriter(new WriteBehindWriter(dbm, 100, 100, 60000L));
+
+        queueUpdate("name", "first");
+        dbm.newQueryBuilder("players").where("id", 1).useAsync(true).delete();
+        dbm.getWriter().queue(Database.QueryType.INSERT, "players", "INSERT INTO `players` (`id`, `name`) VALUES (1, 'again');", null);
+        queueUpdate("experience", 5);
+
+        assertEquals(4, dbm.getWriter().size());
+        assertTrue(dbm.getWriter().flush(5, TimeUnit.SECONDS));
+
+        DataRow row = dbm.query("SELECT * FROM `players` WHERE `id` = 1;").first();
+        assertEquals("again", row.getString("name"));
+        assertEquals(5, row.getInt("experience"));
+    }
+
+    @Test
+    public void testShutdownFlushesPendingWritesAndRunsLateWritesSynchronously() throws Exception {
+        dbm.setWriter(new WriteBehindWriter(dbm, 100, 100, 60000L));
+
+        queueUpdate("name", "flushed");
+        assertTrue(dbm.getWriter().shutdown(5, TimeUnit.SECONDS));
+        assertEquals("flushed", dbm.query("SELECT * FROM `players` WHERE `id` = 1;").first().getString("name"));
+
+        queueUpdate("name", "late");
+        assertEquals(0, dbm.getWriter().size());
+        assertEquals("late", dbm.query("SELECT * FROM `players` WHERE `id` = 1;").first().getString("name"));
+    }
+
+    @Test
+    public void testFullQueueAppliesBackpressureWithoutLosingWrites() throws Exception {
+        dbm.setWriter(new WriteBehindWriter(dbm, 5, 5, 0L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(200);
+
+        for (int i = 2; i <= 201; i++) {
+            final int id = i;
+            executor.submit(() -> {
+                dbm.getWriter().queue(Database.QueryType.INSERT, "players", String.format(
+                    "INSERT INTO `players` (`id`, `name`) VALUES (%s, 'player-%s');", id, id
+                ), null);
+                latch.countDown();
+            });
+        }
+
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        assertTrue(dbm.getWriter().shutdown(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(201, dbm.query("SELECT * FROM `players`;").size());
+    }
+
+    private void queueUpdate(String column, Object value) throws SQLException {
+        dbm.newQueryBuilder("players").where("id", 1).useAsync(true).update(statement -> {
+            statement.set(column, value);
+        });
+    }
+
+    private void queueRawUpdate(String column, String rawSQL) throws SQLException {
+        dbm.newQueryBuilder("players").where("id", 1).useAsync(true).update(statement -> {
+            statement.setRaw(column, rawSQL);
+        });
+    }
+}
@@ -25,15 +25,19 @@ import com.avbot.contracts.database.StatementInterface;
 import com.avbot.contracts.database.connections.FilenameDatabase;
 import com.avbot.database.DatabaseManager;
 import com.avbot.database.grammar.mysql.Create;
+import com.avbot.database.grammar.mysql.CreateIndex;
 import com.avbot.database.grammar.mysql.Delete;
+import com.avbot.database.grammar.mysql.DropIndex;
 import com.avbot.database.grammar.mysql.Insert;
 import com.avbot.database.grammar.mysql.Update;
 import com.avbot.database.grammar.sqlite.Select;
 import com.avbot.database.query.QueryBuilder;
 import com.avbot.database.schema.Blueprint;
+import com.avbot.database.schema.Index;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
 
@@ -65,6 +69,11 @@ public class FakeMySQLConnection extends FilenameDatabase {
         return false;
     }
 
+    @Override
+    protected Connection createConnection() throws SQLException {
+        return null;
+    }
+
     @Override
     public StatementInterface getStatement(String query) throws SQLException {
         return null;
@@ -104,4 +113,14 @@ public class FakeMySQLConnection extends FilenameDatabase {
     public String update(DatabaseManager manager, QueryBuilder query, @Nullable Map<String, Boolean> options) {
         return setupAndRun(new Update(), query, manager, options);
     }
+
+    @Override
+    public String createIndex(DatabaseManager manager, Index index, @Nullable Map<String, Boolean> options) {
+        return setupAndRun(new CreateIndex(), index, manager, options);
+    }
+
+    @Override
+    public String dropIndex(DatabaseManager manager, Index index, @Nullable Map<String, Boolean> options) {
+        return setupAndRun(new DropIndex(), index, manager, options);
+    }
 }
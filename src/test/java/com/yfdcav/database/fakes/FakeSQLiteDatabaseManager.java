@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.database.fakes;
+
+import com.avbot.contracts.database.Database;
+import com.avbot.database.DatabaseManager;
+import com.avbot.database.connections.SQLite;
+import com.avbot.database.exceptions.DatabaseException;
+import com.avbot.database.writer.WriteBehindWriter;
+
+import java.io.File;
+import java.sql.SQLException;
+
+public class FakeSQLiteDatabaseManager extends DatabaseManager {
+
+    private final SQLite connection;
+    private WriteBehindWriter writer;
+
+    public FakeSQLiteDatabaseManager(String name) {
+        super(null);
+
+        connection = new SQLite(this, name.equals(":memory:") ? name : name + ".sqlite");
+        writer = super.getWriter();
+    }
+
+    @Override
+    public WriteBehindWriter getWriter() {
+        return writer;
+    }
+
+    public void setWriter(WriteBehindWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public Database getConnection() throws SQLException, DatabaseException {
+        if (!connection.isOpen() && !connection.open()) {
+            throw new DatabaseException("Failed to connect to the database.");
+        }
+        return connection;
+    }
+
+    public void destroy() throws SQLException {
+        connection.close();
+
+        File file = connection.getFile();
+        if (file != null && file.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.database.migrate;
+
+import com.avbot.BaseTest;
+import com.avbot.contracts.database.BatchQueryFunction;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LegacyColumnDecoderTests extends BaseTest {
+
+    private static final String invalidValue = LegacyColumnDecoder.LEGACY_PREFIX + "%%not-base64%%";
+
+    private FakeSQLiteDatabaseManager dbm;
+    private String concurrentWrite;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager("legacy-decoder-tests-" + System.nanoTime()) {
+            @Override
+            public void queryBatch(String query, BatchQueryFunction<PreparedStatement> queryFunction) throws SQLException {
+                // Mimics a write from the bot that happens between the decoder selecting and updating the rows.
+                if (concurrentWrite != null) {
+                    String write = concurrentWrite;
+                    concurrentWrite = null;
+                    queryUpdate(write);
+                }
+                super.queryBatch(query, queryFunction);
+            }
+        };
+
+        dbm.queryUpdate("CREATE TABLE `guilds` (`id` VARCHAR(32) PRIMARY KEY, `name` TEXT NULL, `channels` TEXT NULL, "
+            + "`channels_data` TEXT NULL, `roles_data` TEXT NULL, `claimable_roles` TEXT NULL, `level_roles` TEXT NULL, "
+            + "`prefixes` TEXT NULL, `aliases` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `experiences` (`user_id` VARCHAR(32), `guild_id` VARCHAR(32), `username` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `logs` (`guild_id` VARCHAR(32) NULL, `modlogCase` INTEGER NULL, `reason` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `music_search_cache` (`provider` INTEGER, `query` VARCHAR(255), `result` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `playlists` (`id` INTEGER PRIMARY KEY, `name` TEXT NULL, `songs` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `feedback` (`id` INTEGER PRIMARY KEY, `message` TEXT NULL, `response` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `reminders` (`id` INTEGER PRIMARY KEY, `message` TEXT NULL);");
+        dbm.queryUpdate("CREATE TABLE `legacy_encoding_progress` (`table_name` VARCHAR(64), `column_name` VARCHAR(64), "
+            + "`decoded` INTEGER DEFAULT 0, `skipped` INTEGER DEFAULT 0, `completed` BOOLEAN DEFAULT 0);");
+
+        // The undecodable rows are placed between the decodable rows, so the skipped
+        // rows are spread out over the batches when using a batch size of two.
+        dbm.queryUpdate(String.format("INSERT INTO `guilds` (`id`, `name`) VALUES "
+                + "('1', '%s'), ('2', '%s'), ('3', '%s'), ('4', 'Plain name'), ('5', '%s'), ('6', '%s'), ('7', '%s');",
+            encode("Alpha"), invalidValue, encode("Gamma"), encode("Epsilon"), invalidValue, encode("Eta")
+        ));
+
+        dbm.queryUpdate(String.format("INSERT INTO `logs` (`guild_id`, `modlogCase`, `reason`) VALUES "
+                + "('1', 1, '%s'), (NULL, 2, '%s'), ('1', NULL, '%s'), ('2', 1, 'Plain reason');",
+            encode("Spamming"), encode("Orphaned"), encode("Missing case")
+        ));
+
+        dbm.queryUpdate(String.format("INSERT INTO `reminders` (`id`, `message`) VALUES (1, '%s');",
+            encode("Don't forget the milk")
+        ));
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        DataRow.setDecodeLegacyValues(true);
+
+        dbm.getWriter().shutdown(5, TimeUnit.SECONDS);
+        dbm.destroy();
+    }
+
+    @Test
+    public void testValuesAreOnlyDecodedIfTheyUseTheLegacyEncoding() {
+        assertEquals("Alpha", LegacyColumnDecoder.decode(encode("Alpha")));
+        assertEquals("Plain name", LegacyColumnDecoder.decode("Plain name"));
+        assertNull(LegacyColumnDecoder.decode(invalidValue));
+        assertNull(LegacyColumnDecoder.decode(null));
+    }
+
+    @Test
+    public void testColumnsAreDecodedInBatchesAndUndecodableRowsAreSkipped() throws SQLException {
+        LegacyColumnDecoder decoder = new LegacyColumnDecoder(dbm, 2);
+
+        int batches = decodeAll(decoder);
+
+        // Four batches for the guild names, two for the log reasons, and one for every other column.
+        assertEquals(LegacyColumnDecoder.columns.size() + 4, batches);
+
+        assertGuildNames("Alpha", invalidValue, "Gamma", "Plain name", "Epsilon", invalidValue, "Eta");
+        assertProgress("guilds", "name", 4, 2);
+
+        assertEquals("Spamming", getRaw("SELECT * FROM `logs` WHERE `guild_id` = '1' AND `modlogCase` = 1;", "reason"));
+        assertEquals("Orphaned", getRaw("SELECT * FROM `logs` WHERE `guild_id` IS NULL;", "reason"));
+        assertEquals("Missing case", getRaw("SELECT * FROM `logs` WHERE `modlogCase` IS NULL;", "reason"));
+        assertEquals("Plain reason", getRaw("SELECT * FROM `logs` WHERE `guild_id` = '2';", "reason"));
+        assertProgress("logs", "reason", 3, 0);
+
+        assertEquals("Don't forget the milk", getRaw("SELECT * FROM `reminders` WHERE `id` = 1;", "message"));
+        assertProgress("reminders", "message", 1, 0);
+
+        assertProgress("feedback", "message", 0, 0);
+
+        assertNoDecodableLegacyValuesRemain();
+    }
+
+    @Test
+    public void testDecodingResumesFromTheStoredProgressAfterARestart() throws SQLException {
+        LegacyColumnDecoder decoder = new LegacyColumnDecoder(dbm, 2);
+
+        assertTrue(decoder.decodeNextBatch());
+        assertTrue(decoder.decodeNextBatch());
+
+        assertGuildNames("Alpha", invalidValue, "Gamma", "Plain name", "Epsilon", invalidValue, encode("Eta"));
+        assertProgress("guilds", "name", 3, 1, false);
+
+        // Creates a new decoder, which has to load the progress from the database again.
+        decoder = new LegacyColumnDecoder(dbm, 2);
+
+        assertEquals(LegacyColumnDecoder.columns.size() + 2, decodeAll(decoder));
+
+        assertGuildNames("Alpha", invalidValue, "Gamma", "Plain name", "Epsilon", invalidValue, "Eta");
+        assertProgress("guilds", "name", 4, 2);
+        assertEquals(LegacyColumnDecoder.columns.size(), dbm.query("SELECT * FROM `legacy_encoding_progress`;").size());
+    }
+
+    @Test
+    public void testRowsChangedWhileDecodingAreNotOverwritten() throws SQLException {
+        LegacyColumnDecoder decoder = new LegacyColumnDecoder(dbm, 2);
+
+        concurrentWrite = "UPDATE `guilds` SET `name` = 'Renamed' WHERE `id` = '1';";
+        decodeAll(decoder);
+
+        assertNull(concurrentWrite);
+        assertGuildNames("Renamed", invalidValue, "Gamma", "Plain name", "Epsilon", invalidValue, "Eta");
+    }
+
+    @Test
+    public void testDecodingLegacyValuesIsTurnedOffOnceEveryColumnIsDecoded() throws SQLException {
+        DataRow row = new DataRow(Collections.singletonMap("name", encode("Alpha")));
+        assertEquals("Alpha", row.getString("name"));
+
+        LegacyColumnDecoder decoder = new LegacyColumnDecoder(dbm, 100);
+        for (int i = 0; i < LegacyColumnDecoder.columns.size(); i++) {
+            assertTrue(decoder.decodeNextBatch());
+            assertEquals("Alpha", new DataRow(row).getString("name"));
+        }
+
+        assertFalse(decoder.decodeNextBatch());
+        assertEquals(encode("Alpha"), new DataRow(row).getString("name"));
+
+        // Decoding is only turned off for data rows once every value that can be decoded has been decoded.
+        assertNoDecodableLegacyValuesRemain();
+    }
+
+    private int decodeAll(LegacyColumnDecoder decoder) throws SQLException {
+        int batches = 0;
+        while (decoder.decodeNextBatch()) {
+            assertTrue(++batches < 1000, "The decoder should finish decoding the columns");
+        }
+        return batches;
+    }
+
+    private void assertNoDecodableLegacyValuesRemain() throws SQLException {
+        for (LegacyColumnDecoder.LegacyColumn column : LegacyColumnDecoder.columns) {
+            String[] name = column.getName().split("\\.");
+
+            for (DataRow row : dbm.query(String.format("SELECT `%2$s` FROM `%1$s` WHERE `%2$s` LIKE '%3$s%%';",
+                name[0], name[1], LegacyColumnDecoder.LEGACY_PREFIX
+            ))) {
+                String value = String.valueOf(row.get(name[1]));
+                assertNull(LegacyColumnDecoder.decode(value), column.getName() + " still has a decodable legacy value: " + value);
+            }
+        }
+    }
+
+    private void assertGuildNames(String... names) throws SQLException {
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], getRaw("SELECT * FROM `guilds` WHERE `id` = '" + (i + 1) + "';", "name"));
+        }
+    }
+
+    private void assertProgress(String table, String column, int decoded, int skipped) throws SQLException {
+        assertProgress(table, column, decoded, skipped, true);
+    }
+
+    private void assertProgress(String table, String column, int decoded, int skipped, boolean completed) throws SQLException {
+        DataRow row = dbm.query(String.format(
+            "SELECT * FROM `legacy_encoding_progress` WHERE `table_name` = '%s' AND `column_name` = '%s';", table, column
+        )).first();
+
+        assertNotNull(row);
+        assertEquals(decoded, row.getInt("decoded"));
+        assertEquals(skipped, row.getInt("skipped"));
+        assertEquals(completed, row.getBoolean("completed"));
+    }
+
+    private String getRaw(String query, String column) throws SQLException {
+        DataRow row = dbm.query(query).first();
+        assertNotNull(row);
+
+        // Reads the raw value, since getting it as a string decodes legacy values.
+        return String.valueOf(row.get(column));
+    }
+
+    private static String encode(String value) {
+        return LegacyColumnDecoder.LEGACY_PREFIX + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.fakes;
+
+import com.avbot.av;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+public class FakeAv {
+
+    /**
+     * Creates an av instance without running the constructor, so nothing is loaded,
+     * connected or started, the given values are set on the fields with the same
+     * names, every other field is left as {@code NULL}, or its default value.
+     *
+     * @param fields The values that should be set, mapped by the field names.
+     * @return The fake av instance.
+     */
+    public static av create(Map<String, Object> fields) {
+        av instance = allocate(av.class);
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            set(instance, field.getKey(), field.getValue());
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the field with the given name on the given av instance.
+     *
+     * @param instance The av instance the field should be set on.
+     * @param name     The name of the field that should be set.
+     * @param value    The value that should be set.
+     */
+    public static void set(av instance, String name, Object value) {
+        try {
+            Field field = av.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(instance, value);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Failed to set the " + name + " field on the fake av instance", e);
+        }
+    }
+
+    /**
+     * Creates an instance of the given class without running any of its constructors.
+     *
+     * @param type The class that should be instantiated.
+     * @param <T>  The type of the class.
+     * @return The new instance, with every field set to {@code NULL}, or its default value.
+     */
+    public static <T> T allocate(Class<T> type) {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            return type.cast(((Unsafe) field.get(null)).allocateInstance(type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to allocate an instance of " + type.getName(), e);
+        }
+    }
+}
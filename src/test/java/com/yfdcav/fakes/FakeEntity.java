@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.fakes;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+
+public class FakeEntity {
+
+    /**
+     * Creates a fake instance of the given JDA entity interface, methods with a name
+     * matching one of the given values will return the value, other methods that
+     * return an interface will return an empty fake of that interface, while
+     * everything else returns {@code NULL}, or the default value for primitives.
+     *
+     * @param type   The interface that should be faked.
+     * @param values The values that should be returned, mapped by the method names.
+     * @param <T>    The type of the interface that should be faked.
+     * @return The fake entity instance.
+     */
+    public static <T> T create(Class<T> type, Map<String, Object> values) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+            if (values.containsKey(method.getName())) {
+                return values.get(method.getName());
+            }
+
+            switch (method.getName()) {
+                case "toString":
+                    return "Fake" + type.getSimpleName() + values;
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "equals":
+                    return proxy == args[0];
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType.isInterface()) {
+                return create(returnType, Collections.emptyMap());
+            }
+
+            if (returnType == boolean.class) {
+                return false;
+            }
+
+            if (returnType == long.class) {
+                return 0L;
+            }
+
+            if (returnType == int.class) {
+                return 0;
+            }
+
+            if (returnType == double.class) {
+                return 0D;
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Creates a fake instance of the given JDA entity interface, where every
+     * method returns an empty fake, {@code NULL}, or a default value.
+     *
+     * @param type The interface that should be faked.
+     * @param <T>  The type of the interface that should be faked.
+     * @return The fake entity instance.
+     */
+    public static <T> T create(Class<T> type) {
+        return create(type, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.fakes;
+
+import net.dv8tion.jda.core.JDA;
+import net.dv8tion.jda.core.entities.Guild;
+import net.dv8tion.jda.core.utils.cache.SnowflakeCacheView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class FakeShard {
+
+    private final Map<String, Object> values = new HashMap<>();
+    private final JDA shard;
+
+    /**
+     * Creates a new fake shard with the given shard ID, the shard starts out connected,
+     * with empty guild, text channel, voice channel, and user caches.
+     *
+     * @param shardId    The ID of the shard.
+     * @param shardTotal The total amount of shards.
+     */
+    public FakeShard(int shardId, int shardTotal) {
+        values.put("getShardInfo", new JDA.ShardInfo(shardId, shardTotal));
+        values.put("getStatus", JDA.Status.CONNECTED);
+
+        shard = FakeEntity.create(JDA.class, values);
+
+        setGuilds(0);
+        setTextChannels(0);
+        setVoiceChannels(0);
+        setUsers(0);
+    }
+
+    public JDA getJDA() {
+        return shard;
+    }
+
+    public FakeShard setStatus(JDA.Status status) {
+        values.put("getStatus", status);
+        return this;
+    }
+
+    public FakeShard setGuilds(long guilds) {
+        values.put("getGuildCache", createCacheView(guilds));
+        return this;
+    }
+
+    public FakeShard setTextChannels(long textChannels) {
+        values.put("getTextChannelCache", createCacheView(textChannels));
+        return this;
+    }
+
+    public FakeShard setVoiceChannels(long voiceChannels) {
+        values.put("getVoiceChannelCache", createCacheView(voiceChannels));
+        return this;
+    }
+
+    public FakeShard setUsers(long users) {
+        values.put("getUserCache", createCacheView(users));
+        return this;
+    }
+
+    /**
+     * Creates a fake guild on the shard with the given amount of text and voice channels, the
+     * guild is not added to the guild cache of the shard, the guild cache can be updated
+     * separately using {@link #setGuilds(long)} to mimic what JDA does for the event.
+     *
+     * @param textChannels  The amount of text channels the guild should have.
+     * @param voiceChannels The amount of voice channels the guild should have.
+     * @return The fake guild instance.
+     */
+    public Guild createGuild(long textChannels, long voiceChannels) {
+        Map<String, Object> guildValues = new HashMap<>();
+        guildValues.put("getJDA", shard);
+        guildValues.put("getTextChannelCache", createCacheView(textChannels));
+        guildValues.put("getVoiceChannelCache", createCacheView(voiceChannels));
+
+        return FakeEntity.create(Guild.class, guildValues);
+    }
+
+    private SnowflakeCacheView<?> createCacheView(long size) {
+        Map<String, Object> cacheValues = new HashMap<>();
+        cacheValues.put("size", size);
+
+        return FakeEntity.create(SnowflakeCacheView.class, cacheValues);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.handlers;
+
+import com.avbot.BaseTest;
+import com.avbot.handlers.GuildEventDispatcher.Policy;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuildEventDispatcherTests extends BaseTest {
+
+    private static final long firstGuild = 41771983423143937L;
+    private static final long secondGuild = 209028474545160192L;
+
+    private final List<GuildEventDispatcher> dispatchers = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (GuildEventDispatcher dispatcher : dispatchers) {
+            dispatcher.shutdown(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWorkIsHandledInOrderForTheSameGuild() {
+        GuildEventDispatcher dispatcher = createDispatcher(4, 1000, 250);
+
+        Map<Long, List<Integer>> handled = new HashMap<>();
+        handled.put(firstGuild, Collections.synchronizedList(new ArrayList<>()));
+        handled.put(secondGuild, Collections.synchronizedList(new ArrayList<>()));
+
+        for (int i = 0; i < 200; i++) {
+            final int index = i;
+            final long guildId = i % 2 == 0 ? firstGuild : secondGuild;
+
+            assertTrue(dispatcher.dispatch(guildId, "test", Policy.BLOCK, () -> handled.get(guildId).add(index)));
+        }
+
+        assertTrue(dispatcher.shutdown(5, TimeUnit.SECONDS));
+
+        for (List<Integer> indexes : handled.values()) {
+            assertEquals(100, indexes.size());
+            for (int i = 1; i < indexes.size(); i++) {
+                assertTrue(indexes.get(i - 1) < indexes.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testDropPolicyShedsWorkWhenTheLaneIsFull() throws InterruptedException {
+        GuildEventDispatcher dispatcher = createDispatcher(1, 1, 250);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+
+        dispatcher.dispatch(firstGuild, "test", Policy.DROP, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertTrue(dispatcher.dispatch(firstGuild, "test", Policy.DROP, handled::incrementAndGet));
+        assertFalse(dispatcher.dispatch(firstGuild, "test", Policy.DROP, handled::incrementAndGet));
+
+        release.countDown();
+        assertTrue(dispatcher.shutdown(1, TimeUnit.SECONDS));
+
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    public void testBlockPolicyWaitsForSpaceInTheLane() throws InterruptedException {
+        GuildEventDispatcher dispatcher = createDispatcher(1, 1, 2000);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+
+        dispatcher.dispatch(firstGuild, "test", Policy.BLOCK, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(dispatcher.dispatch(firstGuild, "test", Policy.BLOCK, handled::incrementAndGet));
+
+        new Thread(() -> {
+            sleep(50);
+            release.countDown();
+        }).start();
+
+        assertTrue(dispatcher.dispatch(firstGuild, "test", Policy.BLOCK, handled::incrementAndGet));
+        assertTrue(dispatcher.shutdown(1, TimeUnit.SECONDS));
+
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    public void testCoalescedWorkIsOnlyQueuedOncePerGuild() throws InterruptedException {
+        GuildEventDispatcher dispatcher = createDispatcher(1, 100, 250);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        dispatcher.dispatch(firstGuild, "blocker", Policy.BLOCK, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertTrue(dispatcher.dispatch(firstGuild, "role-data", Policy.COALESCE, first::incrementAndGet));
+        assertFalse(dispatcher.dispatch(firstGuild, "role-data", Policy.COALESCE, first::incrementAndGet));
+        assertTrue(dispatcher.dispatch(secondGuild, "role-data", Policy.COALESCE, second::incrementAndGet));
+
+        release.countDown();
+        assertTrue(dispatcher.shutdown(1, TimeUnit.SECONDS));
+
+        assertEquals(1, first.get());
+        assertEquals(1, second.get());
+    }
+
+    @Test
+    public void testCoalescedWorkWaitsForSpaceInAFullLane() throws InterruptedException {
+        GuildEventDispatcher dispatcher = createDispatcher(1, 1, 2000);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+
+        dispatcher.dispatch(firstGuild, "blocker", Policy.BLOCK, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(dispatcher.dispatch(firstGuild, "test", Policy.DROP, () -> {
+        }));
+
+        new Thread(() -> {
+            sleep(50);
+            release.countDown();
+        }).start();
+
+        assertTrue(dispatcher.dispatch(firstGuild, "channel-data", Policy.COALESCE, handled::incrementAndGet));
+        assertTrue(dispatcher.shutdown(1, TimeUnit.SECONDS));
+
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    public void testWorkDispatchedAfterShutdownIsHandledOnTheCurrentThread() {
+        GuildEventDispatcher dispatcher = createDispatcher(1, 10, 250);
+        assertTrue(dispatcher.shutdown(1, TimeUnit.SECONDS));
+
+        Thread current = Thread.currentThread();
+        AtomicInteger handled = new AtomicInteger();
+
+        assertTrue(dispatcher.dispatch(firstGuild, "test", Policy.DROP, () -> {
+            assertSame(current, Thread.currentThread());
+            handled.incrementAndGet();
+        }));
+        assertEquals(1, handled.get());
+    }
+
+    private GuildEventDispatcher createDispatcher(int lanes, int capacity, long blockTimeout) {
+        GuildEventDispatcher dispatcher = new GuildEventDispatcher(lanes, capacity, blockTimeout);
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.handlers;
+
+import com.avbot.BaseTest;
+import com.avbot.contracts.handlers.EventListener;
+import net.dv8tion.jda.core.events.Event;
+import net.dv8tion.jda.core.hooks.ListenerAdapter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PluginEventQueueTests extends BaseTest {
+
+    private final List<PluginEventQueue> queues = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (PluginEventQueue queue : queues) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    public void testListenersOnlyReceiveEventsTheyHandle() throws InterruptedException {
+        PluginEventQueue queue = createQueue(2, 100, 1000, 5);
+
+        FirstEventListener first = new FirstEventListener(null);
+        GenericListener generic = new GenericListener();
+        IgnoringListener ignoring = new IgnoringListener();
+
+        Set<ListenerAdapter> listeners = setOf(first, generic, ignoring);
+
+        queue.dispatch(listeners, 1, new FirstEvent(1), false, 1L, true);
+        queue.dispatch(listeners, 1, new SecondEvent(), false, 1L, true);
+
+        assertEquals(1, first.received.size());
+        assertEquals(2, generic.received.get());
+        assertEquals(0, ignoring.received.get());
+    }
+
+    @Test
+    public void testCustomEventsAreOnlySentToCustomEventListeners() {
+        PluginEventQueue queue = createQueue(1, 100, 1000, 5);
+
+        GenericListener generic = new GenericListener();
+        CustomListener custom = new CustomListener();
+
+        queue.dispatch(setOf(generic, custom), 1, new SecondEvent(), true, 0L, true);
+
+        assertEquals(0, generic.received.get());
+        assertEquals(1, custom.received.get());
+    }
+
+    @Test
+    public void testEventsAreHandledInOrderForTheSameOrderingKey() throws InterruptedException {
+        PluginEventQueue queue = createQueue(4, 1000, 1000, 5);
+
+        CountDownLatch done = new CountDownLatch(200);
+        FirstEventListener listener = new FirstEventListener(done);
+        Set<ListenerAdapter> listeners = setOf(listener);
+
+        for (int i = 0; i < 200; i++) {
+            queue.dispatch(listeners, 1, new FirstEvent(i), false, i % 2 == 0 ? 41771983423143937L : 209028474545160192L, false);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        List<Integer> even = new ArrayList<>();
+        List<Integer> odd = new ArrayList<>();
+        for (FirstEvent event : listener.received) {
+            (event.id % 2 == 0 ? even : odd).add(event.id);
+        }
+
+        assertEquals(100, even.size());
+        assertEquals(100, odd.size());
+        for (int i = 1; i < 100; i++) {
+            assertTrue(even.get(i - 1) < even.get(i));
+            assertTrue(odd.get(i - 1) < odd.get(i));
+        }
+    }
+
+    @Test
+    public void testSlowListenersDoesNotBlockTheCaller() throws InterruptedException {
+        PluginEventQueue queue = createQueue(1, 100, 10000, 5);
+
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingListener listener = new BlockingListener(release);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            queue.dispatch(setOf(listener), 1, new FirstEvent(i), false, 1L, false);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertTrue(queue.getQueueSize() >= 9);
+
+        release.countDown();
+    }
+
+    @Test
+    public void testEventsAreDroppedWhenTheQueueIsFull() throws InterruptedException {
+        PluginEventQueue queue = createQueue(1, 2, 10000, 5);
+
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingListener listener = new BlockingListener(release);
+        Set<ListenerAdapter> listeners = setOf(listener);
+
+        for (int i = 0; i < 10; i++) {
+            queue.dispatch(listeners, 1, new FirstEvent(i), false, 1L, false);
+        }
+
+        release.countDown();
+        Thread.sleep(100);
+
+        assertTrue(listener.received.get() <= 3);
+    }
+
+    @Test
+    public void testListenersThatRepeatedlyExceedTheirTimeBudgetAreDisabled() {
+        PluginEventQueue queue = createQueue(1, 100, 1, 3);
+
+        SleepingListener slow = new SleepingListener();
+        GenericListener fast = new GenericListener();
+        Set<ListenerAdapter> listeners = setOf(slow, fast);
+
+        for (int i = 0; i < 10; i++) {
+            queue.dispatch(listeners, 1, new FirstEvent(i), false, 1L, true);
+        }
+
+        assertEquals(3, slow.received.get());
+        assertEquals(10, fast.received.get());
+    }
+
+    @Test
+    public void testExceptionsDoesNotStopOtherListeners() {
+        PluginEventQueue queue = createQueue(1, 100, 1000, 5);
+
+        GenericListener listener = new GenericListener();
+
+        queue.dispatch(setOf(new ThrowingListener(), listener), 1, new FirstEvent(1), false, 1L, true);
+
+        assertEquals(1, listener.received.get());
+    }
+
+    @Test
+    public void testListenersAreRecomputedWhenTheVersionChanges() {
+        PluginEventQueue queue = createQueue(1, 100, 1000, 5);
+
+        GenericListener first = new GenericListener();
+        GenericListener second = new GenericListener();
+
+        Set<ListenerAdapter> listeners = new HashSet<>();
+        listeners.add(first);
+
+        queue.dispatch(listeners, 1, new FirstEvent(1), false, 1L, true);
+
+        listeners.add(second);
+        queue.dispatch(listeners, 1, new FirstEvent(2), false, 1L, true);
+        queue.dispatch(listeners, 2, new FirstEvent(3), false, 1L, true);
+
+        assertEquals(3, first.received.get());
+        assertEquals(1, second.received.get());
+    }
+
+    private PluginEventQueue createQueue(int lanes, int capacity, long timeBudget, int maxStrikes) {
+        PluginEventQueue queue = new PluginEventQueue("test-plugin", lanes, capacity, timeBudget, maxStrikes);
+        queues.add(queue);
+        return queue;
+    }
+
+    private Set<ListenerAdapter> setOf(ListenerAdapter... listeners) {
+        return new LinkedHashSet<>(Arrays.asList(listeners));
+    }
+
+    private static class FirstEvent extends Event {
+
+        private final int id;
+
+        FirstEvent(int id) {
+            super(null);
+            this.id = id;
+        }
+    }
+
+    private static class SecondEvent extends Event {
+
+        SecondEvent() {
+            super(null);
+        }
+    }
+
+    private static class FirstEventListener extends ListenerAdapter {
+
+        private final List<FirstEvent> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done;
+
+        FirstEventListener(CountDownLatch done) {
+            this.done = done;
+        }
+
+        public void onFirstEvent(FirstEvent event) {
+            received.add(event);
+            if (done != null) {
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            if (event instanceof FirstEvent) {
+                onFirstEvent((FirstEvent) event);
+            }
+        }
+    }
+
+    private static class GenericListener extends ListenerAdapter {
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onGenericEvent(Event event) {
+            received.incrementAndGet();
+        }
+    }
+
+    private static class IgnoringListener extends ListenerAdapter {
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        @SuppressWarnings("unused")
+        public void onSomethingElse(String value) {
+            received.incrementAndGet();
+        }
+    }
+
+    private static class CustomListener extends EventListener {
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onGenericEvent(Event event) {
+            received.incrementAndGet();
+        }
+    }
+
+    private static class BlockingListener extends ListenerAdapter {
+
+        private final CountDownLatch release;
+        private final AtomicInteger received = new AtomicInteger();
+
+        BlockingListener(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onGenericEvent(Event event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.incrementAndGet();
+        }
+    }
+
+    private static class SleepingListener extends ListenerAdapter {
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onGenericEvent(Event event) {
+            received.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class ThrowingListener extends ListenerAdapter {
+
+        @Override
+        public void onGenericEvent(Event event) {
+            throw new IllegalStateException("Something went wrong");
+        }
+    }
+}
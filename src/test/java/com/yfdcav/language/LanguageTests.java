@@ -26,6 +26,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
+import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -122,6 +124,57 @@ public class LanguageTests extends BaseTest {
         assertEquals(I18n.format("'\""), "'\"");
         assertEquals(I18n.format("{0}: {1}", "thing"), "thing: {1}");
         assertEquals(I18n.format("$"), "$");
+        assertEquals(I18n.format("{0}, {1}!", "Hello", null), "Hello, null!");
+        assertEquals(I18n.format("{00} and {1}", "first", "second"), "first and second");
+        assertEquals(I18n.format("Unmatched } brace {0}", "here"), "Unmatched } brace here");
+        assertEquals(I18n.format("Invalid {name} placeholder", "thing"), "Invalid {name} placeholder");
+        assertEquals(I18n.format("Unmatched {0", "thing"), "Unmatched {0");
+    }
+
+    @Test
+    public void testCompiledTemplatesMatchMessageFormatForEveryLanguageString() {
+        Object[] args = new Object[]{"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"};
+
+        for (LanguageContainer entry : I18n.languages) {
+            for (String key : getKeys(entry)) {
+                String message = entry.getConfig().getString(key);
+                if (message == null) {
+                    continue;
+                }
+
+                for (int size = 0; size <= args.length; size += 5) {
+                    Object[] arguments = Arrays.copyOf(args, size);
+
+                    assertEquals(
+                        formatUsingMessageFormat(message, arguments),
+                        MessageTemplate.compile(message).format(arguments),
+                        "Formatting the \"" + key + "\" string in the \"" + entry.getLanguage().getCode() + "\" language file"
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLocalesCanBeResolvedByLanguageCode() {
+        for (LanguageContainer entry : I18n.languages) {
+            String code = entry.getLanguage().getCode();
+
+            assertSame(entry, I18n.getLocale(code));
+            assertSame(entry, I18n.getLocale(code.toUpperCase()));
+            assertSame(entry, I18n.getLocale(entry.getLanguage()));
+        }
+
+        assertSame(I18n.getDefaultLanguage(), I18n.getLocale("invalid"));
+        assertSame(I18n.getDefaultLanguage(), I18n.getLocale((String) null));
+    }
+
+    private String formatUsingMessageFormat(String message, Object[] arguments) {
+        try {
+            return MessageFormat.format(message.replace("'", "''"), arguments);
+        } catch (IllegalArgumentException ex) {
+            return message;
+        }
     }
 
     private Set<String> getKeys(LanguageContainer locale) {
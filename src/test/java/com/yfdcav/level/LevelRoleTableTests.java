@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.level;
+
+import com.avbot.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LevelRoleTableTests extends BaseTest {
+
+    @Test
+    public void testRewardsIncludeEveryRoleAtOrBelowTheLevelWithTheHighestFirst() {
+        LevelRoleTable table = LevelRoleTable.of(makeLevelRoles());
+
+        assertTrue(table.getRewards(0).isEmpty());
+        assertTrue(table.getRewards(4).isEmpty());
+        assertEquals(Collections.singletonList(500L), table.getRewards(5));
+        assertEquals(Collections.singletonList(500L), table.getRewards(9));
+        assertEquals(Arrays.asList(1000L, 500L), table.getRewards(10));
+        assertEquals(Arrays.asList(2500L, 1000L, 500L), table.getRewards(25));
+        assertEquals(Arrays.asList(2500L, 1000L, 500L), table.getRewards(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testTableContainsEveryLevelRoleId() {
+        LevelRoleTable table = LevelRoleTable.of(makeLevelRoles());
+
+        assertEquals(new HashSet<>(Arrays.asList(500L, 1000L, 2500L)), table.getRoleIds());
+    }
+
+    @Test
+    public void testInvalidEntriesAreIgnored() {
+        Map<Integer, String> levelRoles = makeLevelRoles();
+        levelRoles.put(-1, "123");
+        levelRoles.put(15, "not-a-role-id");
+
+        LevelRoleTable table = LevelRoleTable.of(levelRoles);
+
+        assertEquals(Arrays.asList(1000L, 500L), table.getRewards(15));
+        assertEquals(3, table.getRoleIds().size());
+    }
+
+    @Test
+    public void testEmptyLevelRolesUsesTheEmptyTable() {
+        LevelRoleTable table = LevelRoleTable.of(new HashMap<>());
+
+        assertSame(LevelRoleTable.EMPTY, table);
+        assertTrue(table.isEmpty());
+        assertTrue(table.getRewards(100).isEmpty());
+    }
+
+    private Map<Integer, String> makeLevelRoles() {
+        Map<Integer, String> levelRoles = new HashMap<>();
+        levelRoles.put(25, "2500");
+        levelRoles.put(5, "500");
+        levelRoles.put(10, "1000");
+        return levelRoles;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.metrics;
+
+import com.avbot.BaseTest;
+import io.prometheus.client.Counter;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationTests extends BaseTest {
+
+    @Test
+    public void testQueriesAreClassifiedByTheirLeadingKeyword() {
+        assertQueryType("SELECT", "SELECT * FROM `guilds` WHERE `id` = 1;");
+        assertQueryType("SELECT", "select `id` from `guilds`;");
+        assertQueryType("INSERT", "  \n\tINSERT INTO `guilds` (`id`) VALUES (1);");
+        assertQueryType("UPDATE", "UPDATE\n`guilds` SET `name` = ?;");
+        assertQueryType("DELETE", "DELETE FROM `guilds`;");
+        assertQueryType("SET", "SET NAMES utf8mb4 COLLATE utf8mb4_unicode_ci;");
+        assertQueryType("VACUUM", "vacuum;");
+        assertQueryType("SELECT", "SELECT");
+        assertQueryType("", "");
+    }
+
+    @Test
+    public void testQueryCountersAreSharedPerType() {
+        Counter.Child select = QueryMetrics.forQuery("SELECT * FROM `guilds`;");
+
+        assertSame(select, QueryMetrics.forQuery("select 1;"));
+        assertSame(select, Metrics.databaseQueries.labels("SELECT"));
+        assertSame(QueryMetrics.forQuery("VACUUM;"), QueryMetrics.forQuery("vacuum"));
+        assertSame(QueryMetrics.forQuery("VACUUM;"), Metrics.databaseQueries.labels("VACUUM"));
+    }
+
+    @Test
+    public void testPreBoundChildrenMatchTheLabelledChildren() {
+        CommandMetrics metrics = CommandMetrics.of(InstrumentationTests.class);
+
+        assertSame(metrics, CommandMetrics.of(InstrumentationTests.class));
+        assertSame(metrics.getAttempts(), Metrics.commandAttempts.labels("InstrumentationTests"));
+        assertSame(metrics.getReceived(), Metrics.commandsReceived.labels("InstrumentationTests"));
+        assertSame(metrics.getExecuted(), Metrics.commandsExecuted.labels("InstrumentationTests"));
+        assertSame(metrics.getRatelimited(), Metrics.commandsRatelimited.labels("InstrumentationTests"));
+        assertSame(metrics.getExecutionTime(), Metrics.executionTime.labels("InstrumentationTests"));
+        assertSame(CommandMetrics.exception(IllegalStateException.class), Metrics.commandExceptions.labels("IllegalStateException"));
+        assertSame(EventMetrics.of(String.class), Metrics.jdaEvents.labels("String"));
+    }
+
+    private static void assertQueryType(String type, String query) {
+        assertSame(Metrics.databaseQueries.labels(type), QueryMetrics.forQuery(query), query);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.modlog;
+
+import com.avbot.BaseTest;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModlogCaseSequenceTests extends BaseTest {
+
+    private FakeSQLiteDatabaseManager dbm;
+    private ModlogCaseSequence sequence;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager("modlog-sequence-tests-" + System.nanoTime());
+        dbm.queryUpdate("CREATE TABLE `guilds` (`id` VARCHAR(32) PRIMARY KEY, `modlog_case` INTEGER NOT NULL DEFAULT 0);");
+        dbm.queryUpdate("CREATE TABLE `logs` (`type` INTEGER, `modlogCase` INTEGER, `guild_id` VARCHAR(32), `user_id` VARCHAR(32), "
+            + "`target_id` VARCHAR(32) NULL, `message_id` VARCHAR(32) NULL, `reason` TEXT NULL, "
+            + "`created_at` DATETIME DEFAULT CURRENT_TIMESTAMP, `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP);");
+
+        dbm.queryUpdate("INSERT INTO `guilds` (`id`, `modlog_case`) VALUES ('1', 5), ('2', 0);");
+        dbm.queryUpdate("INSERT INTO `logs` (`type`, `modlogCase`, `guild_id`, `user_id`) VALUES (1, 7, '1', '10');");
+
+        sequence = new ModlogCaseSequence(dbm, 50, 25L);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        sequence.shutdown(5, TimeUnit.SECONDS);
+        dbm.destroy();
+    }
+
+    @Test
+    public void testSequenceIsSeededFromTheHighestCaseInTheDatabase() throws SQLException {
+        assertEquals(-1, sequence.current(1L));
+        assertEquals(8, sequence.next(1L));
+        assertEquals(1, sequence.next(2L));
+        assertEquals(1, sequence.next(3L));
+        assertEquals(8, sequence.current(1L));
+    }
+
+    @Test
+    public void testParallelActionsGetUniqueGapFreeCasesAndArePersisted() throws Exception {
+        int actions = 400;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        for (int i = 0; i < actions; i++) {
+            final long guildId = i % 2 == 0 ? 1L : 2L;
+            final long targetId = 1000L + i;
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                int modlogCase = sequence.next(guildId);
+                sequence.queue(new ModlogEntry(
+                    guildId, modlogCase, ModlogType.BAN, 10L, targetId, null, "Mass ban"
+                ));
+                return modlogCase;
+            }));
+        }
+
+        start.countDown();
+
+        Map<Long, Set<Integer>> cases = new HashMap<>();
+        for (int i = 0; i < actions; i++) {
+            cases.computeIfAbsent(i % 2 == 0 ? 1L : 2L, id -> new HashSet<>())
+                .add(futures.get(i).get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertTrue(sequence.flush(10, TimeUnit.SECONDS));
+
+        assertCasesAreGapFree(cases.get(1L), 8, 7 + actions / 2);
+        assertCasesAreGapFree(cases.get(2L), 1, actions / 2);
+
+        assertPersistedCases(1L, 7 + actions / 2, actions / 2 + 1);
+        assertPersistedCases(2L, actions / 2, actions / 2);
+    }
+
+    @Test
+    public void testReasonIsStoredAsPlainTextAndEntriesQueuedAfterShutdownAreWrittenDirectly() throws Exception {
+        assertTrue(sequence.shutdown(5, TimeUnit.SECONDS));
+
+        sequence.queue(new ModlogEntry(2L, sequence.next(2L), ModlogType.KICK, 10L, null, 55L, "Some reason"));
+        assertEquals(0, sequence.size());
+
+        DataRow row = dbm.query("SELECT * FROM `logs` WHERE `guild_id` = '2';").first();
+        assertNotNull(row);
+        assertEquals(1, row.getInt("modlogCase"));
+        assertEquals("Some reason", row.get("reason"));
+        assertEquals(55L, row.getLong("message_id"));
+        assertNull(row.getString("target_id"));
+        assertEquals(1, dbm.query("SELECT * FROM `guilds` WHERE `id` = '2';").first().getInt("modlog_case"));
+    }
+
+    private void assertCasesAreGapFree(Set<Integer> cases, int from, int to) {
+        assertEquals(to - from + 1, cases.size());
+        for (int modlogCase = from; modlogCase <= to; modlogCase++) {
+            assertTrue(cases.contains(modlogCase), "Missing modlog case #" + modlogCase);
+        }
+    }
+
+    private void assertPersistedCases(long guildId, int expectedMaxCase, int expectedRows) throws SQLException {
+        Collection rows = dbm.query("SELECT * FROM `logs` WHERE `guild_id` = '" + guildId + "';");
+        assertEquals(expectedRows, rows.size());
+
+        Set<Integer> unique = new HashSet<>();
+        for (DataRow row : rows) {
+            unique.add(row.getInt("modlogCase"));
+        }
+        assertEquals(expectedRows, unique.size());
+
+        DataRow guild = dbm.query("SELECT * FROM `guilds` WHERE `id` = '" + guildId + "';").first();
+        assertEquals(expectedMaxCase, guild.getInt("modlog_case"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.modlog;
+
+import com.avbot.BaseTest;
+import com.avbot.database.collection.Collection;
+import com.avbot.database.collection.DataRow;
+import com.avbot.database.fakes.FakeSQLiteDatabaseManager;
+import com.avbot.database.migrate.migrations.AddPardonToModlogHistoryIndexMigration;
+import com.avbot.database.schema.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModlogHistoryTests extends BaseTest {
+
+    private static final int perPage = 5;
+
+    private FakeSQLiteDatabaseManager dbm;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dbm = new FakeSQLiteDatabaseManager("modlog-history-tests-" + System.nanoTime());
+        dbm.queryUpdate("CREATE TABLE `logs` (`type` INTEGER, `modlogCase` INTEGER, `guild_id` VARCHAR(32), `user_id` VARCHAR(32), "
+            + "`target_id` VARCHAR(32) NULL, `message_id` VARCHAR(32) NULL, `reason` TEXT NULL, `pardon` TINYINT(1) NOT NULL DEFAULT '0', "
+            + "`created_at` DATETIME DEFAULT CURRENT_TIMESTAMP, `updated_at` DATETIME DEFAULT CURRENT_TIMESTAMP);");
+        dbm.queryUpdate("CREATE INDEX `logs_guild_id_target_id_modlogCase_index` ON `logs` (`guild_id`, `target_id`, `modlogCase`);");
+
+        // The cases are inserted out of order, with cases for other users and guilds, and
+        // pardoned cases, mixed in between the cases that should show up in the history.
+        List<Integer> cases = new ArrayList<>();
+        for (int modlogCase = 1; modlogCase <= 80; modlogCase++) {
+            cases.add(modlogCase);
+        }
+        Collections.shuffle(cases, new Random(42));
+
+        for (int modlogCase : cases) {
+            String target = modlogCase % 3 == 0 ? "200" : "100";
+            int pardon = modlogCase % 7 == 0 ? 1 : 0;
+
+            dbm.queryUpdate(String.format(
+                "INSERT INTO `logs` (`type`, `modlogCase`, `guild_id`, `user_id`, `target_id`, `reason`, `pardon`) "
+                    + "VALUES (1, %s, '1', '10', '%s', 'Case %s', %s), (1, %s, '2', '10', '100', 'Other guild', 0);",
+                modlogCase, target, modlogCase, pardon, modlogCase
+            ));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        dbm.getWriter().shutdown(5, TimeUnit.SECONDS);
+        dbm.destroy();
+    }
+
+    @Test
+    public void testPagesMatchThePagesLoadedUsingAnOffset() throws SQLException {
+        int total = ModlogHistory.count(dbm, "1", "100");
+        int pages = (int) Math.ceil((double) total / perPage);
+
+        assertEquals(46, total);
+        assertEquals(10, pages);
+
+        for (int page = 1; page <= pages + 1; page++) {
+            List<Integer> offsetPage = getCases(dbm.query(String.format(
+                "SELECT * FROM `logs` WHERE `guild_id` = '1' AND `target_id` = '100' AND `pardon` = 0 "
+                    + "ORDER BY `modlogCase` LIMIT %s OFFSET %s;",
+                perPage, (page - 1) * perPage
+            )));
+
+            assertEquals(offsetPage, getCases(ModlogHistory.loadPage(dbm, "1", "100", page, perPage)), "Page " + page);
+            assertEquals(page > pages ? 0 : page < pages ? perPage : total % perPage, offsetPage.size());
+        }
+    }
+
+    @Test
+    public void testPageAnchorIsLocatedUsingOnlyTheIndex() throws SQLException {
+        Schema schema = new Schema(dbm);
+        assertTrue(new AddPardonToModlogHistoryIndexMigration().up(schema));
+
+        assertTrue(schema.hasIndex("logs", "logs_guild_id_target_id_pardon_modlogCase_index"));
+        assertFalse(schema.hasIndex("logs", "logs_guild_id_target_id_modlogCase_index"));
+
+        DataRow plan = dbm.query("EXPLAIN QUERY PLAN SELECT `modlogCase` FROM `logs` "
+            + "WHERE `guild_id` = '1' AND `target_id` = '100' AND `pardon` = 0 ORDER BY `modlogCase` LIMIT 1 OFFSET 10;"
+        ).first();
+
+        assertNotNull(plan);
+        assertTrue(plan.getString("detail").contains("COVERING INDEX logs_guild_id_target_id_pardon_modlogCase_index"), plan.getString("detail"));
+        assertEquals(
+            getCases(dbm.query("SELECT * FROM `logs` WHERE `guild_id` = '1' AND `target_id` = '100' AND `pardon` = 0 ORDER BY `modlogCase` LIMIT 5 OFFSET 10;")),
+            getCases(ModlogHistory.loadPage(dbm, "1", "100", 3, perPage))
+        );
+    }
+
+    private List<Integer> getCases(Collection rows) {
+        List<Integer> cases = new ArrayList<>();
+        for (DataRow row : rows) {
+            cases.add(row.getInt("modlogCase"));
+        }
+        return cases;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.mute;
+
+import com.avbot.BaseTest;
+import com.avbot.time.Carbon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MuteExpiryQueueTests extends BaseTest {
+
+    private final Map<Long, List<MuteContainer>> handled = new ConcurrentHashMap<>();
+    private CountDownLatch latch;
+    private MuteExpiryQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new MuteExpiryQueue((guildId, containers) -> {
+            handled.put(guildId, containers);
+            latch.countDown();
+        }, 1, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    public void testExpiredMutesAreBatchedPerGuild() throws InterruptedException {
+        latch = new CountDownLatch(2);
+
+        Carbon expired = Carbon.now().subSeconds(5);
+        queue.schedule(new MuteContainer("1", 10L, 100L, expired));
+        queue.schedule(new MuteContainer("2", 10L, 101L, expired));
+        queue.schedule(new MuteContainer("3", 20L, 200L, expired));
+        queue.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, handled.get(10L).size());
+        assertEquals(1, handled.get(20L).size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testPermanentAndFutureMutesAreNotExpired() throws InterruptedException {
+        latch = new CountDownLatch(1);
+
+        queue.schedule(new MuteContainer("1", 10L, 100L, null));
+        queue.schedule(new MuteContainer("2", 10L, 101L, Carbon.now().addHours(1)));
+        queue.start();
+
+        assertFalse(latch.await(1500, TimeUnit.MILLISECONDS));
+        assertTrue(handled.isEmpty());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testMutesAreHandledOnceTheyExpire() throws InterruptedException {
+        latch = new CountDownLatch(1);
+
+        queue.schedule(new MuteContainer("1", 10L, 100L, Carbon.now().addSeconds(1)));
+        queue.start();
+
+        assertEquals(1, queue.size());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, handled.get(10L).size());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.reminder;
+
+import com.avbot.BaseTest;
+import com.avbot.time.Carbon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReminderQueueTests extends BaseTest {
+
+    private final Map<String, List<Reminder>> handled = new ConcurrentHashMap<>();
+    private CountDownLatch latch;
+    private ReminderQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        queue = new ReminderQueue((target, reminders) -> {
+            handled.put(target, reminders);
+            latch.countDown();
+        }, 1, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    public void testDueRemindersAreBatchedPerDeliveryTarget() throws InterruptedException {
+        latch = new CountDownLatch(2);
+
+        Carbon due = Carbon.now().subSeconds(5);
+        queue.schedule(makeReminder(1L, 100L, 10L, false, due));
+        queue.schedule(makeReminder(2L, 101L, 10L, false, due));
+        queue.schedule(makeReminder(3L, 100L, 10L, true, due));
+        queue.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, handled.get("channel:10").size());
+        assertEquals(1, handled.get("user:100").size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testRemindersAreOnlyScheduledOnceUntilCompleted() {
+        Reminder reminder = makeReminder(1L, 100L, 10L, false, Carbon.now().addHours(1));
+
+        assertTrue(queue.schedule(reminder));
+        assertFalse(queue.schedule(reminder));
+        assertEquals(1, queue.size());
+
+        queue.complete(reminder);
+
+        assertTrue(queue.schedule(reminder));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testFutureRemindersAreNotDelivered() throws InterruptedException {
+        latch = new CountDownLatch(1);
+
+        queue.schedule(makeReminder(1L, 100L, 10L, false, Carbon.now().addHours(1)));
+        queue.start();
+
+        assertFalse(latch.await(1500, TimeUnit.MILLISECONDS));
+        assertTrue(handled.isEmpty());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testRemindersAreDeliveredOnceTheyAreDue() throws InterruptedException {
+        latch = new CountDownLatch(1);
+
+        queue.schedule(makeReminder(1L, 100L, 10L, true, Carbon.now().addSeconds(1)));
+        queue.start();
+
+        assertEquals(1, queue.size());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, handled.get("user:100").size());
+    }
+
+    private Reminder makeReminder(long id, long userId, long channelId, boolean respondInDM, Carbon expiresAt) {
+        return new Reminder(id, userId, channelId, respondInDM, "Something", Carbon.now(), expiresAt);
+    }
+}
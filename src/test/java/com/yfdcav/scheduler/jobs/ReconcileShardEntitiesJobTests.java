@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.scheduler.jobs;
+
+import com.avbot.BaseTest;
+import com.avbot.av;
+import com.avbot.fakes.FakeAv;
+import com.avbot.fakes.FakeEntity;
+import com.avbot.fakes.FakeShard;
+import com.avbot.shard.ShardEntityCounter;
+import net.dv8tion.jda.bot.sharding.ShardManager;
+import net.dv8tion.jda.core.JDA;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReconcileShardEntitiesJobTests extends BaseTest {
+
+    private FakeShard first;
+    private FakeShard second;
+    private ShardEntityCounter counter;
+    private ReconcileShardEntitiesJob job;
+
+    @BeforeEach
+    public void setUp() {
+        first = new FakeShard(0, 2).setGuilds(10).setUsers(500);
+        second = new FakeShard(1, 2).setGuilds(5).setUsers(200);
+
+        av av = FakeAv.create(Collections.singletonMap("shardManager", FakeEntity.create(ShardManager.class,
+            Collections.singletonMap("getShards", Arrays.asList(first.getJDA(), second.getJDA()))
+        )));
+
+        counter = new ShardEntityCounter(av);
+        counter.syncShard(first.getJDA());
+        counter.syncShard(second.getJDA());
+        FakeAv.set(av, "shardEntityCounter", counter);
+
+        job = new ReconcileShardEntitiesJob(av);
+    }
+
+    @Test
+    public void testCountersAreReconciledOnceEveryShardIsConnected() throws InterruptedException {
+        first.setGuilds(12).setUsers(480);
+        second.setStatus(JDA.Status.RECONNECT_QUEUED);
+
+        job.run();
+        Thread.sleep(100);
+
+        assertEquals(15, counter.getGuilds());
+        assertEquals(700, counter.getUsers());
+
+        second.setStatus(JDA.Status.CONNECTED);
+        job.run();
+
+        assertTrue(waitFor(() -> counter.getGuilds() == 17 && counter.getUsers() == 680),
+            "The counters should converge with the shard caches"
+        );
+    }
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.servlet.cache;
+
+import com.avbot.BaseTest;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedResponseTests extends BaseTest {
+
+    @Test
+    public void testSmallPayloadsAreNotCompressed() {
+        CachedResponse response = CachedResponse.of("{\"status\":200}");
+
+        assertArrayEquals("{\"status\":200}".getBytes(StandardCharsets.UTF_8), response.getBody());
+        assertNull(response.getGzipBody());
+    }
+
+    @Test
+    public void testLargePayloadsAreCompressed() throws IOException {
+        String json = "{\"message\":\"" + Strings.repeat("av", CachedResponse.GZIP_MIN_LENGTH) + "\"}";
+        CachedResponse response = CachedResponse.of(json);
+
+        assertNotNull(response.getGzipBody());
+        assertTrue(response.getGzipBody().length < response.getBody().length);
+        assertEquals(json, gunzip(response.getGzipBody()));
+    }
+
+    @Test
+    public void testETagIsQuotedAndOnlyChangesWithThePayload() {
+        CachedResponse first = CachedResponse.of("{\"guilds\":1}");
+        CachedResponse second = CachedResponse.of("{\"guilds\":1}");
+        CachedResponse third = CachedResponse.of("{\"guilds\":2}");
+
+        assertTrue(first.getETag().startsWith("\""));
+        assertTrue(first.getETag().endsWith("\""));
+        assertEquals(first.getETag(), second.getETag());
+        assertNotEquals(first.getETag(), third.getETag());
+    }
+
+    @Test
+    public void testMatchesIfNoneMatchHeaders() {
+        CachedResponse response = CachedResponse.of("{\"guilds\":1}");
+        String etag = response.getETag();
+
+        assertTrue(response.matches(etag));
+        assertTrue(response.matches("W/" + etag));
+        assertTrue(response.matches("\"something-else\", " + etag));
+        assertTrue(response.matches("*"));
+
+        assertFalse(response.matches(null));
+        assertFalse(response.matches(""));
+        assertFalse(response.matches("\"something-else\""));
+        assertFalse(response.matches(etag.substring(1, etag.length() - 1)));
+    }
+
+    private String gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.servlet.cache;
+
+import com.avbot.BaseTest;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuildSnapshotCacheTests extends BaseTest {
+
+    private final GuildSnapshotCache cache = new GuildSnapshotCache();
+
+    @Test
+    public void testSnapshotCountersAreUpdatedIncrementally() {
+        GuildSnapshot snapshot = createSnapshot("1", 10, 2);
+        long version = snapshot.getVersion();
+
+        snapshot.memberJoined(false);
+        snapshot.memberJoined(true);
+        snapshot.memberLeft(false);
+        snapshot.textChannelsChanged(1);
+        snapshot.voiceChannelsChanged(-1);
+
+        assertEquals(11, snapshot.getMembers());
+        assertEquals(3, snapshot.getBots());
+        assertEquals(4, snapshot.getTextChannels());
+        assertEquals(1, snapshot.getVoiceChannels());
+        assertTrue(snapshot.getVersion() > version);
+
+        JSONObject counter = new JSONObject(snapshot.toJson()).getJSONObject("counter");
+        assertEquals(11, counter.getInt("members"));
+        assertEquals(8, counter.getInt("users"));
+        assertEquals(3, counter.getInt("bots"));
+    }
+
+    @Test
+    public void testResponseIsReusedUntilASnapshotChanges() {
+        GuildSnapshot first = createSnapshot("1", 10, 2);
+        GuildSnapshot second = createSnapshot("2", 20, 4);
+
+        CachedResponse response = cache.getResponse(Arrays.asList("1", "2", "3"), Arrays.asList(first, second, null));
+        assertSame(response, cache.getResponse(Arrays.asList("1", "2", "3"), Arrays.asList(first, second, null)));
+
+        second.memberJoined(false);
+
+        CachedResponse updated = cache.getResponse(Arrays.asList("1", "2", "3"), Arrays.asList(first, second, null));
+        assertNotSame(response, updated);
+        assertNotEquals(response.getETag(), updated.getETag());
+
+        JSONObject json = new JSONObject(new String(updated.getBody(), StandardCharsets.UTF_8));
+        assertEquals(21, json.getJSONObject("2").getJSONObject("counter").getInt("members"));
+        assertEquals(10, json.getJSONObject("1").getJSONObject("counter").getInt("members"));
+        assertTrue(json.isNull("3"));
+    }
+
+    @Test
+    public void testRebuiltSnapshotsInvalidatesTheResponse() {
+        GuildSnapshot snapshot = createSnapshot("1", 10, 2);
+        CachedResponse response = cache.getResponse(Collections.singletonList("1"), Collections.singletonList(snapshot));
+
+        GuildSnapshot rebuilt = createSnapshot("1", 10, 2);
+        CachedResponse updated = cache.getResponse(Collections.singletonList("1"), Collections.singletonList(rebuilt));
+
+        assertNotSame(response, updated);
+        assertEquals(response.getETag(), updated.getETag());
+    }
+
+    @Test
+    public void testEventsAreIgnoredForGuildsWithoutSnapshots() {
+        cache.onMemberJoin(1L, false);
+        cache.onTextChannelsChange(1L, 1);
+
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    private GuildSnapshot createSnapshot(String id, int members, int bots) {
+        JSONObject owner = new JSONObject();
+        owner.put("id", "88739639380172800");
+        owner.put("username", "Senither");
+
+        return new GuildSnapshot(id, "Test Guild " + id, "Europe", null, owner, 3, 2, members, bots);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+
+package com.avbot.shard;
+
+import com.avbot.BaseTest;
+import com.avbot.av;
+import com.avbot.fakes.FakeAv;
+import com.avbot.fakes.FakeEntity;
+import com.avbot.fakes.FakeShard;
+import com.avbot.metrics.Metrics;
+import net.dv8tion.jda.bot.sharding.ShardManager;
+import net.dv8tion.jda.core.entities.Guild;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardEntityCounterTests extends BaseTest {
+
+    private FakeShard first;
+    private FakeShard second;
+    private ShardEntityCounter counter;
+
+    @BeforeEach
+    public void setUp() {
+        first = new FakeShard(0, 2).setGuilds(10).setTextChannels(40).setVoiceChannels(20).setUsers(500);
+        second = new FakeShard(1, 2).setGuilds(5).setTextChannels(25).setVoiceChannels(10).setUsers(200);
+
+        av av = FakeAv.create(Collections.singletonMap("shardManager", FakeEntity.create(ShardManager.class,
+            Collections.singletonMap("getShards", Arrays.asList(first.getJDA(), second.getJDA()))
+        )));
+
+        counter = new ShardEntityCounter(av);
+        counter.syncShard(first.getJDA());
+        counter.syncShard(second.getJDA());
+    }
+
+    @Test
+    public void testSyncingShardsSetsTheCountersToTheCacheSizes() {
+        assertCounters(15, 65, 30, 700);
+    }
+
+    @Test
+    public void testJoinLeaveAndChannelDeltasAreApplied() {
+        Guild guild = first.createGuild(4, 2);
+
+        first.setUsers(520);
+        counter.onGuildJoin(guild);
+        assertCounters(16, 69, 32, 720);
+
+        counter.onTextChannelsChange(second.getJDA(), 1);
+        counter.onVoiceChannelsChange(second.getJDA(), -1);
+        assertCounters(16, 70, 31, 720);
+
+        second.setUsers(201);
+        counter.onMembersChange(second.getJDA());
+        assertCounters(16, 70, 31, 721);
+
+        first.setUsers(500);
+        counter.onGuildLeave(guild);
+        assertCounters(15, 66, 29, 701);
+    }
+
+    @Test
+    public void testReconcileCorrectsDriftAndReportsIt() {
+        double guildDrift = Metrics.shardEntityDrift.labels("guilds").get();
+        double textDrift = Metrics.shardEntityDrift.labels("text").get();
+        double voiceDrift = Metrics.shardEntityDrift.labels("voice").get();
+        double userDrift = Metrics.shardEntityDrift.labels("users").get();
+
+        // Mimics missed events, the caches changes without the counters being told about it.
+        first.setGuilds(12).setTextChannels(38);
+        second.setGuilds(4).setUsers(210);
+        counter.onTextChannelsChange(second.getJDA(), 3);
+
+        assertCounters(15, 68, 30, 700);
+
+        assertEquals(2 + 1 + 2 + 3 + 10, counter.reconcile());
+        assertCounters(16, 63, 30, 710);
+
+        assertEquals(3, Metrics.shardEntityDrift.labels("guilds").get() - guildDrift);
+        assertEquals(5, Metrics.shardEntityDrift.labels("text").get() - textDrift);
+        assertEquals(0, Metrics.shardEntityDrift.labels("voice").get() - voiceDrift);
+        assertEquals(10, Metrics.shardEntityDrift.labels("users").get() - userDrift);
+
+        assertEquals(0, counter.reconcile());
+        assertEquals(3, Metrics.shardEntityDrift.labels("guilds").get() - guildDrift);
+    }
+
+    @Test
+    public void testReconcileIsSkippedWithoutAShardManager() {
+        ShardEntityCounter counter = new ShardEntityCounter(FakeAv.create(new HashMap<>()));
+
+        FakeShard shard = new FakeShard(0, 1);
+        counter.onGuildJoin(shard.createGuild(1, 1));
+        shard.setGuilds(3);
+
+        assertEquals(0, counter.reconcile());
+        assertEquals(1, counter.getGuilds());
+    }
+
+    private void assertCounters(long guilds, long textChannels, long voiceChannels, long users) {
+        assertEquals(guilds, counter.getGuilds());
+        assertEquals(textChannels, counter.getTextChannels());
+        assertEquals(voiceChannels, counter.getVoiceChannels());
+        assertEquals(textChannels + voiceChannels, counter.getChannels());
+        assertEquals(users, counter.getUsers());
+    }
+}
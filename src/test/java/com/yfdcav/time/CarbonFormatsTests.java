@@ -22,6 +22,7 @@
 package com.avbot.time;
 
 import com.avbot.BaseTest;
+import com.avbot.exceptions.InvalidFormatException;
 import org.junit.Test;
 
 import java.text.ParseException;
@@ -122,4 +123,20 @@ public class CarbonFormatsTests extends BaseTest {
             Formats.DAY_DATE_TIME.getFormat(), "Sun, Jan 13, 2019 7:37 PM"
         ).toDayDateTimeString().toLowerCase());
     }
+
+    @Test
+    public void testCarbonParsesHttpDateHeadersWithGmtZone() throws InvalidFormatException {
+        assertEquals(1792400400L, new Carbon("Mon, 19 Oct 2026 09:00:00 GMT").getTimestamp());
+    }
+
+    @Test
+    public void testCarbonParsesUnpaddedDateTimes() throws InvalidFormatException {
+        Carbon format = new Carbon("2018-2-3 4:05:06");
+        assertEquals(2018, format.getYear());
+        assertEquals(2, format.getMonth());
+        assertEquals(3, format.getDay());
+        assertEquals(4, format.getHour());
+        assertEquals(5, format.getMinute());
+        assertEquals(6, format.getSecond());
+    }
 }
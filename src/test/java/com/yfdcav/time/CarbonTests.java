@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.time;
+
+import com.avbot.BaseTest;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarbonTests extends BaseTest {
+
+    @Test
+    public void testModifiersReturnNewInstancesWithoutChangingTheOriginal() {
+        Carbon original = new Carbon("2019-01-13 19:37:59");
+
+        Carbon modified = original.addDays(3).setHour(4).startOfMonth();
+
+        assertNotSame(original, modified);
+        assertEquals("2019-01-13 19:37:59", original.toDateTimeString());
+        assertEquals("2019-01-01 00:00:00", modified.toDateTimeString());
+    }
+
+    @Test
+    public void testNowWithATimezoneStartsAtTheBeginningOfToday() {
+        Carbon today = Carbon.today();
+
+        for (Carbon carbon : new Carbon[]{Carbon.now("UTC"), Carbon.now(TimeZone.getTimeZone("UTC"))}) {
+            assertEquals(TimeZone.getTimeZone("UTC"), carbon.getTimezone());
+            assertEquals(today.getTimestamp(), carbon.getTimestamp());
+            assertEquals(0, carbon.getHour());
+            assertEquals(0, carbon.getMinute());
+            assertEquals(0, carbon.getSecond());
+        }
+    }
+
+    @Test
+    public void testCarbonParsesDatabaseTimestampsCorrectly() {
+        Carbon carbon = new Carbon("2020-02-29 23:59:01");
+        assertEquals(2020, carbon.getYear());
+        assertEquals(2, carbon.getMonth());
+        assertEquals(29, carbon.getDay());
+        assertEquals(23, carbon.getHour());
+        assertEquals(59, carbon.getMinute());
+        assertEquals(1, carbon.getSecond());
+    }
+
+    @Test
+    public void testCarbonFallsBackToTheOtherSupportedFormats() {
+        assertEquals("2019-01-13 00:00:00", new Carbon("2019-01-13").toDateTimeString());
+        assertEquals("2019-01-13 00:00:00", new Carbon("Jan 13, 2019").toDateTimeString());
+        assertThrows(RuntimeException.class, () -> new Carbon("not a date"));
+    }
+
+    @Test
+    public void testOutOfRangeValuesRollOverIntoTheNextUnit() {
+        Carbon carbon = new Carbon("2019-01-31 10:00:00");
+
+        assertEquals("2019-02-01 10:00:00", carbon.setDay(32).toDateTimeString());
+        assertEquals("2018-12-31 10:00:00", carbon.setDay(0).toDateTimeString());
+        assertEquals("2019-02-01 01:00:00", carbon.setHour(25).toDateTimeString());
+        assertEquals("2020-01-31 10:00:00", carbon.setMonth(13).toDateTimeString());
+    }
+
+    @Test
+    public void testChainedDateSettersClampToTheEndOfTheMonth() {
+        Carbon carbon = new Carbon("2019-01-31 10:00:00");
+
+        assertEquals("2019-02-28 10:00:00", carbon.setMonth(2).toDateTimeString());
+        assertEquals("2019-02-14 10:00:00", carbon.setDate(2019, 2, 14).toDateTimeString());
+        assertEquals("2019-02-28 23:59:59", carbon.setMonth(2).endOfMonth().toDateTimeString());
+    }
+
+    @Test
+    public void testAddingAndComparingInstances() {
+        Carbon first = new Carbon("2019-01-13 19:37:59");
+        Carbon second = first.addMinutes(90);
+
+        assertTrue(second.gt(first));
+        assertTrue(first.lt(second));
+        assertEquals(5400, first.diffInSeconds(second));
+        assertEquals(first.getTimestamp() + 5400, second.getTimestamp());
+        assertEquals("2019-01-13 21:07:59", second.toDateTimeString());
+    }
+
+    @Test
+    public void testFormatsMatchSimpleDateFormat() {
+        Carbon carbon = new Carbon("2019-01-13 19:37:59", "America/New_York");
+
+        for (Formats format : Formats.values()) {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(format.getFormat(), Locale.ENGLISH);
+            simpleDateFormat.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+
+            String expected = simpleDateFormat.format(carbon.getTime().getTime());
+
+            assertEquals(expected, carbon.format(format), format.name());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018.
+ *
+ * This file is part of av.
+ *
+ * av is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * av is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with av.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *
+ */
+
+package com.avbot.weather;
+
+import com.avbot.BaseTest;
+import com.avbot.exceptions.WeatherQuotaExceededException;
+import com.avbot.requests.service.WeatherService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeatherManagerTests extends BaseTest {
+
+    private static final String londonResponse = "{\"id\":\"2643743\",\"name\":\"London\",\"cod\":\"200\","
+        + "\"sys\":{\"country\":\"GB\"},\"wind\":{\"speed\":4.1,\"deg\":80},\"main\":{\"temp\":12.5},"
+        + "\"weather\":[{\"icon\":\"04d\"}]}";
+
+    private final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+    private final List<WeatherManager> managers = new ArrayList<>();
+
+    private HttpServer server;
+    private volatile CountDownLatch release = null;
+    private volatile int statusCode = 200;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/data/2.5/weather", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        for (WeatherManager manager : managers) {
+            manager.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void testQueriesAreNormalized() {
+        assertEquals("london,uk", WeatherManager.normalize("London, UK"));
+        assertEquals("london,uk", WeatherManager.normalize("  london ,uk "));
+        assertEquals("new york,us", WeatherManager.normalize("New   York,\tUS"));
+    }
+
+    @Test
+    public void testResultsAreCachedByNormalizedCity() throws Exception {
+        WeatherManager manager = createManager(600, 10, 60_000, 1000);
+
+        WeatherService first = manager.lookup("London, UK").get(5, TimeUnit.SECONDS);
+        WeatherService second = manager.lookup("  london,uk").get(5, TimeUnit.SECONDS);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals("London", first.getName());
+        assertEquals("GB", first.getLocation().getCountry());
+        assertEquals(12.5D, first.getTemperature().getTemp());
+        assertEquals(Collections.singletonList("london,uk"), queries);
+    }
+
+    @Test
+    public void testConcurrentLookupsForTheSameCityShareOneRequest() throws Exception {
+        WeatherManager manager = createManager(600, 10, 60_000, 1000);
+        release = new CountDownLatch(1);
+
+        List<CompletableFuture<WeatherService>> lookups = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            lookups.add(manager.lookup(i % 2 == 0 ? "London" : "LONDON "));
+        }
+
+        assertEquals(1, manager.getPendingSize());
+        release.countDown();
+
+        WeatherService first = lookups.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<WeatherService> lookup : lookups) {
+            assertSame(first, lookup.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, queries.size());
+        assertEquals(0, manager.getPendingSize());
+    }
+
+    @Test
+    public void testCitiesThatCouldNotBeFoundAreCached() throws Exception {
+        WeatherManager manager = createManager(600, 10, 60_000, 1000);
+        statusCode = 404;
+
+        assertNull(manager.lookup("Atlantis").get(5, TimeUnit.SECONDS));
+        assertNull(manager.lookup("atlantis").get(5, TimeUnit.SECONDS));
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    public void testFailedRequestsAreNotCached() throws Exception {
+        WeatherManager manager = createManager(600, 10, 60_000, 1000);
+        statusCode = 500;
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> manager.lookup("London").get(5, TimeUnit.SECONDS)
+        );
+        assertTrue(exception.getCause() instanceof IOException);
+
+        statusCode = 200;
+
+        assertNotNull(manager.lookup("London").get(5, TimeUnit.SECONDS));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    public void testRequestsAreSpacedOutByTheQuota() throws Exception {
+        // 600 requests per minute gives a slot every 100 milliseconds, with a burst of two.
+        WeatherManager manager = createManager(600, 2, 60_000, 1000);
+
+        List<CompletableFuture<WeatherService>> lookups = new ArrayList<>();
+        for (String city : new String[]{"London", "Paris", "Berlin", "Oslo"}) {
+            lookups.add(manager.lookup(city));
+        }
+
+        for (CompletableFuture<WeatherService> lookup : lookups) {
+            assertNotNull(lookup.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(4, requestTimes.size());
+
+        List<Long> times = new ArrayList<>(requestTimes);
+        Collections.sort(times);
+
+        assertTrue(times.get(1) - times.get(0) < TimeUnit.MILLISECONDS.toNanos(80), "The burst should be sent right away");
+        assertTrue(times.get(2) - times.get(0) >= TimeUnit.MILLISECONDS.toNanos(80), "Requests after the burst should wait for the quota");
+        assertTrue(times.get(3) - times.get(0) >= TimeUnit.MILLISECONDS.toNanos(180), "Requests after the burst should be spaced out by the quota");
+    }
+
+    @Test
+    public void testLookupsAreRejectedIfTheyWouldWaitTooLong() throws Exception {
+        // One slot every 100 milliseconds, so the third lookup would have to wait 200 milliseconds.
+        WeatherManager manager = createManager(600, 1, 60_000, 150);
+
+        CompletableFuture<WeatherService> first = manager.lookup("London");
+        CompletableFuture<WeatherService> second = manager.lookup("Paris");
+        CompletableFuture<WeatherService> third = manager.lookup("Berlin");
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+            () -> third.get(5, TimeUnit.SECONDS)
+        );
+        assertTrue(exception.getCause() instanceof WeatherQuotaExceededException);
+
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, queries.size());
+    }
+
+    private WeatherManager createManager(int requestsPerMinute, int burst, long cacheTtl, long maxWait) {
+        WeatherManager manager = new WeatherManager(
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/data/2.5/weather",
+            "test-api-key", requestsPerMinute, burst, cacheTtl, maxWait
+        );
+        managers.add(manager);
+
+        return manager;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestTimes.add(System.nanoTime());
+
+        for (String parameter : exchange.getRequestURI().getRawQuery().split("&")) {
+            if (parameter.startsWith("q=")) {
+                queries.add(URLDecoder.decode(parameter.substring(2), "UTF-8"));
+            }
+        }
+
+        CountDownLatch latch = release;
+        if (latch != null) {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] body = (statusCode == 200 ? londonResponse : "{\"cod\":\"" + statusCode + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(body);
+        }
+    }
+}